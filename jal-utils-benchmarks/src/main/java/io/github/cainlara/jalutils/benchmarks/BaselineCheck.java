@@ -0,0 +1,120 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against a baseline result file.
+ * <p>
+ * Results are matched by benchmark name and parameters. A result regresses
+ * when its primary score is worse than the baseline by more than the
+ * threshold: lower for throughput modes, higher for time based modes.
+ * Benchmarks missing from either file are ignored.
+ * 
+ * @author jalara
+ */
+public final class BaselineCheck {
+  private final double thresholdPercent;
+
+  public BaselineCheck(final double thresholdPercent) {
+    if (thresholdPercent < 0) {
+      throw new IllegalArgumentException("Threshold can not be negative.");
+    }
+
+    this.thresholdPercent = thresholdPercent;
+  }
+
+  /**
+   * Compares two JMH JSON result files.
+   * 
+   * @param baseline the reference results.
+   * @param current  the results to check.
+   * 
+   * @return a description of every regression; empty if there is none.
+   * 
+   * @throws IOException if any file can not be read.
+   */
+  public List<String> check(final Path baseline, final Path current) throws IOException {
+    Map<String, Score> baselineScores = readScores(baseline);
+    Map<String, Score> currentScores = readScores(current);
+    List<String> regressions = new ArrayList<>();
+
+    for (Map.Entry<String, Score> entry : currentScores.entrySet()) {
+      Score reference = baselineScores.get(entry.getKey());
+
+      if (reference == null || reference.value == 0) {
+        continue;
+      }
+
+      Score score = entry.getValue();
+      double change = (score.value - reference.value) / reference.value * 100;
+      double loss = score.higherIsBetter ? -change : change;
+
+      if (loss > thresholdPercent) {
+        regressions.add(String.format("%s: %.3f -> %.3f %s (%.1f%% worse)", entry.getKey(), reference.value,
+            score.value, score.unit, loss));
+      }
+    }
+
+    return regressions;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Score> readScores(final Path results) throws IOException {
+    String json = new String(Files.readAllBytes(results), StandardCharsets.UTF_8);
+    Map<String, Score> scores = new LinkedHashMap<>();
+
+    for (Object item : (List<Object>) JsonReader.parse(json)) {
+      Map<String, Object> result = (Map<String, Object>) item;
+      Map<String, Object> params = (Map<String, Object>) result.get("params");
+      Map<String, Object> primaryMetric = (Map<String, Object>) result.get("primaryMetric");
+      String key = result.get("benchmark") + (params == null ? "" : String.valueOf(new TreeMap<>(params)));
+
+      scores.put(key, new Score(((Number) primaryMetric.get("score")).doubleValue(),
+          String.valueOf(primaryMetric.get("scoreUnit")), "thrpt".equals(result.get("mode"))));
+    }
+
+    return scores;
+  }
+
+  /**
+   * Checks a result file against a baseline from the command line.
+   * 
+   * @param args baseline file, result file and, optionally, the threshold in
+   *             percent (10 by default).
+   * 
+   * @throws IOException if any file can not be read.
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BaselineCheck <baseline.json> <results.json> [thresholdPercent]");
+      System.exit(2);
+    }
+
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : BenchmarkRunner.DEFAULT_THRESHOLD_PERCENT;
+    List<String> regressions = new BaselineCheck(threshold).check(Paths.get(args[0]), Paths.get(args[1]));
+
+    regressions.forEach(System.err::println);
+    System.exit(regressions.isEmpty() ? 0 : 1);
+  }
+
+  private static final class Score {
+    private final double value;
+    private final String unit;
+    private final boolean higherIsBetter;
+
+    private Score(final double value, final String unit, final boolean higherIsBetter) {
+      this.value = value;
+      this.unit = unit;
+      this.higherIsBetter = higherIsBetter;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JAL utils benchmarks with GC profiling, writes the results as JSON
+ * and, when a baseline is given, fails if any benchmark regressed.
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * java -jar benchmarks.jar [--results file.json] [--baseline baseline.json]
+ *     [--threshold percent] [include regex...]
+ * </pre>
+ * 
+ * Exits with status <code>1</code> if a benchmark regressed, and with status
+ * <code>2</code>, before running anything, if the baseline can not be read.
+ * For any other JMH option, use <code>org.openjdk.jmh.Main</code> directly,
+ * e.g. <code>java -cp benchmarks.jar org.openjdk.jmh.Main -prof gc -p
+ * size=10000000 ListsAreEqual</code>.
+ * 
+ * @author jalara
+ */
+public final class BenchmarkRunner {
+  static final double DEFAULT_THRESHOLD_PERCENT = 10D;
+
+  private BenchmarkRunner() {
+    // hide constructor
+  }
+
+  public static void main(final String[] args) throws RunnerException, IOException {
+    Path results = Paths.get("jmh-result.json");
+    Path baseline = null;
+    double threshold = DEFAULT_THRESHOLD_PERCENT;
+    List<String> includes = new ArrayList<>();
+
+    for (int index = 0; index < args.length; index++) {
+      if ("--results".equals(args[index])) {
+        results = Paths.get(args[++index]);
+      } else if ("--baseline".equals(args[index])) {
+        baseline = Paths.get(args[++index]);
+      } else if ("--threshold".equals(args[index])) {
+        threshold = Double.parseDouble(args[++index]);
+      } else {
+        includes.add(args[index]);
+      }
+    }
+
+    if (baseline != null && !Files.isReadable(baseline)) {
+      // checked before running, so a mistyped path does not skip the gate
+      System.err.println("Baseline " + baseline.toAbsolutePath() + " does not exist or can not be read.");
+      System.exit(2);
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().addProfiler(GCProfiler.class)
+        .resultFormat(ResultFormatType.JSON).result(results.toString());
+
+    if (includes.isEmpty()) {
+      options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+    } else {
+      includes.forEach(options::include);
+    }
+
+    new Runner(options.build()).run();
+
+    if (baseline != null) {
+      List<String> regressions = new BaselineCheck(threshold).check(baseline, results);
+
+      regressions.forEach(System.err::println);
+
+      if (!regressions.isEmpty()) {
+        System.exit(1);
+      }
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cainlara.jalutils.CollectionUtils;
+
+/**
+ * Scaling of the parallel bulk operations of <code>CollectionUtils</code>.
+ * Each run uses a dedicated pool with <code>parallelism</code> threads, so
+ * plotting the scores against that parameter gives the scaling curve; pass
+ * <code>-p parallelism=1,2,4,8,16</code> to match the cores of the machine.
+ * The sequential collector benchmarks are the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BulkOperationsBenchmark {
+
+  @Param({ "1", "2", "4", "8" })
+  private int parallelism;
+
+  @Param({ "1000000" })
+  private int size;
+
+  @Param({ "1024" })
+  private int grainSize;
+
+  private List<String> words;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+
+    words = new ArrayList<>(size);
+
+    for (int index = 0; index < size; index++) {
+      words.add("word" + random.nextInt(10_000));
+    }
+
+    pool = new ForkJoinPool(parallelism);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public Map<Integer, List<String>> groupBy() {
+    return CollectionUtils.getInstance().groupBy(words, String::hashCode, grainSize, pool);
+  }
+
+  @Benchmark
+  public Map<String, Long> countBy() {
+    return CollectionUtils.getInstance().countBy(words, word -> word, grainSize, pool);
+  }
+
+  @Benchmark
+  public List<Integer> map() {
+    return CollectionUtils.getInstance().map(words, String::length, grainSize, pool);
+  }
+
+  @Benchmark
+  public Map<Integer, List<String>> groupBySequential() {
+    return words.stream().collect(Collectors.groupingBy(String::hashCode));
+  }
+
+  @Benchmark
+  public Map<String, Long> countBySequential() {
+    return words.stream().collect(Collectors.groupingBy(word -> word, Collectors.counting()));
+  }
+}
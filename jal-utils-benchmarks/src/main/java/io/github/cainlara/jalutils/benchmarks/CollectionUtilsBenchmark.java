@@ -0,0 +1,100 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cainlara.jalutils.CollectionUtils;
+
+/**
+ * List comparison and splitting benchmarks. Larger sizes, up to ten million
+ * elements, can be requested with <code>-p size=10000000</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class CollectionUtilsBenchmark {
+
+  @Param({ "10", "1000", "100000" })
+  private int size;
+
+  private String text;
+  private List<String> strings;
+  private List<String> shuffledStrings;
+  private List<Integer> numbers;
+  private List<Integer> shuffledNumbers;
+  private List<Object> objects;
+  private List<Object> shuffledObjects;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    StringBuilder builder = new StringBuilder(size);
+
+    strings = new ArrayList<>(size);
+    numbers = new ArrayList<>(size);
+    objects = new ArrayList<>(size);
+
+    for (int index = 0; index < size; index++) {
+      builder.append((char) ('a' + random.nextInt(26)));
+      strings.add("item" + random.nextInt(size));
+      numbers.add(random.nextInt(size));
+      objects.add(index % 2 == 0 ? Integer.valueOf(index) : (Object) ("item" + index));
+    }
+
+    text = builder.toString();
+    shuffledStrings = new ArrayList<>(strings);
+    shuffledNumbers = new ArrayList<>(numbers);
+    shuffledObjects = new ArrayList<>(objects);
+    Collections.shuffle(shuffledStrings, random);
+    Collections.shuffle(shuffledNumbers, random);
+    Collections.shuffle(shuffledObjects, random);
+  }
+
+  @Benchmark
+  public List<String> toList() {
+    return CollectionUtils.getInstance().toList(text);
+  }
+
+  @Benchmark
+  public List<String> toCharView() {
+    return CollectionUtils.getInstance().toCharView(text);
+  }
+
+  @Benchmark
+  public boolean sortedListsAreEqual() {
+    return CollectionUtils.getInstance().sortedListsAreEqual(strings, new ArrayList<>(strings));
+  }
+
+  @Benchmark
+  public boolean listsAreEqualStrings() {
+    return CollectionUtils.getInstance().listsAreEqual(strings, shuffledStrings);
+  }
+
+  @Benchmark
+  public boolean listsAreEqualNumbers() {
+    return CollectionUtils.getInstance().listsAreEqual(numbers, shuffledNumbers);
+  }
+
+  @Benchmark
+  public boolean listsAreEqualMixed() {
+    return CollectionUtils.getInstance().listsAreEqual(objects, shuffledObjects);
+  }
+}
@@ -0,0 +1,89 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cainlara.jalutils.CollectionUtils;
+
+/**
+ * Comparison of two sorted snapshots of <code>size</code> elements that differ
+ * in about one element out of a hundred: equality of linked lists, the single
+ * pass sorted diff, the k-way merge of both snapshots and the edit script.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiffBenchmark {
+  @Param({ "10000", "100000" })
+  private int size;
+
+  private List<Integer> left;
+  private List<Integer> right;
+  private List<Integer> linkedLeft;
+  private List<Integer> linkedRight;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+
+    left = new ArrayList<>(size);
+    right = new ArrayList<>(size);
+
+    for (int value = 0; value < size; value++) {
+      if (random.nextInt(100) != 0) {
+        left.add(value);
+      }
+
+      if (random.nextInt(100) != 0) {
+        right.add(value);
+      }
+    }
+
+    linkedLeft = new LinkedList<>(left);
+    linkedRight = new LinkedList<>(left);
+  }
+
+  @Benchmark
+  public boolean linkedListsAreEqual() {
+    return CollectionUtils.getInstance().sortedListsAreEqual(linkedLeft, linkedRight);
+  }
+
+  @Benchmark
+  public long diffSorted() {
+    return CollectionUtils.getInstance().diffSorted(left, right, Comparator.<Integer>naturalOrder()).count();
+  }
+
+  @Benchmark
+  public long mergeSorted() {
+    List<List<Integer>> sources = new ArrayList<>(2);
+
+    sources.add(left);
+    sources.add(right);
+
+    return CollectionUtils.getInstance().mergeSorted(sources, Comparator.<Integer>naturalOrder()).count();
+  }
+
+  @Benchmark
+  public long editScript() {
+    return CollectionUtils.getInstance().editScript(left, right).count();
+  }
+}
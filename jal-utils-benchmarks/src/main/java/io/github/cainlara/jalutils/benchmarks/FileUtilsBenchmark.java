@@ -0,0 +1,138 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cainlara.jalutils.FileUtils;
+import io.github.cainlara.jalutils.file.ExtensionMatcher;
+import io.github.cainlara.jalutils.file.FileNames;
+
+public class FileUtilsBenchmark {
+
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 3, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  @Fork(1)
+  @State(Scope.Benchmark)
+  public static class Names {
+    private final File file = new File("/var/build.output/reports/summary.final.PDF");
+    private final String path = file.getPath();
+    private final ExtensionMatcher matcher = FileNames.getInstance().extensionMatcher("txt", "csv", "json", "xml",
+        "pdf", "docx", "png");
+
+    @Benchmark
+    public String getFileExtensionFile() {
+      return FileUtils.getInstance().getFileExtension(file);
+    }
+
+    @Benchmark
+    public String getFileExtensionPath() {
+      return FileUtils.getInstance().getFileExtension(path);
+    }
+
+    @Benchmark
+    public int extensionStart() {
+      return FileNames.getInstance().extensionStart(path);
+    }
+
+    @Benchmark
+    public boolean hasExtensionSubstring() {
+      String extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase();
+      return "pdf".equals(extension);
+    }
+
+    @Benchmark
+    public boolean hasExtensionInPlace() {
+      return FileNames.getInstance().hasExtension(path, "pdf");
+    }
+
+    @Benchmark
+    public int extensionMatcher() {
+      return matcher.indexOf(path);
+    }
+
+    @Benchmark
+    public String addExtension() {
+      return FileUtils.getInstance().addExtension("summary", "pdf");
+    }
+  }
+
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 10)
+  @Fork(1)
+  @State(Scope.Thread)
+  public static class Trees {
+    @Param({ "1024", "65536" })
+    private int fileSize;
+
+    @Param({ "100" })
+    private int files;
+
+    private Path root;
+    private File source;
+    private File target;
+    private File tree;
+
+    @Setup(Level.Trial)
+    public void setUpFiles() throws IOException {
+      root = Files.createTempDirectory("jalutils-bench");
+      source = Files.write(root.resolve("source.bin"), new byte[fileSize]).toFile();
+      target = root.resolve("target.bin").toFile();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpTree() throws IOException {
+      tree = Files.createDirectories(root.resolve("tree").resolve("a").resolve("b")).getParent().getParent().toFile();
+
+      for (int index = 0; index < files; index++) {
+        Path folder = tree.toPath().resolve(index % 2 == 0 ? "a" : "a/b");
+        Files.write(folder.resolve("file" + index + ".bin"), new byte[fileSize]);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      if (tree.exists()) {
+        FileUtils.getInstance().deleteFolder(tree);
+      }
+
+      FileUtils.getInstance().deleteFolder(root.toFile());
+    }
+
+    @Benchmark
+    public File copyFile() throws IOException {
+      FileUtils.getInstance().copyFile(source, target);
+      return target;
+    }
+
+    @Benchmark
+    public boolean deleteFolder() throws IOException {
+      return FileUtils.getInstance().deleteFolder(tree);
+    }
+
+    @Benchmark
+    public Object deleteFolderParallel() throws IOException {
+      return FileUtils.getInstance().deleteFolder(tree, Runtime.getRuntime().availableProcessors());
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader, just enough to load JMH result files without adding a
+ * dependency. Objects become <code>Map</code>, arrays become
+ * <code>List</code>, numbers become <code>Double</code>.
+ * 
+ * @author jalara
+ */
+final class JsonReader {
+  private final String json;
+  private int position;
+
+  private JsonReader(final String json) {
+    this.json = json;
+  }
+
+  static Object parse(final String json) {
+    JsonReader reader = new JsonReader(json);
+    Object value = reader.readValue();
+
+    reader.skipWhitespace();
+
+    if (reader.position != json.length()) {
+      throw reader.error("Unexpected trailing content");
+    }
+
+    return value;
+  }
+
+  private Object readValue() {
+    skipWhitespace();
+
+    if (position >= json.length()) {
+      throw error("Unexpected end of input");
+    }
+
+    char c = json.charAt(position);
+
+    switch (c) {
+    case '{':
+      return readObject();
+    case '[':
+      return readArray();
+    case '"':
+      return readString();
+    case 't':
+      return readLiteral("true", Boolean.TRUE);
+    case 'f':
+      return readLiteral("false", Boolean.FALSE);
+    case 'n':
+      return readLiteral("null", null);
+    default:
+      return readNumber();
+    }
+  }
+
+  private Map<String, Object> readObject() {
+    Map<String, Object> object = new LinkedHashMap<>();
+
+    position++;
+    skipWhitespace();
+
+    if (peek() == '}') {
+      position++;
+      return object;
+    }
+
+    while (true) {
+      skipWhitespace();
+      String key = readString();
+
+      skipWhitespace();
+      expect(':');
+      object.put(key, readValue());
+      skipWhitespace();
+
+      if (peek() == ',') {
+        position++;
+      } else {
+        expect('}');
+        return object;
+      }
+    }
+  }
+
+  private List<Object> readArray() {
+    List<Object> array = new ArrayList<>();
+
+    position++;
+    skipWhitespace();
+
+    if (peek() == ']') {
+      position++;
+      return array;
+    }
+
+    while (true) {
+      array.add(readValue());
+      skipWhitespace();
+
+      if (peek() == ',') {
+        position++;
+      } else {
+        expect(']');
+        return array;
+      }
+    }
+  }
+
+  private String readString() {
+    expect('"');
+
+    StringBuilder value = new StringBuilder();
+
+    while (true) {
+      char c = json.charAt(position++);
+
+      if (c == '"') {
+        return value.toString();
+      }
+
+      if (c != '\\') {
+        value.append(c);
+        continue;
+      }
+
+      char escaped = json.charAt(position++);
+
+      switch (escaped) {
+      case 'b':
+        value.append('\b');
+        break;
+      case 'f':
+        value.append('\f');
+        break;
+      case 'n':
+        value.append('\n');
+        break;
+      case 'r':
+        value.append('\r');
+        break;
+      case 't':
+        value.append('\t');
+        break;
+      case 'u':
+        value.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+        position += 4;
+        break;
+      default:
+        value.append(escaped);
+      }
+    }
+  }
+
+  private Object readLiteral(final String literal, final Object value) {
+    if (!json.startsWith(literal, position)) {
+      throw error("Unexpected token");
+    }
+
+    position += literal.length();
+    return value;
+  }
+
+  private Double readNumber() {
+    int start = position;
+
+    while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+      position++;
+    }
+
+    if (start == position) {
+      throw error("Unexpected character '" + json.charAt(position) + "'");
+    }
+
+    return Double.valueOf(json.substring(start, position));
+  }
+
+  private void skipWhitespace() {
+    while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+      position++;
+    }
+  }
+
+  private char peek() {
+    if (position >= json.length()) {
+      throw error("Unexpected end of input");
+    }
+
+    return json.charAt(position);
+  }
+
+  private void expect(final char expected) {
+    if (peek() != expected) {
+      throw error("Expected '" + expected + "'");
+    }
+
+    position++;
+  }
+
+  private IllegalArgumentException error(final String message) {
+    return new IllegalArgumentException(message + " at offset " + position);
+  }
+}
@@ -0,0 +1,105 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cainlara.jalutils.StringUtils;
+import io.github.cainlara.jalutils.message.MessageManager;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageManagerBenchmark {
+  private static final String BUNDLE_NAME = "benchmark_messages";
+
+  private final MessageManager manager = new MessageManager.Builder(BUNDLE_NAME).build();
+  private final MessageManager uncachedManager = new MessageManager.Builder(BUNDLE_NAME).cacheSize(0).build();
+  private final ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE_NAME);
+
+  @Benchmark
+  public String getMessageLiteral() {
+    return manager.getMessage("greeting");
+  }
+
+  @Benchmark
+  public String getMessageFormatted() {
+    return manager.getMessage("welcome", "Moe", "five");
+  }
+
+  @Benchmark
+  public String getMessageUncached() {
+    return uncachedManager.getMessage("welcome", "Moe", "five");
+  }
+
+  @Benchmark
+  public String messageFormatPerCall() {
+    return new MessageFormat(bundle.getString("welcome")).format(new Object[] { "Moe", "five" });
+  }
+
+  @Benchmark
+  public StringBuilder appendMessageFixedArity(final Output output) {
+    return manager.appendMessage(output.reset(), "welcome", "Moe", "five");
+  }
+
+  @Benchmark
+  public StringBuilder appendMessageVarargs(final Output output) {
+    return manager.appendMessage(output.reset(), "welcome", new Object[] { "Moe", "five" });
+  }
+
+  @Benchmark
+  public StringBuilder appendMessageLong(final Output output) {
+    return manager.appendMessage(output.reset(), "welcome", 123456789L);
+  }
+
+  @Benchmark
+  public String getMessageLong() {
+    return manager.getMessage("welcome", 123456789L);
+  }
+
+  @Benchmark
+  public StringBuilder appendMessageLiteral(final Output output) {
+    return manager.appendMessage(output.reset(), "greeting");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String getMessageContended() {
+    return manager.getMessage("welcome", "Moe", "five");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public StringUtils getInstanceContended() {
+    return StringUtils.getInstance();
+  }
+
+  /**
+   * Destination reused across invocations, so appending measures the
+   * rendering alone. Run with the GC profiler to compare bytes allocated per
+   * call against <code>getMessage</code>.
+   */
+  @State(Scope.Thread)
+  public static class Output {
+    private final StringBuilder builder = new StringBuilder(256);
+
+    StringBuilder reset() {
+      builder.setLength(0);
+      return builder;
+    }
+  }
+}
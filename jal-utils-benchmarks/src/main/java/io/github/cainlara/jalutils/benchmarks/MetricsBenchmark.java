@@ -0,0 +1,57 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cainlara.jalutils.message.MessageManager;
+import io.github.cainlara.jalutils.metrics.InMemoryMetrics;
+import io.github.cainlara.jalutils.metrics.Metrics;
+
+/**
+ * Overhead of the metrics instrumentation, disabled and enabled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+  @Param({ "false", "true" })
+  private boolean enabled;
+
+  private final MessageManager manager = new MessageManager.Builder("benchmark_messages").build();
+
+  @Setup
+  public void setUp() {
+    Metrics.install(enabled ? new InMemoryMetrics() : null);
+  }
+
+  @TearDown
+  public void tearDown() {
+    Metrics.install(null);
+  }
+
+  @Benchmark
+  public void timer() {
+    Metrics.recordSince("benchmark.timer", Metrics.startNanos());
+  }
+
+  @Benchmark
+  public String instrumentedGetMessage() {
+    return manager.getMessage("greeting");
+  }
+}
@@ -0,0 +1,182 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cainlara.jalutils.collections.IntIntMap;
+import io.github.cainlara.jalutils.collections.IntSet;
+import io.github.cainlara.jalutils.collections.ObjectIntCounter;
+
+/**
+ * Primitive collections against their boxed <code>java.util</code>
+ * counterparts.
+ * <p>
+ * The <code>count*</code> and <code>build*</code> benchmarks add
+ * <code>4 * size</code> random keys, nearly all of the <code>size</code>
+ * possible ones, to a fresh collection, so with <code>-prof gc</code>
+ * dividing <code>gc.alloc.rate.norm</code> by <code>size</code> gives about
+ * the memory per entry, growth included. The <code>lookup*</code> benchmarks
+ * measure read throughput over prebuilt collections.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PrimitiveCollectionsBenchmark {
+
+  @Param({ "1000", "100000" })
+  private int size;
+
+  private int[] keys;
+  private String[] words;
+  private IntIntMap intIntMap;
+  private Map<Integer, Integer> hashMap;
+  private IntSet intSet;
+  private Set<Integer> hashSet;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+
+    keys = new int[size * 4];
+    words = new String[size * 4];
+
+    for (int index = 0; index < keys.length; index++) {
+      keys[index] = random.nextInt(size) * 31;
+      words[index] = "word" + keys[index];
+    }
+
+    intIntMap = countIntIntMap();
+    hashMap = countHashMap();
+    intSet = buildIntSet();
+    hashSet = buildHashSet();
+  }
+
+  @Benchmark
+  public IntIntMap countIntIntMap() {
+    IntIntMap map = new IntIntMap();
+
+    map.addAll(keys);
+
+    return map;
+  }
+
+  @Benchmark
+  public Map<Integer, Integer> countHashMap() {
+    Map<Integer, Integer> map = new HashMap<>();
+
+    for (int key : keys) {
+      map.merge(key, 1, Integer::sum);
+    }
+
+    return map;
+  }
+
+  @Benchmark
+  public ObjectIntCounter<String> countObjectIntCounter() {
+    ObjectIntCounter<String> counter = new ObjectIntCounter<>();
+
+    counter.addAll(words);
+
+    return counter;
+  }
+
+  @Benchmark
+  public Map<String, int[]> countHashMapOfArrays() {
+    Map<String, int[]> map = new HashMap<>();
+
+    for (String word : words) {
+      int[] count = map.get(word);
+
+      if (count == null) {
+        map.put(word, new int[] { 1 });
+      } else {
+        count[0]++;
+      }
+    }
+
+    return map;
+  }
+
+  @Benchmark
+  public IntSet buildIntSet() {
+    IntSet set = new IntSet();
+
+    set.addAll(keys);
+
+    return set;
+  }
+
+  @Benchmark
+  public Set<Integer> buildHashSet() {
+    Set<Integer> set = new HashSet<>();
+
+    for (int key : keys) {
+      set.add(key);
+    }
+
+    return set;
+  }
+
+  @Benchmark
+  public long lookupIntIntMap() {
+    long sum = 0;
+
+    for (int key : keys) {
+      sum += intIntMap.get(key + 1) + intIntMap.get(key);
+    }
+
+    return sum;
+  }
+
+  @Benchmark
+  public long lookupHashMap() {
+    long sum = 0;
+
+    for (int key : keys) {
+      sum += hashMap.getOrDefault(key + 1, 0) + hashMap.getOrDefault(key, 0);
+    }
+
+    return sum;
+  }
+
+  @Benchmark
+  public int lookupIntSet() {
+    int hits = 0;
+
+    for (int key : keys) {
+      hits += intSet.contains(key) ? 1 : 0;
+    }
+
+    return hits;
+  }
+
+  @Benchmark
+  public int lookupHashSet() {
+    int hits = 0;
+
+    for (int key : keys) {
+      hits += hashSet.contains(key) ? 1 : 0;
+    }
+
+    return hits;
+  }
+}
@@ -0,0 +1,119 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cainlara.jalutils.FileUtils;
+import io.github.cainlara.jalutils.text.OffHeapStringPool;
+import io.github.cainlara.jalutils.text.StringPool;
+
+/**
+ * Interning cost of the string pools against plain copies and
+ * <code>String.intern()</code>, over keys that are already pooled. Each
+ * operation handles a batch of 1024 values; run with <code>-t</code> to see
+ * how the striped pool behaves under contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class StringPoolBenchmark {
+  private static final int BATCH = 1024;
+  private static final String[] EXTENSIONS = { "txt", "png", "java", "class", "properties", "gz" };
+
+  private String[] keys;
+  private String[] paths;
+  private StringPool pool;
+  private OffHeapStringPool offHeapPool;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+
+    keys = new String[BATCH];
+    paths = new String[BATCH];
+    pool = new StringPool.Builder().build();
+    offHeapPool = new OffHeapStringPool.Builder().build();
+
+    for (int index = 0; index < BATCH; index++) {
+      // distinct instances with repeated contents, as read from files or built per call
+      keys[index] = new String("message.key." + random.nextInt(128));
+      paths[index] = "/data/folder" + index + "/file." + EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+    }
+
+    for (String key : keys) {
+      pool.intern(key);
+      offHeapPool.handle(key);
+    }
+  }
+
+  @Benchmark
+  public int internPool() {
+    int length = 0;
+
+    for (String key : keys) {
+      length += pool.intern(key).length();
+    }
+
+    return length;
+  }
+
+  @Benchmark
+  public int internJvm() {
+    int length = 0;
+
+    for (String key : keys) {
+      length += key.intern().length();
+    }
+
+    return length;
+  }
+
+  @Benchmark
+  public int handleOffHeap() {
+    int sum = 0;
+
+    for (String key : keys) {
+      sum += offHeapPool.handle(key);
+    }
+
+    return sum;
+  }
+
+  @Benchmark
+  public int extensionCopy() {
+    int length = 0;
+
+    for (String path : paths) {
+      length += FileUtils.getInstance().getFileExtension(path).length();
+    }
+
+    return length;
+  }
+
+  @Benchmark
+  public int extensionPooled() {
+    int length = 0;
+
+    for (String path : paths) {
+      length += FileUtils.getInstance().getFileExtension(path, pool).length();
+    }
+
+    return length;
+  }
+}
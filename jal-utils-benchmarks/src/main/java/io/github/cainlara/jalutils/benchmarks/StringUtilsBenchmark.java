@@ -0,0 +1,137 @@
+package io.github.cainlara.jalutils.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.cainlara.jalutils.StringUtils;
+import io.github.cainlara.jalutils.text.LiteralReplacer;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringUtilsBenchmark {
+
+  @Param({ "8", "128", "4096" })
+  private int size;
+
+  private String padded;
+  private String csvLine;
+  private List<String> tokens;
+  private String markup;
+  private LiteralReplacer replacer;
+
+  @Setup
+  public void setUp() {
+    StringBuilder text = new StringBuilder();
+
+    for (int index = 0; index < size; index++) {
+      text.append(' ');
+    }
+
+    padded = text.append("value ").toString();
+
+    tokens = new ArrayList<>();
+    StringBuilder line = new StringBuilder();
+    StringBuilder html = new StringBuilder();
+
+    for (int index = 0; index < size; index++) {
+      tokens.add("cell" + index);
+      line.append(index == 0 ? "" : ",").append("cell").append(index);
+      html.append("<b>").append(index).append(" & ").append(index).append("</b>");
+    }
+
+    csvLine = line.toString();
+    markup = html.toString();
+
+    Map<String, String> entities = new HashMap<>();
+    entities.put("&", "&amp;");
+    entities.put("<", "&lt;");
+    entities.put(">", "&gt;");
+    replacer = new LiteralReplacer(entities);
+  }
+
+  @Benchmark
+  public boolean isBlankTrim() {
+    return padded.trim().isEmpty();
+  }
+
+  @Benchmark
+  public boolean isBlankScan() {
+    return StringUtils.getInstance().isBlank(padded);
+  }
+
+  @Benchmark
+  public boolean isBlankUnicode() {
+    return StringUtils.getInstance().isBlank(padded, true);
+  }
+
+  @Benchmark
+  public void splitJdk(final Blackhole blackhole) {
+    for (String token : csvLine.split(",")) {
+      blackhole.consume(token);
+    }
+  }
+
+  @Benchmark
+  public void splitViews(final Blackhole blackhole) {
+    for (Iterator<CharSequence> it = StringUtils.getInstance().split(csvLine, ','); it.hasNext();) {
+      blackhole.consume(it.next());
+    }
+  }
+
+  @Benchmark
+  public String joinJdk() {
+    return String.join(",", tokens);
+  }
+
+  @Benchmark
+  public String joinReused() {
+    return StringUtils.getInstance().join(",", tokens);
+  }
+
+  @Benchmark
+  public String replaceJdk() {
+    return markup.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+  }
+
+  @Benchmark
+  public String replaceAhoCorasick() {
+    return replacer.replace(markup);
+  }
+
+  @Benchmark
+  public String padJdk() {
+    return String.format("%" + (size + 8) + "s", "value");
+  }
+
+  @Benchmark
+  public String padPresized() {
+    return StringUtils.getInstance().padLeft("value", size + 8, ' ');
+  }
+
+  @Benchmark
+  public List<String> splitList() {
+    return Arrays.asList(csvLine.split(","));
+  }
+}
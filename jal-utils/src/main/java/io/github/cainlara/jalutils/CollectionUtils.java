@@ -0,0 +1,835 @@
+package io.github.cainlara.jalutils;
+
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.cainlara.jalutils.collections.Diff;
+import io.github.cainlara.jalutils.collections.EditScript;
+import io.github.cainlara.jalutils.collections.ObjectIntCounter;
+import io.github.cainlara.jalutils.collections.SortedDiff;
+import io.github.cainlara.jalutils.collections.SortedMerge;
+
+public final class CollectionUtils {
+  /**
+   * Default minimum number of elements processed by a single task of the
+   * parallel bulk operations.
+   */
+  public static final int DEFAULT_GRAIN_SIZE = 1024;
+
+  /**
+   * Number of chunks per pool thread the parallel bulk operations aim for,
+   * enough to balance uneven chunks without paying for many merges.
+   */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private static final String LIST_CANT_BE_NULL_MESSAGE = "List can not be null.";
+  private static final String[] SINGLE_CHARS = new String[256];
+
+  static {
+    for (char c = 0; c < SINGLE_CHARS.length; c++) {
+      SINGLE_CHARS[c] = String.valueOf(c).intern();
+    }
+  }
+
+  private CollectionUtils() {
+    // hide constructor
+  }
+
+  /**
+   * Retrieves the only instance of this class.
+   * 
+   * @return an instance of this class.
+   */
+  public static CollectionUtils getInstance() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  private static final class InstanceHolder {
+    private static final CollectionUtils INSTANCE = new CollectionUtils();
+  }
+
+  /**
+   * Splits a <code>String</code> into an <code>ArrayList</code>.
+   * 
+   * @param str The <code>String</code> to split.
+   * 
+   * @return
+   *         <ul>
+   *         <li><code>null</code> if the input is <code>null</code>.</li>
+   *         <li>An empty <code>ArrayList</code> if lenght of input is 0.</li>
+   *         <li>An <code>ArrayList</code> of <code>String</code> containing every
+   *         single characther from the original input, including blank
+   *         spaces.</li>
+   *         </ul>
+   */
+  public List<String> toList(final String str) {
+    return toList(str, true);
+  }
+
+  /**
+   * Splits a <code>String</code> into an <code>ArrayList</code>.
+   * 
+   * @param str           The <code>String</code> to split.
+   * @param includeBlanks whether or not to include blank spaces from original
+   *                      input.
+   * 
+   * @return
+   *         <ul>
+   *         <li><code>null</code> if the input is <code>null</code>.</li>
+   *         <li>An empty <code>ArrayList</code> if lenght of input is 0.</li>
+   *         <li>An <code>ArrayList</code> of <code>String</code> containing every
+   *         single characther from the original input, including blank
+   *         spaces.</li>
+   *         </ul>
+   */
+  public List<String> toList(final String str, boolean includeBlanks) {
+    List<String> list = null;
+
+    if (str != null) {
+      list = new ArrayList<>(str.length());
+
+      for (int index = 0; index < str.length(); index++) {
+        char c = str.charAt(index);
+
+        if (c != ' ' || includeBlanks) {
+          list.add(charToString(c));
+        }
+      }
+    }
+
+    return list;
+  }
+
+  /**
+   * Splits a <code>String</code> into an <code>ArrayList</code> of characters
+   * or code points.
+   * 
+   * @param str           The <code>String</code> to split.
+   * @param includeBlanks whether or not to include blank spaces from original
+   *                      input.
+   * @param byCodePoint   whether or not to keep surrogate pairs together, so
+   *                      characters outside the Basic Multilingual Plane, such
+   *                      as emoji, become a single element.
+   * 
+   * @return
+   *         <ul>
+   *         <li><code>null</code> if the input is <code>null</code>.</li>
+   *         <li>An empty <code>ArrayList</code> if lenght of input is 0.</li>
+   *         <li>An <code>ArrayList</code> of <code>String</code> containing every
+   *         single character, or code point, from the original input.</li>
+   *         </ul>
+   */
+  public List<String> toList(final String str, boolean includeBlanks, boolean byCodePoint) {
+    if (!byCodePoint || str == null) {
+      return toList(str, includeBlanks);
+    }
+
+    List<String> list = new ArrayList<>(str.length());
+
+    for (int index = 0; index < str.length();) {
+      int codePoint = str.codePointAt(index);
+      int next = index + Character.charCount(codePoint);
+
+      if (codePoint != ' ' || includeBlanks) {
+        list.add(next - index == 1 ? charToString(str.charAt(index)) : str.substring(index, next));
+      }
+
+      index = next;
+    }
+
+    return list;
+  }
+
+  /**
+   * Creates a read-only <code>List</code> view of the characters of a
+   * <code>String</code>.
+   * <p>
+   * Unlike {@link #toList(String)}, nothing is copied: every element is
+   * computed on access from the original input, and Latin-1 characters are
+   * served from a shared table of one character strings. Blank spaces are
+   * always included.
+   * 
+   * @param str The <code>String</code> to view.
+   * 
+   * @return <code>null</code> if the input is <code>null</code>, otherwise an
+   *         unmodifiable, random access list of one character strings.
+   */
+  public List<String> toCharView(final String str) {
+    return str == null ? null : new CharListView(str);
+  }
+
+  /**
+   * Retrieves the Unicode code points of a <code>String</code>, keeping
+   * surrogate pairs together.
+   * 
+   * @param str The <code>String</code> to split.
+   * 
+   * @return <code>null</code> if the input is <code>null</code>, otherwise an
+   *         array with every code point from the original input.
+   */
+  public int[] toCodePoints(final String str) {
+    return str == null ? null : str.codePoints().toArray();
+  }
+
+  /**
+   * Retrieves the Unicode code points of a <code>String</code> as a lazy
+   * stream, keeping surrogate pairs together.
+   * 
+   * @param str The <code>String</code> to split.
+   * 
+   * @return <code>null</code> if the input is <code>null</code>, otherwise a
+   *         stream with every code point from the original input.
+   */
+  public IntStream toCodePointStream(final String str) {
+    return str == null ? null : str.codePoints();
+  }
+
+  private static String charToString(final char c) {
+    return c < SINGLE_CHARS.length ? SINGLE_CHARS[c] : String.valueOf(c);
+  }
+
+  private static final class CharListView extends AbstractList<String> implements RandomAccess {
+    private final String str;
+
+    private CharListView(final String str) {
+      this.str = str;
+    }
+
+    @Override
+    public String get(final int index) {
+      return charToString(str.charAt(index));
+    }
+
+    @Override
+    public int size() {
+      return str.length();
+    }
+  }
+
+  /**
+   * Evaluates if the contents of two <code>ArrayList</code> are equal.
+   * <p>
+   * This method does not compare references. It only compares the equality of the
+   * content of two <code>ArrayList</code> instances. The contents of two
+   * <code>ArrayList</code> instances is evaluated to equal when one of the next
+   * three cases occurs:
+   * 
+   * <ul>
+   * <li>If one of the list is <code>null</code> both lists should be
+   * <code>null</code>.</li>
+   * <li>If one of the list is empty (<code>isEmpty() == true</code>) both lists
+   * should be empty.</li>
+   * <li>The sizes of both list must be the same <b>and</b> each element in
+   * <i>n</i> position from one list must be equal to the object in the same
+   * position from the other list.</li>
+   * </ul>
+   * 
+   * @param l1 List 1.
+   * @param l2 List 2.
+   * 
+   * @return <code>true</code> if and only if the content of boths list is
+   *         evaluated to equal. Otherwise returns <code>false</code>.
+   */
+  public boolean sortedListsAreEqual(final List<?> l1, final List<?> l2) {
+    if (l1 == null || l2 == null) {
+      return l1 == null && l2 == null;
+    }
+
+    if (l1.isEmpty() || l2.isEmpty()) {
+      return l1.isEmpty() && l2.isEmpty();
+    }
+
+    if (l1.size() != l2.size()) {
+      return false;
+    }
+
+    // iterators keep linked lists linear, where get(index) walks from the head
+    Iterator<?> i1 = l1.iterator();
+    Iterator<?> i2 = l2.iterator();
+
+    while (i1.hasNext()) {
+      if (!Objects.equals(i1.next(), i2.next())) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Compares two inputs sorted by the same order in a single pass, streaming
+   * the elements only on the left, only on the right, or on both.
+   * <p>
+   * Only one element of each input is held at a time, so sorted snapshots of
+   * any size can be reconciled, and elements equal by <code>comparator</code>
+   * but otherwise different, such as two versions of a record with the same
+   * key, are reported as common with both versions.
+   * 
+   * @param l1         the left input, sorted by <code>comparator</code>.
+   * @param l2         the right input, sorted by <code>comparator</code>.
+   * @param comparator the order of both inputs.
+   * 
+   * @return a lazy, sequential stream of differences in sorted order. Reading
+   *         it fails with <code>IllegalStateException</code> if an input turns
+   *         out not to be sorted.
+   * 
+   * @see SortedDiff
+   */
+  public <T> Stream<Diff<T>> diffSorted(final Iterable<? extends T> l1, final Iterable<? extends T> l2,
+      final Comparator<? super T> comparator) {
+    if (l1 == null || l2 == null) {
+      throw new IllegalArgumentException(LIST_CANT_BE_NULL_MESSAGE);
+    }
+
+    return stream(new SortedDiff<T>(l1.iterator(), l2.iterator(), comparator));
+  }
+
+  /**
+   * Merges inputs sorted by the same order into a single sorted stream,
+   * reading each input lazily. Equal elements keep the order of their inputs.
+   * 
+   * @param sources    the inputs, each sorted by <code>comparator</code>.
+   * @param comparator the order of every input and of the result.
+   * 
+   * @return a lazy, sequential stream with every element of every input.
+   * 
+   * @see SortedMerge
+   */
+  public <T> Stream<T> mergeSorted(final List<? extends Iterable<? extends T>> sources,
+      final Comparator<? super T> comparator) {
+    if (sources == null) {
+      throw new IllegalArgumentException(LIST_CANT_BE_NULL_MESSAGE);
+    }
+
+    List<Iterator<? extends T>> iterators = new ArrayList<>(sources.size());
+
+    for (Iterable<? extends T> source : sources) {
+      if (source == null) {
+        throw new IllegalArgumentException(LIST_CANT_BE_NULL_MESSAGE);
+      }
+
+      iterators.add(source.iterator());
+    }
+
+    return stream(new SortedMerge<T>(iterators, comparator));
+  }
+
+  /**
+   * Computes the shortest sequence of removals and additions turning
+   * <code>l1</code> into <code>l2</code>, comparing elements with
+   * <code>equals</code>. Neither list needs to be sorted.
+   * 
+   * @param l1 the original list.
+   * @param l2 the target list.
+   * 
+   * @return a lazy, sequential stream of every element of both lists, in
+   *         order, marked as removed, added or common.
+   * 
+   * @see EditScript
+   */
+  public <T> Stream<Diff<T>> editScript(final List<? extends T> l1, final List<? extends T> l2) {
+    if (l1 == null || l2 == null) {
+      throw new IllegalArgumentException(LIST_CANT_BE_NULL_MESSAGE);
+    }
+
+    return stream(new EditScript<T>(l1, l2));
+  }
+
+  private static <T> Stream<T> stream(final Iterator<T> iterator) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+  }
+
+  /**
+   * Evaluates if the contents of two <code>ArrayList</code> are equal.
+   * <p>
+   * This method does not compare references. It only compares the equality of the
+   * content of two <code>ArrayList</code> instances. The contents of two
+   * <code>ArrayList</code> instances is evaluated to equal when one of the next
+   * three cases occurs:
+   * 
+   * <ul>
+   * <li>If one of the list is <code>null</code> both lists should be
+   * <code>null</code>.</li>
+   * <li>If one of the list is empty (<code>isEmpty() == true</code>) both lists
+   * should be empty.</li>
+   * <li>The sizes of both list must be the same <b>and</b> each element in one
+   * list must have one and only one reflected element in the other list,
+   * regardless of their positions in their respective lists.</li>
+   * </ul>
+   * Elements are compared with <code>equals</code>, so duplicates are taken
+   * into account: <code>[a, a, b]</code> and <code>[a, b, b]</code> are not
+   * equal. Lists of boxed integral numbers are compared as sorted primitive
+   * arrays, lists of naturally ordered elements such as <code>String</code>
+   * are compared sorted, and any other list is compared by counting
+   * occurrences.
+   * 
+   * @param l1 List 1.
+   * @param l2 List 2.
+   * 
+   * @return <code>true</code> if and only if the content of boths list is
+   *         evaluated to equal. Otherwise returns <code>false</code>.
+   */
+  public boolean listsAreEqual(final List<?> l1, final List<?> l2) {
+    if (l1 == null || l2 == null) {
+      return l1 == null && l2 == null;
+    }
+
+    if (l1.isEmpty() || l2.isEmpty()) {
+      return l1.isEmpty() && l2.isEmpty();
+    }
+
+    if (l1.size() != l2.size()) {
+      return false;
+    }
+
+    Class<?> elementClass = commonElementClass(l1, l2);
+
+    if (elementClass != null && isIntegral(elementClass)) {
+      return Arrays.equals(sortedLongs(l1), sortedLongs(l2));
+    }
+
+    if (elementClass != null && isNaturallyOrdered(elementClass)) {
+      Object[] a1 = l1.toArray();
+      Object[] a2 = l2.toArray();
+
+      Arrays.sort(a1);
+      Arrays.sort(a2);
+
+      return Arrays.equals(a1, a2);
+    }
+
+    return countsAreEqual(l1, l2);
+  }
+
+  /**
+   * Splits a list into consecutive sublists of the same size, the last one
+   * possibly smaller.
+   * <p>
+   * Nothing is copied: the result and its sublists are views over
+   * <code>list</code>, so they reflect later changes to it and must not be
+   * used after its size changes.
+   * 
+   * @param list the list to split.
+   * @param size the size of each sublist.
+   * 
+   * @return an unmodifiable, random access list of sublist views.
+   */
+  public <T> List<List<T>> partition(final List<T> list, final int size) {
+    if (list == null) {
+      throw new IllegalArgumentException(LIST_CANT_BE_NULL_MESSAGE);
+    }
+
+    if (size < 1) {
+      throw new IllegalArgumentException("Partition size must be positive.");
+    }
+
+    return new Partition<>(list, size);
+  }
+
+  /**
+   * Groups the elements of a list by key, in parallel on the common
+   * <code>ForkJoinPool</code>.
+   * 
+   * @param list       the elements to group.
+   * @param classifier computes the key of each element.
+   * 
+   * @return a map from each key to the elements with that key, in list order.
+   * 
+   * @see #groupBy(List, Function, int, ForkJoinPool)
+   */
+  public <T, K> Map<K, List<T>> groupBy(final List<? extends T> list,
+      final Function<? super T, ? extends K> classifier) {
+    return groupBy(list, classifier, DEFAULT_GRAIN_SIZE, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Groups the elements of a list by key, in parallel.
+   * <p>
+   * The list is split into a few chunks per pool thread, of at least
+   * <code>grainSize</code> elements. Each chunk is grouped into its own map,
+   * with no shared state between threads, and maps are merged pairwise as
+   * chunks complete, the smaller into the larger, keeping the order of the
+   * list inside each group. Lists that do not support random access are copied
+   * into an array first.
+   * 
+   * @param list       the elements to group.
+   * @param classifier computes the key of each element; it must be
+   *                   thread-safe.
+   * @param grainSize  the minimum number of elements grouped by a single task.
+   * @param pool       the pool running the tasks.
+   * 
+   * @return a map from each key to the elements with that key, in list order.
+   */
+  public <T, K> Map<K, List<T>> groupBy(final List<? extends T> list,
+      final Function<? super T, ? extends K> classifier, final int grainSize, final ForkJoinPool pool) {
+    validateBulk(list, classifier, grainSize, pool);
+
+    return pool.invoke(new ReduceTask<T, Map<K, List<T>>>(randomAccess(list), 0, list.size(),
+        chunkSize(list.size(), grainSize, pool), HashMap::new,
+        (groups, element) -> groups.computeIfAbsent(classifier.apply(element), key -> new ArrayList<>()).add(element),
+        CollectionUtils::mergeGroups));
+  }
+
+  /**
+   * Counts the elements of a list by key, in parallel on the common
+   * <code>ForkJoinPool</code>.
+   * 
+   * @param list       the elements to count.
+   * @param classifier computes the key of each element.
+   * 
+   * @return a map from each key to the number of elements with that key.
+   * 
+   * @see #countBy(List, Function, int, ForkJoinPool)
+   */
+  public <T, K> Map<K, Long> countBy(final List<? extends T> list, final Function<? super T, ? extends K> classifier) {
+    return countBy(list, classifier, DEFAULT_GRAIN_SIZE, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Counts the elements of a list by key, in parallel.
+   * <p>
+   * Like {@link #groupBy(List, Function, int, ForkJoinPool)}, each chunk counts
+   * into its own primitive counter, and counters are merged as chunks
+   * complete.
+   * 
+   * @param list       the elements to count.
+   * @param classifier computes the key of each element; it must be
+   *                   thread-safe.
+   * @param grainSize  the minimum number of elements counted by a single task.
+   * @param pool       the pool running the tasks.
+   * 
+   * @return a map from each key to the number of elements with that key.
+   */
+  public <T, K> Map<K, Long> countBy(final List<? extends T> list,
+      final Function<? super T, ? extends K> classifier, final int grainSize, final ForkJoinPool pool) {
+    validateBulk(list, classifier, grainSize, pool);
+
+    ObjectIntCounter<K> counts = pool.invoke(new ReduceTask<T, ObjectIntCounter<K>>(randomAccess(list), 0,
+        list.size(), chunkSize(list.size(), grainSize, pool), ObjectIntCounter::new,
+        (partial, element) -> partial.add(classifier.apply(element)), (left, right) -> {
+          left.addAll(right);
+
+          return left;
+        }));
+
+    Map<K, Long> result = new HashMap<>(counts.size() * 4 / 3 + 1);
+    ObjectIntCounter<K>.Cursor cursor = counts.cursor();
+
+    while (cursor.advance()) {
+      result.put(cursor.key(), (long) cursor.count());
+    }
+
+    return result;
+  }
+
+  /**
+   * Applies a function to every element of a list, in parallel on the common
+   * <code>ForkJoinPool</code>.
+   * 
+   * @param list   the elements to map.
+   * @param mapper the function to apply.
+   * 
+   * @return a fixed-size list with the results, in list order.
+   * 
+   * @see #map(List, Function, int, ForkJoinPool)
+   */
+  public <T, R> List<R> map(final List<? extends T> list, final Function<? super T, ? extends R> mapper) {
+    return map(list, mapper, DEFAULT_GRAIN_SIZE, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Applies a function to every element of a list, in parallel.
+   * <p>
+   * The list is split into a few chunks per pool thread, of at least
+   * <code>grainSize</code> elements, and each task writes its results
+   * straight into a presized array, so no merging is needed. Cheap functions
+   * call for larger grains.
+   * 
+   * @param list      the elements to map.
+   * @param mapper    the function to apply; it must be thread-safe.
+   * @param grainSize the minimum number of elements mapped by a single task.
+   * @param pool      the pool running the tasks.
+   * 
+   * @return a fixed-size list with the results, in list order.
+   */
+  @SuppressWarnings("unchecked")
+  public <T, R> List<R> map(final List<? extends T> list, final Function<? super T, ? extends R> mapper,
+      final int grainSize, final ForkJoinPool pool) {
+    validateBulk(list, mapper, grainSize, pool);
+
+    Object[] results = new Object[list.size()];
+
+    pool.invoke(new MapTask<T>(randomAccess(list), results, 0, results.length,
+        chunkSize(results.length, grainSize, pool), mapper));
+
+    return (List<R>) Arrays.asList(results);
+  }
+
+  /**
+   * Counts every element of <code>l1</code> and discounts every element of
+   * <code>l2</code>, failing as soon as an element of <code>l2</code> runs out
+   * of occurrences. Both lists are known to have the same size.
+   */
+  private boolean countsAreEqual(final List<?> l1, final List<?> l2) {
+    ObjectIntCounter<Object> counts = new ObjectIntCounter<>(l1.size());
+
+    counts.addAll(l1);
+
+    for (Object o2 : l2) {
+      if (counts.add(o2, -1) < 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Retrieves the class shared by every element of both lists, or
+   * <code>null</code> if there are <code>null</code> elements or elements of
+   * different classes.
+   */
+  private Class<?> commonElementClass(final List<?> l1, final List<?> l2) {
+    Object first = l1.get(0);
+
+    if (first == null) {
+      return null;
+    }
+
+    Class<?> elementClass = first.getClass();
+
+    for (List<?> list : Arrays.asList(l1, l2)) {
+      for (Object o : list) {
+        if (o == null || o.getClass() != elementClass) {
+          return null;
+        }
+      }
+    }
+
+    return elementClass;
+  }
+
+  private boolean isIntegral(final Class<?> elementClass) {
+    return elementClass == Integer.class || elementClass == Long.class || elementClass == Short.class
+        || elementClass == Byte.class;
+  }
+
+  /**
+   * Evaluates if sorting instances of a class puts equal elements next to each
+   * other, which requires a natural ordering consistent with
+   * <code>equals</code>.
+   */
+  private boolean isNaturallyOrdered(final Class<?> elementClass) {
+    return elementClass == String.class || elementClass == Character.class || elementClass == Boolean.class
+        || elementClass == Double.class || elementClass == Float.class || elementClass == BigInteger.class
+        || elementClass.isEnum();
+  }
+
+  private long[] sortedLongs(final List<?> list) {
+    long[] values = new long[list.size()];
+    int index = 0;
+
+    for (Object o : list) {
+      values[index++] = ((Number) o).longValue();
+    }
+
+    Arrays.sort(values);
+
+    return values;
+  }
+
+  private static void validateBulk(final List<?> list, final Function<?, ?> function, final int grainSize,
+      final ForkJoinPool pool) {
+    if (list == null) {
+      throw new IllegalArgumentException(LIST_CANT_BE_NULL_MESSAGE);
+    }
+
+    if (function == null) {
+      throw new IllegalArgumentException("Function can not be null.");
+    }
+
+    if (grainSize < 1) {
+      throw new IllegalArgumentException("Grain size must be positive.");
+    }
+
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool can not be null.");
+    }
+  }
+
+  /**
+   * Merges the groups of two adjacent chunks into the map with more keys,
+   * keeping the elements of <code>left</code> first in each group.
+   */
+  private static <K, T> Map<K, List<T>> mergeGroups(final Map<K, List<T>> left, final Map<K, List<T>> right) {
+    if (left.size() >= right.size()) {
+      for (Map.Entry<K, List<T>> entry : right.entrySet()) {
+        List<T> group = left.get(entry.getKey());
+
+        if (group == null) {
+          left.put(entry.getKey(), entry.getValue());
+        } else {
+          group.addAll(entry.getValue());
+        }
+      }
+
+      return left;
+    }
+
+    for (Map.Entry<K, List<T>> entry : left.entrySet()) {
+      List<T> group = entry.getValue();
+      List<T> following = right.put(entry.getKey(), group);
+
+      if (following != null) {
+        group.addAll(following);
+      }
+    }
+
+    return right;
+  }
+
+  private static int chunkSize(final int size, final int grainSize, final ForkJoinPool pool) {
+    long chunks = (long) pool.getParallelism() * CHUNKS_PER_THREAD;
+
+    return (int) Math.max(grainSize, (size + chunks - 1) / chunks);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<? extends T> randomAccess(final List<? extends T> list) {
+    return list instanceof RandomAccess ? list : (List<T>) Arrays.asList(list.toArray());
+  }
+
+  private static final class Partition<T> extends AbstractList<List<T>> implements RandomAccess {
+    private final List<T> list;
+    private final int size;
+
+    private Partition(final List<T> list, final int size) {
+      this.list = list;
+      this.size = size;
+    }
+
+    @Override
+    public List<T> get(final int index) {
+      if (index < 0 || index >= size()) {
+        throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size());
+      }
+
+      int from = index * size;
+
+      return list.subList(from, Math.min(from + size, list.size()));
+    }
+
+    @Override
+    public int size() {
+      return (int) ((list.size() + (long) size - 1) / size);
+    }
+  }
+
+  private static final class MapTask<T> extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final List<? extends T> source;
+    private final Object[] target;
+    private final int from;
+    private final int to;
+    private final int grainSize;
+    private final Function<? super T, ?> mapper;
+
+    private MapTask(final List<? extends T> source, final Object[] target, final int from, final int to,
+        final int grainSize, final Function<? super T, ?> mapper) {
+      this.source = source;
+      this.target = target;
+      this.from = from;
+      this.to = to;
+      this.grainSize = grainSize;
+      this.mapper = mapper;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= grainSize) {
+        for (int index = from; index < to; index++) {
+          target[index] = mapper.apply(source.get(index));
+        }
+
+        return;
+      }
+
+      int middle = (from + to) >>> 1;
+
+      invokeAll(new MapTask<>(source, target, from, middle, grainSize, mapper),
+          new MapTask<>(source, target, middle, to, grainSize, mapper));
+    }
+  }
+
+  /**
+   * Accumulates a range of a list into a container of its own, splitting the
+   * range while it is larger than the grain size and combining the containers
+   * of both halves, left first, once they are done.
+   */
+  private static final class ReduceTask<T, A> extends RecursiveTask<A> {
+    private static final long serialVersionUID = 1L;
+
+    private final List<? extends T> source;
+    private final int from;
+    private final int to;
+    private final int grainSize;
+    private final Supplier<A> factory;
+    private final BiConsumer<A, T> accumulator;
+    private final BinaryOperator<A> combiner;
+
+    private ReduceTask(final List<? extends T> source, final int from, final int to, final int grainSize,
+        final Supplier<A> factory, final BiConsumer<A, T> accumulator, final BinaryOperator<A> combiner) {
+      this.source = source;
+      this.from = from;
+      this.to = to;
+      this.grainSize = grainSize;
+      this.factory = factory;
+      this.accumulator = accumulator;
+      this.combiner = combiner;
+    }
+
+    @Override
+    protected A compute() {
+      if (to - from <= grainSize) {
+        A container = factory.get();
+
+        for (int index = from; index < to; index++) {
+          accumulator.accept(container, source.get(index));
+        }
+
+        return container;
+      }
+
+      int middle = (from + to) >>> 1;
+      ReduceTask<T, A> right = new ReduceTask<>(source, middle, to, grainSize, factory, accumulator, combiner);
+
+      right.fork();
+
+      A left = new ReduceTask<>(source, from, middle, grainSize, factory, accumulator, combiner).compute();
+
+      return combiner.apply(left, right.join());
+    }
+  }
+}
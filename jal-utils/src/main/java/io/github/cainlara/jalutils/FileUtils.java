@@ -0,0 +1,659 @@
+package io.github.cainlara.jalutils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import io.github.cainlara.jalutils.file.ContentHasher;
+import io.github.cainlara.jalutils.file.CopyEngine;
+import io.github.cainlara.jalutils.file.CopyResult;
+import io.github.cainlara.jalutils.file.DeleteResult;
+import io.github.cainlara.jalutils.file.DuplicateFinder;
+import io.github.cainlara.jalutils.file.FileLine;
+import io.github.cainlara.jalutils.file.FileNames;
+import io.github.cainlara.jalutils.file.FileScanner;
+import io.github.cainlara.jalutils.file.FolderDeleter;
+import io.github.cainlara.jalutils.file.LineReader;
+import io.github.cainlara.jalutils.file.TreeCopier;
+import io.github.cainlara.jalutils.file.TreeCopyResult;
+import io.github.cainlara.jalutils.metrics.Metrics;
+import io.github.cainlara.jalutils.text.StringPool;
+
+/**
+ * Handles file system operations. This class is intended to be used as a
+ * Singleton Pattern implementation.
+ * 
+ * @author jalara
+ */
+public final class FileUtils {
+  private static final String FILE_CANT_BE_NULL_MESSAGE = "File can not be null";
+  private static final String DOT_CHARACTER = ".";
+  private static final String COPY_TIMER = "jalutils.file.copy";
+  private static final String COPY_BYTES_COUNTER = "jalutils.file.copy.bytes";
+  private static final String DELETE_TIMER = "jalutils.file.delete";
+  private static final String DELETE_FOLDER_TIMER = "jalutils.file.delete.folder";
+
+  private FileUtils() {
+    // hide constructor
+  }
+
+  /**
+   * Retrives the only instance of this class.
+   * 
+   * @return an instance of this class.
+   */
+  public static FileUtils getInstance() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  private static final class InstanceHolder {
+    private static final FileUtils INSTANCE = new FileUtils();
+  }
+
+  /**
+   * Appends the specified extension to the file name.
+   * <p>
+   * If the file's name does not end with the the extension specified by param
+   * <code>extension</code>, then the extension is appended. <b>NOTE: </b>
+   * invoking this method does not modify the file's name in the local file
+   * system, nor the JVM reference to the file.
+   * 
+   * @param fileName  the current file name.
+   * @param extension the extension to append.
+   * 
+   * @return the fixed file's name ending with the extension specification.
+   */
+  public String addExtension(final String fileName, final String extension) {
+    if (StringUtils.getInstance().isBlank(fileName)) {
+      throw new IllegalArgumentException("FileName can not be null nor empty.");
+    }
+
+    boolean dotted = extension.startsWith(DOT_CHARACTER);
+    int dotIndex = fileName.length() - extension.length() - 1;
+
+    if (fileName.endsWith(extension) && (dotted || dotIndex >= 0 && fileName.charAt(dotIndex) == '.')) {
+      return fileName;
+    }
+
+    StringBuilder fixedFileName = new StringBuilder(fileName.length() + extension.length() + 1).append(fileName);
+
+    if (!dotted) {
+      fixedFileName.append(DOT_CHARACTER);
+    }
+
+    return fixedFileName.append(extension).toString();
+  }
+
+  /**
+   * Copies the file in the file system represented by param
+   * <code>sourceFile</code> into the destination specified by param
+   * <code>targetFile</code>.
+   * 
+   * @param sourceFile The file to be copied.
+   * @param targetFile Copy destination.
+   * 
+   * @throws IOException if the file specified by <code>sourceFile</code> is
+   *                     <code>null</code> or does not exist in the file system,
+   *                     or if the file specified by <code>targetFile</code> is
+   *                     <code>null</code>.
+   */
+  public void copyFile(final File sourceFile, final File targetFile) throws IOException {
+    if (sourceFile == null) {
+      throw new IOException("Source file can not be null.");
+    }
+
+    if (targetFile == null) {
+      throw new IOException("Target file can not be null.");
+    }
+
+    if (!sourceFile.exists()) {
+      throw new IOException("Source file (" + sourceFile.getAbsolutePath() + ") does not exist.");
+    }
+
+    long start = Metrics.startNanos();
+
+    Files.copy(sourceFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+    if (start != 0L) {
+      Metrics.recordSince(COPY_TIMER, start);
+      Metrics.count(COPY_BYTES_COUNTER, targetFile.length());
+    }
+  }
+
+  /**
+   * Copies the file in the file system represented by param
+   * <code>sourceFile</code> into the destination specified by param
+   * <code>targetFile</code> using a configured <code>CopyEngine</code>.
+   * 
+   * @param sourceFile The file to be copied.
+   * @param targetFile Copy destination.
+   * @param copyEngine The engine performing the copy.
+   * 
+   * @return the copy outcome, including the checksum if the engine computes
+   *         one.
+   * 
+   * @throws IOException if the file specified by <code>sourceFile</code> is
+   *                     <code>null</code> or does not exist in the file system,
+   *                     if the file specified by <code>targetFile</code> is
+   *                     <code>null</code>, or if the copy fails.
+   * 
+   * @see CopyEngine
+   */
+  public CopyResult copyFile(final File sourceFile, final File targetFile, final CopyEngine copyEngine)
+      throws IOException {
+    if (sourceFile == null) {
+      throw new IOException("Source file can not be null.");
+    }
+
+    if (targetFile == null) {
+      throw new IOException("Target file can not be null.");
+    }
+
+    if (copyEngine == null) {
+      throw new IllegalArgumentException("Copy engine can not be null.");
+    }
+
+    if (!sourceFile.exists()) {
+      throw new IOException("Source file (" + sourceFile.getAbsolutePath() + ") does not exist.");
+    }
+
+    long start = Metrics.startNanos();
+    CopyResult result = copyEngine.copy(sourceFile.toPath(), targetFile.toPath());
+
+    Metrics.recordSince(COPY_TIMER, start);
+    Metrics.count(COPY_BYTES_COUNTER, result.getBytesCopied());
+
+    return result;
+  }
+
+  /**
+   * Copies the content of the directory represented by param
+   * <code>sourceFolder</code> into the directory specified by param
+   * <code>targetFolder</code>, creating it if needed.
+   * 
+   * @param sourceFolder The directory to be copied.
+   * @param targetFolder Copy destination.
+   * @param treeCopier   The copier performing the copy, which defines the
+   *                     parallelism and whether unchanged files are skipped.
+   * 
+   * @return the copy outcome, including counts, bytes moved and failures.
+   * 
+   * @throws IOException if the directory specified by <code>sourceFolder</code>
+   *                     is <code>null</code> or does not exist in the file
+   *                     system, or if the directory specified by
+   *                     <code>targetFolder</code> is <code>null</code>.
+   * 
+   * @see TreeCopier
+   */
+  public TreeCopyResult copyTree(final File sourceFolder, final File targetFolder, final TreeCopier treeCopier)
+      throws IOException {
+    if (sourceFolder == null) {
+      throw new IOException("Source folder can not be null.");
+    }
+
+    if (targetFolder == null) {
+      throw new IOException("Target folder can not be null.");
+    }
+
+    if (treeCopier == null) {
+      throw new IllegalArgumentException("Tree copier can not be null.");
+    }
+
+    if (!sourceFolder.isDirectory()) {
+      throw new IOException("Source folder (" + sourceFolder.getAbsolutePath() + ") does not exist.");
+    }
+
+    return treeCopier.copy(sourceFolder.toPath(), targetFolder.toPath());
+  }
+
+  /**
+   * Copies the content of the directory represented by param
+   * <code>sourceFolder</code> into the directory specified by param
+   * <code>targetFolder</code> using one thread per available processor.
+   * 
+   * @param sourceFolder The directory to be copied.
+   * @param targetFolder Copy destination.
+   * @param incremental  whether or not to skip files whose target already has
+   *                     the same size and modification time.
+   * 
+   * @return the copy outcome, including counts, bytes moved and failures.
+   * 
+   * @throws IOException if the directory specified by <code>sourceFolder</code>
+   *                     is <code>null</code> or does not exist in the file
+   *                     system, or if the directory specified by
+   *                     <code>targetFolder</code> is <code>null</code>.
+   */
+  public TreeCopyResult copyTree(final File sourceFolder, final File targetFolder, final boolean incremental)
+      throws IOException {
+    return copyTree(sourceFolder, targetFolder, new TreeCopier.Builder().incremental(incremental).build());
+  }
+
+  /**
+   * Deletes a file from the filesystem.
+   * 
+   * @param file2delete a <code>File</code> object that represents the file to
+   *                    delete.
+   * @return <code>true</code> if and only if the file is successfully deleted;
+   *         <code>false</code> otherwise
+   * @throws IOException if the file does not exist in the file system or if the
+   *                     param <code>file2delete</code> represents a directory.
+   * 
+   * @see File
+   */
+  public boolean deleteFile(final File file2delete) throws IOException {
+    if (file2delete == null) {
+      throw new IOException("File to delete can not be null.");
+    }
+
+    if (!file2delete.exists()) {
+      throw new IOException("File to delete does not exist.");
+    }
+
+    if (file2delete.isDirectory()) {
+      throw new IOException(file2delete.getAbsolutePath() + " is a Folder.");
+    }
+
+    long start = Metrics.startNanos();
+
+    try {
+      return Files.deleteIfExists(file2delete.toPath());
+    } finally {
+      Metrics.recordSince(DELETE_TIMER, start);
+    }
+  }
+
+  /**
+   * Deletes a file from the filesystem.
+   * 
+   * @param fileAbsolutePath the absolute path to the directory to delete.
+   * @return <code>true</code> if and only if the file is successfully deleted;
+   *         <code>false</code> otherwise
+   * @throws IOException if the file does not exist in the filesystem or if the
+   *                     param <code>fileAbsolutePath</code> represents a
+   *                     directory.
+   */
+  public boolean deleteFile(final String fileAbsolutePath) throws IOException {
+    if (StringUtils.getInstance().isBlank(fileAbsolutePath)) {
+      throw new IllegalArgumentException("Invalid file path");
+    }
+
+    return deleteFile(new File(fileAbsolutePath));
+  }
+
+  /**
+   * Deletes a directory and its content from the filesystem.
+   * 
+   * @param folder2Delete a <code>File</code> object that represents the directory
+   *                      to delete.
+   * @return <code>true</code> if and only if the directory is successfully
+   *         deleted; <code>false</code> otherwise
+   * @throws IOException if the directory does not exist in the file system, if
+   *                     the param <code>folderAbsolutePath</code> represents a
+   *                     file, or if any element from the directory's content can
+   *                     not be deleted.
+   * 
+   * @see File
+   */
+  public boolean deleteFolder(final File folder2Delete) throws IOException {
+    if (folder2Delete == null) {
+      throw new IllegalArgumentException("Folder to delete can not be null.");
+    }
+
+    if (!folder2Delete.exists()) {
+      throw new IOException("Folder to delete does not exist.");
+    }
+
+    if (folder2Delete.isFile()) {
+      throw new IOException(folder2Delete.getAbsolutePath() + " is a File.");
+    }
+
+    long start = Metrics.startNanos();
+
+    try {
+      return deleteFolderContent(folder2Delete);
+    } finally {
+      Metrics.recordSince(DELETE_FOLDER_TIMER, start);
+    }
+  }
+
+  private boolean deleteFolderContent(final File folder2Delete) throws IOException {
+    File[] folderContent = folder2Delete.listFiles();
+
+    if (folderContent == null || folderContent.length == 0) {
+      return Files.deleteIfExists(folder2Delete.toPath());
+    }
+
+    for (File file : folderContent) {
+      if (file.isDirectory()) {
+        if (!deleteFolderContent(file)) {
+          throw new IOException("Impossible to delete folder " + file.getAbsolutePath());
+        }
+      } else if (file.isFile() && !Files.deleteIfExists(file.toPath())) {
+        throw new IOException("Impossible to delete file " + file.getAbsolutePath());
+      }
+    }
+
+    return Files.deleteIfExists(folder2Delete.toPath());
+  }
+
+  /**
+   * Deletes a directory and its content from the filesystem using several
+   * threads.
+   * <p>
+   * Unlike {@link #deleteFolder(File)}, this method does not stop at the first
+   * entry that can not be deleted: it deletes as much as possible and reports
+   * every failure in the returned result.
+   * 
+   * @param folder2Delete a <code>File</code> object that represents the directory
+   *                      to delete.
+   * @param parallelism   the number of threads deleting files.
+   * @return the deletion outcome, including counts, bytes freed and failures.
+   * @throws IOException if the directory does not exist in the file system or if
+   *                     the param <code>folder2Delete</code> represents a file.
+   * 
+   * @see FolderDeleter
+   */
+  public DeleteResult deleteFolder(final File folder2Delete, final int parallelism) throws IOException {
+    if (folder2Delete == null) {
+      throw new IllegalArgumentException("Folder to delete can not be null.");
+    }
+
+    if (!folder2Delete.exists()) {
+      throw new IOException("Folder to delete does not exist.");
+    }
+
+    if (folder2Delete.isFile()) {
+      throw new IOException(folder2Delete.getAbsolutePath() + " is a File.");
+    }
+
+    long start = Metrics.startNanos();
+
+    try {
+      return new FolderDeleter.Builder().parallelism(parallelism).build().delete(folder2Delete.toPath());
+    } finally {
+      Metrics.recordSince(DELETE_FOLDER_TIMER, start);
+    }
+  }
+
+  /**
+   * Deletes a directory and its content from the filesystem.
+   * 
+   * @param folderAbsolutePath the absolute path to the directory to delete.
+   * @return <code>true</code> if and only if the directory is successfully
+   *         deleted; <code>false</code> otherwise
+   * @throws IOException if the directory does not exist in the file system or if
+   *                     the param <code>folderAbsolutePath</code> represents a
+   *                     file.
+   */
+  public boolean deleteFolder(final String folderAbsolutePath) throws IOException {
+    if (StringUtils.getInstance().isBlank(folderAbsolutePath)) {
+      throw new IllegalArgumentException("Invalid directory path");
+    }
+
+    return deleteFolder(new File(folderAbsolutePath));
+  }
+
+  /**
+   * Retrieves the extension of the file represented by param <code>file</code>.
+   * <p>
+   * The file name must follow the pattern <i>file_name.file_extension</i>,
+   * allowing this method to retrieve the substring starting at the last index of
+   * the dot character.
+   * 
+   * @param file a <code>java.io.File</code> instance to retrieve the extension
+   *             from.
+   * 
+   * @return The file extension.
+   */
+  public String getFileExtension(final File file) {
+    if (file == null) {
+      throw new IllegalArgumentException(FILE_CANT_BE_NULL_MESSAGE);
+    }
+
+    return getFileExtension(file.getName());
+  }
+
+  /**
+   * Retrieves the extension of a file located at <code>filePath</code>.
+   * <p>
+   * The file name must follow the pattern <i>file_name.file_extension</i>,
+   * allowing this method to retrieve the substring starting at the last index of
+   * the dot character. Dots in directory names are not taken into account.
+   * 
+   * @param filePath a valid <code>String</code> path to the file to retrieve the
+   *                 extension from.
+   * 
+   * @return The file extension.
+   */
+  public String getFileExtension(final String filePath) {
+    return filePath.substring(extensionStart(filePath));
+  }
+
+  /**
+   * Retrieves the extension of the file represented by param <code>file</code>
+   * as the instance pooled in <code>pool</code>.
+   * 
+   * @param file a <code>java.io.File</code> instance to retrieve the extension
+   *             from.
+   * @param pool the pool of extensions.
+   * 
+   * @return The pooled file extension.
+   * 
+   * @see #getFileExtension(String, StringPool)
+   */
+  public String getFileExtension(final File file, final StringPool pool) {
+    if (file == null) {
+      throw new IllegalArgumentException(FILE_CANT_BE_NULL_MESSAGE);
+    }
+
+    return getFileExtension(file.getName(), pool);
+  }
+
+  /**
+   * Retrieves the extension of a file located at <code>filePath</code> as the
+   * instance pooled in <code>pool</code>.
+   * <p>
+   * Extensions repeat across files, so scanning many paths through a shared
+   * pool retains one instance per distinct extension, and already pooled
+   * extensions are found without copying them out of the path.
+   * 
+   * @param filePath a valid <code>String</code> path to the file to retrieve the
+   *                 extension from.
+   * @param pool     the pool of extensions.
+   * 
+   * @return The pooled file extension.
+   */
+  public String getFileExtension(final String filePath, final StringPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool can not be null.");
+    }
+
+    return pool.intern(filePath, extensionStart(filePath), filePath.length());
+  }
+
+  private static int extensionStart(final String filePath) {
+    if (StringUtils.getInstance().isBlank(filePath)) {
+      throw new IllegalArgumentException("File path is invalid");
+    }
+
+    int extensionStart = FileNames.getInstance().extensionStart(filePath);
+
+    if (extensionStart < 0) {
+      throw new IllegalArgumentException(
+          "File exstension from " + filePath + " can not be found because file name does not contain dot character");
+    }
+
+    return extensionStart;
+  }
+
+  /**
+   * Computes the checksum of the content of a file.
+   * 
+   * @param file      the file to hash.
+   * @param algorithm a <code>MessageDigest</code> algorithm name, such as
+   *                  <code>SHA-256</code>, or <code>ContentHasher.XXH64</code>
+   *                  for a fast non-cryptographic hash.
+   * 
+   * @return the checksum as a lower case hexadecimal <code>String</code>.
+   * 
+   * @throws IOException if the file can not be read.
+   * 
+   * @see ContentHasher
+   */
+  public String getChecksum(final File file, final String algorithm) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException(FILE_CANT_BE_NULL_MESSAGE);
+    }
+
+    return new ContentHasher.Builder().algorithm(algorithm).build().hashHex(file.toPath());
+  }
+
+  /**
+   * Finds files with identical content in a folder tree.
+   * 
+   * @param folder the folder to search.
+   * 
+   * @return the groups of files sharing the same content.
+   * 
+   * @throws IOException if <code>folder</code> is not an existing folder.
+   * 
+   * @see DuplicateFinder
+   */
+  public List<List<Path>> findDuplicates(final File folder) throws IOException {
+    if (folder == null) {
+      throw new IllegalArgumentException(FILE_CANT_BE_NULL_MESSAGE);
+    }
+
+    return new DuplicateFinder.Builder().build().find(folder.toPath()).getDuplicates();
+  }
+
+  /**
+   * Streams the lines of a UTF-8 text file without allocating a
+   * <code>String</code> per line.
+   * <p>
+   * The returned stream must be closed, and each line is only valid until the
+   * stream moves to the next one.
+   * 
+   * @param file the file to read.
+   * 
+   * @return a lazy stream of reusable line views.
+   * 
+   * @throws IOException if the file can not be opened.
+   * 
+   * @see LineReader
+   */
+  public Stream<FileLine> lines(final File file) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException(FILE_CANT_BE_NULL_MESSAGE);
+    }
+
+    return new LineReader.Builder().build().lines(file.toPath());
+  }
+
+  /**
+   * Lists the files of a folder tree lazily, optionally keeping only those with
+   * one of the given extensions.
+   * <p>
+   * The returned stream lists folders as it is consumed and must be closed.
+   * 
+   * @param folder     the folder to scan.
+   * @param extensions the extensions to keep; every file is kept when none is
+   *                   given.
+   * 
+   * @return a lazy stream of the files in the tree.
+   * 
+   * @throws IOException if <code>folder</code> is not an existing folder.
+   * 
+   * @see FileScanner
+   */
+  public Stream<Path> listFiles(final File folder, final String... extensions) throws IOException {
+    if (folder == null) {
+      throw new IllegalArgumentException(FILE_CANT_BE_NULL_MESSAGE);
+    }
+
+    FileScanner.Builder builder = new FileScanner.Builder();
+
+    if (extensions != null && extensions.length > 0) {
+      builder.extensions(extensions);
+    }
+
+    return builder.build().scan(folder.toPath());
+  }
+
+  /**
+   * Retrieves the container folder of a file.
+   * 
+   * @param file the <code>java.io.File</code>instance to retrieve the container
+   *             folder from.
+   * 
+   * @return a <code>java.io.File</code> instance representing a
+   *         <code>directory</code> which contains the input file.
+   */
+  public File getParentFolder(final File file) {
+    if (file == null) {
+      throw new IllegalArgumentException(FILE_CANT_BE_NULL_MESSAGE);
+    }
+
+    if (!file.exists()) {
+      throw new IllegalArgumentException("File " + file.getAbsolutePath() + " does not exist.");
+    }
+
+    return file.getParentFile();
+  }
+
+  /**
+   * Retrieves the container folder of a file.
+   * 
+   * @param filePath a valid <code>String</code> path to the file to retrieve the
+   *                 container folder from.
+   * 
+   * @return a <code>java.io.File</code> instance representing a
+   *         <code>directory</code> which contains the input file.
+   */
+  public File getParentFolder(final String filePath) {
+    if (StringUtils.getInstance().isBlank(filePath)) {
+      throw new IllegalArgumentException("Invalid file path.");
+    }
+
+    return getParentFolder(new File(filePath));
+  }
+
+  /**
+   * Checks if a <code>java.io.File</code> instance exists in the local file
+   * system.
+   * 
+   * @param file the <code>java.io.File</code>instance to validate.
+   * 
+   * @return <code>true</code> if and only if the <code>java.io.File</code>
+   *         instance parameter represents an existent file.
+   */
+  public boolean exists(final File file) {
+    if (file == null) {
+      throw new IllegalArgumentException(FILE_CANT_BE_NULL_MESSAGE);
+    }
+
+    return file.exists();
+  }
+
+  /**
+   * Checks if a <code>java.io.File</code> instance exists in the local file
+   * system.
+   * 
+   * @param filePath a valid <code>String</code> path to the file to validate.
+   * 
+   * @return <code>true</code> if and only if the <code>java.io.File</code>
+   *         instance represented by the <code>filePath</code> parameter
+   *         represents an existent file.
+   */
+  public boolean exists(final String filePath) {
+    if (StringUtils.getInstance().isBlank(filePath)) {
+      throw new IllegalArgumentException("Invalid file path.");
+    }
+
+    return exists(new File(filePath));
+  }
+}
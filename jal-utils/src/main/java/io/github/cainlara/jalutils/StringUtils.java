@@ -0,0 +1,385 @@
+package io.github.cainlara.jalutils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.cainlara.jalutils.text.CharSplitIterator;
+import io.github.cainlara.jalutils.text.LiteralReplacer;
+
+/**
+ * Provides <code>String</code> class utilities. This class is intended to be
+ * used as a Singleton Pattern implementation.
+ * 
+ * @author jalara
+ */
+public final class StringUtils {
+  private static final int MAX_REUSED_BUILDER_CAPACITY = 64 * 1024;
+  private static final ThreadLocal<StringBuilder> JOIN_BUILDERS = ThreadLocal.withInitial(StringBuilder::new);
+
+  private StringUtils() {
+    // hide constructor
+  }
+
+  /**
+   * Retrives the only instance of this class.
+   * 
+   * @return an instance of this class.
+   */
+  public static StringUtils getInstance() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  private static final class InstanceHolder {
+    private static final StringUtils INSTANCE = new StringUtils();
+  }
+
+  /**
+   * Validates if a <code>string</code> instance is a blank text.
+   * <P>
+   * A text is considered blank as long as it fulfills at least one of the next
+   * conditions:
+   * <ul>
+   * <li>The object is <code>null</code>.</li>
+   * <li>After <i>triming</i> the lenght of the text is 0.
+   * </ul>
+   * 
+   * @param text The <code>String</code> instance to be evaluated.
+   * 
+   * @return <code>true</code> if and only if the <code>text</code> parameter is
+   *         valid.
+   *         
+   * @see String#trim()
+   */
+  public boolean isBlank(final String text) {
+    return isBlank((CharSequence) text);
+  }
+
+  /**
+   * Validates if a <code>CharSequence</code> instance is a blank text, without
+   * allocating.
+   * <P>
+   * A text is considered blank when it is <code>null</code> or when every
+   * character is a space or a control character, that is, every character
+   * <code>String#trim()</code> would remove.
+   * 
+   * @param text The <code>CharSequence</code> instance to be evaluated.
+   * 
+   * @return <code>true</code> if and only if the <code>text</code> parameter is
+   *         blank.
+   */
+  public boolean isBlank(final CharSequence text) {
+    if (text == null) {
+      return true;
+    }
+
+    for (int index = 0; index < text.length(); index++) {
+      if (text.charAt(index) > ' ') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Validates if a <code>CharSequence</code> instance is a blank text, without
+   * allocating.
+   * <P>
+   * When <code>unicode</code> is <code>true</code>, besides the characters
+   * removed by <code>String#trim()</code>, any Unicode white space such as
+   * <code>U+2003 EM SPACE</code> or <code>U+3000 IDEOGRAPHIC SPACE</code> is
+   * considered blank. ASCII characters are still checked without calling
+   * <code>Character</code>.
+   * 
+   * @param text    The <code>CharSequence</code> instance to be evaluated.
+   * @param unicode whether or not to consider Unicode white spaces.
+   * 
+   * @return <code>true</code> if and only if the <code>text</code> parameter is
+   *         blank.
+   * 
+   * @see Character#isWhitespace(int)
+   */
+  public boolean isBlank(final CharSequence text, final boolean unicode) {
+    if (!unicode || text == null) {
+      return isBlank(text);
+    }
+
+    for (int index = 0; index < text.length(); index++) {
+      char c = text.charAt(index);
+
+      if (c > ' ' && (c < 128 || !Character.isWhitespace(c))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Counts how many texts of a collection are blank in a single pass.
+   * 
+   * @param texts the texts to evaluate.
+   * 
+   * @return the number of blank texts.
+   * 
+   * @see #isBlank(CharSequence)
+   */
+  public long countBlanks(final Collection<? extends CharSequence> texts) {
+    return countBlanks(texts, false);
+  }
+
+  /**
+   * Counts how many texts of a collection are blank.
+   * 
+   * @param texts    the texts to evaluate.
+   * @param parallel whether or not to split the work across the common
+   *                 <code>ForkJoinPool</code>, which pays off for collections
+   *                 with hundreds of thousands of texts.
+   * 
+   * @return the number of blank texts.
+   * 
+   * @see #isBlank(CharSequence)
+   */
+  public long countBlanks(final Collection<? extends CharSequence> texts, final boolean parallel) {
+    if (texts == null) {
+      throw new IllegalArgumentException("Texts can not be null.");
+    }
+
+    if (parallel) {
+      return texts.parallelStream().filter(this::isBlank).count();
+    }
+
+    long blanks = 0;
+
+    for (CharSequence text : texts) {
+      if (isBlank(text)) {
+        blanks++;
+      }
+    }
+
+    return blanks;
+  }
+
+  /**
+   * Counts how many texts of an array are blank in a single pass.
+   * 
+   * @param texts the texts to evaluate.
+   * 
+   * @return the number of blank texts.
+   * 
+   * @see #isBlank(CharSequence)
+   */
+  public long countBlanks(final CharSequence[] texts) {
+    if (texts == null) {
+      throw new IllegalArgumentException("Texts can not be null.");
+    }
+
+    long blanks = 0;
+
+    for (CharSequence text : texts) {
+      if (isBlank(text)) {
+        blanks++;
+      }
+    }
+
+    return blanks;
+  }
+
+  /**
+   * Retrieves the texts of a collection that are not blank, in iteration order.
+   * 
+   * @param <T>   the type of the texts.
+   * @param texts the texts to filter.
+   * 
+   * @return a new list with every text that is not blank.
+   * 
+   * @see #isBlank(CharSequence)
+   */
+  public <T extends CharSequence> List<T> removeBlanks(final Collection<T> texts) {
+    if (texts == null) {
+      throw new IllegalArgumentException("Texts can not be null.");
+    }
+
+    List<T> nonBlanks = new ArrayList<>(texts.size());
+
+    for (T text : texts) {
+      if (!isBlank(text)) {
+        nonBlanks.add(text);
+      }
+    }
+
+    return nonBlanks;
+  }
+
+  /**
+   * Splits a text around a delimiter character, without regular expressions
+   * and without copying the tokens.
+   * <p>
+   * Every token is a view over <code>text</code>; call <code>toString()</code>
+   * on the ones that must outlive it. Empty tokens are kept, including a
+   * trailing one.
+   * 
+   * @param text      the text to split.
+   * @param delimiter the character separating tokens.
+   * 
+   * @return an iterator over the tokens.
+   * 
+   * @see io.github.cainlara.jalutils.text.CharSlice
+   */
+  public Iterator<CharSequence> split(final CharSequence text, final char delimiter) {
+    return new CharSplitIterator(text, delimiter);
+  }
+
+  /**
+   * Splits a text around a delimiter character into a lazy, ordered stream of
+   * views.
+   * 
+   * @param text      the text to split.
+   * @param delimiter the character separating tokens.
+   * 
+   * @return a stream over the tokens.
+   * 
+   * @see #split(CharSequence, char)
+   */
+  public Stream<CharSequence> splitStream(final CharSequence text, final char delimiter) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(split(text, delimiter),
+        Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Joins several texts with a delimiter.
+   * <p>
+   * The texts are appended to a builder owned by the calling thread, which is
+   * reused by later calls, so only the resulting <code>String</code> is
+   * allocated.
+   * 
+   * @param delimiter the text placed between elements.
+   * @param elements  the texts to join; <code>null</code> elements are
+   *                  appended as <code>"null"</code>.
+   * 
+   * @return the joined text.
+   */
+  public String join(final CharSequence delimiter, final Iterable<? extends CharSequence> elements) {
+    StringBuilder builder = JOIN_BUILDERS.get();
+
+    builder.setLength(0);
+
+    String joined = join(builder, delimiter, elements).toString();
+
+    if (builder.capacity() > MAX_REUSED_BUILDER_CAPACITY) {
+      JOIN_BUILDERS.remove();
+    }
+
+    return joined;
+  }
+
+  /**
+   * Appends several texts, separated by a delimiter, to a builder.
+   * 
+   * @param target    the builder to append to.
+   * @param delimiter the text placed between elements.
+   * @param elements  the texts to join; <code>null</code> elements are
+   *                  appended as <code>"null"</code>.
+   * 
+   * @return the <code>target</code> builder.
+   */
+  public StringBuilder join(final StringBuilder target, final CharSequence delimiter,
+      final Iterable<? extends CharSequence> elements) {
+    if (target == null || delimiter == null || elements == null) {
+      throw new IllegalArgumentException("Target, delimiter and elements can not be null.");
+    }
+
+    boolean first = true;
+
+    for (CharSequence element : elements) {
+      if (!first) {
+        target.append(delimiter);
+      }
+
+      target.append(element);
+      first = false;
+    }
+
+    return target;
+  }
+
+  /**
+   * Compiles a replacer that substitutes several literal patterns in a single
+   * pass. Replacers are thread-safe and meant to be reused.
+   * 
+   * @param replacements the patterns to look for, mapped to their
+   *                     replacements.
+   * 
+   * @return a compiled replacer.
+   * 
+   * @see LiteralReplacer
+   */
+  public LiteralReplacer literalReplacer(final Map<String, String> replacements) {
+    return new LiteralReplacer(replacements);
+  }
+
+  /**
+   * Pads a text on the left up to a length.
+   * 
+   * @param text    the text to pad.
+   * @param length  the minimum length of the result.
+   * @param padChar the character to pad with.
+   * 
+   * @return the padded text, or the text itself if it is already long enough.
+   */
+  public String padLeft(final CharSequence text, final int length, final char padChar) {
+    if (text == null) {
+      throw new IllegalArgumentException("Text can not be null.");
+    }
+
+    int padding = length - text.length();
+
+    if (padding <= 0) {
+      return text.toString();
+    }
+
+    StringBuilder padded = new StringBuilder(length);
+
+    for (int index = 0; index < padding; index++) {
+      padded.append(padChar);
+    }
+
+    return padded.append(text).toString();
+  }
+
+  /**
+   * Pads a text on the right up to a length.
+   * 
+   * @param text    the text to pad.
+   * @param length  the minimum length of the result.
+   * @param padChar the character to pad with.
+   * 
+   * @return the padded text, or the text itself if it is already long enough.
+   */
+  public String padRight(final CharSequence text, final int length, final char padChar) {
+    if (text == null) {
+      throw new IllegalArgumentException("Text can not be null.");
+    }
+
+    int padding = length - text.length();
+
+    if (padding <= 0) {
+      return text.toString();
+    }
+
+    StringBuilder padded = new StringBuilder(length).append(text);
+
+    for (int index = 0; index < padding; index++) {
+      padded.append(padChar);
+    }
+
+    return padded.toString();
+  }
+}
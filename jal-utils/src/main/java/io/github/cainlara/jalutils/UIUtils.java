@@ -13,18 +13,16 @@ import javax.swing.JFrame;
  * @author jalara
  */
 public class UIUtils {
-  private static UIUtils instance;
-
   private UIUtils() {
     // hide constructor
   }
 
   public static UIUtils getInstance() {
-    if (instance == null) {
-      instance = new UIUtils();
-    }
+    return InstanceHolder.INSTANCE;
+  }
 
-    return instance;
+  private static final class InstanceHolder {
+    private static final UIUtils INSTANCE = new UIUtils();
   }
 
   public void showCentered(final JFrame window) {
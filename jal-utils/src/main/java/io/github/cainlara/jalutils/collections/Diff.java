@@ -0,0 +1,121 @@
+package io.github.cainlara.jalutils.collections;
+
+/**
+ * One step of a difference between a left and a right sequence: an element
+ * only on the right, only on the left, or on both.
+ * <p>
+ * Indexes are positions in the respective inputs, or <code>-1</code> on the
+ * side the element is missing from.
+ *
+ * @param <T> the type of the elements.
+ *
+ * @author jalara
+ *
+ * @see SortedDiff
+ * @see EditScript
+ */
+public final class Diff<T> {
+  /**
+   * Kind of difference.
+   */
+  public enum Kind {
+    /**
+     * The element is only on the right, so it has to be inserted into the left.
+     */
+    ADDED,
+    /**
+     * The element is only on the left, so it has to be removed from it.
+     */
+    REMOVED,
+    /**
+     * The element is on both sides.
+     */
+    COMMON
+  }
+
+  private final Kind kind;
+  private final T left;
+  private final T right;
+  private final int leftIndex;
+  private final int rightIndex;
+
+  private Diff(final Kind kind, final T left, final T right, final int leftIndex, final int rightIndex) {
+    this.kind = kind;
+    this.left = left;
+    this.right = right;
+    this.leftIndex = leftIndex;
+    this.rightIndex = rightIndex;
+  }
+
+  static <T> Diff<T> added(final T right, final int rightIndex) {
+    return new Diff<>(Kind.ADDED, null, right, -1, rightIndex);
+  }
+
+  static <T> Diff<T> removed(final T left, final int leftIndex) {
+    return new Diff<>(Kind.REMOVED, left, null, leftIndex, -1);
+  }
+
+  static <T> Diff<T> common(final T left, final T right, final int leftIndex, final int rightIndex) {
+    return new Diff<>(Kind.COMMON, left, right, leftIndex, rightIndex);
+  }
+
+  /**
+   * @return the kind of difference.
+   */
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * @return the element of the left input, or <code>null</code> if it was
+   *         added.
+   */
+  public T getLeft() {
+    return left;
+  }
+
+  /**
+   * @return the element of the right input, or <code>null</code> if it was
+   *         removed. Common elements keep both sides, as they may only be
+   *         equal by key.
+   */
+  public T getRight() {
+    return right;
+  }
+
+  /**
+   * @return the element this step is about: the right one when added, the
+   *         left one otherwise.
+   */
+  public T getElement() {
+    return kind == Kind.ADDED ? right : left;
+  }
+
+  /**
+   * @return the position of the element in the left input, or <code>-1</code>
+   *         if it was added.
+   */
+  public int getLeftIndex() {
+    return leftIndex;
+  }
+
+  /**
+   * @return the position of the element in the right input, or
+   *         <code>-1</code> if it was removed.
+   */
+  public int getRightIndex() {
+    return rightIndex;
+  }
+
+  @Override
+  public String toString() {
+    switch (kind) {
+    case ADDED:
+      return "+" + right;
+    case REMOVED:
+      return "-" + left;
+    default:
+      return " " + left;
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package io.github.cainlara.jalutils.collections;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.BiPredicate;
+
+/**
+ * Shortest edit script turning one list into another, following the
+ * linear space variant of Myers' difference algorithm.
+ * <p>
+ * Common prefixes and suffixes are matched first. Whatever remains is split
+ * at the middle snake of an optimal path, found by searching forwards and
+ * backwards at once, and both halves are solved the same way. Pending halves
+ * wait on an explicit stack, so steps are produced in order as they are
+ * requested: the script is never materialized, and memory stays linear in
+ * the size of the inputs regardless of how different they are.
+ * <p>
+ * Within a changed region, removals come before additions.
+ *
+ * @param <T> the type of the elements.
+ *
+ * @author jalara
+ */
+public final class EditScript<T> implements Iterator<Diff<T>> {
+  private final List<? extends T> left;
+  private final List<? extends T> right;
+  private final BiPredicate<? super T, ? super T> equality;
+  private int[] ranges = new int[64];
+  private int depth;
+  private int[] forward = new int[0];
+  private int[] backward = new int[0];
+  private Diff.Kind runKind;
+  private int runLeft;
+  private int runRight;
+  private int runRemaining;
+
+  /**
+   * Creates the edit script between two lists, comparing elements with
+   * <code>equals</code>.
+   *
+   * @param left  the original list.
+   * @param right the target list.
+   */
+  public EditScript(final List<? extends T> left, final List<? extends T> right) {
+    this(left, right, Objects::equals);
+  }
+
+  /**
+   * Creates the edit script between two lists.
+   *
+   * @param left     the original list.
+   * @param right    the target list.
+   * @param equality evaluates if an element of <code>left</code> matches one of
+   *                 <code>right</code>.
+   */
+  public EditScript(final List<? extends T> left, final List<? extends T> right,
+      final BiPredicate<? super T, ? super T> equality) {
+    if (left == null || right == null) {
+      throw new IllegalArgumentException("Lists can not be null.");
+    }
+
+    if (equality == null) {
+      throw new IllegalArgumentException("Equality can not be null.");
+    }
+
+    this.left = randomAccess(left);
+    this.right = randomAccess(right);
+    this.equality = equality;
+    push(0, left.size(), 0, right.size());
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (runRemaining == 0 && depth > 0) {
+      depth -= 4;
+      plan(ranges[depth], ranges[depth + 1], ranges[depth + 2], ranges[depth + 3]);
+    }
+
+    return runRemaining > 0;
+  }
+
+  @Override
+  public Diff<T> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    runRemaining--;
+
+    switch (runKind) {
+    case ADDED:
+      return Diff.added(right.get(runRight), runRight++);
+    case REMOVED:
+      return Diff.removed(left.get(runLeft), runLeft++);
+    default:
+      return Diff.common(left.get(runLeft), right.get(runRight), runLeft++, runRight++);
+    }
+  }
+
+  /**
+   * Turns a pending range into the next run of steps, pushing whatever part of
+   * it has to be solved later.
+   */
+  private void plan(final int leftStart, final int leftEnd, final int rightStart, final int rightEnd) {
+    int leftLength = leftEnd - leftStart;
+    int rightLength = rightEnd - rightStart;
+
+    if (leftLength == 0 || rightLength == 0) {
+      run(leftLength == 0 ? Diff.Kind.ADDED : Diff.Kind.REMOVED, leftStart, rightStart, leftLength + rightLength);
+      return;
+    }
+
+    int shorter = Math.min(leftLength, rightLength);
+    int prefix = 0;
+
+    while (prefix < shorter && matches(leftStart + prefix, rightStart + prefix)) {
+      prefix++;
+    }
+
+    if (prefix > 0) {
+      push(leftStart + prefix, leftEnd, rightStart + prefix, rightEnd);
+      run(Diff.Kind.COMMON, leftStart, rightStart, prefix);
+      return;
+    }
+
+    int suffix = 0;
+
+    while (suffix < shorter && matches(leftEnd - 1 - suffix, rightEnd - 1 - suffix)) {
+      suffix++;
+    }
+
+    if (suffix > 0) {
+      // the suffix range starts with a common prefix, so it becomes a run
+      push(leftEnd - suffix, leftEnd, rightEnd - suffix, rightEnd);
+      push(leftStart, leftEnd - suffix, rightStart, rightEnd - suffix);
+      return;
+    }
+
+    long split = bisect(leftStart, leftLength, rightStart, rightLength);
+    int x = (int) (split >> 32);
+    int y = (int) split;
+
+    if (split < 0 || x + y == 0 || x == leftLength && y == rightLength) {
+      push(leftEnd, leftEnd, rightStart, rightEnd);
+      push(leftStart, leftEnd, rightEnd, rightEnd);
+    } else {
+      push(leftStart + x, leftEnd, rightStart + y, rightEnd);
+      push(leftStart, leftStart + x, rightStart, rightStart + y);
+    }
+  }
+
+  /**
+   * Finds the middle snake of a range whose ends differ, searching forwards
+   * from its start and backwards from its end until both paths overlap.
+   *
+   * @return the split point as <code>x &lt;&lt; 32 | y</code>, relative to the
+   *         range, or <code>-1</code> if the range has nothing in common.
+   */
+  private long bisect(final int leftStart, final int leftLength, final int rightStart, final int rightLength) {
+    int maxD = (leftLength + rightLength + 1) / 2;
+    int offset = maxD;
+    int length = 2 * maxD + 2;
+    int delta = leftLength - rightLength;
+    boolean front = (delta & 1) != 0;
+    int k1Start = 0;
+    int k1End = 0;
+    int k2Start = 0;
+    int k2End = 0;
+
+    if (forward.length < length) {
+      forward = new int[length];
+      backward = new int[length];
+    }
+
+    Arrays.fill(forward, 0, length, -1);
+    Arrays.fill(backward, 0, length, -1);
+    forward[offset + 1] = 0;
+    backward[offset + 1] = 0;
+
+    for (int d = 0; d < maxD; d++) {
+      for (int k1 = -d + k1Start; k1 <= d - k1End; k1 += 2) {
+        int k1Offset = offset + k1;
+        int x1 = k1 == -d || k1 != d && forward[k1Offset - 1] < forward[k1Offset + 1] ? forward[k1Offset + 1]
+            : forward[k1Offset - 1] + 1;
+        int y1 = x1 - k1;
+
+        while (x1 < leftLength && y1 < rightLength && matches(leftStart + x1, rightStart + y1)) {
+          x1++;
+          y1++;
+        }
+
+        forward[k1Offset] = x1;
+
+        if (x1 > leftLength) {
+          k1End += 2;
+        } else if (y1 > rightLength) {
+          k1Start += 2;
+        } else if (front) {
+          int k2Offset = offset + delta - k1;
+
+          if (k2Offset >= 0 && k2Offset < length && backward[k2Offset] != -1
+              && x1 >= leftLength - backward[k2Offset]) {
+            return (long) x1 << 32 | y1;
+          }
+        }
+      }
+
+      for (int k2 = -d + k2Start; k2 <= d - k2End; k2 += 2) {
+        int k2Offset = offset + k2;
+        int x2 = k2 == -d || k2 != d && backward[k2Offset - 1] < backward[k2Offset + 1] ? backward[k2Offset + 1]
+            : backward[k2Offset - 1] + 1;
+        int y2 = x2 - k2;
+
+        while (x2 < leftLength && y2 < rightLength
+            && matches(leftStart + leftLength - x2 - 1, rightStart + rightLength - y2 - 1)) {
+          x2++;
+          y2++;
+        }
+
+        backward[k2Offset] = x2;
+
+        if (x2 > leftLength) {
+          k2End += 2;
+        } else if (y2 > rightLength) {
+          k2Start += 2;
+        } else if (!front) {
+          int k1Offset = offset + delta - k2;
+
+          if (k1Offset >= 0 && k1Offset < length && forward[k1Offset] != -1) {
+            int x1 = forward[k1Offset];
+            int y1 = offset + x1 - k1Offset;
+
+            if (x1 >= leftLength - x2) {
+              return (long) x1 << 32 | y1;
+            }
+          }
+        }
+      }
+    }
+
+    return -1;
+  }
+
+  private boolean matches(final int leftIndex, final int rightIndex) {
+    return equality.test(left.get(leftIndex), right.get(rightIndex));
+  }
+
+  private void run(final Diff.Kind kind, final int leftStart, final int rightStart, final int length) {
+    runKind = kind;
+    runLeft = leftStart;
+    runRight = rightStart;
+    runRemaining = length;
+  }
+
+  private void push(final int leftStart, final int leftEnd, final int rightStart, final int rightEnd) {
+    if (depth == ranges.length) {
+      ranges = Arrays.copyOf(ranges, ranges.length * 2);
+    }
+
+    ranges[depth++] = leftStart;
+    ranges[depth++] = leftEnd;
+    ranges[depth++] = rightStart;
+    ranges[depth++] = rightEnd;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<? extends T> randomAccess(final List<? extends T> list) {
+    return list instanceof RandomAccess ? list : (List<T>) Arrays.asList(list.toArray());
+  }
+}
@@ -0,0 +1,82 @@
+package io.github.cainlara.jalutils.collections;
+
+/**
+ * Sizing and hash mixing shared by the open addressing collections of this
+ * package.
+ * <p>
+ * Tables always have a power of two length, so a slot is found by masking the
+ * mixed hash. Mixing spreads the high bits of the key over the low ones,
+ * which keeps sequential or strided keys from clustering into long probe
+ * runs.
+ *
+ * @author jalara
+ */
+final class Hashing {
+  static final int DEFAULT_EXPECTED_SIZE = 16;
+  static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final int INT_PHI = 0x9E3779B9;
+  private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+  private Hashing() {
+    // hide constructor
+  }
+
+  static int mix(final int key) {
+    int hash = key * INT_PHI;
+
+    return hash ^ (hash >>> 16);
+  }
+
+  static int mix(final long key) {
+    long hash = key * LONG_PHI;
+
+    hash ^= hash >>> 32;
+
+    return (int) (hash ^ (hash >>> 16));
+  }
+
+  static void validate(final int expectedSize, final float loadFactor) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size can not be negative.");
+    }
+
+    if (!(loadFactor > 0 && loadFactor < 1)) {
+      throw new IllegalArgumentException("Load factor must be greater than 0 and less than 1.");
+    }
+  }
+
+  /**
+   * Retrieves the smallest power of two table length holding
+   * <code>expectedSize</code> entries without exceeding the load factor, always
+   * leaving at least one free slot so probing ends.
+   */
+  static int capacity(final int expectedSize, final float loadFactor) {
+    long needed = Math.max(2, (long) Math.ceil(expectedSize / (double) loadFactor));
+
+    if (needed > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Expected size " + expectedSize + " is too large.");
+    }
+
+    int capacity = Integer.highestOneBit((int) needed);
+
+    return capacity < needed ? capacity << 1 : capacity;
+  }
+
+  /**
+   * Retrieves the number of entries a table of <code>capacity</code> slots
+   * holds before growing.
+   */
+  static int threshold(final int capacity, final float loadFactor) {
+    return Math.min(capacity - 1, (int) Math.ceil(capacity * loadFactor));
+  }
+
+  static int grow(final int capacity) {
+    if (capacity >= MAX_CAPACITY) {
+      throw new IllegalStateException("Table can not grow beyond " + MAX_CAPACITY + " slots.");
+    }
+
+    return capacity << 1;
+  }
+}
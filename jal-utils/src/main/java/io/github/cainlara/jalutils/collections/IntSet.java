@@ -0,0 +1,338 @@
+package io.github.cainlara.jalutils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Set of <code>int</code> values, without boxing.
+ * <p>
+ * Values live in a single array indexed by open addressing with linear
+ * probing, the same layout as {@link IntIntMap} without the values array.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author jalara
+ */
+public final class IntSet {
+  private static final int FREE = 0;
+
+  private final float loadFactor;
+
+  private int[] values;
+  private int mask;
+  private int threshold;
+  private int size;
+  private boolean hasFreeValue;
+
+  /**
+   * Creates an empty set with the default expected size and load factor.
+   */
+  public IntSet() {
+    this(Hashing.DEFAULT_EXPECTED_SIZE, Hashing.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty set holding <code>expectedSize</code> values without
+   * growing.
+   *
+   * @param expectedSize the number of values expected.
+   */
+  public IntSet(final int expectedSize) {
+    this(expectedSize, Hashing.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty set holding <code>expectedSize</code> values without
+   * growing.
+   *
+   * @param expectedSize the number of values expected.
+   * @param loadFactor   the highest ratio of values to slots before the table
+   *                     doubles, between <code>0</code> and <code>1</code>,
+   *                     both exclusive.
+   */
+  public IntSet(final int expectedSize, final float loadFactor) {
+    Hashing.validate(expectedSize, loadFactor);
+
+    this.loadFactor = loadFactor;
+    allocate(Hashing.capacity(expectedSize, loadFactor));
+  }
+
+  /**
+   * Evaluates if a value is in the set.
+   *
+   * @param value the value to look up.
+   *
+   * @return <code>true</code> if and only if the value is present.
+   */
+  public boolean contains(final int value) {
+    if (value == FREE) {
+      return hasFreeValue;
+    }
+
+    for (int slot = Hashing.mix(value) & mask;; slot = (slot + 1) & mask) {
+      int current = values[slot];
+
+      if (current == value) {
+        return true;
+      }
+
+      if (current == FREE) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Adds a value to the set.
+   *
+   * @param value the value to add.
+   *
+   * @return <code>true</code> if the value was not present.
+   */
+  public boolean add(final int value) {
+    if (value == FREE) {
+      if (hasFreeValue) {
+        return false;
+      }
+
+      hasFreeValue = true;
+      size++;
+
+      return true;
+    }
+
+    for (int slot = Hashing.mix(value) & mask;; slot = (slot + 1) & mask) {
+      int current = values[slot];
+
+      if (current == value) {
+        return false;
+      }
+
+      if (current == FREE) {
+        if (size >= threshold) {
+          rehash(Hashing.grow(values.length));
+
+          return add(value);
+        }
+
+        values[slot] = value;
+        size++;
+
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Adds every value of an array to the set.
+   *
+   * @param values the values to add.
+   *
+   * @return <code>true</code> if any value was not present.
+   */
+  public boolean addAll(final int[] values) {
+    if (values == null) {
+      throw new IllegalArgumentException("Values can not be null.");
+    }
+
+    boolean changed = false;
+
+    for (int value : values) {
+      changed |= add(value);
+    }
+
+    return changed;
+  }
+
+  /**
+   * Removes a value from the set.
+   *
+   * @param value the value to remove.
+   *
+   * @return <code>true</code> if the value was present.
+   */
+  public boolean remove(final int value) {
+    if (value == FREE) {
+      if (!hasFreeValue) {
+        return false;
+      }
+
+      hasFreeValue = false;
+      size--;
+
+      return true;
+    }
+
+    for (int slot = Hashing.mix(value) & mask;; slot = (slot + 1) & mask) {
+      int current = values[slot];
+
+      if (current == FREE) {
+        return false;
+      }
+
+      if (current == value) {
+        shiftBack(slot);
+        size--;
+
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Makes room for <code>expectedSize</code> values, so adding up to that many
+   * does not rehash more than once.
+   *
+   * @param expectedSize the number of values expected.
+   */
+  public void ensureCapacity(final int expectedSize) {
+    if (expectedSize > threshold) {
+      rehash(Hashing.capacity(expectedSize, loadFactor));
+    }
+  }
+
+  /**
+   * Retrieves the number of values.
+   *
+   * @return the number of values present.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Evaluates if the set has no values.
+   *
+   * @return <code>true</code> if and only if no value is present.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes every value, keeping the current table.
+   */
+  public void clear() {
+    Arrays.fill(values, FREE);
+    hasFreeValue = false;
+    size = 0;
+  }
+
+  /**
+   * Copies the values of this set into a new array, in no particular order.
+   *
+   * @return an array with every value of the set.
+   */
+  public int[] toArray() {
+    int[] result = new int[size];
+    int index = 0;
+
+    if (hasFreeValue) {
+      result[index++] = FREE;
+    }
+
+    for (int value : values) {
+      if (value != FREE) {
+        result[index++] = value;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Creates a cursor over the values of this set, in no particular order.
+   * Advancing the cursor allocates nothing. The set must not be modified while
+   * the cursor is in use.
+   *
+   * @return a cursor placed before the first value.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+
+  private void shiftBack(final int removed) {
+    int gap = removed;
+
+    for (int slot = (gap + 1) & mask;; slot = (slot + 1) & mask) {
+      int value = values[slot];
+
+      if (value == FREE) {
+        break;
+      }
+
+      int home = Hashing.mix(value) & mask;
+
+      if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+        values[gap] = value;
+        gap = slot;
+      }
+    }
+
+    values[gap] = FREE;
+  }
+
+  private void allocate(final int capacity) {
+    values = new int[capacity];
+    mask = capacity - 1;
+    threshold = Hashing.threshold(capacity, loadFactor);
+  }
+
+  private void rehash(final int capacity) {
+    int[] oldValues = values;
+
+    allocate(capacity);
+
+    for (int value : oldValues) {
+      if (value != FREE) {
+        int slot = Hashing.mix(value) & mask;
+
+        while (values[slot] != FREE) {
+          slot = (slot + 1) & mask;
+        }
+
+        values[slot] = value;
+      }
+    }
+  }
+
+  /**
+   * Forward-only position over the values of the set.
+   */
+  public final class Cursor {
+    private int index = -1;
+
+    private Cursor() {
+      // created by the set
+    }
+
+    /**
+     * Moves to the next value.
+     *
+     * @return <code>true</code> if there was a next value, <code>false</code>
+     *         once every value was visited.
+     */
+    public boolean advance() {
+      while (++index < values.length) {
+        if (values[index] != FREE) {
+          return true;
+        }
+      }
+
+      return index == values.length && hasFreeValue;
+    }
+
+    /**
+     * Retrieves the current value.
+     *
+     * @return the current value.
+     */
+    public int value() {
+      return index < values.length ? values[index] : FREE;
+    }
+  }
+}
@@ -0,0 +1,459 @@
+package io.github.cainlara.jalutils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Map from <code>long</code> keys to <code>int</code> values, without boxing.
+ * <p>
+ * Entries live in two parallel arrays indexed by open addressing with linear
+ * probing, so a lookup touches one or two cache lines instead of following
+ * an entry node and two boxed numbers as <code>HashMap</code> does. Removals
+ * shift the following entries back instead of leaving tombstones, so probe
+ * runs never degrade. Absent keys read as <code>0</code>, which makes the map
+ * a natural counter through {@link #addTo(long, int)}.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author jalara
+ */
+public final class LongIntMap {
+  private static final long FREE = 0;
+
+  private final float loadFactor;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int threshold;
+  private int size;
+  private boolean hasFreeKey;
+  private int freeValue;
+
+  /**
+   * Creates an empty map with the default expected size and load factor.
+   */
+  public LongIntMap() {
+    this(Hashing.DEFAULT_EXPECTED_SIZE, Hashing.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty map holding <code>expectedSize</code> entries without
+   * growing.
+   *
+   * @param expectedSize the number of entries expected.
+   */
+  public LongIntMap(final int expectedSize) {
+    this(expectedSize, Hashing.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty map holding <code>expectedSize</code> entries without
+   * growing.
+   *
+   * @param expectedSize the number of entries expected.
+   * @param loadFactor   the highest ratio of entries to slots before the
+   *                     table doubles, between <code>0</code> and
+   *                     <code>1</code>, both exclusive. Lower values trade
+   *                     memory for shorter probes.
+   */
+  public LongIntMap(final int expectedSize, final float loadFactor) {
+    Hashing.validate(expectedSize, loadFactor);
+
+    this.loadFactor = loadFactor;
+    allocate(Hashing.capacity(expectedSize, loadFactor));
+  }
+
+  /**
+   * Retrieves the value of a key.
+   *
+   * @param key the key to look up.
+   *
+   * @return the value of the key, or <code>0</code> if it is absent.
+   */
+  public int get(final long key) {
+    return getOrDefault(key, 0);
+  }
+
+  /**
+   * Retrieves the value of a key.
+   *
+   * @param key          the key to look up.
+   * @param defaultValue the value returned when the key is absent.
+   *
+   * @return the value of the key, or <code>defaultValue</code> if it is
+   *         absent.
+   */
+  public int getOrDefault(final long key, final int defaultValue) {
+    if (key == FREE) {
+      return hasFreeKey ? freeValue : defaultValue;
+    }
+
+    int slot = find(key);
+
+    return slot < 0 ? defaultValue : values[slot];
+  }
+
+  /**
+   * Evaluates if the map has an entry for a key.
+   *
+   * @param key the key to look up.
+   *
+   * @return <code>true</code> if and only if the key is present.
+   */
+  public boolean containsKey(final long key) {
+    return key == FREE ? hasFreeKey : find(key) >= 0;
+  }
+
+  /**
+   * Associates a value with a key, replacing any previous value.
+   *
+   * @param key   the key.
+   * @param value the value.
+   *
+   * @return the previous value of the key, or <code>0</code> if it was absent.
+   */
+  public int put(final long key, final int value) {
+    if (key == FREE) {
+      int previous = hasFreeKey ? freeValue : 0;
+
+      freeValue = value;
+
+      if (!hasFreeKey) {
+        hasFreeKey = true;
+        size++;
+      }
+
+      return previous;
+    }
+
+    int slot = insertionSlot(key);
+    int previous = values[slot];
+
+    values[slot] = value;
+
+    return previous;
+  }
+
+  /**
+   * Adds a delta to the value of a key, which starts at <code>0</code> when
+   * absent.
+   *
+   * @param key   the key.
+   * @param delta the amount to add.
+   *
+   * @return the new value of the key.
+   */
+  public int addTo(final long key, final int delta) {
+    if (key == FREE) {
+      if (!hasFreeKey) {
+        hasFreeKey = true;
+        size++;
+      }
+
+      return freeValue += delta;
+    }
+
+    // the slot is claimed first, as claiming it may replace the arrays
+    int slot = insertionSlot(key);
+
+    return values[slot] += delta;
+  }
+
+  /**
+   * Counts every key of an array, adding one to its value per occurrence.
+   * Repeated keys are the common case when counting, so the table is not
+   * presized for the whole array; see {@link #ensureCapacity(int)}.
+   *
+   * @param keys the keys to count.
+   */
+  public void addAll(final long[] keys) {
+    if (keys == null) {
+      throw new IllegalArgumentException("Keys can not be null.");
+    }
+
+    for (long key : keys) {
+      addTo(key, 1);
+    }
+  }
+
+  /**
+   * Associates the values of an array with the keys at the same positions of
+   * another, replacing any previous values.
+   *
+   * @param keys   the keys.
+   * @param values the values, as many as keys.
+   */
+  public void putAll(final long[] keys, final int[] values) {
+    if (keys == null || values == null) {
+      throw new IllegalArgumentException("Keys and values can not be null.");
+    }
+
+    if (keys.length != values.length) {
+      throw new IllegalArgumentException("There are " + keys.length + " keys but " + values.length + " values.");
+    }
+
+    ensureCapacity(size + keys.length);
+
+    for (int index = 0; index < keys.length; index++) {
+      put(keys[index], values[index]);
+    }
+  }
+
+  /**
+   * Removes the entry of a key.
+   *
+   * @param key the key to remove.
+   *
+   * @return the value the key had, or <code>0</code> if it was absent.
+   */
+  public int remove(final long key) {
+    if (key == FREE) {
+      int previous = hasFreeKey ? freeValue : 0;
+
+      if (hasFreeKey) {
+        hasFreeKey = false;
+        freeValue = 0;
+        size--;
+      }
+
+      return previous;
+    }
+
+    int slot = find(key);
+
+    if (slot < 0) {
+      return 0;
+    }
+
+    int previous = values[slot];
+
+    shiftBack(slot);
+    size--;
+
+    return previous;
+  }
+
+  /**
+   * Makes room for <code>expectedSize</code> entries, so adding up to that
+   * many does not rehash more than once.
+   *
+   * @param expectedSize the number of entries expected.
+   */
+  public void ensureCapacity(final int expectedSize) {
+    if (expectedSize > threshold) {
+      rehash(Hashing.capacity(expectedSize, loadFactor));
+    }
+  }
+
+  /**
+   * Retrieves the number of entries.
+   *
+   * @return the number of keys present.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Evaluates if the map has no entries.
+   *
+   * @return <code>true</code> if and only if no key is present.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes every entry, keeping the current table.
+   */
+  public void clear() {
+    Arrays.fill(keys, FREE);
+    Arrays.fill(values, 0);
+    hasFreeKey = false;
+    freeValue = 0;
+    size = 0;
+  }
+
+  /**
+   * Creates a cursor over the entries of this map, in no particular order.
+   * Advancing the cursor allocates nothing. The map must not be modified
+   * while the cursor is in use, other than through
+   * {@link Cursor#setValue(int)}.
+   *
+   * @return a cursor placed before the first entry.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(size * 8 + 2).append('{');
+    Cursor cursor = cursor();
+
+    while (cursor.advance()) {
+      if (builder.length() > 1) {
+        builder.append(", ");
+      }
+
+      builder.append(cursor.key()).append('=').append(cursor.value());
+    }
+
+    return builder.append('}').toString();
+  }
+
+  private int find(final long key) {
+    for (int slot = Hashing.mix(key) & mask;; slot = (slot + 1) & mask) {
+      long current = keys[slot];
+
+      if (current == key) {
+        return slot;
+      }
+
+      if (current == FREE) {
+        return -1;
+      }
+    }
+  }
+
+  /**
+   * Retrieves the slot of a key, claiming a free one with a <code>0</code>
+   * value if absent.
+   */
+  private int insertionSlot(final long key) {
+    for (int slot = Hashing.mix(key) & mask;; slot = (slot + 1) & mask) {
+      long current = keys[slot];
+
+      if (current == key) {
+        return slot;
+      }
+
+      if (current == FREE) {
+        if (size >= threshold) {
+          rehash(Hashing.grow(keys.length));
+
+          return insertionSlot(key);
+        }
+
+        keys[slot] = key;
+        size++;
+
+        return slot;
+      }
+    }
+  }
+
+  /**
+   * Empties a slot, moving back every following entry of the probe run that
+   * would otherwise become unreachable.
+   */
+  private void shiftBack(final int removed) {
+    int gap = removed;
+
+    for (int slot = (gap + 1) & mask;; slot = (slot + 1) & mask) {
+      long key = keys[slot];
+
+      if (key == FREE) {
+        break;
+      }
+
+      int home = Hashing.mix(key) & mask;
+
+      if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+        keys[gap] = key;
+        values[gap] = values[slot];
+        gap = slot;
+      }
+    }
+
+    keys[gap] = FREE;
+    values[gap] = 0;
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    threshold = Hashing.threshold(capacity, loadFactor);
+  }
+
+  private void rehash(final int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+
+    allocate(capacity);
+
+    for (int index = 0; index < oldKeys.length; index++) {
+      long key = oldKeys[index];
+
+      if (key != FREE) {
+        int slot = Hashing.mix(key) & mask;
+
+        while (keys[slot] != FREE) {
+          slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = oldValues[index];
+      }
+    }
+  }
+
+  /**
+   * Forward-only position over the entries of the map.
+   */
+  public final class Cursor {
+    private int index = -1;
+
+    private Cursor() {
+      // created by the map
+    }
+
+    /**
+     * Moves to the next entry.
+     *
+     * @return <code>true</code> if there was a next entry, <code>false</code>
+     *         once every entry was visited.
+     */
+    public boolean advance() {
+      while (++index < keys.length) {
+        if (keys[index] != FREE) {
+          return true;
+        }
+      }
+
+      return index == keys.length && hasFreeKey;
+    }
+
+    /**
+     * Retrieves the key of the current entry.
+     *
+     * @return the current key.
+     */
+    public long key() {
+      return index < keys.length ? keys[index] : FREE;
+    }
+
+    /**
+     * Retrieves the value of the current entry.
+     *
+     * @return the current value.
+     */
+    public int value() {
+      return index < keys.length ? values[index] : freeValue;
+    }
+
+    /**
+     * Replaces the value of the current entry.
+     *
+     * @param value the new value.
+     */
+    public void setValue(final int value) {
+      if (index < keys.length) {
+        values[index] = value;
+      } else {
+        freeValue = value;
+      }
+    }
+  }
+}
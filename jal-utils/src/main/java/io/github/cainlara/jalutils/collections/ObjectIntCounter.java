@@ -0,0 +1,437 @@
+package io.github.cainlara.jalutils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Counts occurrences of objects into primitive <code>int</code> counters.
+ * <p>
+ * Replaces the usual <code>Map&lt;K, Integer&gt;</code> or
+ * <code>Map&lt;K, int[]&gt;</code> counter: keys and counts live in two
+ * parallel arrays indexed by open addressing with linear probing, so
+ * counting an already seen key allocates nothing. Keys are compared with
+ * <code>equals</code> and may be <code>null</code>. Counts may become zero or
+ * negative; keys are only dropped by {@link #remove(Object)}.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <K> the type of the counted keys.
+ *
+ * @author jalara
+ */
+public final class ObjectIntCounter<K> {
+  private final float loadFactor;
+
+  private Object[] keys;
+  private int[] counts;
+  private int mask;
+  private int threshold;
+  private int size;
+  private boolean hasNullKey;
+  private int nullCount;
+
+  /**
+   * Creates an empty counter with the default expected size and load factor.
+   */
+  public ObjectIntCounter() {
+    this(Hashing.DEFAULT_EXPECTED_SIZE, Hashing.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty counter holding <code>expectedSize</code> distinct keys
+   * without growing.
+   *
+   * @param expectedSize the number of distinct keys expected.
+   */
+  public ObjectIntCounter(final int expectedSize) {
+    this(expectedSize, Hashing.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty counter holding <code>expectedSize</code> distinct keys
+   * without growing.
+   *
+   * @param expectedSize the number of distinct keys expected.
+   * @param loadFactor   the highest ratio of keys to slots before the table
+   *                     doubles, between <code>0</code> and <code>1</code>,
+   *                     both exclusive.
+   */
+  public ObjectIntCounter(final int expectedSize, final float loadFactor) {
+    Hashing.validate(expectedSize, loadFactor);
+
+    this.loadFactor = loadFactor;
+    allocate(Hashing.capacity(expectedSize, loadFactor));
+  }
+
+  /**
+   * Retrieves the count of a key.
+   *
+   * @param key the key to look up.
+   *
+   * @return the count of the key, or <code>0</code> if it was never counted.
+   */
+  public int get(final Object key) {
+    if (key == null) {
+      return nullCount;
+    }
+
+    int slot = find(key);
+
+    return slot < 0 ? 0 : counts[slot];
+  }
+
+  /**
+   * Evaluates if a key was counted and not removed since.
+   *
+   * @param key the key to look up.
+   *
+   * @return <code>true</code> if and only if the key is present.
+   */
+  public boolean contains(final Object key) {
+    return key == null ? hasNullKey : find(key) >= 0;
+  }
+
+  /**
+   * Counts one occurrence of a key.
+   *
+   * @param key the key to count.
+   *
+   * @return the new count of the key.
+   */
+  public int add(final K key) {
+    return add(key, 1);
+  }
+
+  /**
+   * Adds a delta to the count of a key, which starts at <code>0</code> when
+   * absent.
+   *
+   * @param key   the key to count.
+   * @param delta the amount to add, possibly negative.
+   *
+   * @return the new count of the key.
+   */
+  public int add(final K key, final int delta) {
+    if (key == null) {
+      if (!hasNullKey) {
+        hasNullKey = true;
+        size++;
+      }
+
+      return nullCount += delta;
+    }
+
+    // the slot is claimed first, as claiming it may replace the arrays
+    int slot = insertionSlot(key);
+
+    return counts[slot] += delta;
+  }
+
+  /**
+   * Counts one occurrence of every element of an array.
+   *
+   * @param keys the keys to count.
+   */
+  public void addAll(final K[] keys) {
+    if (keys == null) {
+      throw new IllegalArgumentException("Keys can not be null.");
+    }
+
+    for (K key : keys) {
+      add(key, 1);
+    }
+  }
+
+  /**
+   * Counts one occurrence of every element of an <code>Iterable</code>.
+   *
+   * @param keys the keys to count.
+   */
+  public void addAll(final Iterable<? extends K> keys) {
+    if (keys == null) {
+      throw new IllegalArgumentException("Keys can not be null.");
+    }
+
+    for (K key : keys) {
+      add(key, 1);
+    }
+  }
+
+  /**
+   * Adds the counts of another counter to this one.
+   *
+   * @param other the counter to add.
+   */
+  @SuppressWarnings("unchecked")
+  public void addAll(final ObjectIntCounter<? extends K> other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Counter can not be null.");
+    }
+
+    if (other.hasNullKey) {
+      add(null, other.nullCount);
+    }
+
+    for (int index = 0; index < other.keys.length; index++) {
+      Object key = other.keys[index];
+
+      if (key != null) {
+        add((K) key, other.counts[index]);
+      }
+    }
+  }
+
+  /**
+   * Removes a key.
+   *
+   * @param key the key to remove.
+   *
+   * @return the count the key had, or <code>0</code> if it was absent.
+   */
+  public int remove(final Object key) {
+    if (key == null) {
+      int previous = nullCount;
+
+      if (hasNullKey) {
+        hasNullKey = false;
+        nullCount = 0;
+        size--;
+      }
+
+      return previous;
+    }
+
+    int slot = find(key);
+
+    if (slot < 0) {
+      return 0;
+    }
+
+    int previous = counts[slot];
+
+    shiftBack(slot);
+    size--;
+
+    return previous;
+  }
+
+  /**
+   * Makes room for <code>expectedSize</code> distinct keys, so adding up to
+   * that many does not rehash more than once.
+   *
+   * @param expectedSize the number of distinct keys expected.
+   */
+  public void ensureCapacity(final int expectedSize) {
+    if (expectedSize > threshold) {
+      rehash(Hashing.capacity(expectedSize, loadFactor));
+    }
+  }
+
+  /**
+   * Retrieves the number of distinct keys.
+   *
+   * @return the number of keys present.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Evaluates if the counter has no keys.
+   *
+   * @return <code>true</code> if and only if no key is present.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes every key, keeping the current table.
+   */
+  public void clear() {
+    Arrays.fill(keys, null);
+    Arrays.fill(counts, 0);
+    hasNullKey = false;
+    nullCount = 0;
+    size = 0;
+  }
+
+  /**
+   * Creates a cursor over the keys of this counter, in no particular order.
+   * Advancing the cursor allocates nothing. The counter must not be modified
+   * while the cursor is in use, other than through
+   * {@link Cursor#setCount(int)}.
+   *
+   * @return a cursor placed before the first key.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(size * 16 + 2).append('{');
+    Cursor cursor = cursor();
+
+    while (cursor.advance()) {
+      if (builder.length() > 1) {
+        builder.append(", ");
+      }
+
+      builder.append(cursor.key()).append('=').append(cursor.count());
+    }
+
+    return builder.append('}').toString();
+  }
+
+  private static int slotHash(final Object key) {
+    return Hashing.mix(key.hashCode());
+  }
+
+  private int find(final Object key) {
+    for (int slot = slotHash(key) & mask;; slot = (slot + 1) & mask) {
+      Object current = keys[slot];
+
+      if (current == null) {
+        return -1;
+      }
+
+      if (current == key || current.equals(key)) {
+        return slot;
+      }
+    }
+  }
+
+  private int insertionSlot(final Object key) {
+    for (int slot = slotHash(key) & mask;; slot = (slot + 1) & mask) {
+      Object current = keys[slot];
+
+      if (current == null) {
+        if (size >= threshold) {
+          rehash(Hashing.grow(keys.length));
+
+          return insertionSlot(key);
+        }
+
+        keys[slot] = key;
+        size++;
+
+        return slot;
+      }
+
+      if (current == key || current.equals(key)) {
+        return slot;
+      }
+    }
+  }
+
+  private void shiftBack(final int removed) {
+    int gap = removed;
+
+    for (int slot = (gap + 1) & mask;; slot = (slot + 1) & mask) {
+      Object key = keys[slot];
+
+      if (key == null) {
+        break;
+      }
+
+      int home = slotHash(key) & mask;
+
+      if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+        keys[gap] = key;
+        counts[gap] = counts[slot];
+        gap = slot;
+      }
+    }
+
+    keys[gap] = null;
+    counts[gap] = 0;
+  }
+
+  private void allocate(final int capacity) {
+    keys = new Object[capacity];
+    counts = new int[capacity];
+    mask = capacity - 1;
+    threshold = Hashing.threshold(capacity, loadFactor);
+  }
+
+  private void rehash(final int capacity) {
+    Object[] oldKeys = keys;
+    int[] oldCounts = counts;
+
+    allocate(capacity);
+
+    for (int index = 0; index < oldKeys.length; index++) {
+      Object key = oldKeys[index];
+
+      if (key != null) {
+        int slot = slotHash(key) & mask;
+
+        while (keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        counts[slot] = oldCounts[index];
+      }
+    }
+  }
+
+  /**
+   * Forward-only position over the keys of the counter.
+   */
+  public final class Cursor {
+    private int index = -1;
+
+    private Cursor() {
+      // created by the counter
+    }
+
+    /**
+     * Moves to the next key.
+     *
+     * @return <code>true</code> if there was a next key, <code>false</code>
+     *         once every key was visited.
+     */
+    public boolean advance() {
+      while (++index < keys.length) {
+        if (keys[index] != null) {
+          return true;
+        }
+      }
+
+      return index == keys.length && hasNullKey;
+    }
+
+    /**
+     * Retrieves the current key.
+     *
+     * @return the current key.
+     */
+    @SuppressWarnings("unchecked")
+    public K key() {
+      return index < keys.length ? (K) keys[index] : null;
+    }
+
+    /**
+     * Retrieves the count of the current key.
+     *
+     * @return the current count.
+     */
+    public int count() {
+      return index < keys.length ? counts[index] : nullCount;
+    }
+
+    /**
+     * Replaces the count of the current key.
+     *
+     * @param count the new count.
+     */
+    public void setCount(final int count) {
+      if (index < keys.length) {
+        counts[index] = count;
+      } else {
+        nullCount = count;
+      }
+    }
+  }
+}
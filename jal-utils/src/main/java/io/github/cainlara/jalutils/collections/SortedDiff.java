@@ -0,0 +1,121 @@
+package io.github.cainlara.jalutils.collections;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Single pass difference between two sorted inputs.
+ * <p>
+ * Both iterators are walked in step, holding a single element of each, so
+ * inputs of any size, including iterators over files or database cursors,
+ * are compared in constant memory. Elements comparing equal are
+ * {@link Diff.Kind#COMMON}; duplicates are matched one to one, so inputs are
+ * compared as sorted multisets. Inputs found out of order fail with an
+ * <code>IllegalStateException</code> as soon as the offending element is
+ * read.
+ *
+ * @param <T> the type of the elements.
+ *
+ * @author jalara
+ */
+public final class SortedDiff<T> implements Iterator<Diff<T>> {
+  private final Iterator<? extends T> left;
+  private final Iterator<? extends T> right;
+  private final Comparator<? super T> comparator;
+  private T leftHead;
+  private T rightHead;
+  private boolean hasLeft;
+  private boolean hasRight;
+  private int leftIndex = -1;
+  private int rightIndex = -1;
+
+  /**
+   * Creates the difference between two sorted inputs.
+   *
+   * @param left       the left input, sorted by <code>comparator</code>.
+   * @param right      the right input, sorted by <code>comparator</code>.
+   * @param comparator the order of both inputs.
+   */
+  public SortedDiff(final Iterator<? extends T> left, final Iterator<? extends T> right,
+      final Comparator<? super T> comparator) {
+    if (left == null || right == null) {
+      throw new IllegalArgumentException("Inputs can not be null.");
+    }
+
+    if (comparator == null) {
+      throw new IllegalArgumentException("Comparator can not be null.");
+    }
+
+    this.left = left;
+    this.right = right;
+    this.comparator = comparator;
+    advanceLeft();
+    advanceRight();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return hasLeft || hasRight;
+  }
+
+  @Override
+  public Diff<T> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    int order = !hasLeft ? 1 : !hasRight ? -1 : comparator.compare(leftHead, rightHead);
+    Diff<T> diff;
+
+    if (order < 0) {
+      diff = Diff.removed(leftHead, leftIndex);
+      advanceLeft();
+    } else if (order > 0) {
+      diff = Diff.added(rightHead, rightIndex);
+      advanceRight();
+    } else {
+      diff = Diff.common(leftHead, rightHead, leftIndex, rightIndex);
+      advanceLeft();
+      advanceRight();
+    }
+
+    return diff;
+  }
+
+  private void advanceLeft() {
+    T previous = leftHead;
+    boolean hadPrevious = hasLeft;
+
+    hasLeft = left.hasNext();
+
+    if (hasLeft) {
+      leftHead = left.next();
+      leftIndex++;
+      checkOrder(hadPrevious, previous, leftHead, "Left");
+    } else {
+      leftHead = null;
+    }
+  }
+
+  private void advanceRight() {
+    T previous = rightHead;
+    boolean hadPrevious = hasRight;
+
+    hasRight = right.hasNext();
+
+    if (hasRight) {
+      rightHead = right.next();
+      rightIndex++;
+      checkOrder(hadPrevious, previous, rightHead, "Right");
+    } else {
+      rightHead = null;
+    }
+  }
+
+  private void checkOrder(final boolean hadPrevious, final T previous, final T current, final String side) {
+    if (hadPrevious && comparator.compare(previous, current) > 0) {
+      throw new IllegalStateException(side + " input is not sorted: " + previous + " precedes " + current + ".");
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package io.github.cainlara.jalutils.collections;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming merge of any number of sorted inputs into a single sorted
+ * sequence.
+ * <p>
+ * The head of every input sits in a binary min-heap of source indexes, so
+ * each element costs <i>O(log k)</i> comparisons for <i>k</i> inputs and only
+ * one element per input is held at a time. Equal elements come out in the
+ * order of their inputs, so the merge is stable. Heads are stored in plain
+ * arrays instead of heap entry objects, so merging allocates nothing per
+ * element.
+ *
+ * @param <T> the type of the elements.
+ *
+ * @author jalara
+ */
+public final class SortedMerge<T> implements Iterator<T> {
+  private final List<Iterator<? extends T>> sources;
+  private final Comparator<? super T> comparator;
+  private final Object[] heads;
+  private final int[] heap;
+  private int size;
+
+  /**
+   * Creates the merge of sorted inputs.
+   *
+   * @param sources    the inputs, each sorted by <code>comparator</code>.
+   * @param comparator the order of every input and of the result.
+   */
+  public SortedMerge(final List<? extends Iterator<? extends T>> sources, final Comparator<? super T> comparator) {
+    if (sources == null) {
+      throw new IllegalArgumentException("Sources can not be null.");
+    }
+
+    if (comparator == null) {
+      throw new IllegalArgumentException("Comparator can not be null.");
+    }
+
+    this.sources = new ArrayList<>(sources);
+    this.comparator = comparator;
+    this.heads = new Object[this.sources.size()];
+    this.heap = new int[this.sources.size()];
+
+    for (int source = 0; source < this.sources.size(); source++) {
+      Iterator<? extends T> iterator = this.sources.get(source);
+
+      if (iterator == null) {
+        throw new IllegalArgumentException("Source " + source + " can not be null.");
+      }
+
+      if (iterator.hasNext()) {
+        heads[source] = iterator.next();
+        heap[size] = source;
+        siftUp(size++);
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return size > 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T next() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+
+    int source = heap[0];
+    T element = (T) heads[source];
+    Iterator<? extends T> iterator = sources.get(source);
+
+    if (iterator.hasNext()) {
+      heads[source] = iterator.next();
+    } else {
+      heads[source] = null;
+      heap[0] = heap[--size];
+    }
+
+    if (size > 0) {
+      siftDown(0);
+    }
+
+    return element;
+  }
+
+  @SuppressWarnings("unchecked")
+  private boolean less(final int a, final int b) {
+    int order = comparator.compare((T) heads[a], (T) heads[b]);
+
+    return order < 0 || order == 0 && a < b;
+  }
+
+  private void siftUp(final int position) {
+    int child = position;
+    int source = heap[child];
+
+    while (child > 0) {
+      int parent = (child - 1) >>> 1;
+
+      if (!less(source, heap[parent])) {
+        break;
+      }
+
+      heap[child] = heap[parent];
+      child = parent;
+    }
+
+    heap[child] = source;
+  }
+
+  private void siftDown(final int position) {
+    int parent = position;
+    int source = heap[parent];
+
+    for (int child = 2 * parent + 1; child < size; child = 2 * parent + 1) {
+      if (child + 1 < size && less(heap[child + 1], heap[child])) {
+        child++;
+      }
+
+      if (!less(heap[child], source)) {
+        break;
+      }
+
+      heap[parent] = heap[child];
+      parent = child;
+    }
+
+    heap[parent] = source;
+  }
+}
@@ -0,0 +1,370 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.cainlara.jalutils.metrics.JalMetrics;
+import io.github.cainlara.jalutils.metrics.Metrics;
+
+/**
+ * Runs file operations asynchronously on a dedicated I/O pool.
+ * <p>
+ * Operations are queued in lanes, one per directory of the file they act on:
+ * lanes run concurrently, while operations in a lane run in submission order,
+ * in batches, on a single pool thread at a time. Operations still queued are
+ * coalesced with new ones on the same file:
+ * <ul>
+ * <li>repeated <code>exists</code> checks share a single check;</li>
+ * <li>repeated deletions, or identical copies, share a single operation;</li>
+ * <li>a deletion cancels a copy to the same target, whose future completes
+ * with a <code>CancellationException</code>.</li>
+ * </ul>
+ * Ordering is only guaranteed among operations on the same directory.
+ * <p>
+ * Queue depth is recorded as <code>jalutils.fileops.queue.depth</code>, the
+ * time from submission to completion as <code>jalutils.fileops.latency</code>
+ * and coalesced operations are counted as
+ * <code>jalutils.fileops.coalesced</code>.
+ * 
+ * @author jalara
+ */
+public final class AsyncFileOps implements AutoCloseable {
+  /**
+   * Default number of I/O threads.
+   */
+  public static final int DEFAULT_THREADS = 8;
+
+  /**
+   * Default number of operations a lane runs before yielding its thread.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 64;
+
+  private static final String QUEUE_DEPTH_HISTOGRAM = "jalutils.fileops.queue.depth";
+  private static final String LATENCY_TIMER = "jalutils.fileops.latency";
+  private static final String COALESCED_COUNTER = "jalutils.fileops.coalesced";
+
+  private final Executor executor;
+  private final ExecutorService ownedExecutor;
+  private final int batchSize;
+  private final Map<Path, Lane> lanes = new ConcurrentHashMap<>();
+  private final AtomicInteger queueDepth = new AtomicInteger();
+
+  private AsyncFileOps(final Builder builder) {
+    if (builder.executor == null) {
+      AtomicInteger threadCount = new AtomicInteger();
+      ThreadFactory factory = runnable -> {
+        Thread thread = new Thread(runnable, "jalutils-io-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      };
+
+      this.ownedExecutor = new ThreadPoolExecutor(builder.threads, builder.threads, 30, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(), factory);
+      ((ThreadPoolExecutor) ownedExecutor).allowCoreThreadTimeOut(true);
+      this.executor = ownedExecutor;
+    } else {
+      this.ownedExecutor = null;
+      this.executor = builder.executor;
+    }
+
+    this.batchSize = builder.batchSize;
+  }
+
+  /**
+   * Checks whether a file exists.
+   * 
+   * @param file the file to check.
+   * 
+   * @return a future completed with <code>true</code> if the file exists.
+   */
+  public CompletableFuture<Boolean> exists(final Path file) {
+    return submit(new Operation<>(Kind.EXISTS, null, file));
+  }
+
+  /**
+   * Copies a file, replacing the target if it already exists.
+   * 
+   * @param source the file to copy.
+   * @param target the copy destination.
+   * 
+   * @return a future completed with the target once copied.
+   */
+  public CompletableFuture<Path> copy(final Path source, final Path target) {
+    if (source == null) {
+      throw new IllegalArgumentException("Source file can not be null.");
+    }
+
+    return submit(new Operation<>(Kind.COPY, source, target));
+  }
+
+  /**
+   * Deletes a file if it exists.
+   * 
+   * @param file the file to delete.
+   * 
+   * @return a future completed with <code>true</code> if the file was deleted.
+   */
+  public CompletableFuture<Boolean> delete(final Path file) {
+    return submit(new Operation<>(Kind.DELETE, null, file));
+  }
+
+  /**
+   * @return the number of operations queued and not started yet.
+   */
+  public int getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  /**
+   * Stops the I/O pool created by this instance once queued operations are
+   * done. Executors given to the builder are left untouched.
+   */
+  @Override
+  public void close() {
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> CompletableFuture<T> submit(final Operation<T> operation) {
+    if (operation.file == null) {
+      throw new IllegalArgumentException("File can not be null.");
+    }
+
+    Path key = operation.file.toAbsolutePath().normalize();
+    Path folder = key.getParent() == null ? key : key.getParent();
+
+    while (true) {
+      Lane lane = lanes.computeIfAbsent(folder, Lane::new);
+      boolean schedule;
+
+      synchronized (lane) {
+        if (lane.retired) {
+          continue;
+        }
+
+        Operation<?> pending = lane.lastByFile.get(key);
+
+        if (pending != null) {
+          if (pending.coalescesWith(operation)) {
+            Metrics.count(COALESCED_COUNTER, 1);
+            return (CompletableFuture<T>) pending.future;
+          }
+
+          if (operation.kind == Kind.DELETE && pending.kind == Kind.COPY) {
+            // the copied file would be deleted right away
+            pending.skipped = true;
+            pending.future.cancel(false);
+            Metrics.count(COALESCED_COUNTER, 1);
+          }
+        }
+
+        operation.key = key;
+        lane.queue.add(operation);
+        lane.lastByFile.put(key, operation);
+        schedule = !lane.scheduled;
+        lane.scheduled = true;
+      }
+
+      int depth = queueDepth.incrementAndGet();
+      JalMetrics metrics = Metrics.get();
+
+      if (metrics.isEnabled()) {
+        metrics.recordValue(QUEUE_DEPTH_HISTOGRAM, depth);
+      }
+
+      if (schedule) {
+        schedule(lane);
+      }
+
+      return operation.future;
+    }
+  }
+
+  private void schedule(final Lane lane) {
+    try {
+      executor.execute(lane);
+    } catch (RuntimeException e) {
+      lane.fail(e);
+    }
+  }
+
+  private enum Kind {
+    EXISTS, COPY, DELETE
+  }
+
+  private static final class Operation<T> {
+    private final Kind kind;
+    private final Path source;
+    private final Path file;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final long submitted = Metrics.startNanos();
+    private Path key;
+    private boolean skipped;
+
+    private Operation(final Kind kind, final Path source, final Path file) {
+      this.kind = kind;
+      this.source = source;
+      this.file = file;
+    }
+
+    private boolean coalescesWith(final Operation<?> other) {
+      return kind == other.kind && (kind != Kind.COPY || source.equals(other.source));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run() {
+      try {
+        Object result;
+
+        switch (kind) {
+        case EXISTS:
+          result = Files.exists(file);
+          break;
+        case COPY:
+          Files.copy(source, file, StandardCopyOption.REPLACE_EXISTING);
+          result = file;
+          break;
+        default:
+          result = Files.deleteIfExists(file);
+          break;
+        }
+
+        future.complete((T) result);
+      } catch (IOException | RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+
+      Metrics.recordSince(LATENCY_TIMER, submitted);
+    }
+  }
+
+  private final class Lane implements Runnable {
+    private final Path folder;
+    private final ArrayDeque<Operation<?>> queue = new ArrayDeque<>();
+    private final Map<Path, Operation<?>> lastByFile = new HashMap<>();
+    private boolean scheduled;
+    private boolean retired;
+
+    private Lane(final Path folder) {
+      this.folder = folder;
+    }
+
+    @Override
+    public void run() {
+      for (int count = 0; count < batchSize; count++) {
+        Operation<?> operation;
+
+        synchronized (this) {
+          operation = queue.poll();
+
+          if (operation == null) {
+            scheduled = false;
+            retired = true;
+            lanes.remove(folder, this);
+            return;
+          }
+
+          lastByFile.remove(operation.key, operation);
+        }
+
+        queueDepth.decrementAndGet();
+
+        if (!operation.skipped) {
+          operation.run();
+        }
+      }
+
+      // yield the thread to other lanes
+      schedule(this);
+    }
+
+    private void fail(final RuntimeException cause) {
+      synchronized (this) {
+        Operation<?> operation;
+
+        while ((operation = queue.poll()) != null) {
+          queueDepth.decrementAndGet();
+          operation.future.completeExceptionally(cause);
+        }
+
+        lastByFile.clear();
+        scheduled = false;
+        retired = true;
+        lanes.remove(folder, this);
+      }
+    }
+  }
+
+  public static class Builder {
+    private int threads = DEFAULT_THREADS;
+    private Executor executor;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Sets the number of threads of the I/O pool. File operations mostly wait
+     * on the file system, so this should be sized independently of the number
+     * of processors.
+     * 
+     * @param threads the number of threads.
+     * 
+     * @return this builder.
+     */
+    public Builder threads(final int threads) {
+      if (threads < 1) {
+        throw new IllegalArgumentException("Threads must be positive.");
+      }
+
+      this.threads = threads;
+      return this;
+    }
+
+    /**
+     * Runs operations on an existing executor instead of a dedicated pool.
+     * 
+     * @param executor the executor.
+     * 
+     * @return this builder.
+     */
+    public Builder executor(final Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sets the number of operations a lane runs before letting other lanes use
+     * its thread.
+     * 
+     * @param batchSize the batch size.
+     * 
+     * @return this builder.
+     */
+    public Builder batchSize(final int batchSize) {
+      if (batchSize < 1) {
+        throw new IllegalArgumentException("Batch size must be positive.");
+      }
+
+      this.batchSize = batchSize;
+      return this;
+    }
+
+    public AsyncFileOps build() {
+      return new AsyncFileOps(this);
+    }
+  }
+}
@@ -0,0 +1,248 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import io.github.cainlara.jalutils.StringUtils;
+
+/**
+ * Hashes file contents through <code>FileChannel</code>, without going through
+ * <code>InputStream</code>.
+ * <p>
+ * Small files are read in chunks into a reusable direct buffer, one per
+ * thread. Files at least as large as the mapping threshold are memory mapped
+ * in windows and hashed in place. Any <code>MessageDigest</code> algorithm can
+ * be used, as well as <code>XXH64</code>, a fast non-cryptographic hash.
+ * 
+ * @author jalara
+ */
+public final class ContentHasher {
+  /**
+   * Name of the XXH64 non-cryptographic hash algorithm.
+   * 
+   * @see XxHash64
+   */
+  public static final String XXH64 = "XXH64";
+
+  /**
+   * Default size of the read buffer (256 KiB).
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+  /**
+   * Default size from which files are memory mapped (16 MiB).
+   */
+  public static final long DEFAULT_MAPPING_THRESHOLD = 16L * 1024 * 1024;
+
+  private static final long MAPPING_WINDOW = 64L * 1024 * 1024;
+
+  private final String algorithm;
+  private final long mappingThreshold;
+  private final ThreadLocal<ByteBuffer> buffers;
+
+  private ContentHasher(final Builder builder) {
+    this.algorithm = builder.algorithm;
+    this.mappingThreshold = builder.mappingThreshold;
+
+    int bufferSize = builder.bufferSize;
+
+    this.buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(bufferSize));
+
+    newDigest();
+  }
+
+  /**
+   * @return the name of the hash algorithm.
+   */
+  public String getAlgorithm() {
+    return algorithm;
+  }
+
+  /**
+   * Hashes the whole content of a file.
+   * 
+   * @param file the file to hash.
+   * 
+   * @return the digest of the file content.
+   * 
+   * @throws IOException if the file can not be read.
+   */
+  public byte[] hash(final Path file) throws IOException {
+    return hash(file, 0, Long.MAX_VALUE);
+  }
+
+  /**
+   * Hashes the whole content of a file.
+   * 
+   * @param file the file to hash.
+   * 
+   * @return the digest of the file content, as a lower case hexadecimal
+   *         <code>String</code>.
+   * 
+   * @throws IOException if the file can not be read.
+   */
+  public String hashHex(final Path file) throws IOException {
+    return CopyEngine.toHex(hash(file));
+  }
+
+  /**
+   * Hashes a region of a file. The region is truncated at the end of the
+   * file.
+   * 
+   * @param file     the file to hash.
+   * @param position the position of the first byte to hash.
+   * @param length   the maximum number of bytes to hash.
+   * 
+   * @return the digest of the region.
+   * 
+   * @throws IOException if the file can not be read.
+   */
+  public byte[] hash(final Path file, final long position, final long length) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("File to hash can not be null.");
+    }
+
+    if (position < 0 || length < 0) {
+      throw new IllegalArgumentException("Position and length must not be negative.");
+    }
+
+    MessageDigest digest = newDigest();
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      update(digest, channel, position, length);
+    }
+
+    return digest.digest();
+  }
+
+  MessageDigest newDigest() {
+    if (XXH64.equals(algorithm)) {
+      return new XxHash64();
+    }
+
+    try {
+      return MessageDigest.getInstance(algorithm);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Hash algorithm " + algorithm + " is not available.", e);
+    }
+  }
+
+  /**
+   * Feeds a region of an open channel into a digest.
+   * 
+   * @return the number of bytes hashed.
+   */
+  long update(final MessageDigest digest, final FileChannel channel, final long position, final long length)
+      throws IOException {
+    long end = Math.min(channel.size(), position + Math.min(length, Long.MAX_VALUE - position));
+
+    if (end <= position) {
+      return 0;
+    }
+
+    if (end - position >= mappingThreshold) {
+      for (long offset = position; offset < end; offset += MAPPING_WINDOW) {
+        digest.update(channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(MAPPING_WINDOW, end - offset)));
+      }
+
+      return end - position;
+    }
+
+    ByteBuffer buffer = buffers.get();
+    long offset = position;
+
+    while (offset < end) {
+      ((Buffer) buffer).clear();
+
+      if (end - offset < buffer.capacity()) {
+        ((Buffer) buffer).limit((int) (end - offset));
+      }
+
+      int read = channel.read(buffer, offset);
+
+      if (read < 0) {
+        break;
+      }
+
+      ((Buffer) buffer).flip();
+      digest.update(buffer);
+      offset += read;
+    }
+
+    return offset - position;
+  }
+
+  public static class Builder {
+    private String algorithm = XXH64;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private long mappingThreshold = DEFAULT_MAPPING_THRESHOLD;
+
+    /**
+     * Sets the hash algorithm. Defaults to <code>XXH64</code>.
+     * 
+     * @param algorithm <code>XXH64</code> or a <code>MessageDigest</code>
+     *                  algorithm name, such as <code>SHA-256</code>.
+     * 
+     * @return this builder.
+     * 
+     * @see java.security.MessageDigest
+     */
+    public Builder algorithm(final String algorithm) {
+      if (StringUtils.getInstance().isBlank(algorithm)) {
+        throw new IllegalArgumentException("Hash algorithm can not be empty.");
+      }
+
+      this.algorithm = algorithm;
+      return this;
+    }
+
+    /**
+     * Sets the size of the read buffer.
+     * 
+     * @param bufferSize the buffer size in bytes.
+     * 
+     * @return this builder.
+     */
+    public Builder bufferSize(final int bufferSize) {
+      if (bufferSize < 1) {
+        throw new IllegalArgumentException("Buffer size must be positive.");
+      }
+
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Sets the size from which files are memory mapped instead of read.
+     * <p>
+     * Mapped regions are only released when garbage collected, so the
+     * threshold should stay well above the typical file size.
+     * 
+     * @param mappingThreshold the threshold in bytes; use
+     *                         <code>Long.MAX_VALUE</code> to never map files.
+     * 
+     * @return this builder.
+     */
+    public Builder mappingThreshold(final long mappingThreshold) {
+      if (mappingThreshold < 1) {
+        throw new IllegalArgumentException("Mapping threshold must be positive.");
+      }
+
+      this.mappingThreshold = mappingThreshold;
+      return this;
+    }
+
+    /**
+     * @throws IllegalStateException if the algorithm is not available.
+     */
+    public ContentHasher build() {
+      return new ContentHasher(this);
+    }
+  }
+}
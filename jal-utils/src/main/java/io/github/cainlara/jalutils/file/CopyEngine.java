@@ -0,0 +1,356 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Copies files with control over buffering, progress and integrity.
+ * <p>
+ * When no checksum is requested and both files live in the same file store,
+ * bytes are moved with <code>FileChannel.transferTo</code> so they never reach
+ * user space. Otherwise the file is copied in chunks through a reusable direct
+ * buffer, and the checksum is computed from that same buffer so the copy needs
+ * a single read pass. With atomic copies enabled the bytes are written to a
+ * temporary file next to the target, which is then renamed over it with the
+ * permissions of the replaced target, or of the source if there was none.
+ * Copying a file onto itself, through the same path or a link, leaves it
+ * untouched.
+ * 
+ * @author jalara
+ */
+public final class CopyEngine {
+  /**
+   * Default size of the copy buffer (1 MiB).
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+  private static final long TRANSFER_CHUNK_SIZE = 64L * 1024 * 1024;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final int bufferSize;
+  private final CopyProgressListener progressListener;
+  private final String checksumAlgorithm;
+  private final boolean atomic;
+  private final ThreadLocal<ByteBuffer> buffers;
+
+  private CopyEngine(final Builder builder) {
+    this.bufferSize = builder.bufferSize;
+    this.progressListener = builder.progressListener;
+    this.checksumAlgorithm = builder.checksumAlgorithm;
+    this.atomic = builder.atomic;
+    this.buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(bufferSize));
+  }
+
+  /**
+   * Copies <code>source</code> into <code>target</code>, replacing it if it
+   * already exists.
+   * 
+   * @param source the file to copy.
+   * @param target the copy destination.
+   * 
+   * @return the copy outcome.
+   * 
+   * @throws IOException if the copy fails.
+   */
+  public CopyResult copy(final Path source, final Path target) throws IOException {
+    return copy(source, target, null);
+  }
+
+  /**
+   * Copies <code>source</code> into <code>target</code>, replacing it if it
+   * already exists, and verifies the checksum of the copied bytes.
+   * <p>
+   * If the checksum does not match an <code>IOException</code> is thrown; when
+   * the engine is atomic the previous target is left untouched.
+   * 
+   * @param source           the file to copy.
+   * @param target           the copy destination.
+   * @param expectedChecksum the expected lower case hexadecimal checksum, or
+   *                         <code>null</code> to skip verification.
+   * 
+   * @return the copy outcome.
+   * 
+   * @throws IOException if the copy fails or the checksum does not match.
+   */
+  public CopyResult copy(final Path source, final Path target, final String expectedChecksum) throws IOException {
+    if (source == null) {
+      throw new IOException("Source file can not be null.");
+    }
+
+    if (target == null) {
+      throw new IOException("Target file can not be null.");
+    }
+
+    if (expectedChecksum != null && checksumAlgorithm == null) {
+      throw new IllegalStateException("Checksum verification requires a checksum algorithm.");
+    }
+
+    if (Files.exists(target) && Files.isSameFile(source, target)) {
+      // like Files.copy, copying a file onto itself leaves it untouched
+      CopyResult result = checksumOnly(source);
+      verify(result, expectedChecksum, source);
+
+      return result;
+    }
+
+    if (!atomic) {
+      CopyResult result = copyContent(source, target);
+      verify(result, expectedChecksum, source);
+
+      return result;
+    }
+
+    Path parent = target.toAbsolutePath().getParent();
+    Path temporary = Files.createTempFile(parent, "." + target.getFileName(), ".tmp");
+
+    try {
+      CopyResult result = copyContent(source, temporary);
+      verify(result, expectedChecksum, source);
+      copyPermissions(Files.exists(target) ? target : source, temporary);
+      moveIntoPlace(temporary, target);
+
+      return result;
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private CopyResult copyContent(final Path source, final Path target) throws IOException {
+    long start = System.nanoTime();
+    MessageDigest digest = newDigest();
+    boolean zeroCopy = digest == null && sameFileStore(source, target);
+    long copied;
+
+    try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+        FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      long size = in.size();
+      copied = zeroCopy ? transfer(source, in, out, size) : chunkedCopy(source, in, out, 0, size, digest);
+    }
+
+    return new CopyResult(copied, System.nanoTime() - start, zeroCopy,
+        digest == null ? null : toHex(digest.digest()));
+  }
+
+  private CopyResult checksumOnly(final Path source) throws IOException {
+    long start = System.nanoTime();
+    MessageDigest digest = newDigest();
+
+    if (digest != null) {
+      ByteBuffer buffer = buffers.get();
+
+      try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+        ((Buffer) buffer).clear();
+
+        while (in.read(buffer) >= 0) {
+          ((Buffer) buffer).flip();
+          digest.update(buffer);
+          ((Buffer) buffer).clear();
+        }
+      }
+    }
+
+    return new CopyResult(0, System.nanoTime() - start, false, digest == null ? null : toHex(digest.digest()));
+  }
+
+  private long transfer(final Path source, final FileChannel in, final FileChannel out, final long size)
+      throws IOException {
+    long position = 0;
+
+    while (position < size) {
+      long transferred = in.transferTo(position, Math.min(TRANSFER_CHUNK_SIZE, size - position), out);
+
+      if (transferred <= 0) {
+        // no progress, or the source shrank: copy whatever is left by hand
+        in.position(position);
+        out.position(position);
+        position = chunkedCopy(source, in, out, position, size, null);
+        break;
+      }
+
+      position += transferred;
+      notifyProgress(source, position, size);
+    }
+
+    if (position < size) {
+      throw new IOException("Source file (" + source.toAbsolutePath() + ") was truncated while being copied: "
+          + position + " of " + size + " bytes copied.");
+    }
+
+    return position;
+  }
+
+  private long chunkedCopy(final Path source, final FileChannel in, final FileChannel out, final long offset,
+      final long size, final MessageDigest digest) throws IOException {
+    ByteBuffer buffer = buffers.get();
+    long position = offset;
+
+    ((Buffer) buffer).clear();
+
+    while (in.read(buffer) >= 0) {
+      ((Buffer) buffer).flip();
+
+      if (digest != null) {
+        int start = buffer.position();
+        digest.update(buffer);
+        ((Buffer) buffer).position(start);
+      }
+
+      while (buffer.hasRemaining()) {
+        position += out.write(buffer);
+      }
+
+      ((Buffer) buffer).clear();
+      notifyProgress(source, position, size);
+    }
+
+    return position;
+  }
+
+  private void moveIntoPlace(final Path temporary, final Path target) throws IOException {
+    try {
+      Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void copyPermissions(final Path model, final Path temporary) throws IOException {
+    PosixFileAttributeView view = Files.getFileAttributeView(temporary, PosixFileAttributeView.class);
+
+    if (view != null) {
+      // temporary files are created owner-only
+      view.setPermissions(Files.getPosixFilePermissions(model));
+    }
+  }
+
+  private void verify(final CopyResult result, final String expectedChecksum, final Path source)
+      throws IOException {
+    if (expectedChecksum != null && !expectedChecksum.equalsIgnoreCase(result.getChecksum())) {
+      throw new IOException("Checksum of " + source.toAbsolutePath() + " is " + result.getChecksum()
+          + " but " + expectedChecksum + " was expected.");
+    }
+  }
+
+  private void notifyProgress(final Path source, final long copied, final long size) {
+    if (progressListener != null) {
+      progressListener.onProgress(source, copied, size);
+    }
+  }
+
+  private MessageDigest newDigest() {
+    if (checksumAlgorithm == null) {
+      return null;
+    }
+
+    if (ContentHasher.XXH64.equals(checksumAlgorithm)) {
+      return new XxHash64();
+    }
+
+    try {
+      return MessageDigest.getInstance(checksumAlgorithm);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Checksum algorithm " + checksumAlgorithm + " is not available.", e);
+    }
+  }
+
+  private static boolean sameFileStore(final Path source, final Path target) {
+    try {
+      Path targetFolder = target.toAbsolutePath().getParent();
+
+      return targetFolder != null && Files.getFileStore(source).equals(Files.getFileStore(targetFolder));
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  static String toHex(final byte[] bytes) {
+    char[] hex = new char[bytes.length * 2];
+
+    for (int index = 0; index < bytes.length; index++) {
+      hex[index * 2] = HEX_DIGITS[(bytes[index] >> 4) & 0xF];
+      hex[index * 2 + 1] = HEX_DIGITS[bytes[index] & 0xF];
+    }
+
+    return new String(hex);
+  }
+
+  public static class Builder {
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private CopyProgressListener progressListener;
+    private String checksumAlgorithm;
+    private boolean atomic;
+
+    /**
+     * Sets the size of the buffer used when bytes can not be transferred
+     * directly between channels.
+     * 
+     * @param bufferSize the buffer size in bytes.
+     * 
+     * @return this builder.
+     */
+    public Builder bufferSize(final int bufferSize) {
+      if (bufferSize < 1) {
+        throw new IllegalArgumentException("Buffer size must be positive.");
+      }
+
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Sets the listener notified after every copied chunk.
+     * 
+     * @param progressListener the progress listener.
+     * 
+     * @return this builder.
+     */
+    public Builder progressListener(final CopyProgressListener progressListener) {
+      this.progressListener = progressListener;
+      return this;
+    }
+
+    /**
+     * Computes a checksum of the copied bytes during the copy pass.
+     * 
+     * @param checksumAlgorithm a <code>MessageDigest</code> algorithm name, such
+     *                          as <code>SHA-256</code>, or
+     *                          <code>ContentHasher.XXH64</code>.
+     * 
+     * @return this builder.
+     * 
+     * @see java.security.MessageDigest
+     */
+    public Builder checksumAlgorithm(final String checksumAlgorithm) {
+      this.checksumAlgorithm = checksumAlgorithm;
+      return this;
+    }
+
+    /**
+     * Writes copies to a temporary file which is renamed over the target, so
+     * readers never observe a partially written target.
+     * 
+     * @param atomic whether or not copies are atomic.
+     * 
+     * @return this builder.
+     */
+    public Builder atomic(final boolean atomic) {
+      this.atomic = atomic;
+      return this;
+    }
+
+    public CopyEngine build() {
+      return new CopyEngine(this);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package io.github.cainlara.jalutils.file;
+
+import java.nio.file.Path;
+
+/**
+ * Receives progress notifications from a <code>CopyEngine</code>.
+ * <p>
+ * Notifications are delivered on the copying thread after every chunk, so
+ * implementations must return quickly.
+ * 
+ * @author jalara
+ */
+@FunctionalInterface
+public interface CopyProgressListener {
+
+  /**
+   * Invoked after a chunk of <code>source</code> has been written.
+   * 
+   * @param source      the file being copied.
+   * @param bytesCopied bytes written so far.
+   * @param totalBytes  size of the source file.
+   */
+  void onProgress(Path source, long bytesCopied, long totalBytes);
+}
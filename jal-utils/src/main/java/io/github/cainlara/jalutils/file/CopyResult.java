@@ -0,0 +1,58 @@
+package io.github.cainlara.jalutils.file;
+
+/**
+ * Outcome of a file copy performed by a <code>CopyEngine</code>.
+ * 
+ * @author jalara
+ * 
+ * @see CopyEngine#copy(java.nio.file.Path, java.nio.file.Path)
+ */
+public final class CopyResult {
+  private final long bytesCopied;
+  private final long elapsedNanos;
+  private final boolean zeroCopy;
+  private final String checksum;
+
+  CopyResult(final long bytesCopied, final long elapsedNanos, final boolean zeroCopy, final String checksum) {
+    this.bytesCopied = bytesCopied;
+    this.elapsedNanos = elapsedNanos;
+    this.zeroCopy = zeroCopy;
+    this.checksum = checksum;
+  }
+
+  /**
+   * @return number of bytes written to the target.
+   */
+  public long getBytesCopied() {
+    return bytesCopied;
+  }
+
+  /**
+   * @return time spent copying, in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * @return <code>true</code> if the bytes were moved with
+   *         <code>FileChannel.transferTo</code> instead of a user space buffer.
+   */
+  public boolean isZeroCopy() {
+    return zeroCopy;
+  }
+
+  /**
+   * @return the lower case hexadecimal checksum of the copied bytes, or
+   *         <code>null</code> if no checksum algorithm was configured.
+   */
+  public String getChecksum() {
+    return checksum;
+  }
+
+  @Override
+  public String toString() {
+    return "CopyResult [bytesCopied=" + bytesCopied + ", elapsedNanos=" + elapsedNanos + ", zeroCopy=" + zeroCopy
+        + ", checksum=" + checksum + "]";
+  }
+}
@@ -0,0 +1,69 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of a folder deletion performed by a <code>FolderDeleter</code>.
+ * 
+ * @author jalara
+ * 
+ * @see FolderDeleter#delete(Path)
+ */
+public final class DeleteResult {
+  private final long filesDeleted;
+  private final long foldersDeleted;
+  private final long bytesFreed;
+  private final Map<Path, IOException> failures;
+
+  DeleteResult(final long filesDeleted, final long foldersDeleted, final long bytesFreed,
+      final Map<Path, IOException> failures) {
+    this.filesDeleted = filesDeleted;
+    this.foldersDeleted = foldersDeleted;
+    this.bytesFreed = bytesFreed;
+    this.failures = Collections.unmodifiableMap(failures);
+  }
+
+  /**
+   * @return number of files, including symbolic links, deleted.
+   */
+  public long getFilesDeleted() {
+    return filesDeleted;
+  }
+
+  /**
+   * @return number of directories deleted, including the root.
+   */
+  public long getFoldersDeleted() {
+    return foldersDeleted;
+  }
+
+  /**
+   * @return sum of the sizes of the deleted files.
+   */
+  public long getBytesFreed() {
+    return bytesFreed;
+  }
+
+  /**
+   * @return every entry that could not be visited or deleted, with the cause.
+   */
+  public Map<Path, IOException> getFailures() {
+    return failures;
+  }
+
+  /**
+   * @return <code>true</code> if and only if every entry was deleted.
+   */
+  public boolean isSuccessful() {
+    return failures.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "DeleteResult [filesDeleted=" + filesDeleted + ", foldersDeleted=" + foldersDeleted + ", bytesFreed="
+        + bytesFreed + ", failures=" + failures.size() + "]";
+  }
+}
@@ -0,0 +1,350 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Finds files with identical content.
+ * <p>
+ * Files are compared in stages, each one only looking at the candidates left
+ * by the previous one: first by size, then by a hash of their first and last
+ * bytes, and finally by a hash of their whole content. Most files are told
+ * apart by size or by the partial hash, so only true duplicates are read
+ * entirely. Hashing runs on a <code>ForkJoinPool</code>, and a semaphore bounds
+ * the number of files open at the same time. Errors never abort the search,
+ * they are collected in the returned <code>DuplicateReport</code>.
+ * 
+ * @author jalara
+ */
+public final class DuplicateFinder {
+  /**
+   * Default number of bytes hashed at each end of a file by the partial hash
+   * (4 KiB).
+   */
+  public static final int DEFAULT_PARTIAL_SIZE = 4 * 1024;
+
+  private final ContentHasher hasher;
+  private final int parallelism;
+  private final int maxOpenFiles;
+  private final int partialSize;
+  private final long minSize;
+
+  private DuplicateFinder(final Builder builder) {
+    this.hasher = builder.hasher == null ? new ContentHasher.Builder().build() : builder.hasher;
+    this.parallelism = builder.parallelism;
+    this.maxOpenFiles = builder.maxOpenFiles;
+    this.partialSize = builder.partialSize;
+    this.minSize = builder.minSize;
+  }
+
+  /**
+   * Finds duplicated files in a directory tree. Symbolic links are not
+   * followed.
+   * 
+   * @param folder the directory to search.
+   * 
+   * @return the search outcome.
+   * 
+   * @throws IOException if <code>folder</code> is not an existing directory.
+   */
+  public DuplicateReport find(final Path folder) throws IOException {
+    Search search = new Search();
+
+    try (Stream<ScannedFile> files = new FileScanner.Builder().build().scanFiles(folder)) {
+      files.forEach(file -> {
+        BasicFileAttributes attributes = file.getAttributes();
+
+        if (attributes.isRegularFile()) {
+          search.add(file.getPath(), attributes.size());
+        }
+      });
+    }
+
+    return search.run();
+  }
+
+  /**
+   * Finds duplicated files among the given ones.
+   * 
+   * @param files the files to compare.
+   * 
+   * @return the search outcome.
+   * 
+   * @throws IOException if the search is interrupted.
+   */
+  public DuplicateReport find(final Collection<Path> files) throws IOException {
+    if (files == null) {
+      throw new IllegalArgumentException("Files to compare can not be null.");
+    }
+
+    Search search = new Search();
+
+    for (Path file : files) {
+      try {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class,
+            LinkOption.NOFOLLOW_LINKS);
+
+        if (attributes.isRegularFile()) {
+          search.add(file, attributes.size());
+        }
+      } catch (IOException e) {
+        search.failures.put(file, e);
+      }
+    }
+
+    return search.run();
+  }
+
+  private final class Search {
+    private final Map<Long, List<Path>> bySize = new HashMap<>();
+    private final Map<Path, IOException> failures = new ConcurrentHashMap<>();
+    private final LongAdder bytesRead = new LongAdder();
+    private final Semaphore openFiles = new Semaphore(maxOpenFiles);
+    private long filesScanned;
+    private long bytesScanned;
+
+    private void add(final Path file, final long size) {
+      filesScanned++;
+      bytesScanned += size;
+
+      if (size >= minSize) {
+        bySize.computeIfAbsent(size, key -> new ArrayList<>(2)).add(file);
+      }
+    }
+
+    private DuplicateReport run() throws IOException {
+      List<Group> candidates = new ArrayList<>();
+
+      for (Map.Entry<Long, List<Path>> entry : bySize.entrySet()) {
+        if (entry.getValue().size() > 1) {
+          candidates.add(new Group(entry.getKey(), entry.getValue()));
+        }
+      }
+
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
+      List<List<Path>> duplicates = new ArrayList<>();
+
+      try {
+        List<Group> fullCandidates = new ArrayList<>();
+
+        for (Group group : regroup(pool, candidates, true)) {
+          if (group.size <= 2L * partialSize) {
+            // the partial hash already covered the whole content
+            duplicates.add(group.files);
+          } else {
+            fullCandidates.add(group);
+          }
+        }
+
+        for (Group group : regroup(pool, fullCandidates, false)) {
+          duplicates.add(group.files);
+        }
+      } finally {
+        pool.shutdown();
+      }
+
+      for (List<Path> group : duplicates) {
+        group.sort(null);
+      }
+
+      duplicates.sort((first, second) -> first.get(0).compareTo(second.get(0)));
+
+      return new DuplicateReport(duplicates, filesScanned, bytesScanned, bytesRead.sum(), new HashMap<>(failures));
+    }
+
+    private List<Group> regroup(final ForkJoinPool pool, final List<Group> groups, final boolean partial)
+        throws IOException {
+      List<List<Future<ByteBuffer>>> hashes = new ArrayList<>(groups.size());
+
+      for (Group group : groups) {
+        List<Future<ByteBuffer>> groupHashes = new ArrayList<>(group.files.size());
+
+        for (Path file : group.files) {
+          groupHashes.add(pool.submit(() -> hash(file, group.size, partial)));
+        }
+
+        hashes.add(groupHashes);
+      }
+
+      List<Group> regrouped = new ArrayList<>();
+
+      for (int index = 0; index < groups.size(); index++) {
+        Group group = groups.get(index);
+        Map<ByteBuffer, List<Path>> byHash = new LinkedHashMap<>();
+
+        for (int file = 0; file < group.files.size(); file++) {
+          ByteBuffer hash = await(hashes.get(index).get(file));
+
+          if (hash != null) {
+            byHash.computeIfAbsent(hash, key -> new ArrayList<>(2)).add(group.files.get(file));
+          }
+        }
+
+        for (List<Path> files : byHash.values()) {
+          if (files.size() > 1) {
+            regrouped.add(new Group(group.size, files));
+          }
+        }
+      }
+
+      return regrouped;
+    }
+
+    private ByteBuffer hash(final Path file, final long size, final boolean partial) throws InterruptedException {
+      MessageDigest digest = hasher.newDigest();
+
+      openFiles.acquire();
+
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        if (!partial || size <= 2L * partialSize) {
+          bytesRead.add(hasher.update(digest, channel, 0, Long.MAX_VALUE));
+        } else {
+          bytesRead.add(hasher.update(digest, channel, 0, partialSize));
+          bytesRead.add(hasher.update(digest, channel, size - partialSize, partialSize));
+        }
+
+        return ByteBuffer.wrap(digest.digest());
+      } catch (IOException e) {
+        failures.put(file, e);
+        return null;
+      } finally {
+        openFiles.release();
+      }
+    }
+
+    private ByteBuffer await(final Future<ByteBuffer> hash) throws IOException {
+      try {
+        return hash.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while hashing files.", e);
+      } catch (ExecutionException e) {
+        throw new IOException("Unexpected error while hashing files.", e.getCause());
+      }
+    }
+  }
+
+  private static final class Group {
+    private final long size;
+    private final List<Path> files;
+
+    private Group(final long size, final List<Path> files) {
+      this.size = size;
+      this.files = files;
+    }
+  }
+
+  public static class Builder {
+    private ContentHasher hasher;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int maxOpenFiles = 16;
+    private int partialSize = DEFAULT_PARTIAL_SIZE;
+    private long minSize = 1;
+
+    /**
+     * Sets the hasher used for partial and full hashes. Defaults to an
+     * <code>XXH64</code> hasher; use a cryptographic algorithm when collisions
+     * are not acceptable.
+     * 
+     * @param hasher the content hasher.
+     * 
+     * @return this builder.
+     */
+    public Builder hasher(final ContentHasher hasher) {
+      this.hasher = hasher;
+      return this;
+    }
+
+    /**
+     * Sets the number of threads hashing files. Defaults to the number of
+     * available processors.
+     * 
+     * @param parallelism the parallelism level.
+     * 
+     * @return this builder.
+     */
+    public Builder parallelism(final int parallelism) {
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("Parallelism must be positive.");
+      }
+
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of files open at the same time. Defaults to
+     * <code>16</code>.
+     * 
+     * @param maxOpenFiles the maximum number of open files.
+     * 
+     * @return this builder.
+     */
+    public Builder maxOpenFiles(final int maxOpenFiles) {
+      if (maxOpenFiles < 1) {
+        throw new IllegalArgumentException("Max open files must be positive.");
+      }
+
+      this.maxOpenFiles = maxOpenFiles;
+      return this;
+    }
+
+    /**
+     * Sets the number of bytes hashed at each end of a file by the partial
+     * hash.
+     * 
+     * @param partialSize the size in bytes.
+     * 
+     * @return this builder.
+     */
+    public Builder partialSize(final int partialSize) {
+      if (partialSize < 1) {
+        throw new IllegalArgumentException("Partial size must be positive.");
+      }
+
+      this.partialSize = partialSize;
+      return this;
+    }
+
+    /**
+     * Ignores files smaller than a given size. Defaults to <code>1</code>, so
+     * empty files are ignored.
+     * 
+     * @param minSize the minimum size in bytes.
+     * 
+     * @return this builder.
+     */
+    public Builder minSize(final long minSize) {
+      if (minSize < 0) {
+        throw new IllegalArgumentException("Min size must not be negative.");
+      }
+
+      this.minSize = minSize;
+      return this;
+    }
+
+    public DuplicateFinder build() {
+      return new DuplicateFinder(this);
+    }
+  }
+}
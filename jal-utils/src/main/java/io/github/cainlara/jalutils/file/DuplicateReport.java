@@ -0,0 +1,80 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a search performed by a <code>DuplicateFinder</code>.
+ * 
+ * @author jalara
+ * 
+ * @see DuplicateFinder#find(Path)
+ */
+public final class DuplicateReport {
+  private final List<List<Path>> duplicates;
+  private final long filesScanned;
+  private final long bytesScanned;
+  private final long bytesRead;
+  private final Map<Path, IOException> failures;
+
+  DuplicateReport(final List<List<Path>> duplicates, final long filesScanned, final long bytesScanned,
+      final long bytesRead, final Map<Path, IOException> failures) {
+    List<List<Path>> groups = new ArrayList<>(duplicates.size());
+
+    for (List<Path> group : duplicates) {
+      groups.add(Collections.unmodifiableList(group));
+    }
+
+    this.duplicates = Collections.unmodifiableList(groups);
+    this.filesScanned = filesScanned;
+    this.bytesScanned = bytesScanned;
+    this.bytesRead = bytesRead;
+    this.failures = Collections.unmodifiableMap(failures);
+  }
+
+  /**
+   * @return the groups of files sharing the same content; each group holds at
+   *         least two files.
+   */
+  public List<List<Path>> getDuplicates() {
+    return duplicates;
+  }
+
+  /**
+   * @return number of regular files considered.
+   */
+  public long getFilesScanned() {
+    return filesScanned;
+  }
+
+  /**
+   * @return sum of the sizes of the files considered.
+   */
+  public long getBytesScanned() {
+    return bytesScanned;
+  }
+
+  /**
+   * @return number of bytes actually read to compute hashes.
+   */
+  public long getBytesRead() {
+    return bytesRead;
+  }
+
+  /**
+   * @return every file that could not be read, with the cause.
+   */
+  public Map<Path, IOException> getFailures() {
+    return failures;
+  }
+
+  @Override
+  public String toString() {
+    return "DuplicateReport [duplicates=" + duplicates.size() + ", filesScanned=" + filesScanned + ", bytesScanned="
+        + bytesScanned + ", bytesRead=" + bytesRead + ", failures=" + failures.size() + "]";
+  }
+}
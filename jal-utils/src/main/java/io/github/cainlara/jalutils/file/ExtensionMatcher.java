@@ -0,0 +1,103 @@
+package io.github.cainlara.jalutils.file;
+
+/**
+ * Matches the extension of a path against a fixed set of extensions, ignoring
+ * case.
+ * <p>
+ * The extensions are stored in an open addressing table keyed by a case
+ * insensitive hash, so a path is hashed once and compared against a single
+ * candidate in the common case, no matter how many extensions there are.
+ * Matching never allocates.
+ * 
+ * @author jalara
+ * 
+ * @see FileNames#extensionMatcher(String...)
+ */
+public final class ExtensionMatcher {
+  private final String[] extensions;
+  private final int[] slots;
+  private final int mask;
+
+  ExtensionMatcher(final String... extensions) {
+    if (extensions == null) {
+      throw new IllegalArgumentException("Extensions can not be null.");
+    }
+
+    this.extensions = new String[extensions.length];
+
+    int capacity = Integer.highestOneBit(Math.max(2, extensions.length * 2 - 1)) << 1;
+    this.slots = new int[capacity];
+    this.mask = capacity - 1;
+
+    for (int index = 0; index < extensions.length; index++) {
+      String extension = extensions[index];
+
+      if (extension == null) {
+        throw new IllegalArgumentException("Extension can not be null.");
+      }
+
+      this.extensions[index] = extension.startsWith(".") ? extension.substring(1) : extension;
+
+      int slot = hash(this.extensions[index], 0, this.extensions[index].length()) & mask;
+
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+
+      slots[slot] = index + 1;
+    }
+  }
+
+  /**
+   * Evaluates if the path has one of the extensions of this matcher.
+   * 
+   * @param path the path to evaluate.
+   * 
+   * @return <code>true</code> if and only if the extension matches.
+   */
+  public boolean matches(final CharSequence path) {
+    return indexOf(path) >= 0;
+  }
+
+  /**
+   * Retrieves which extension of this matcher the path has.
+   * 
+   * @param path the path to evaluate.
+   * 
+   * @return the position of the matching extension in the array this matcher
+   *         was created from, or <code>-1</code> if none matches.
+   */
+  public int indexOf(final CharSequence path) {
+    int start = FileNames.getInstance().extensionStart(path);
+
+    if (start < 0) {
+      return -1;
+    }
+
+    int end = path.length();
+    int slot = hash(path, start, end) & mask;
+
+    while (slots[slot] != 0) {
+      int index = slots[slot] - 1;
+      String extension = extensions[index];
+
+      if (FileNames.regionMatchesIgnoreCase(path, start, end, extension, 0, extension.length())) {
+        return index;
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    return -1;
+  }
+
+  private static int hash(final CharSequence text, final int start, final int end) {
+    int hash = 0;
+
+    for (int index = start; index < end; index++) {
+      hash = 31 * hash + FileNames.toLowerCase(text.charAt(index));
+    }
+
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,63 @@
+package io.github.cainlara.jalutils.file;
+
+import java.nio.file.Path;
+
+/**
+ * A change detected by a <code>FileWatcher</code>, after coalescing every
+ * event received for the same path within the debounce window.
+ *
+ * @author jalara
+ */
+public final class FileChange {
+  /**
+   * Kind of change.
+   */
+  public enum Kind {
+    /**
+     * The entry did not exist at the start of the window.
+     */
+    CREATED,
+    /**
+     * The entry existed before and after the window, and was modified or
+     * replaced in between.
+     */
+    MODIFIED,
+    /**
+     * The entry existed at the start of the window and does not anymore.
+     */
+    DELETED,
+    /**
+     * Events were lost for the folder, so anything under it may have changed
+     * and should be scanned again.
+     */
+    OVERFLOW
+  }
+
+  private final Kind kind;
+  private final Path path;
+
+  FileChange(final Kind kind, final Path path) {
+    this.kind = kind;
+    this.path = path;
+  }
+
+  /**
+   * @return the kind of change.
+   */
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * @return the absolute path of the changed entry, or of the folder whose
+   *         events were lost.
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  @Override
+  public String toString() {
+    return kind + " " + path;
+  }
+}
@@ -0,0 +1,24 @@
+package io.github.cainlara.jalutils.file;
+
+import java.util.List;
+
+/**
+ * Receives the changes detected by a <code>FileWatcher</code>.
+ * <p>
+ * Notifications are delivered on the executor of the watcher, one batch at a
+ * time per subscription, so implementations do not need to be reentrant.
+ * Changes detected while a batch is being handled are held and coalesced into
+ * the next one.
+ *
+ * @author jalara
+ */
+@FunctionalInterface
+public interface FileChangeListener {
+
+  /**
+   * Invoked once a burst of changes under a watched folder has settled.
+   *
+   * @param changes the changes, at most one per path, in detection order.
+   */
+  void onChanges(List<FileChange> changes);
+}
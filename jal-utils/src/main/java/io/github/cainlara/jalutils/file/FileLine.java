@@ -0,0 +1,149 @@
+package io.github.cainlara.jalutils.file;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import io.github.cainlara.jalutils.text.CharSlice;
+
+/**
+ * A line read by a <code>LineReader</code>, viewed in place over the bytes of
+ * the file.
+ * <p>
+ * Lines are UTF-8. Pure ASCII lines are read straight from the file bytes;
+ * other lines are decoded the first time their characters are accessed. The
+ * line terminator, <code>\n</code> or <code>\r\n</code>, is not part of the
+ * line.
+ * <p>
+ * Instances are reused: a line is only valid until the reader moves to the
+ * next one. Use {@link #toString()} to keep its content.
+ * 
+ * @author jalara
+ */
+public final class FileLine implements CharSequence {
+  private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+  private ByteBuffer buffer;
+  private int offset;
+  private int byteLength;
+  private long position;
+  private boolean ascii;
+  private CharBuffer chars;
+  private boolean decoded;
+
+  FileLine() {
+    // created by line spliterators
+  }
+
+  void set(final ByteBuffer buffer, final int offset, final int byteLength, final long position,
+      final boolean ascii) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.byteLength = byteLength;
+    this.position = position;
+    this.ascii = ascii;
+    this.decoded = false;
+  }
+
+  /**
+   * @return the position in the file of the first byte of the line.
+   */
+  public long getPosition() {
+    return position;
+  }
+
+  /**
+   * @return the number of bytes of the line, without its terminator.
+   */
+  public int getByteLength() {
+    return byteLength;
+  }
+
+  /**
+   * @return <code>true</code> if the line only holds ASCII characters.
+   */
+  public boolean isAscii() {
+    return ascii;
+  }
+
+  /**
+   * Retrieves the bytes of the line, without copying them.
+   * 
+   * @return a read-only buffer over the bytes of the line.
+   */
+  public ByteBuffer getBytes() {
+    ByteBuffer bytes = buffer.asReadOnlyBuffer();
+
+    ((Buffer) bytes).limit(offset + byteLength).position(offset);
+    return bytes.slice();
+  }
+
+  @Override
+  public int length() {
+    return ascii ? byteLength : decode().remaining();
+  }
+
+  @Override
+  public char charAt(final int index) {
+    if (ascii) {
+      if (index < 0 || index >= byteLength) {
+        throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + byteLength);
+      }
+
+      return (char) buffer.get(offset + index);
+    }
+
+    return decode().charAt(index);
+  }
+
+  /**
+   * Retrieves a view over a range of the line, which is only valid as long as
+   * the line itself.
+   */
+  @Override
+  public CharSequence subSequence(final int start, final int end) {
+    return new CharSlice(this, start, end);
+  }
+
+  @Override
+  public String toString() {
+    if (!ascii) {
+      return decode().toString();
+    }
+
+    byte[] bytes = new byte[byteLength];
+    ByteBuffer source = buffer.duplicate();
+
+    ((Buffer) source).position(offset);
+    source.get(bytes);
+
+    return new String(bytes, StandardCharsets.ISO_8859_1);
+  }
+
+  private CharBuffer decode() {
+    if (decoded) {
+      return chars;
+    }
+
+    if (chars == null || chars.capacity() < byteLength) {
+      chars = CharBuffer.allocate(Math.max(byteLength, 128));
+    }
+
+    ByteBuffer source = buffer.duplicate();
+
+    ((Buffer) source).limit(offset + byteLength).position(offset);
+    ((Buffer) chars).clear();
+
+    decoder.reset();
+    decoder.decode(source, chars, true);
+    decoder.flush(chars);
+    ((Buffer) chars).flip();
+
+    decoded = true;
+    return chars;
+  }
+}
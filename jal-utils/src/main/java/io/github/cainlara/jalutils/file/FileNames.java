@@ -0,0 +1,152 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.File;
+
+/**
+ * Parses file names out of paths without allocating. This class is intended to
+ * be used as a Singleton Pattern implementation.
+ * <p>
+ * Every method works on any <code>CharSequence</code> and answers with
+ * offsets into it instead of new strings, so callers can classify paths
+ * without creating substrings. Both <code>/</code> and the platform separator
+ * are treated as separators. The extension is whatever follows the last dot of
+ * the last path element; dots in directory names are ignored.
+ * 
+ * @author jalara
+ */
+public final class FileNames {
+
+  private FileNames() {
+    // hide constructor
+  }
+
+  /**
+   * Retrives the only instance of this class.
+   * 
+   * @return an instance of this class.
+   */
+  public static FileNames getInstance() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  private static final class InstanceHolder {
+    private static final FileNames INSTANCE = new FileNames();
+  }
+
+  /**
+   * Retrieves the index where the file name starts.
+   * 
+   * @param path the path to parse.
+   * 
+   * @return the index following the last separator, or <code>0</code> if the
+   *         path has no separator.
+   */
+  public int nameStart(final CharSequence path) {
+    for (int index = path.length() - 1; index >= 0; index--) {
+      if (isSeparator(path.charAt(index))) {
+        return index + 1;
+      }
+    }
+
+    return 0;
+  }
+
+  /**
+   * Retrieves the index where the file extension starts.
+   * 
+   * @param path the path to parse.
+   * 
+   * @return the index following the last dot of the file name, or
+   *         <code>-1</code> if the file name has no dot.
+   */
+  public int extensionStart(final CharSequence path) {
+    for (int index = path.length() - 1; index >= 0; index--) {
+      char c = path.charAt(index);
+
+      if (c == '.') {
+        return index + 1;
+      }
+
+      if (isSeparator(c)) {
+        return -1;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Retrieves the index where the file base name, that is the file name without
+   * its extension, ends.
+   * 
+   * @param path the path to parse.
+   * 
+   * @return the index of the last dot of the file name, or the path length if
+   *         the file name has no dot.
+   */
+  public int baseNameEnd(final CharSequence path) {
+    int extensionStart = extensionStart(path);
+
+    return extensionStart < 0 ? path.length() : extensionStart - 1;
+  }
+
+  /**
+   * Evaluates if a path has the given extension, ignoring case.
+   * 
+   * @param path      the path to evaluate.
+   * @param extension the extension, with or without its leading dot.
+   * 
+   * @return <code>true</code> if and only if the file name of the path ends
+   *         with the extension.
+   */
+  public boolean hasExtension(final CharSequence path, final CharSequence extension) {
+    int extensionStart = extensionStart(path);
+
+    if (extensionStart < 0) {
+      return false;
+    }
+
+    int offset = extension.length() > 0 && extension.charAt(0) == '.' ? 1 : 0;
+
+    return regionMatchesIgnoreCase(path, extensionStart, path.length(), extension, offset, extension.length());
+  }
+
+  /**
+   * Creates a matcher checking a path against a set of extensions in a single
+   * pass.
+   * 
+   * @param extensions the extensions, with or without their leading dot.
+   * 
+   * @return a reusable, thread-safe matcher.
+   */
+  public ExtensionMatcher extensionMatcher(final String... extensions) {
+    return new ExtensionMatcher(extensions);
+  }
+
+  static boolean isSeparator(final char c) {
+    return c == '/' || c == File.separatorChar;
+  }
+
+  static boolean regionMatchesIgnoreCase(final CharSequence left, final int leftStart, final int leftEnd,
+      final CharSequence right, final int rightStart, final int rightEnd) {
+    if (leftEnd - leftStart != rightEnd - rightStart) {
+      return false;
+    }
+
+    for (int index = 0; index < leftEnd - leftStart; index++) {
+      if (toLowerCase(left.charAt(leftStart + index)) != toLowerCase(right.charAt(rightStart + index))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  static char toLowerCase(final char c) {
+    if (c >= 'A' && c <= 'Z') {
+      return (char) (c + ('a' - 'A'));
+    }
+
+    return c < 128 ? c : Character.toLowerCase(c);
+  }
+}
@@ -0,0 +1,215 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Enumerates the files of a directory tree as a lazy stream.
+ * <p>
+ * Directories are listed through <code>DirectoryStream</code> as the stream is
+ * consumed, so memory only grows with the number of directories waiting to be
+ * listed, never with the size of a listing. Attributes are read once per entry
+ * and shared with filters and with the consumer through
+ * <code>ScannedFile</code>. The stream splits by handing pending directories
+ * to other threads, so parallel streams spread the scan across cores.
+ * <p>
+ * Unreadable directories are skipped. Streams must be closed, ideally with
+ * try-with-resources, to release directories still being listed when
+ * consumption stops early.
+ * 
+ * @author jalara
+ */
+public final class FileScanner {
+  private final int maxDepth;
+  private final ExtensionMatcher extensionMatcher;
+  private final PathMatcher globMatcher;
+  private final BiPredicate<Path, BasicFileAttributes> filter;
+  private final boolean followLinks;
+  private final boolean includeDirectories;
+
+  private FileScanner(final Builder builder) {
+    this.maxDepth = builder.maxDepth;
+    this.extensionMatcher = builder.extensions == null ? null
+        : FileNames.getInstance().extensionMatcher(builder.extensions);
+    this.globMatcher = builder.glob == null ? null : FileSystems.getDefault().getPathMatcher("glob:" + builder.glob);
+    this.filter = builder.filter;
+    this.followLinks = builder.followLinks;
+    this.includeDirectories = builder.includeDirectories;
+  }
+
+  /**
+   * Scans a directory tree.
+   * 
+   * @param root the directory to scan; it is not part of the results.
+   * 
+   * @return a lazy stream of the matching paths.
+   * 
+   * @throws IOException if <code>root</code> is not an existing directory.
+   */
+  public Stream<Path> scan(final Path root) throws IOException {
+    return scanFiles(root).map(ScannedFile::getPath);
+  }
+
+  /**
+   * Scans a directory tree, exposing the attributes read for every entry.
+   * 
+   * @param root the directory to scan; it is not part of the results.
+   * 
+   * @return a lazy stream of the matching entries.
+   * 
+   * @throws IOException if <code>root</code> is not an existing directory.
+   */
+  public Stream<ScannedFile> scanFiles(final Path root) throws IOException {
+    if (root == null) {
+      throw new IllegalArgumentException("Root folder can not be null.");
+    }
+
+    if (!Files.isDirectory(root)) {
+      throw new IOException(root.toAbsolutePath() + " is not an existing folder.");
+    }
+
+    List<ScanSpliterator> spliterators = new CopyOnWriteArrayList<>();
+    Set<Object> visitedFolders = followLinks ? ConcurrentHashMap.newKeySet() : null;
+    ScanSpliterator spliterator = new ScanSpliterator(this, root, spliterators, visitedFolders);
+
+    return StreamSupport.stream(spliterator, false).onClose(() -> {
+      for (ScanSpliterator open : spliterators) {
+        open.close();
+      }
+    });
+  }
+
+  int getMaxDepth() {
+    return maxDepth;
+  }
+
+  boolean isFollowLinks() {
+    return followLinks;
+  }
+
+  boolean accepts(final Path root, final Path path, final BasicFileAttributes attributes) {
+    if (attributes.isDirectory() ? !includeDirectories : attributes.isOther()) {
+      return false;
+    }
+
+    if (extensionMatcher != null && !extensionMatcher.matches(path.toString())) {
+      return false;
+    }
+
+    if (globMatcher != null && !globMatcher.matches(root.relativize(path))) {
+      return false;
+    }
+
+    return filter == null || filter.test(path, attributes);
+  }
+
+  public static class Builder {
+    private int maxDepth = Integer.MAX_VALUE;
+    private String[] extensions;
+    private String glob;
+    private BiPredicate<Path, BasicFileAttributes> filter;
+    private boolean followLinks;
+    private boolean includeDirectories;
+
+    /**
+     * Limits how deep the scan goes; children of the root have depth
+     * <code>1</code>.
+     * 
+     * @param maxDepth the maximum depth.
+     * 
+     * @return this builder.
+     */
+    public Builder maxDepth(final int maxDepth) {
+      if (maxDepth < 1) {
+        throw new IllegalArgumentException("Max depth must be positive.");
+      }
+
+      this.maxDepth = maxDepth;
+      return this;
+    }
+
+    /**
+     * Only accepts entries with one of the given extensions, ignoring case.
+     * 
+     * @param extensions the extensions, with or without their leading dot.
+     * 
+     * @return this builder.
+     * 
+     * @see ExtensionMatcher
+     */
+    public Builder extensions(final String... extensions) {
+      this.extensions = extensions == null ? null : extensions.clone();
+      return this;
+    }
+
+    /**
+     * Only accepts entries whose path, relative to the root, matches a glob
+     * such as <code>**&#47;*.java</code>.
+     * 
+     * @param glob the glob pattern.
+     * 
+     * @return this builder.
+     * 
+     * @see java.nio.file.FileSystem#getPathMatcher(String)
+     */
+    public Builder glob(final String glob) {
+      this.glob = glob;
+      return this;
+    }
+
+    /**
+     * Only accepts entries matching a predicate, which receives the attributes
+     * already read by the scan.
+     * 
+     * @param filter the predicate.
+     * 
+     * @return this builder.
+     */
+    public Builder filter(final BiPredicate<Path, BasicFileAttributes> filter) {
+      this.filter = filter;
+      return this;
+    }
+
+    /**
+     * Follows symbolic links. Each directory is only listed once, so link
+     * cycles are not an issue. By default links are reported as they are and
+     * linked directories are not entered.
+     * 
+     * @param followLinks whether or not to follow symbolic links.
+     * 
+     * @return this builder.
+     */
+    public Builder followLinks(final boolean followLinks) {
+      this.followLinks = followLinks;
+      return this;
+    }
+
+    /**
+     * Includes directories in the results. By default only files are
+     * returned.
+     * 
+     * @param includeDirectories whether or not to include directories.
+     * 
+     * @return this builder.
+     */
+    public Builder includeDirectories(final boolean includeDirectories) {
+      this.includeDirectories = includeDirectories;
+      return this;
+    }
+
+    public FileScanner build() {
+      return new FileScanner(this);
+    }
+  }
+}
@@ -0,0 +1,762 @@
+package io.github.cainlara.jalutils.file;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import io.github.cainlara.jalutils.metrics.Metrics;
+
+/**
+ * Notifies changes under folders, replacing loops that poll
+ * <code>FileUtils.exists</code> or list folders over and over.
+ * <p>
+ * Folders are watched through the <code>WatchService</code> of the default
+ * file system, registering every subfolder, including the ones created later,
+ * when watching recursively. Folders on other file systems, folders the
+ * service refuses to register, and every folder when the only service
+ * available is the JDK polling one, are scanned instead every poll interval,
+ * reading the attributes of each entry once and comparing modification times
+ * and sizes with the previous scan. Polling can also be forced, for instance
+ * for network shares changed by other hosts, which native watching does not
+ * notice.
+ * <p>
+ * Events are coalesced per path and delivered once the subscription has been
+ * quiet for the debounce window, or once the max delay has passed since the
+ * first pending change, so a burst of writes results in a single
+ * notification. Listeners run on the executor, one batch at a time per
+ * subscription.
+ * <p>
+ * The time from detecting the first change of a batch to running its
+ * listener is recorded as <code>jalutils.watch.latency</code>, and lost
+ * events, either dropped by the watch service or rejected by the executor,
+ * are counted as <code>jalutils.watch.overflow</code>. Unexpected failures of
+ * the watcher thread are counted as <code>jalutils.watch.errors</code>, and
+ * watching goes on.
+ *
+ * @author jalara
+ */
+public final class FileWatcher implements AutoCloseable {
+  /**
+   * Default quiet time before delivering changes, in milliseconds.
+   */
+  public static final long DEFAULT_DEBOUNCE_MILLIS = 50;
+
+  /**
+   * Default maximum time a change is held while changes keep coming, in
+   * milliseconds.
+   */
+  public static final long DEFAULT_MAX_DELAY_MILLIS = 1000;
+
+  /**
+   * Default time between scans of polled folders, in milliseconds.
+   */
+  public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1000;
+
+  private static final String LATENCY_TIMER = "jalutils.watch.latency";
+  private static final String OVERFLOW_COUNTER = "jalutils.watch.overflow";
+  private static final String ERROR_COUNTER = "jalutils.watch.errors";
+
+  /**
+   * How often changes held for a subscription busy in its listener are
+   * checked when the watcher thread waits on the watch service, which can not
+   * be woken up on demand.
+   */
+  private static final long BUSY_LISTENER_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final Executor executor;
+  private final ExecutorService ownedExecutor;
+  private final long debounceNanos;
+  private final long maxDelayNanos;
+  private final long pollIntervalNanos;
+  private final boolean recursive;
+  private final FileScanner scanner;
+  private final WatchService watchService;
+  private final Map<WatchKey, Path> folders = new ConcurrentHashMap<>();
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final Object signal = new Object();
+  private Thread thread;
+  private volatile boolean closed;
+
+  private FileWatcher(final Builder builder) {
+    if (builder.executor == null) {
+      this.ownedExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread callbackThread = new Thread(runnable, "jalutils-watch-callback");
+        callbackThread.setDaemon(true);
+        return callbackThread;
+      });
+      this.executor = ownedExecutor;
+    } else {
+      this.ownedExecutor = null;
+      this.executor = builder.executor;
+    }
+
+    this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(builder.debounceMillis);
+    this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(builder.maxDelayMillis, builder.debounceMillis));
+    this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(builder.pollIntervalMillis);
+    this.recursive = builder.recursive;
+    this.scanner = new FileScanner.Builder().includeDirectories(true).maxDepth(recursive ? Integer.MAX_VALUE : 1)
+        .build();
+    this.watchService = builder.polling ? null : newWatchService();
+  }
+
+  /**
+   * Starts watching a folder. Changes to the folder itself are not reported.
+   *
+   * @param folder   the folder to watch.
+   * @param listener receives the changes under <code>folder</code>.
+   *
+   * @return the subscription, to be closed once changes are no longer needed.
+   *
+   * @throws IOException if <code>folder</code> is not an existing folder, or it
+   *                     can not be scanned.
+   */
+  public synchronized Subscription watch(final Path folder, final FileChangeListener listener) throws IOException {
+    if (folder == null) {
+      throw new IllegalArgumentException("Folder can not be null.");
+    }
+
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener can not be null.");
+    }
+
+    if (closed) {
+      throw new IllegalStateException("Watcher is closed.");
+    }
+
+    if (!Files.isDirectory(folder)) {
+      throw new IOException(folder.toAbsolutePath() + " is not an existing folder.");
+    }
+
+    Path root = folder.toAbsolutePath().normalize();
+    Subscription subscription = null;
+
+    if (watchService != null && root.getFileSystem() == FileSystems.getDefault()) {
+      subscription = new Subscription(root, listener, false);
+      subscriptions.add(subscription);
+
+      try {
+        register(root, false, System.nanoTime());
+      } catch (IOException | UnsupportedOperationException e) {
+        // out of native watches, or not supported by this file store
+        unsubscribe(subscription);
+        subscription = null;
+      }
+    }
+
+    if (subscription == null) {
+      subscription = new Subscription(root, listener, true);
+      subscription.snapshot = scan(root);
+      subscription.nextPollNanos = System.nanoTime() + pollIntervalNanos;
+      subscriptions.add(subscription);
+    }
+
+    if (thread == null) {
+      thread = new Thread(this::loop, "jalutils-watcher");
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    synchronized (signal) {
+      signal.notifyAll();
+    }
+
+    return subscription;
+  }
+
+  /**
+   * @return <code>true</code> if folders are watched natively unless they can
+   *         not be, <code>false</code> if every folder is polled.
+   */
+  public boolean isNative() {
+    return watchService != null;
+  }
+
+  /**
+   * Stops watching every folder and, if the executor was created by this
+   * instance, stops it once running notifications are done. Pending changes
+   * are discarded.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+    }
+
+    if (watchService != null) {
+      try {
+        watchService.close();
+      } catch (IOException e) {
+        // the watcher thread exits either way
+      }
+    }
+
+    synchronized (signal) {
+      signal.notifyAll();
+    }
+
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
+  }
+
+  private void loop() {
+    while (!closed) {
+      try {
+        await(pollAndFlush());
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        // closed
+        return;
+      } catch (RuntimeException e) {
+        // a failure on one folder must not stop watching the others
+        Metrics.count(ERROR_COUNTER, 1);
+      }
+    }
+  }
+
+  /**
+   * Scans the polled folders that are due and delivers due changes.
+   *
+   * @return the nanoseconds until the next scan or delivery is due.
+   */
+  private long pollAndFlush() {
+    long now = System.nanoTime();
+    long wait = pollIntervalNanos;
+
+    for (Subscription subscription : subscriptions) {
+      if (subscription.polling) {
+        if (subscription.nextPollNanos - now <= 0) {
+          // scheduled first, so a failing scan is not retried right away
+          subscription.nextPollNanos = now + pollIntervalNanos;
+          subscription.poll(now);
+          now = System.nanoTime();
+        }
+
+        wait = Math.min(wait, subscription.nextPollNanos - now);
+      }
+
+      wait = Math.min(wait, subscription.flush(now));
+    }
+
+    return wait;
+  }
+
+  private void await(final long wait) throws InterruptedException {
+    if (watchService == null) {
+      synchronized (signal) {
+        if (!closed) {
+          TimeUnit.NANOSECONDS.timedWait(signal, Math.max(wait, 1));
+        }
+      }
+
+      return;
+    }
+
+    WatchKey key = watchService.poll(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+
+    while (key != null) {
+      process(key, System.nanoTime());
+      key = watchService.poll();
+    }
+  }
+
+  private void process(final WatchKey key, final long now) {
+    Path folder = folders.get(key);
+
+    if (folder != null) {
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW) {
+          Metrics.count(OVERFLOW_COUNTER, 1);
+          dispatch(folder, FileChange.Kind.OVERFLOW, now, true);
+
+          if (recursive) {
+            // subfolders created while events were lost are not registered yet
+            registerQuietly(folder, false, now);
+          }
+
+          continue;
+        }
+
+        Path path = folder.resolve((Path) event.context());
+
+        if (event.kind() == ENTRY_CREATE) {
+          dispatch(path, FileChange.Kind.CREATED, now, false);
+
+          if (recursive && isWatchedFolder(path) && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            registerQuietly(path, true, now);
+          }
+        } else if (event.kind() == ENTRY_DELETE) {
+          dispatch(path, FileChange.Kind.DELETED, now, false);
+        } else {
+          dispatch(path, FileChange.Kind.MODIFIED, now, false);
+        }
+      }
+    }
+
+    if (!key.reset()) {
+      // the folder is gone
+      folders.remove(key);
+    }
+  }
+
+  private void dispatch(final Path path, final FileChange.Kind kind, final long now, final boolean includeRoot) {
+    for (Subscription subscription : subscriptions) {
+      if (!subscription.polling && subscription.covers(path, includeRoot)) {
+        subscription.add(path, kind, now);
+      }
+    }
+  }
+
+  /**
+   * Registers a folder, and its subfolders when watching recursively. Entries
+   * found in a folder created after watching started are reported as created,
+   * as they may predate its registration.
+   */
+  private synchronized void register(final Path folder, final boolean reportContents, final long now)
+      throws IOException {
+    if (closed) {
+      return;
+    }
+
+    if (!recursive) {
+      folders.put(folder.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), folder);
+      return;
+    }
+
+    Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+        if (reportContents && !dir.equals(folder)) {
+          dispatch(dir, FileChange.Kind.CREATED, now, false);
+        }
+
+        folders.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+        if (reportContents) {
+          dispatch(file, FileChange.Kind.CREATED, now, false);
+        }
+
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+        // deleted or unreadable since listed
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private void registerQuietly(final Path folder, final boolean reportContents, final long now) {
+    try {
+      register(folder, reportContents, now);
+    } catch (IOException | UnsupportedOperationException e) {
+      // the folder was deleted right away, or can not be watched
+      Metrics.count(OVERFLOW_COUNTER, 1);
+      dispatch(folder, FileChange.Kind.OVERFLOW, now, true);
+    }
+  }
+
+  private synchronized void unsubscribe(final Subscription subscription) {
+    subscriptions.remove(subscription);
+
+    if (subscription.polling) {
+      return;
+    }
+
+    for (Iterator<Map.Entry<WatchKey, Path>> iterator = folders.entrySet().iterator(); iterator.hasNext();) {
+      Map.Entry<WatchKey, Path> entry = iterator.next();
+
+      if (!isWatchedFolder(entry.getValue())) {
+        entry.getKey().cancel();
+        iterator.remove();
+      }
+    }
+  }
+
+  private boolean isWatchedFolder(final Path folder) {
+    for (Subscription subscription : subscriptions) {
+      if (!subscription.polling && (folder.equals(subscription.root) || subscription.covers(folder, false))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private Map<Path, Stamp> scan(final Path root) throws IOException {
+    Map<Path, Stamp> stamps = new HashMap<>();
+
+    try (Stream<ScannedFile> files = scanner.scanFiles(root)) {
+      files.forEach(file -> stamps.put(file.getPath(), new Stamp(file.getAttributes())));
+    }
+
+    return stamps;
+  }
+
+  private void deliver(final Subscription subscription, final List<FileChange> changes, final long startNanos) {
+    try {
+      executor.execute(() -> {
+        try {
+          if (!subscription.closed) {
+            Metrics.recordSince(LATENCY_TIMER, startNanos);
+            subscription.listener.onChanges(changes);
+          }
+        } finally {
+          subscription.delivered();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      Metrics.count(OVERFLOW_COUNTER, changes.size());
+      subscription.delivered();
+    }
+  }
+
+  private static WatchService newWatchService() {
+    try {
+      WatchService service = FileSystems.getDefault().newWatchService();
+
+      if (service.getClass().getName().endsWith("PollingWatchService")) {
+        // the JDK fallback stats every registered folder every few seconds,
+        // with no way to tune it, so polling ourselves is no worse
+        service.close();
+        return null;
+      }
+
+      return service;
+    } catch (IOException | UnsupportedOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Modification time and size of a polled entry. Folders always match, as
+   * changes inside them are reported on their own.
+   */
+  private static final class Stamp {
+    private final long modified;
+    private final long size;
+
+    private Stamp(final BasicFileAttributes attributes) {
+      boolean folder = attributes.isDirectory();
+
+      this.modified = folder ? 0 : attributes.lastModifiedTime().toMillis();
+      this.size = folder ? -1 : attributes.size();
+    }
+
+    private boolean matches(final Stamp other) {
+      return modified == other.modified && size == other.size;
+    }
+  }
+
+  /**
+   * A watched folder and its listener.
+   */
+  public final class Subscription implements AutoCloseable {
+    private final Path root;
+    private final FileChangeListener listener;
+    private final boolean polling;
+    private final LinkedHashMap<Path, FileChange.Kind> pending = new LinkedHashMap<>();
+    private Map<Path, Stamp> snapshot;
+    private volatile long nextPollNanos;
+    private long firstEventNanos;
+    private long lastEventNanos;
+    private long latencyStartNanos;
+    private boolean delivering;
+    private volatile boolean closed;
+
+    private Subscription(final Path root, final FileChangeListener listener, final boolean polling) {
+      this.root = root;
+      this.listener = listener;
+      this.polling = polling;
+    }
+
+    /**
+     * @return the absolute path of the watched folder.
+     */
+    public Path getRoot() {
+      return root;
+    }
+
+    /**
+     * @return <code>true</code> if the folder is scanned every poll interval
+     *         instead of watched natively.
+     */
+    public boolean isPolling() {
+      return polling;
+    }
+
+    /**
+     * Stops watching the folder. Pending changes are discarded.
+     */
+    @Override
+    public void close() {
+      closed = true;
+      unsubscribe(this);
+
+      synchronized (this) {
+        pending.clear();
+      }
+    }
+
+    private boolean covers(final Path path, final boolean includeRoot) {
+      if (path.equals(root)) {
+        return includeRoot;
+      }
+
+      return recursive ? path.startsWith(root) : root.equals(path.getParent());
+    }
+
+    private synchronized void add(final Path path, final FileChange.Kind kind, final long now) {
+      if (closed) {
+        return;
+      }
+
+      if (pending.isEmpty()) {
+        firstEventNanos = now;
+        latencyStartNanos = Metrics.startNanos();
+      }
+
+      lastEventNanos = now;
+
+      FileChange.Kind previous = pending.get(path);
+
+      if (previous == null) {
+        pending.put(path, kind);
+      } else if (previous == FileChange.Kind.OVERFLOW || kind == FileChange.Kind.OVERFLOW) {
+        pending.put(path, FileChange.Kind.OVERFLOW);
+      } else if (previous == FileChange.Kind.CREATED) {
+        if (kind == FileChange.Kind.DELETED) {
+          // never existed as far as the listener knows
+          pending.remove(path);
+        }
+      } else if (previous == FileChange.Kind.DELETED) {
+        if (kind == FileChange.Kind.CREATED) {
+          pending.put(path, FileChange.Kind.MODIFIED);
+        }
+      } else if (kind == FileChange.Kind.DELETED) {
+        pending.put(path, FileChange.Kind.DELETED);
+      }
+    }
+
+    /**
+     * Delivers pending changes if they are due.
+     *
+     * @return the nanoseconds until pending changes are due.
+     */
+    private long flush(final long now) {
+      List<FileChange> changes;
+      long startNanos;
+
+      synchronized (this) {
+        if (pending.isEmpty()) {
+          return Long.MAX_VALUE;
+        }
+
+        if (delivering) {
+          // delivered() wakes the watcher up when waiting on the signal
+          return watchService == null ? Long.MAX_VALUE : BUSY_LISTENER_CHECK_NANOS;
+        }
+
+        long due = Math.min(lastEventNanos + debounceNanos, firstEventNanos + maxDelayNanos);
+
+        if (due - now > 0) {
+          return due - now;
+        }
+
+        changes = new ArrayList<>(pending.size());
+
+        for (Map.Entry<Path, FileChange.Kind> entry : pending.entrySet()) {
+          changes.add(new FileChange(entry.getValue(), entry.getKey()));
+        }
+
+        pending.clear();
+        startNanos = latencyStartNanos;
+        delivering = true;
+      }
+
+      deliver(this, changes, startNanos);
+      return Long.MAX_VALUE;
+    }
+
+    private void delivered() {
+      boolean held;
+
+      synchronized (this) {
+        delivering = false;
+        held = !pending.isEmpty();
+      }
+
+      if (held) {
+        synchronized (signal) {
+          signal.notifyAll();
+        }
+      }
+    }
+
+    private void poll(final long now) {
+      Map<Path, Stamp> current;
+
+      try {
+        current = Files.isDirectory(root) ? scan(root) : new HashMap<>();
+      } catch (IOException | UncheckedIOException e) {
+        // retried on the next interval
+        return;
+      }
+
+      for (Map.Entry<Path, Stamp> entry : current.entrySet()) {
+        Stamp previous = snapshot.remove(entry.getKey());
+
+        if (previous == null) {
+          add(entry.getKey(), FileChange.Kind.CREATED, now);
+        } else if (!previous.matches(entry.getValue())) {
+          add(entry.getKey(), FileChange.Kind.MODIFIED, now);
+        }
+      }
+
+      for (Path deleted : snapshot.keySet()) {
+        add(deleted, FileChange.Kind.DELETED, now);
+      }
+
+      snapshot = current;
+    }
+  }
+
+  public static class Builder {
+    private long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+    private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+    private long pollIntervalMillis = DEFAULT_POLL_INTERVAL_MILLIS;
+    private boolean recursive = true;
+    private boolean polling;
+    private Executor executor;
+
+    /**
+     * Sets how long a subscription must go without changes before they are
+     * delivered.
+     *
+     * @param debounceMillis the quiet time, in milliseconds; <code>0</code>
+     *                       delivers changes as soon as they are detected.
+     *
+     * @return this builder.
+     */
+    public Builder debounce(final long debounceMillis) {
+      if (debounceMillis < 0) {
+        throw new IllegalArgumentException("Debounce can not be negative.");
+      }
+
+      this.debounceMillis = debounceMillis;
+      return this;
+    }
+
+    /**
+     * Sets the maximum time changes are held while new ones keep coming, so
+     * files changed continuously are still reported. Values below the debounce
+     * time are raised to it.
+     *
+     * @param maxDelayMillis the maximum delay, in milliseconds.
+     *
+     * @return this builder.
+     */
+    public Builder maxDelay(final long maxDelayMillis) {
+      if (maxDelayMillis < 0) {
+        throw new IllegalArgumentException("Max delay can not be negative.");
+      }
+
+      this.maxDelayMillis = maxDelayMillis;
+      return this;
+    }
+
+    /**
+     * Sets the time between scans of folders that can not be watched natively.
+     *
+     * @param pollIntervalMillis the interval, in milliseconds.
+     *
+     * @return this builder.
+     */
+    public Builder pollInterval(final long pollIntervalMillis) {
+      if (pollIntervalMillis < 1) {
+        throw new IllegalArgumentException("Poll interval must be positive.");
+      }
+
+      this.pollIntervalMillis = pollIntervalMillis;
+      return this;
+    }
+
+    /**
+     * Sets whether or not changes in subfolders are reported. Defaults to
+     * <code>true</code>.
+     *
+     * @param recursive whether or not to watch subfolders.
+     *
+     * @return this builder.
+     */
+    public Builder recursive(final boolean recursive) {
+      this.recursive = recursive;
+      return this;
+    }
+
+    /**
+     * Scans every folder instead of watching them natively.
+     *
+     * @param polling whether or not to always poll.
+     *
+     * @return this builder.
+     */
+    public Builder polling(final boolean polling) {
+      this.polling = polling;
+      return this;
+    }
+
+    /**
+     * Runs listeners on an existing executor instead of a dedicated thread.
+     *
+     * @param executor the executor.
+     *
+     * @return this builder.
+     */
+    public Builder executor(final Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    public FileWatcher build() {
+      return new FileWatcher(this);
+    }
+  }
+}
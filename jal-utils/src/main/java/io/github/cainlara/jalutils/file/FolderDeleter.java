@@ -0,0 +1,195 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes directory trees in parallel.
+ * <p>
+ * The tree is walked once with <code>Files.walkFileTree</code>, which keeps
+ * its own stack instead of recursing, so the depth of the tree is not bounded
+ * by the thread stack. The attributes read by the walk are reused, so no entry
+ * is checked again before being deleted. Files are deleted in batches on a
+ * <code>ForkJoinPool</code>; once they are all gone, directories are deleted
+ * deepest first. Errors never abort the deletion, they are collected in the
+ * returned <code>DeleteResult</code>.
+ * 
+ * @author jalara
+ */
+public final class FolderDeleter {
+  private static final int BATCH_SIZE = 256;
+
+  private final int parallelism;
+
+  private FolderDeleter(final Builder builder) {
+    this.parallelism = builder.parallelism;
+  }
+
+  /**
+   * Deletes a directory and all of its content.
+   * 
+   * @param folder the directory to delete.
+   * 
+   * @return the deletion outcome.
+   * 
+   * @throws IOException if <code>folder</code> does not exist or is not a
+   *                     directory.
+   */
+  public DeleteResult delete(final Path folder) throws IOException {
+    if (folder == null) {
+      throw new IllegalArgumentException("Folder to delete can not be null.");
+    }
+
+    if (!Files.isDirectory(folder)) {
+      throw new IOException(folder.toAbsolutePath() + " is not an existing folder.");
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+    try {
+      return new Deletion(pool).run(folder);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static final class Deletion extends SimpleFileVisitor<Path> {
+    private final ForkJoinPool pool;
+    private final List<Future<?>> tasks = new ArrayList<>();
+    private final List<Path> folders = new ArrayList<>();
+    private final Map<Path, IOException> failures = new ConcurrentHashMap<>();
+    private final LongAdder filesDeleted = new LongAdder();
+    private final LongAdder bytesFreed = new LongAdder();
+    private List<Path> batch = new ArrayList<>(BATCH_SIZE);
+    private long[] batchSizes = new long[BATCH_SIZE];
+
+    private Deletion(final ForkJoinPool pool) {
+      this.pool = pool;
+    }
+
+    private DeleteResult run(final Path folder) throws IOException {
+      Files.walkFileTree(folder, this);
+      submitBatch();
+      awaitTasks();
+
+      long foldersDeleted = 0;
+
+      for (Path dir : folders) {
+        try {
+          Files.delete(dir);
+          foldersDeleted++;
+        } catch (IOException e) {
+          failures.put(dir, e);
+        }
+      }
+
+      return new DeleteResult(filesDeleted.sum(), foldersDeleted, bytesFreed.sum(), new HashMap<>(failures));
+    }
+
+    @Override
+    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+      batchSizes[batch.size()] = attrs.isRegularFile() ? attrs.size() : 0L;
+      batch.add(file);
+
+      if (batch.size() == BATCH_SIZE) {
+        submitBatch();
+      }
+
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+      failures.put(file, exc);
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) {
+      if (exc != null) {
+        failures.put(dir, exc);
+      }
+
+      folders.add(dir);
+      return FileVisitResult.CONTINUE;
+    }
+
+    private void submitBatch() {
+      if (batch.isEmpty()) {
+        return;
+      }
+
+      final List<Path> files = batch;
+      final long[] sizes = batchSizes;
+
+      tasks.add(pool.submit(() -> deleteFiles(files, sizes)));
+      batch = new ArrayList<>(BATCH_SIZE);
+      batchSizes = new long[BATCH_SIZE];
+    }
+
+    private void deleteFiles(final List<Path> files, final long[] sizes) {
+      for (int index = 0; index < files.size(); index++) {
+        Path file = files.get(index);
+
+        try {
+          Files.delete(file);
+          filesDeleted.increment();
+          bytesFreed.add(sizes[index]);
+        } catch (IOException e) {
+          failures.put(file, e);
+        }
+      }
+    }
+
+    private void awaitTasks() throws IOException {
+      for (Future<?> task : tasks) {
+        try {
+          task.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while deleting files.", e);
+        } catch (ExecutionException e) {
+          throw new IOException("Unexpected error while deleting files.", e.getCause());
+        }
+      }
+    }
+  }
+
+  public static class Builder {
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Sets the number of threads deleting files. Defaults to the number of
+     * available processors.
+     * 
+     * @param parallelism the parallelism level.
+     * 
+     * @return this builder.
+     */
+    public Builder parallelism(final int parallelism) {
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("Parallelism must be positive.");
+      }
+
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    public FolderDeleter build() {
+      return new FolderDeleter(this);
+    }
+  }
+}
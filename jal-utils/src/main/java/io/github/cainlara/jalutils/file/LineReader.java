@@ -0,0 +1,151 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams the lines of UTF-8 text files, such as logs or CSV files, without
+ * allocating a <code>String</code> per line.
+ * <p>
+ * The file is read through windows: memory mapped regions when the file is
+ * not larger than the mapping limit, or reads into a direct buffer otherwise,
+ * or when mapping fails. A window always starts at a line start and grows when
+ * a single line does not fit. Lines are returned as reusable
+ * <code>FileLine</code> views over the window.
+ * <p>
+ * Streams split the file at line boundaries, so parallel streams process
+ * chunks of the file on all cores. Each chunk has its own window and its own
+ * <code>FileLine</code> instance. Streams must be closed to release the file.
+ * 
+ * @author jalara
+ */
+public final class LineReader {
+  /**
+   * Default size of the read window (16 MiB).
+   */
+  public static final int DEFAULT_WINDOW_SIZE = 16 * 1024 * 1024;
+
+  /**
+   * Default size up to which files are memory mapped (1 GiB).
+   */
+  public static final long DEFAULT_MAPPING_LIMIT = 1024L * 1024 * 1024;
+
+  private final int windowSize;
+  private final long mappingLimit;
+  private final int minSplitSize;
+
+  private LineReader(final Builder builder) {
+    this.windowSize = builder.windowSize;
+    this.mappingLimit = builder.mappingLimit;
+    this.minSplitSize = builder.minSplitSize;
+  }
+
+  /**
+   * Streams the lines of a file.
+   * 
+   * @param file the file to read.
+   * 
+   * @return a lazy stream of reusable line views.
+   * 
+   * @throws IOException if the file can not be opened.
+   */
+  public Stream<FileLine> lines(final Path file) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("File to read can not be null.");
+    }
+
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+    try {
+      long size = channel.size();
+      LineSpliterator spliterator = new LineSpliterator(this, channel, size <= mappingLimit, 0, size);
+
+      return StreamSupport.stream(spliterator, false).onClose(() -> {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  int getWindowSize() {
+    return windowSize;
+  }
+
+  int getMinSplitSize() {
+    return minSplitSize;
+  }
+
+  public static class Builder {
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private long mappingLimit = DEFAULT_MAPPING_LIMIT;
+    private int minSplitSize = 1024 * 1024;
+
+    /**
+     * Sets the size of the read window. Lines longer than the window make it
+     * grow.
+     * 
+     * @param windowSize the window size in bytes.
+     * 
+     * @return this builder.
+     */
+    public Builder windowSize(final int windowSize) {
+      if (windowSize < 1) {
+        throw new IllegalArgumentException("Window size must be positive.");
+      }
+
+      this.windowSize = windowSize;
+      return this;
+    }
+
+    /**
+     * Sets the size up to which files are memory mapped; larger files are read
+     * into a direct buffer. Mapped windows are only released when garbage
+     * collected.
+     * 
+     * @param mappingLimit the limit in bytes; use <code>0</code> to never map
+     *                     files.
+     * 
+     * @return this builder.
+     */
+    public Builder mappingLimit(final long mappingLimit) {
+      if (mappingLimit < 0) {
+        throw new IllegalArgumentException("Mapping limit must not be negative.");
+      }
+
+      this.mappingLimit = mappingLimit;
+      return this;
+    }
+
+    /**
+     * Sets the size under which a chunk of the file is not split any further
+     * by parallel streams. Defaults to 1 MiB.
+     * 
+     * @param minSplitSize the size in bytes.
+     * 
+     * @return this builder.
+     */
+    public Builder minSplitSize(final int minSplitSize) {
+      if (minSplitSize < 1) {
+        throw new IllegalArgumentException("Min split size must be positive.");
+      }
+
+      this.minSplitSize = minSplitSize;
+      return this;
+    }
+
+    public LineReader build() {
+      return new LineReader(this);
+    }
+  }
+}
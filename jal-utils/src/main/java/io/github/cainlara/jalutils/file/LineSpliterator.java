@@ -0,0 +1,197 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Reads the lines of the region <code>[position, end)</code> of a file for
+ * <code>LineReader</code>. Regions always start at a line start, so splitting
+ * moves the split point forward to the next line start.
+ * 
+ * @author jalara
+ */
+final class LineSpliterator implements Spliterator<FileLine> {
+  private static final int BOUNDARY_SCAN_SIZE = 8 * 1024;
+  private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+  private final LineReader reader;
+  private final FileChannel channel;
+  private final FileLine line = new FileLine();
+  private boolean mapped;
+  private long position;
+  private long end;
+  private int windowSize;
+  private ByteBuffer window;
+  private ByteBuffer readBuffer;
+  private long windowStart;
+
+  LineSpliterator(final LineReader reader, final FileChannel channel, final boolean mapped, final long position,
+      final long end) {
+    this.reader = reader;
+    this.channel = channel;
+    this.mapped = mapped;
+    this.position = position;
+    this.end = end;
+    this.windowSize = reader.getWindowSize();
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super FileLine> action) {
+    if (position >= end) {
+      return false;
+    }
+
+    if (window == null || position >= windowStart + window.limit()) {
+      load(position);
+    }
+
+    while (true) {
+      int start = (int) (position - windowStart);
+      int limit = window.limit();
+      int index = start;
+      int bits = 0;
+      byte current;
+
+      while (index < limit && (current = window.get(index)) != '\n') {
+        bits |= current;
+        index++;
+      }
+
+      if (index == limit && windowStart + limit < end) {
+        if (start == 0) {
+          // the line does not fit in a whole window
+          if (windowSize == MAX_WINDOW_SIZE) {
+            throw new UncheckedIOException(new IOException("Line at " + position + " is too long."));
+          }
+
+          windowSize = (int) Math.min(MAX_WINDOW_SIZE, windowSize * 2L);
+        }
+
+        load(position);
+        continue;
+      }
+
+      int length = index - start;
+
+      if (length > 0 && window.get(index - 1) == '\r') {
+        length--;
+      }
+
+      line.set(window, start, length, position, (bits & 0x80) == 0);
+      position = windowStart + (index < limit ? index + 1 : index);
+
+      action.accept(line);
+      return true;
+    }
+  }
+
+  @Override
+  public Spliterator<FileLine> trySplit() {
+    long remaining = end - position;
+
+    if (remaining < 2L * reader.getMinSplitSize()) {
+      return null;
+    }
+
+    long boundary = nextLineStart(position + remaining / 2);
+
+    if (boundary >= end) {
+      return null;
+    }
+
+    LineSpliterator split = new LineSpliterator(reader, channel, mapped, boundary, end);
+
+    end = boundary;
+
+    if (window != null && windowStart + window.limit() > end) {
+      ((Buffer) window).limit((int) (end - windowStart));
+    }
+
+    return split;
+  }
+
+  @Override
+  public long estimateSize() {
+    return end - position;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+
+  private long nextLineStart(final long from) {
+    ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+    long offset = from;
+
+    try {
+      while (offset < end) {
+        ((Buffer) buffer).clear();
+
+        int read = channel.read(buffer, offset);
+
+        if (read < 0) {
+          return end;
+        }
+
+        for (int index = 0; index < read; index++) {
+          if (buffer.get(index) == '\n') {
+            return offset + index + 1;
+          }
+        }
+
+        offset += read;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return end;
+  }
+
+  private void load(final long from) {
+    int length = (int) Math.min(windowSize, end - from);
+
+    try {
+      if (mapped) {
+        try {
+          window = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+          windowStart = from;
+          return;
+        } catch (IOException | UnsupportedOperationException e) {
+          // fall back to reads for this and every following window
+          mapped = false;
+        }
+      }
+
+      if (readBuffer == null || readBuffer.capacity() < length) {
+        readBuffer = ByteBuffer.allocateDirect(length);
+      }
+
+      ((Buffer) readBuffer).clear().limit(length);
+
+      while (readBuffer.hasRemaining()) {
+        if (channel.read(readBuffer, from + readBuffer.position()) < 0) {
+          break;
+        }
+      }
+
+      ((Buffer) readBuffer).flip();
+
+      if (readBuffer.limit() < length) {
+        // the file was truncated while being read
+        end = from + readBuffer.limit();
+      }
+
+      window = readBuffer;
+      windowStart = from;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
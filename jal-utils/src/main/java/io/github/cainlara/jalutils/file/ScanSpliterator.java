@@ -0,0 +1,205 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Walks a directory tree for <code>FileScanner</code>, listing one directory
+ * at a time. Directories waiting to be listed are kept in a deque: the walk
+ * takes the deepest ones from its tail, while splits take the shallowest ones,
+ * which usually hold the largest subtrees, from its head.
+ * 
+ * @author jalara
+ */
+final class ScanSpliterator implements Spliterator<ScannedFile> {
+  private static final LinkOption[] NO_FOLLOW = { LinkOption.NOFOLLOW_LINKS };
+  private static final LinkOption[] FOLLOW = {};
+
+  private final FileScanner scanner;
+  private final Path root;
+  private final List<ScanSpliterator> spliterators;
+  private final Set<Object> visitedFolders;
+  private final ArrayDeque<PendingFolder> pending = new ArrayDeque<>();
+
+  private DirectoryStream<Path> stream;
+  private Iterator<Path> children;
+  private int childDepth;
+
+  ScanSpliterator(final FileScanner scanner, final Path root, final List<ScanSpliterator> spliterators,
+      final Set<Object> visitedFolders) {
+    this.scanner = scanner;
+    this.root = root;
+    this.spliterators = spliterators;
+    this.visitedFolders = visitedFolders;
+
+    spliterators.add(this);
+
+    if (visitedFolders == null || markVisited(root, readAttributes(root))) {
+      pending.add(new PendingFolder(root, 0));
+    }
+  }
+
+  private ScanSpliterator(final ScanSpliterator parent) {
+    this.scanner = parent.scanner;
+    this.root = parent.root;
+    this.spliterators = parent.spliterators;
+    this.visitedFolders = parent.visitedFolders;
+
+    spliterators.add(this);
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super ScannedFile> action) {
+    while (true) {
+      if (children == null && !openNext()) {
+        return false;
+      }
+
+      Path child;
+
+      try {
+        if (!children.hasNext()) {
+          close();
+          continue;
+        }
+
+        child = children.next();
+      } catch (DirectoryIteratorException e) {
+        close();
+        continue;
+      }
+
+      BasicFileAttributes attributes = readAttributes(child);
+
+      if (attributes == null) {
+        continue;
+      }
+
+      if (attributes.isDirectory() && childDepth < scanner.getMaxDepth()
+          && (visitedFolders == null || markVisited(child, attributes))) {
+        pending.add(new PendingFolder(child, childDepth));
+      }
+
+      if (scanner.accepts(root, child, attributes)) {
+        action.accept(new ScannedFile(child, attributes, childDepth));
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public Spliterator<ScannedFile> trySplit() {
+    int half = pending.size() / 2;
+
+    if (half == 0 && children != null && !pending.isEmpty()) {
+      half = 1;
+    }
+
+    if (half == 0) {
+      return null;
+    }
+
+    ScanSpliterator split = new ScanSpliterator(this);
+
+    for (int i = 0; i < half; i++) {
+      split.pending.add(pending.pollFirst());
+    }
+
+    return split;
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return NONNULL | DISTINCT;
+  }
+
+  void close() {
+    DirectoryStream<Path> current = stream;
+
+    stream = null;
+    children = null;
+
+    if (current != null) {
+      try {
+        current.close();
+      } catch (IOException e) {
+        // Nothing left to release.
+      }
+    }
+  }
+
+  private boolean openNext() {
+    PendingFolder folder;
+
+    while ((folder = pending.pollLast()) != null) {
+      try {
+        stream = Files.newDirectoryStream(folder.path);
+        children = stream.iterator();
+        childDepth = folder.depth + 1;
+        return true;
+      } catch (IOException | SecurityException e) {
+        // Unreadable folders are skipped.
+      }
+    }
+
+    spliterators.remove(this);
+    return false;
+  }
+
+  private BasicFileAttributes readAttributes(final Path path) {
+    try {
+      return Files.readAttributes(path, BasicFileAttributes.class, scanner.isFollowLinks() ? FOLLOW : NO_FOLLOW);
+    } catch (IOException e) {
+      if (!scanner.isFollowLinks()) {
+        return null;
+      }
+    }
+
+    try {
+      // Broken links are reported as links.
+      return Files.readAttributes(path, BasicFileAttributes.class, NO_FOLLOW);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private boolean markVisited(final Path folder, final BasicFileAttributes attributes) {
+    Object key = attributes == null ? null : attributes.fileKey();
+
+    if (key == null) {
+      try {
+        key = folder.toRealPath();
+      } catch (IOException e) {
+        key = folder.toAbsolutePath().normalize();
+      }
+    }
+
+    return visitedFolders.add(key);
+  }
+
+  private static final class PendingFolder {
+    private final Path path;
+    private final int depth;
+
+    private PendingFolder(final Path path, final int depth) {
+      this.path = path;
+      this.depth = depth;
+    }
+  }
+}
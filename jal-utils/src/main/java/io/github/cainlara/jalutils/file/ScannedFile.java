@@ -0,0 +1,49 @@
+package io.github.cainlara.jalutils.file;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * An entry found by a <code>FileScanner</code>, together with the attributes
+ * read while scanning, so they do not have to be read again.
+ * 
+ * @author jalara
+ */
+public final class ScannedFile {
+  private final Path path;
+  private final BasicFileAttributes attributes;
+  private final int depth;
+
+  ScannedFile(final Path path, final BasicFileAttributes attributes, final int depth) {
+    this.path = path;
+    this.attributes = attributes;
+    this.depth = depth;
+  }
+
+  /**
+   * @return the entry path, resolved against the scanned root.
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * @return the attributes read while scanning.
+   */
+  public BasicFileAttributes getAttributes() {
+    return attributes;
+  }
+
+  /**
+   * @return the depth of the entry; children of the scanned root have depth
+   *         <code>1</code>.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  @Override
+  public String toString() {
+    return path.toString();
+  }
+}
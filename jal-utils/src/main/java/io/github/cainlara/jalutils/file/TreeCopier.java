@@ -0,0 +1,304 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Copies directory trees concurrently.
+ * <p>
+ * The source tree is walked once. Directories are created by the walking
+ * thread, so they exist before any of their files is copied, while files are
+ * copied by a bounded pool of threads. When the pool queue is full the walking
+ * thread copies the file itself, which keeps memory bounded on huge trees.
+ * <p>
+ * In incremental mode a file is skipped when the target already has the same
+ * size and modification time or, if content comparison is enabled, the same
+ * size and SHA-256 digest. Copied files get the modification time of their
+ * source, so the next incremental run can skip them.
+ * 
+ * @author jalara
+ */
+public final class TreeCopier {
+  private static final String CONTENT_DIGEST_ALGORITHM = "SHA-256";
+  private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+  private final int parallelism;
+  private final boolean incremental;
+  private final boolean compareContent;
+  private final CopyEngine copyEngine;
+
+  private TreeCopier(final Builder builder) {
+    this.parallelism = builder.parallelism;
+    this.incremental = builder.incremental;
+    this.compareContent = builder.compareContent;
+    this.copyEngine = builder.copyEngine;
+  }
+
+  /**
+   * Copies the content of <code>source</code> into <code>target</code>,
+   * creating <code>target</code> if needed.
+   * 
+   * @param source the directory to copy.
+   * @param target the copy destination.
+   * 
+   * @return the copy outcome.
+   * 
+   * @throws IOException              if <code>source</code> is not an existing
+   *                                  directory.
+   * @throws IllegalArgumentException if <code>target</code> is
+   *                                  <code>source</code> or lies inside it.
+   */
+  public TreeCopyResult copy(final Path source, final Path target) throws IOException {
+    if (source == null) {
+      throw new IOException("Source folder can not be null.");
+    }
+
+    if (target == null) {
+      throw new IOException("Target folder can not be null.");
+    }
+
+    if (!Files.isDirectory(source)) {
+      throw new IOException(source.toAbsolutePath() + " is not an existing folder.");
+    }
+
+    if (isInside(target, source)) {
+      // the walk would descend into the folders it creates
+      throw new IllegalArgumentException(
+          "Target folder " + target.toAbsolutePath() + " can not be inside " + source.toAbsolutePath() + ".");
+    }
+
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<Runnable>(parallelism * 64), new ThreadPoolExecutor.CallerRunsPolicy());
+
+    try {
+      return new TreeCopy(executor, source, target).run();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private final class TreeCopy extends SimpleFileVisitor<Path> {
+    private final ThreadPoolExecutor executor;
+    private final Path source;
+    private final Path target;
+    private final Map<Path, IOException> failures = new ConcurrentHashMap<>();
+    private final LongAdder filesCopied = new LongAdder();
+    private final LongAdder filesSkipped = new LongAdder();
+    private final LongAdder bytesCopied = new LongAdder();
+
+    private TreeCopy(final ThreadPoolExecutor executor, final Path source, final Path target) {
+      this.executor = executor;
+      this.source = source;
+      this.target = target;
+    }
+
+    private TreeCopyResult run() throws IOException {
+      long start = System.nanoTime();
+
+      Files.walkFileTree(source, this);
+      executor.shutdown();
+
+      try {
+        while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+          // keep waiting for pending copies
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while copying " + source.toAbsolutePath(), e);
+      }
+
+      return new TreeCopyResult(filesCopied.sum(), filesSkipped.sum(), bytesCopied.sum(), System.nanoTime() - start,
+          new HashMap<>(failures));
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+      try {
+        Files.createDirectories(resolveTarget(dir));
+        return FileVisitResult.CONTINUE;
+      } catch (IOException e) {
+        failures.put(dir, e);
+        return FileVisitResult.SKIP_SUBTREE;
+      }
+    }
+
+    @Override
+    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+      final Path targetFile = resolveTarget(file);
+
+      executor.execute(() -> copyFile(file, attrs, targetFile));
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+      failures.put(file, exc);
+      return FileVisitResult.CONTINUE;
+    }
+
+    private void copyFile(final Path file, final BasicFileAttributes attrs, final Path targetFile) {
+      try {
+        if (incremental && isUpToDate(file, attrs, targetFile)) {
+          filesSkipped.increment();
+          return;
+        }
+
+        CopyResult result = copyEngine.copy(file, targetFile);
+        Files.setLastModifiedTime(targetFile, attrs.lastModifiedTime());
+        filesCopied.increment();
+        bytesCopied.add(result.getBytesCopied());
+      } catch (IOException e) {
+        failures.put(file, e);
+      } catch (UncheckedIOException e) {
+        failures.put(file, e.getCause());
+      } catch (RuntimeException e) {
+        failures.put(file, new IOException("Could not copy " + file.toAbsolutePath(), e));
+      }
+    }
+
+    private boolean isUpToDate(final Path file, final BasicFileAttributes attrs, final Path targetFile)
+        throws IOException {
+      BasicFileAttributes targetAttrs;
+
+      try {
+        targetAttrs = Files.readAttributes(targetFile, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+      } catch (NoSuchFileException e) {
+        return false;
+      }
+
+      if (!targetAttrs.isRegularFile() || targetAttrs.size() != attrs.size()) {
+        return false;
+      }
+
+      if (compareContent) {
+        return MessageDigest.isEqual(digest(file), digest(targetFile));
+      }
+
+      return targetAttrs.lastModifiedTime().equals(attrs.lastModifiedTime());
+    }
+
+    private Path resolveTarget(final Path path) {
+      return target.resolve(source.relativize(path).toString());
+    }
+  }
+
+  private static boolean isInside(final Path path, final Path folder) throws IOException {
+    if (path.toAbsolutePath().normalize().startsWith(folder.toAbsolutePath().normalize())) {
+      return true;
+    }
+
+    return Files.exists(path) && path.toRealPath().startsWith(folder.toRealPath());
+  }
+
+  private static byte[] digest(final Path file) throws IOException {
+    MessageDigest digest;
+
+    try {
+      digest = MessageDigest.getInstance(CONTENT_DIGEST_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(CONTENT_DIGEST_ALGORITHM + " is not available.", e);
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      while (channel.read(buffer) >= 0) {
+        ((Buffer) buffer).flip();
+        digest.update(buffer);
+        ((Buffer) buffer).clear();
+      }
+    }
+
+    return digest.digest();
+  }
+
+  public static class Builder {
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean incremental;
+    private boolean compareContent;
+    private CopyEngine copyEngine = new CopyEngine.Builder().build();
+
+    /**
+     * Sets the number of threads copying files. Defaults to the number of
+     * available processors.
+     * 
+     * @param parallelism the parallelism level.
+     * 
+     * @return this builder.
+     */
+    public Builder parallelism(final int parallelism) {
+      if (parallelism < 1) {
+        throw new IllegalArgumentException("Parallelism must be positive.");
+      }
+
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Skips files whose target already has the same size and modification
+     * time.
+     * 
+     * @param incremental whether or not to skip unchanged files.
+     * 
+     * @return this builder.
+     */
+    public Builder incremental(final boolean incremental) {
+      this.incremental = incremental;
+      return this;
+    }
+
+    /**
+     * In incremental mode, compares file contents instead of modification
+     * times. Files of different sizes are never hashed.
+     * 
+     * @param compareContent whether or not to compare file contents.
+     * 
+     * @return this builder.
+     */
+    public Builder compareContent(final boolean compareContent) {
+      this.compareContent = compareContent;
+      return this;
+    }
+
+    /**
+     * Sets the engine copying every single file.
+     * 
+     * @param copyEngine the copy engine.
+     * 
+     * @return this builder.
+     */
+    public Builder copyEngine(final CopyEngine copyEngine) {
+      if (copyEngine == null) {
+        throw new IllegalArgumentException("Copy engine can not be null.");
+      }
+
+      this.copyEngine = copyEngine;
+      return this;
+    }
+
+    public TreeCopier build() {
+      return new TreeCopier(this);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package io.github.cainlara.jalutils.file;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a directory tree copy performed by a <code>TreeCopier</code>.
+ * 
+ * @author jalara
+ * 
+ * @see TreeCopier#copy(Path, Path)
+ */
+public final class TreeCopyResult {
+  private final long filesCopied;
+  private final long filesSkipped;
+  private final long bytesCopied;
+  private final long elapsedNanos;
+  private final Map<Path, IOException> failures;
+
+  TreeCopyResult(final long filesCopied, final long filesSkipped, final long bytesCopied, final long elapsedNanos,
+      final Map<Path, IOException> failures) {
+    this.filesCopied = filesCopied;
+    this.filesSkipped = filesSkipped;
+    this.bytesCopied = bytesCopied;
+    this.elapsedNanos = elapsedNanos;
+    this.failures = Collections.unmodifiableMap(failures);
+  }
+
+  /**
+   * @return number of files written to the target tree.
+   */
+  public long getFilesCopied() {
+    return filesCopied;
+  }
+
+  /**
+   * @return number of files left untouched because the target was already up
+   *         to date.
+   */
+  public long getFilesSkipped() {
+    return filesSkipped;
+  }
+
+  /**
+   * @return number of bytes written to the target tree.
+   */
+  public long getBytesCopied() {
+    return bytesCopied;
+  }
+
+  /**
+   * @return time spent copying the tree, in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * @return bytes copied per second, or <code>0</code> if nothing was copied.
+   */
+  public double getThroughput() {
+    return elapsedNanos == 0 ? 0D : bytesCopied * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  /**
+   * @return every source entry that could not be visited or copied, with the
+   *         cause.
+   */
+  public Map<Path, IOException> getFailures() {
+    return failures;
+  }
+
+  /**
+   * @return <code>true</code> if and only if every entry was copied or
+   *         skipped.
+   */
+  public boolean isSuccessful() {
+    return failures.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "TreeCopyResult [filesCopied=" + filesCopied + ", filesSkipped=" + filesSkipped + ", bytesCopied="
+        + bytesCopied + ", elapsedNanos=" + elapsedNanos + ", failures=" + failures.size() + "]";
+  }
+}
@@ -0,0 +1,221 @@
+package io.github.cainlara.jalutils.file;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+
+/**
+ * Streaming implementation of the XXH64 non-cryptographic hash, with seed
+ * <code>0</code>.
+ * <p>
+ * It is exposed as a <code>MessageDigest</code> so it can be used wherever a
+ * digest is expected. The digest is the 64-bit hash in big endian order, its
+ * canonical representation. Direct buffers are read in place, without copying
+ * them into an array. XXH64 is much faster than cryptographic digests, but it
+ * must not be used where collisions can be forged.
+ * 
+ * @author jalara
+ * 
+ * @see ContentHasher#XXH64
+ */
+public final class XxHash64 extends MessageDigest {
+  private static final long PRIME1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long PRIME3 = 0x165667B19E3779F9L;
+  private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+  private static final long PRIME5 = 0x27D4EB2F165667C5L;
+  private static final int STRIPE_LENGTH = 32;
+
+  private final byte[] pending = new byte[STRIPE_LENGTH];
+  private int pendingLength;
+  private long totalLength;
+  private long v1;
+  private long v2;
+  private long v3;
+  private long v4;
+
+  public XxHash64() {
+    super(ContentHasher.XXH64);
+    engineReset();
+  }
+
+  /**
+   * Hashes an array in one call.
+   * 
+   * @param input the bytes to hash.
+   * 
+   * @return the XXH64 hash of <code>input</code>.
+   */
+  public static long hash(final byte[] input) {
+    XxHash64 hash = new XxHash64();
+
+    hash.update(input);
+    return hash.digestValue();
+  }
+
+  /**
+   * Completes the hash computation, returning it as a number, and resets the
+   * digest.
+   * 
+   * @return the XXH64 hash of the bytes fed so far.
+   */
+  public long digestValue() {
+    long hash;
+
+    if (totalLength >= STRIPE_LENGTH) {
+      hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+      hash = merge(hash, v1);
+      hash = merge(hash, v2);
+      hash = merge(hash, v3);
+      hash = merge(hash, v4);
+    } else {
+      hash = PRIME5;
+    }
+
+    hash += totalLength;
+
+    int index = 0;
+
+    for (; index + 8 <= pendingLength; index += 8) {
+      hash ^= round(0, readLong(pending, index));
+      hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+    }
+
+    if (index + 4 <= pendingLength) {
+      hash ^= (readInt(pending, index) & 0xFFFFFFFFL) * PRIME1;
+      hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+      index += 4;
+    }
+
+    for (; index < pendingLength; index++) {
+      hash ^= (pending[index] & 0xFFL) * PRIME5;
+      hash = Long.rotateLeft(hash, 11) * PRIME1;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= PRIME2;
+    hash ^= hash >>> 29;
+    hash *= PRIME3;
+    hash ^= hash >>> 32;
+
+    engineReset();
+    return hash;
+  }
+
+  @Override
+  protected int engineGetDigestLength() {
+    return 8;
+  }
+
+  @Override
+  protected void engineUpdate(final byte input) {
+    pending[pendingLength++] = input;
+    totalLength++;
+
+    if (pendingLength == STRIPE_LENGTH) {
+      consumePending();
+    }
+  }
+
+  @Override
+  protected void engineUpdate(final byte[] input, final int offset, final int length) {
+    engineUpdate(ByteBuffer.wrap(input, offset, length));
+  }
+
+  @Override
+  protected void engineUpdate(final ByteBuffer input) {
+    int remaining = input.remaining();
+
+    if (remaining == 0) {
+      return;
+    }
+
+    ByteBuffer in = input.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+    totalLength += remaining;
+
+    if (pendingLength > 0) {
+      int fill = Math.min(STRIPE_LENGTH - pendingLength, in.remaining());
+
+      in.get(pending, pendingLength, fill);
+      pendingLength += fill;
+
+      if (pendingLength < STRIPE_LENGTH) {
+        ((Buffer) input).position(input.limit());
+        return;
+      }
+
+      consumePending();
+    }
+
+    long a = v1;
+    long b = v2;
+    long c = v3;
+    long d = v4;
+
+    while (in.remaining() >= STRIPE_LENGTH) {
+      a = round(a, in.getLong());
+      b = round(b, in.getLong());
+      c = round(c, in.getLong());
+      d = round(d, in.getLong());
+    }
+
+    v1 = a;
+    v2 = b;
+    v3 = c;
+    v4 = d;
+
+    pendingLength = in.remaining();
+    in.get(pending, 0, pendingLength);
+    ((Buffer) input).position(input.limit());
+  }
+
+  @Override
+  protected byte[] engineDigest() {
+    long hash = digestValue();
+    byte[] digest = new byte[8];
+
+    for (int index = 7; index >= 0; index--) {
+      digest[index] = (byte) hash;
+      hash >>>= 8;
+    }
+
+    return digest;
+  }
+
+  @Override
+  protected void engineReset() {
+    v1 = PRIME1 + PRIME2;
+    v2 = PRIME2;
+    v3 = 0;
+    v4 = -PRIME1;
+    totalLength = 0;
+    pendingLength = 0;
+  }
+
+  private void consumePending() {
+    v1 = round(v1, readLong(pending, 0));
+    v2 = round(v2, readLong(pending, 8));
+    v3 = round(v3, readLong(pending, 16));
+    v4 = round(v4, readLong(pending, 24));
+    pendingLength = 0;
+  }
+
+  private static long round(final long accumulator, final long input) {
+    return Long.rotateLeft(accumulator + input * PRIME2, 31) * PRIME1;
+  }
+
+  private static long merge(final long hash, final long accumulator) {
+    return (hash ^ round(0, accumulator)) * PRIME1 + PRIME4;
+  }
+
+  private static long readLong(final byte[] bytes, final int offset) {
+    return (readInt(bytes, offset) & 0xFFFFFFFFL) | ((long) readInt(bytes, offset + 4) << 32);
+  }
+
+  private static int readInt(final byte[] bytes, final int offset) {
+    return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8 | (bytes[offset + 2] & 0xFF) << 16
+        | (bytes[offset + 3] & 0xFF) << 24;
+  }
+}
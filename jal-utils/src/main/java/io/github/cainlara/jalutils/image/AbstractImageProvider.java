@@ -0,0 +1,51 @@
+package io.github.cainlara.jalutils.image;
+
+import java.awt.Image;
+import java.util.concurrent.CompletableFuture;
+
+import javax.swing.ImageIcon;
+
+public abstract class AbstractImageProvider {
+
+  /**
+   * @see ImageManager.Builder#build()
+   * 
+   * @return a ImageManager instance
+   */
+  protected abstract ImageManager getImageManager();
+
+  public Image getImage(final String key) {
+    return getImageManager().getImage(key);
+  }
+
+  public ImageIcon getImageIcon(final String key) {
+    return getImageManager().getImageIcon(key);
+  }
+
+  /**
+   * @see ImageManager#getImageIconAsync(String)
+   * 
+   * @param key the bundle key of the image path.
+   * 
+   * @return a future completed with the decoded image.
+   */
+  public CompletableFuture<ImageIcon> getImageIconAsync(final String key) {
+    return getImageManager().getImageIconAsync(key);
+  }
+
+  /**
+   * @see ImageManager#getCacheStats()
+   * 
+   * @return the image cache statistics.
+   */
+  public ImageCacheStats getCacheStats() {
+    return getImageManager().getCacheStats();
+  }
+
+  /**
+   * @see ImageManager#clearCache()
+   */
+  public void clearCache() {
+    getImageManager().clearCache();
+  }
+}
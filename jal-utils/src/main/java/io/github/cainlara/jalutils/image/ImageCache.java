@@ -0,0 +1,132 @@
+package io.github.cainlara.jalutils.image;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.ImageIcon;
+
+/**
+ * Cache of decoded images keyed by bundle key.
+ * <p>
+ * Images are kept in a least recently used tier bounded by a byte budget,
+ * where every image is estimated to take <i>width &times; height &times;
+ * 4</i> bytes. Images evicted from that tier, or too big to fit in it, can
+ * optionally be retained through <code>SoftReference</code> so the garbage
+ * collector decides when they go away.
+ * 
+ * @author jalara
+ */
+final class ImageCache {
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private final long budgetBytes;
+  private final boolean softReferences;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+  private final Map<String, SoftReference<ImageIcon>> softEntries = new HashMap<>();
+  private long usedBytes;
+  private long hits;
+  private long softHits;
+  private long misses;
+  private long evictions;
+
+  ImageCache(final long budgetBytes, final boolean softReferences) {
+    this.budgetBytes = budgetBytes;
+    this.softReferences = softReferences;
+  }
+
+  /**
+   * Retrieves a cached image, or <code>null</code> if it has to be decoded.
+   */
+  synchronized ImageIcon get(final String key) {
+    Entry entry = entries.get(key);
+
+    if (entry != null) {
+      hits++;
+      return entry.icon;
+    }
+
+    if (softReferences) {
+      SoftReference<ImageIcon> reference = softEntries.remove(key);
+      ImageIcon icon = reference == null ? null : reference.get();
+
+      if (icon != null) {
+        hits++;
+        softHits++;
+        store(key, icon);
+
+        return icon;
+      }
+    }
+
+    misses++;
+    return null;
+  }
+
+  /**
+   * Stores a freshly decoded image.
+   */
+  synchronized void put(final String key, final ImageIcon icon) {
+    Entry previous = entries.remove(key);
+
+    if (previous != null) {
+      usedBytes -= previous.bytes;
+    }
+
+    store(key, icon);
+  }
+
+  synchronized ImageCacheStats getStats() {
+    return new ImageCacheStats(hits, softHits, misses, evictions, entries.size(), usedBytes, budgetBytes);
+  }
+
+  synchronized void clear() {
+    entries.clear();
+    softEntries.clear();
+    usedBytes = 0;
+  }
+
+  private void store(final String key, final ImageIcon icon) {
+    long bytes = sizeOf(icon);
+
+    if (bytes > budgetBytes) {
+      retainSoftly(key, icon);
+      return;
+    }
+
+    entries.put(key, new Entry(icon, bytes));
+    usedBytes += bytes;
+
+    for (Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator(); usedBytes > budgetBytes
+        && it.hasNext();) {
+      Map.Entry<String, Entry> eldest = it.next();
+
+      it.remove();
+      usedBytes -= eldest.getValue().bytes;
+      evictions++;
+      retainSoftly(eldest.getKey(), eldest.getValue().icon);
+    }
+  }
+
+  private void retainSoftly(final String key, final ImageIcon icon) {
+    if (softReferences) {
+      softEntries.put(key, new SoftReference<>(icon));
+    }
+  }
+
+  static long sizeOf(final ImageIcon icon) {
+    return (long) Math.max(0, icon.getIconWidth()) * Math.max(0, icon.getIconHeight()) * BYTES_PER_PIXEL;
+  }
+
+  private static final class Entry {
+    private final ImageIcon icon;
+    private final long bytes;
+
+    private Entry(final ImageIcon icon, final long bytes) {
+      this.icon = icon;
+      this.bytes = bytes;
+    }
+  }
+}
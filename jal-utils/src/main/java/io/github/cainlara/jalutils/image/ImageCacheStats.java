@@ -0,0 +1,97 @@
+package io.github.cainlara.jalutils.image;
+
+/**
+ * Immutable snapshot of the decoded image cache counters of an
+ * <code>ImageManager</code>.
+ * 
+ * @author jalara
+ * 
+ * @see ImageManager#getCacheStats()
+ */
+public final class ImageCacheStats {
+  private final long hits;
+  private final long softHits;
+  private final long misses;
+  private final long evictions;
+  private final int size;
+  private final long usedBytes;
+  private final long budgetBytes;
+
+  ImageCacheStats(final long hits, final long softHits, final long misses, final long evictions, final int size,
+      final long usedBytes, final long budgetBytes) {
+    this.hits = hits;
+    this.softHits = softHits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.size = size;
+    this.usedBytes = usedBytes;
+    this.budgetBytes = budgetBytes;
+  }
+
+  /**
+   * @return number of lookups served from the cache, including the soft
+   *         reference tier.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * @return number of hits served from the soft reference tier.
+   */
+  public long getSoftHits() {
+    return softHits;
+  }
+
+  /**
+   * @return number of lookups that had to decode the image.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return number of images removed from the budgeted tier.
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * @return number of images held by the budgeted tier.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return estimated bytes held by the budgeted tier, computed as
+   *         <i>width &times; height &times; 4</i> per image.
+   */
+  public long getUsedBytes() {
+    return usedBytes;
+  }
+
+  /**
+   * @return the configured byte budget.
+   */
+  public long getBudgetBytes() {
+    return budgetBytes;
+  }
+
+  /**
+   * @return ratio of hits over total lookups, or <code>0</code> if there has
+   *         not been any lookup.
+   */
+  public double getHitRate() {
+    long total = hits + misses;
+
+    return total == 0 ? 0D : (double) hits / total;
+  }
+
+  @Override
+  public String toString() {
+    return "ImageCacheStats [hits=" + hits + ", softHits=" + softHits + ", misses=" + misses + ", evictions="
+        + evictions + ", size=" + size + ", usedBytes=" + usedBytes + ", budgetBytes=" + budgetBytes + "]";
+  }
+}
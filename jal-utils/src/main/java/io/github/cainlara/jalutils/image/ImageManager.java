@@ -0,0 +1,311 @@
+package io.github.cainlara.jalutils.image;
+
+import java.awt.Image;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.swing.ImageIcon;
+
+import io.github.cainlara.jalutils.metrics.Metrics;
+import io.github.cainlara.jalutils.text.StringPool;
+
+public final class ImageManager {
+  /**
+   * Default byte budget of the decoded image cache (16 MiB).
+   */
+  public static final long DEFAULT_CACHE_BUDGET = 16L * 1024 * 1024;
+
+  /**
+   * Default maximum number of images queued or being decoded in the
+   * background.
+   */
+  public static final int DEFAULT_MAX_PENDING_DECODES = 64;
+
+  private static final String LOAD_TIMER = "jalutils.image.load";
+  private static final String DECODE_TIMER = "jalutils.image.decode";
+
+  private volatile ResourceBundle bundle;
+  private String bundleName;
+  private Class<? extends AbstractImageProvider> clazz;
+  private ImageCache cache;
+  private ImagePreloader preloader;
+  private StringPool keyPool;
+
+  private ImageManager(final Builder builder) {
+    this.bundleName = builder.bundleName;
+    this.clazz = builder.clazz;
+    this.keyPool = builder.keyPool;
+    this.cache = new ImageCache(builder.cacheBudget, builder.softReferences);
+    this.preloader = new ImagePreloader(builder.decodeExecutor, builder.maxPendingDecodes, this::getImageIcon);
+  }
+
+  /**
+   * Retrieves the image registered under <code>key</code> in the bundle.
+   * <p>
+   * Decoded images are cached, so the same <code>ImageIcon</code> instance is
+   * returned to every caller while it stays cached. Callers must not modify it.
+   * 
+   * @param key the bundle key of the image path.
+   * 
+   * @return the decoded image, or <code>null</code> if the path can not be
+   *         found.
+   */
+  public ImageIcon getImageIcon(final String key) {
+    long start = Metrics.startNanos();
+    ImageIcon icon = cache.get(key);
+
+    if (icon == null) {
+      long decodeStart = Metrics.startNanos();
+
+      icon = loadImageIcon(key);
+      Metrics.recordSince(DECODE_TIMER, decodeStart);
+
+      if (icon != null) {
+        cache.put(keyPool == null ? key : keyPool.intern(key), icon);
+      }
+    }
+
+    Metrics.recordSince(LOAD_TIMER, start);
+
+    return icon;
+  }
+
+  public Image getImage(final String key) {
+    ImageIcon imgIcon = getImageIcon(key);
+
+    return imgIcon == null ? null : imgIcon.getImage();
+  }
+
+  /**
+   * Decodes the image registered under <code>key</code> on the decode executor
+   * and stores it in the cache.
+   * <p>
+   * This method never blocks: if the decode queue is full, the request waits
+   * in order for a free slot. Requests for a key already being decoded share
+   * that decode; cancelling the returned future before the decode starts skips
+   * it, unless other requests still wait for it.
+   * 
+   * @param key the bundle key of the image path.
+   * 
+   * @return a future completed with the decoded image, or with
+   *         <code>null</code> if the path can not be found.
+   */
+  public CompletableFuture<ImageIcon> getImageIconAsync(final String key) {
+    return preloader.load(key);
+  }
+
+  /**
+   * Decodes a batch of images in parallel on the decode executor.
+   * 
+   * @param keys the bundle keys of the images to decode.
+   * 
+   * @return a future per key, in the iteration order of <code>keys</code>.
+   * 
+   * @see #getImageIconAsync(String)
+   */
+  public Map<String, CompletableFuture<ImageIcon>> preload(final Collection<String> keys) {
+    if (keys == null) {
+      throw new IllegalArgumentException("Keys can not be null.");
+    }
+
+    Map<String, CompletableFuture<ImageIcon>> futures = new LinkedHashMap<>();
+
+    for (String key : keys) {
+      if (!futures.containsKey(key)) {
+        futures.put(key, getImageIconAsync(key));
+      }
+    }
+
+    return futures;
+  }
+
+  /**
+   * Decodes every image of the bundle in parallel on the decode executor.
+   * <p>
+   * Cancelling the returned future cancels every decode that has not started
+   * yet.
+   * 
+   * @return a future completed once every image is decoded.
+   */
+  public CompletableFuture<Void> preloadAll() {
+    return allOf(preload(Collections.list(getBundle().getKeys())).values());
+  }
+
+  private static CompletableFuture<Void> allOf(final Collection<CompletableFuture<ImageIcon>> futures) {
+    final List<CompletableFuture<ImageIcon>> children = new ArrayList<>(futures);
+    CompletableFuture<Void> batch = CompletableFuture.allOf(children.toArray(new CompletableFuture<?>[0]));
+
+    batch.whenComplete((result, error) -> {
+      if (batch.isCancelled()) {
+        for (CompletableFuture<ImageIcon> child : children) {
+          child.cancel(false);
+        }
+      }
+    });
+
+    return batch;
+  }
+
+  /**
+   * Retrieves a snapshot of the decoded image cache counters.
+   * 
+   * @return the current cache statistics.
+   */
+  public ImageCacheStats getCacheStats() {
+    return cache.getStats();
+  }
+
+  /**
+   * Discards every cached image. Counters are kept.
+   */
+  public void clearCache() {
+    cache.clear();
+  }
+
+  private ImageIcon loadImageIcon(final String key) {
+    String path = getFilePath(key);
+    URL imgURL = getClazz().getResource(path);
+
+    if (imgURL != null) {
+      return new ImageIcon(imgURL);
+    }
+
+    return null;
+  }
+
+  private String getFilePath(final String key) {
+    return getBundle().getString(key);
+  }
+
+  private ResourceBundle getBundle() {
+    ResourceBundle loaded = bundle;
+
+    if (loaded == null) {
+      synchronized (this) {
+        loaded = bundle;
+
+        if (loaded == null) {
+          loaded = ResourceBundle.getBundle(bundleName);
+          bundle = loaded;
+        }
+      }
+    }
+
+    return loaded;
+  }
+  
+  private Class<? extends AbstractImageProvider> getClazz() {
+    return clazz;
+  }
+
+  public static class Builder {
+    private String bundleName;
+    private Class<? extends AbstractImageProvider> clazz;
+    private long cacheBudget = DEFAULT_CACHE_BUDGET;
+    private boolean softReferences;
+    private Executor decodeExecutor = ForkJoinPool.commonPool();
+    private int maxPendingDecodes = DEFAULT_MAX_PENDING_DECODES;
+    private StringPool keyPool;
+
+    public Builder(final String bundleName, final Class<? extends AbstractImageProvider> clazz) {
+      this.bundleName = bundleName;
+      this.clazz = clazz;
+    }
+
+    /**
+     * Sets the byte budget of the decoded image cache. Each image is estimated
+     * to take <i>width &times; height &times; 4</i> bytes. When the budget is
+     * exceeded the least recently used images are evicted.
+     * 
+     * @param cacheBudget the budget in bytes; <code>0</code> disables the
+     *                    budgeted tier.
+     * 
+     * @return this builder.
+     */
+    public Builder cacheBudget(final long cacheBudget) {
+      if (cacheBudget < 0) {
+        throw new IllegalArgumentException("Cache budget can not be negative.");
+      }
+
+      this.cacheBudget = cacheBudget;
+      return this;
+    }
+
+    /**
+     * Enables a second cache tier holding images evicted from the budgeted tier
+     * through <code>SoftReference</code>, so they are only dropped when the
+     * JVM runs low on memory.
+     * 
+     * @param softReferences whether or not to enable the soft reference tier.
+     * 
+     * @return this builder.
+     */
+    public Builder softReferences(final boolean softReferences) {
+      this.softReferences = softReferences;
+      return this;
+    }
+
+    /**
+     * Sets the executor used to decode images in the background. Defaults to
+     * the common <code>ForkJoinPool</code>.
+     * 
+     * @param decodeExecutor the executor running background decodes.
+     * 
+     * @return this builder.
+     */
+    public Builder decodeExecutor(final Executor decodeExecutor) {
+      if (decodeExecutor == null) {
+        throw new IllegalArgumentException("Decode executor can not be null.");
+      }
+
+      this.decodeExecutor = decodeExecutor;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of images queued or being decoded in the
+     * background. Further requests are queued until one finishes, without
+     * blocking their callers.
+     * 
+     * @param maxPendingDecodes the decode queue capacity.
+     * 
+     * @return this builder.
+     */
+    public Builder maxPendingDecodes(final int maxPendingDecodes) {
+      if (maxPendingDecodes < 1) {
+        throw new IllegalArgumentException("Max pending decodes must be positive.");
+      }
+
+      this.maxPendingDecodes = maxPendingDecodes;
+      return this;
+    }
+
+    /**
+     * Sets a pool in which the keys of cached images are interned, so
+     * managers sharing the pool retain a single instance of each key.
+     * Disabled by default.
+     * 
+     * @param keyPool the pool of keys, or <code>null</code> to retain keys as
+     *                given.
+     * 
+     * @return this builder.
+     */
+    public Builder keyPool(final StringPool keyPool) {
+      this.keyPool = keyPool;
+      return this;
+    }
+
+    public ImageManager build() {
+      return new ImageManager(this);
+    }
+  }
+}
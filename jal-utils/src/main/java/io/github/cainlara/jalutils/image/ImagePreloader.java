@@ -0,0 +1,154 @@
+package io.github.cainlara.jalutils.image;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.swing.ImageIcon;
+
+/**
+ * Decodes images in the background for an <code>ImageManager</code>.
+ * <p>
+ * At most <code>maxPendingDecodes</code> decodes are handed to the executor at
+ * the same time; further requests wait in order in an internal queue, drained
+ * as decodes finish, so callers never block. Concurrent requests for the same
+ * key share a single decode, but each caller gets its own future: cancelling
+ * it only skips the decode once every caller sharing it has cancelled.
+ *
+ * @author jalara
+ */
+final class ImagePreloader {
+  private final Executor executor;
+  private final Semaphore pendingDecodes;
+  private final Function<String, ImageIcon> loader;
+  private final ConcurrentMap<String, Decode> inFlight = new ConcurrentHashMap<>();
+  private final Queue<Decode> waiting = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<Boolean> draining = new ThreadLocal<>();
+
+  ImagePreloader(final Executor executor, final int maxPendingDecodes, final Function<String, ImageIcon> loader) {
+    this.executor = executor;
+    this.pendingDecodes = new Semaphore(maxPendingDecodes);
+    this.loader = loader;
+  }
+
+  /**
+   * Schedules the decode of an image, or joins the one already scheduled.
+   */
+  CompletableFuture<ImageIcon> load(final String key) {
+    while (true) {
+      Decode decode = inFlight.get(key);
+
+      if (decode == null) {
+        Decode created = new Decode(key);
+
+        decode = inFlight.putIfAbsent(key, created);
+
+        if (decode == null) {
+          created.result.whenComplete((icon, error) -> inFlight.remove(key, created));
+
+          CompletableFuture<ImageIcon> view = created.view();
+
+          waiting.add(created);
+          drain();
+
+          return view;
+        }
+      }
+
+      if (decode.join()) {
+        return decode.view();
+      }
+
+      // cancelled by its last caller while being looked up
+      inFlight.remove(key, decode);
+    }
+  }
+
+  /**
+   * Hands waiting decodes to the executor while there are free slots.
+   */
+  private void drain() {
+    if (draining.get() != null) {
+      // a decode run inline by the executor; the outer loop goes on
+      return;
+    }
+
+    draining.set(Boolean.TRUE);
+
+    try {
+      while (!waiting.isEmpty() && pendingDecodes.tryAcquire()) {
+        Decode decode = waiting.poll();
+
+        if (decode == null || decode.result.isDone()) {
+          pendingDecodes.release();
+          continue;
+        }
+
+        try {
+          executor.execute(() -> run(decode));
+        } catch (RejectedExecutionException e) {
+          pendingDecodes.release();
+          decode.result.completeExceptionally(e);
+        }
+      }
+    } finally {
+      draining.remove();
+    }
+  }
+
+  private void run(final Decode decode) {
+    try {
+      if (!decode.result.isDone()) {
+        decode.result.complete(loader.apply(decode.key));
+      }
+    } catch (RuntimeException e) {
+      decode.result.completeExceptionally(e);
+    } finally {
+      pendingDecodes.release();
+      drain();
+    }
+  }
+
+  /**
+   * A decode shared by every caller requesting its key while it is pending.
+   */
+  private static final class Decode {
+    private final String key;
+    private final CompletableFuture<ImageIcon> result = new CompletableFuture<>();
+    private final AtomicInteger callers = new AtomicInteger(1);
+
+    private Decode(final String key) {
+      this.key = key;
+    }
+
+    /**
+     * Adds a caller, unless every previous caller has cancelled already.
+     */
+    private boolean join() {
+      return callers.getAndUpdate(count -> count == 0 ? 0 : count + 1) != 0;
+    }
+
+    /**
+     * Creates the future of a caller, so cancelling it does not affect the
+     * other callers.
+     */
+    private CompletableFuture<ImageIcon> view() {
+      CompletableFuture<ImageIcon> view = result.thenApply(Function.identity());
+
+      view.whenComplete((icon, error) -> {
+        if (view.isCancelled() && callers.decrementAndGet() == 0) {
+          result.cancel(false);
+        }
+      });
+
+      return view;
+    }
+  }
+}
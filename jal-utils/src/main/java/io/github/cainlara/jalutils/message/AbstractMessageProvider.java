@@ -0,0 +1,89 @@
+package io.github.cainlara.jalutils.message;
+
+import java.io.IOException;
+
+public abstract class AbstractMessageProvider {
+
+  /**
+   * @see MessageManager.Builder#build()
+   * 
+   * @return a MessageManager instance
+   */
+  protected abstract MessageManager getMessageManager();
+
+  public String getMessage(final String key) {
+    return getMessageManager().getMessage(key, MessageManager.EMPTY_ARGS);
+  }
+
+  public String getMessage(final String key, final Object... args) {
+    return getMessageManager().getMessage(key, args);
+  }
+
+  /**
+   * @see MessageManager#appendMessage(StringBuilder, String)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key) {
+    return getMessageManager().appendMessage(out, key);
+  }
+
+  /**
+   * @see MessageManager#appendMessage(StringBuilder, String, Object)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object arg0) {
+    return getMessageManager().appendMessage(out, key, arg0);
+  }
+
+  /**
+   * @see MessageManager#appendMessage(StringBuilder, String, Object, Object)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object arg0,
+      final Object arg1) {
+    return getMessageManager().appendMessage(out, key, arg0, arg1);
+  }
+
+  /**
+   * @see MessageManager#appendMessage(StringBuilder, String, Object, Object,
+   *      Object)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object arg0,
+      final Object arg1, final Object arg2) {
+    return getMessageManager().appendMessage(out, key, arg0, arg1, arg2);
+  }
+
+  /**
+   * @see MessageManager#appendMessage(StringBuilder, String, Object, Object,
+   *      Object, Object)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object arg0,
+      final Object arg1, final Object arg2, final Object arg3) {
+    return getMessageManager().appendMessage(out, key, arg0, arg1, arg2, arg3);
+  }
+
+  /**
+   * @see MessageManager#appendMessage(StringBuilder, String, int)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final int arg0) {
+    return getMessageManager().appendMessage(out, key, arg0);
+  }
+
+  /**
+   * @see MessageManager#appendMessage(StringBuilder, String, long)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final long arg0) {
+    return getMessageManager().appendMessage(out, key, arg0);
+  }
+
+  /**
+   * @see MessageManager#appendMessage(StringBuilder, String, Object...)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object... args) {
+    return getMessageManager().appendMessage(out, key, args);
+  }
+
+  /**
+   * @see MessageManager#appendMessage(Appendable, String, Object...)
+   */
+  public void appendMessage(final Appendable out, final String key, final Object... args) throws IOException {
+    getMessageManager().appendMessage(out, key, args);
+  }
+}
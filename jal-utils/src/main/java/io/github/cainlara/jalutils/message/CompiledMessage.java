@@ -0,0 +1,577 @@
+package io.github.cainlara.jalutils.message;
+
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bundle pattern parsed once and ready to be formatted many times.
+ * <p>
+ * Patterns without placeholders nor quotes are kept as plain text, so
+ * formatting them never touches <code>MessageFormat</code>. Patterns whose
+ * placeholders are all plain arguments, such as <code>{0}</code>, are split
+ * into literal and argument segments, following the quoting rules and the
+ * argument formatting of <code>MessageFormat</code>. Any other pattern is
+ * parsed into a prototype <code>MessageFormat</code>. Since
+ * <code>MessageFormat</code> is not thread-safe, the prototype is never used
+ * directly: callers borrow an idle copy from a small pool striped by thread
+ * and, if the copy of their stripe is already in use, work on a fresh clone
+ * instead of waiting.
+ * 
+ * @author jalara
+ */
+abstract class CompiledMessage {
+  private static final int POOL_SIZE = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()));
+  private static final int MAX_ARGUMENT_DIGITS = 5;
+  private static final ConcurrentMap<Locale, ThreadLocal<Formats>> LOCALE_FORMATS = new ConcurrentHashMap<>();
+
+  /**
+   * Formats this message with the given arguments.
+   * 
+   * @param args the message arguments, never <code>null</code>.
+   * 
+   * @return the formatted message.
+   */
+  abstract String format(Object[] args);
+
+  /**
+   * Appends this message, formatted with the given arguments, to a builder.
+   * 
+   * @param out  the builder to append to.
+   * @param args the message arguments, never <code>null</code>.
+   */
+  abstract void formatTo(StringBuilder out, Object[] args);
+
+  /**
+   * Appends this message, formatted with up to four arguments, to a builder.
+   * Arguments past <code>count</code> are ignored. Messages that can format
+   * without an argument array override this method.
+   * 
+   * @param out   the builder to append to.
+   * @param count the number of arguments.
+   */
+  void formatTo(final StringBuilder out, final int count, final Object arg0, final Object arg1, final Object arg2,
+      final Object arg3) {
+    Object[] args = new Object[count];
+
+    if (count > 3) {
+      args[3] = arg3;
+    }
+
+    if (count > 2) {
+      args[2] = arg2;
+    }
+
+    if (count > 1) {
+      args[1] = arg1;
+    }
+
+    if (count > 0) {
+      args[0] = arg0;
+    }
+
+    formatTo(out, args);
+  }
+
+  /**
+   * Appends this message, formatted with a single numeric argument, to a
+   * builder. Messages that can format the number without boxing it override
+   * this method.
+   * 
+   * @param out   the builder to append to.
+   * @param value the only argument.
+   */
+  void formatTo(final StringBuilder out, final long value) {
+    formatTo(out, 1, value, null, null, null);
+  }
+
+  /**
+   * Compiles a bundle pattern for the default format locale.
+   * 
+   * @param pattern the pattern as read from the bundle.
+   * 
+   * @return the compiled message.
+   */
+  static CompiledMessage compile(final String pattern) {
+    return compile(pattern, Locale.getDefault(Locale.Category.FORMAT));
+  }
+
+  /**
+   * Compiles a bundle pattern.
+   * 
+   * @param pattern the pattern as read from the bundle.
+   * @param locale  the locale used to format number and date arguments.
+   * 
+   * @return the compiled message.
+   */
+  static CompiledMessage compile(final String pattern, final Locale locale) {
+    if (isLiteral(pattern)) {
+      return new Literal(pattern);
+    }
+
+    List<String> literals = new ArrayList<>();
+    List<Integer> arguments = new ArrayList<>();
+    StringBuilder part = new StringBuilder(pattern.length());
+    boolean quoted = false;
+
+    for (int index = 0; index < pattern.length(); index++) {
+      char c = pattern.charAt(index);
+
+      if (c == '\'') {
+        if (index + 1 < pattern.length() && pattern.charAt(index + 1) == '\'') {
+          part.append('\'');
+          index++;
+        } else {
+          quoted = !quoted;
+        }
+      } else if (c == '{' && !quoted) {
+        int argument = parseArgument(pattern, index + 1);
+
+        if (argument < 0) {
+          return new Formatted(pattern, locale);
+        }
+
+        literals.add(part.toString());
+        arguments.add(argument);
+        part.setLength(0);
+        index = pattern.indexOf('}', index);
+      } else {
+        part.append(c);
+      }
+    }
+
+    literals.add(part.toString());
+
+    if (arguments.isEmpty()) {
+      return new Literal(literals.get(0));
+    }
+
+    int[] argumentIndexes = new int[arguments.size()];
+
+    for (int index = 0; index < argumentIndexes.length; index++) {
+      argumentIndexes[index] = arguments.get(index);
+    }
+
+    return new Segmented(literals.toArray(new String[0]), argumentIndexes, locale);
+  }
+
+  /**
+   * Evaluates if <code>MessageFormat</code> would return a pattern unchanged,
+   * which is the case when it contains neither <code>{</code> nor
+   * <code>'</code> characters.
+   */
+  static boolean isLiteral(final String pattern) {
+    for (int index = 0; index < pattern.length(); index++) {
+      char c = pattern.charAt(index);
+
+      if (c == '{' || c == '\'') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Parses a plain argument index, made only of digits and closed by
+   * <code>}</code>, returning <code>-1</code> for anything else.
+   */
+  private static int parseArgument(final String pattern, final int start) {
+    int argument = 0;
+    int index = start;
+
+    for (; index < pattern.length() && index - start <= MAX_ARGUMENT_DIGITS; index++) {
+      char c = pattern.charAt(index);
+
+      if (c == '}') {
+        return index == start ? -1 : argument;
+      }
+
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+
+      argument = argument * 10 + (c - '0');
+    }
+
+    return -1;
+  }
+
+  static final class Literal extends CompiledMessage {
+    private final String text;
+
+    Literal(final String text) {
+      this.text = text;
+    }
+
+    String getText() {
+      return text;
+    }
+
+    @Override
+    String format(final Object[] args) {
+      return text;
+    }
+
+    @Override
+    void formatTo(final StringBuilder out, final Object[] args) {
+      out.append(text);
+    }
+
+    @Override
+    void formatTo(final StringBuilder out, final int count, final Object arg0, final Object arg1, final Object arg2,
+        final Object arg3) {
+      out.append(text);
+    }
+
+    @Override
+    void formatTo(final StringBuilder out, final long value) {
+      out.append(text);
+    }
+  }
+
+  static final class Segmented extends CompiledMessage {
+    private final String[] literals;
+    private final int[] arguments;
+    private final ThreadLocal<Formats> formats;
+    private final int literalLength;
+
+    /**
+     * @param literals  the text around arguments, one more than arguments.
+     * @param arguments the argument indexes, in order of appearance.
+     */
+    Segmented(final String[] literals, final int[] arguments, final Locale locale) {
+      this.literals = literals;
+      this.arguments = arguments;
+      this.formats = formatsFor(locale);
+
+      int length = 0;
+
+      for (String literal : literals) {
+        length += literal.length();
+      }
+
+      this.literalLength = length;
+    }
+
+    String[] getLiterals() {
+      return literals;
+    }
+
+    int[] getArguments() {
+      return arguments;
+    }
+
+    @Override
+    String format(final Object[] args) {
+      StringBuilder result = new StringBuilder(literalLength + 16 * arguments.length);
+
+      formatTo(result, args);
+      return result.toString();
+    }
+
+    @Override
+    void formatTo(final StringBuilder out, final Object[] args) {
+      out.append(literals[0]);
+
+      for (int index = 0; index < arguments.length; index++) {
+        int argument = arguments[index];
+
+        if (argument < args.length) {
+          appendArgument(out, args[argument]);
+        } else {
+          appendMissing(out, argument);
+        }
+
+        out.append(literals[index + 1]);
+      }
+    }
+
+    @Override
+    void formatTo(final StringBuilder out, final int count, final Object arg0, final Object arg1, final Object arg2,
+        final Object arg3) {
+      out.append(literals[0]);
+
+      for (int index = 0; index < arguments.length; index++) {
+        int argument = arguments[index];
+
+        if (argument < count) {
+          appendArgument(out, argument == 0 ? arg0 : argument == 1 ? arg1 : argument == 2 ? arg2 : arg3);
+        } else {
+          appendMissing(out, argument);
+        }
+
+        out.append(literals[index + 1]);
+      }
+    }
+
+    @Override
+    void formatTo(final StringBuilder out, final long value) {
+      out.append(literals[0]);
+
+      for (int index = 0; index < arguments.length; index++) {
+        if (arguments[index] == 0) {
+          formats.get().appendNumber(out, value);
+        } else {
+          appendMissing(out, arguments[index]);
+        }
+
+        out.append(literals[index + 1]);
+      }
+    }
+
+    private void appendArgument(final StringBuilder out, final Object value) {
+      if (value instanceof String) {
+        out.append((String) value);
+      } else if (value instanceof Number) {
+        formats.get().appendNumber(out, value);
+      } else if (value instanceof Date) {
+        formats.get().appendDate(out, value);
+      } else {
+        out.append(value == null ? null : value.toString());
+      }
+    }
+
+    private static void appendMissing(final StringBuilder out, final int argument) {
+      out.append('{').append(argument).append('}');
+    }
+  }
+
+  static final class Formatted extends CompiledMessage {
+    private final String pattern;
+    private final MessageFormat prototype;
+    private final ThreadLocal<Formats> formats;
+    private final AtomicReferenceArray<MessageFormat> idle;
+
+    Formatted(final String pattern, final Locale locale) {
+      this.pattern = pattern;
+      this.formats = formatsFor(locale);
+      this.prototype = new MessageFormat(pattern, locale);
+      this.idle = new AtomicReferenceArray<>(POOL_SIZE);
+    }
+
+    String getPattern() {
+      return pattern;
+    }
+
+    @Override
+    String format(final Object[] args) {
+      int slot = (int) Thread.currentThread().getId() & (POOL_SIZE - 1);
+      MessageFormat format = idle.getAndSet(slot, null);
+
+      if (format == null) {
+        format = (MessageFormat) prototype.clone();
+      }
+
+      try {
+        return format.format(args);
+      } finally {
+        idle.set(slot, format);
+      }
+    }
+
+    @Override
+    void formatTo(final StringBuilder out, final Object[] args) {
+      int slot = (int) Thread.currentThread().getId() & (POOL_SIZE - 1);
+      MessageFormat format = idle.getAndSet(slot, null);
+
+      if (format == null) {
+        format = (MessageFormat) prototype.clone();
+      }
+
+      try {
+        Formats scratch = formats.get();
+        StringBuffer buffer = scratch.acquire();
+
+        try {
+          out.append(format.format(args, buffer, scratch.position));
+        } finally {
+          scratch.release(buffer);
+        }
+      } finally {
+        idle.set(slot, format);
+      }
+    }
+  }
+
+  private static ThreadLocal<Formats> formatsFor(final Locale locale) {
+    return LOCALE_FORMATS.computeIfAbsent(locale, key -> ThreadLocal.withInitial(() -> new Formats(key)));
+  }
+
+  /**
+   * Per-thread copies of the formats <code>MessageFormat</code> uses for
+   * arguments without an explicit format, with a reusable buffer to format
+   * into. Formats are created on first use.
+   */
+  private static final class Formats {
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private final Locale locale;
+    private final FieldPosition position = new FieldPosition(0);
+    private StringBuffer buffer = new StringBuffer(64);
+    private boolean busy;
+    private NumberFormat numbers;
+    private IntegerFormat integers;
+    private DateFormat dates;
+
+    private Formats(final Locale locale) {
+      this.locale = locale;
+    }
+
+    /**
+     * Borrows the buffer, or a fresh one when it is already in use by a
+     * message formatted while formatting an argument.
+     */
+    private StringBuffer acquire() {
+      if (busy) {
+        return new StringBuffer(64);
+      }
+
+      busy = true;
+
+      if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+        buffer = new StringBuffer(64);
+      } else {
+        buffer.setLength(0);
+      }
+
+      return buffer;
+    }
+
+    private void release(final StringBuffer borrowed) {
+      if (borrowed == buffer) {
+        busy = false;
+      }
+    }
+
+    private void appendNumber(final StringBuilder out, final long value) {
+      if (numbers == null) {
+        initNumbers();
+      }
+
+      if (integers != null) {
+        integers.append(out, value);
+        return;
+      }
+
+      StringBuffer borrowed = acquire();
+
+      out.append(numbers.format(value, borrowed, position));
+      release(borrowed);
+    }
+
+    private void appendNumber(final StringBuilder out, final Object value) {
+      if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+        appendNumber(out, ((Number) value).longValue());
+        return;
+      }
+
+      if (numbers == null) {
+        initNumbers();
+      }
+
+      StringBuffer borrowed = acquire();
+
+      out.append(numbers.format(value, borrowed, position));
+      release(borrowed);
+    }
+
+    private void initNumbers() {
+      numbers = NumberFormat.getInstance(locale);
+      integers = IntegerFormat.of(numbers);
+    }
+
+    private void appendDate(final StringBuilder out, final Object value) {
+      if (dates == null) {
+        dates = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale);
+      }
+
+      StringBuffer borrowed = acquire();
+
+      out.append(dates.format(value, borrowed, position));
+      release(borrowed);
+    }
+  }
+
+  /**
+   * Formats integers the way a plain <code>DecimalFormat</code> does, that is
+   * digits with optional grouping between fixed prefixes and suffixes, without
+   * going through <code>DecimalFormat</code> itself, which is much slower.
+   */
+  private static final class IntegerFormat {
+    private final char zeroDigit;
+    private final char groupingSeparator;
+    private final int groupingSize;
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+    private final char[] digits = new char[20];
+
+    private IntegerFormat(final DecimalFormat format) {
+      DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+
+      this.zeroDigit = symbols.getZeroDigit();
+      this.groupingSeparator = symbols.getGroupingSeparator();
+      this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+      this.positivePrefix = format.getPositivePrefix();
+      this.positiveSuffix = format.getPositiveSuffix();
+      this.negativePrefix = format.getNegativePrefix();
+      this.negativeSuffix = format.getNegativeSuffix();
+    }
+
+    /**
+     * @return a fast format equivalent to <code>format</code> for integers, or
+     *         <code>null</code> if <code>format</code> is not plain enough.
+     */
+    private static IntegerFormat of(final NumberFormat format) {
+      if (!(format instanceof DecimalFormat)) {
+        return null;
+      }
+
+      DecimalFormat decimal = (DecimalFormat) format;
+
+      if (decimal.getMultiplier() != 1 || decimal.getMinimumIntegerDigits() > 1
+          || decimal.getMaximumIntegerDigits() < 19 || decimal.getMinimumFractionDigits() > 0
+          || decimal.isDecimalSeparatorAlwaysShown()) {
+        return null;
+      }
+
+      return new IntegerFormat(decimal);
+    }
+
+    private void append(final StringBuilder out, final long value) {
+      boolean negative = value < 0;
+      long remaining = value;
+      int count = 0;
+
+      // accumulate negative digits so that Long.MIN_VALUE needs no special case
+      do {
+        digits[count++] = (char) (zeroDigit + Math.abs((int) (remaining % 10)));
+        remaining /= 10;
+      } while (remaining != 0);
+
+      out.append(negative ? negativePrefix : positivePrefix);
+
+      for (int index = count - 1; index >= 0; index--) {
+        out.append(digits[index]);
+
+        if (groupingSize > 0 && index > 0 && index % groupingSize == 0) {
+          out.append(groupingSeparator);
+        }
+      }
+
+      out.append(negative ? negativeSuffix : positiveSuffix);
+    }
+  }
+}
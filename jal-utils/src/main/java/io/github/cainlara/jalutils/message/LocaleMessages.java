@@ -0,0 +1,96 @@
+package io.github.cainlara.jalutils.message;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Set;
+
+import io.github.cainlara.jalutils.metrics.Metrics;
+
+/**
+ * The compiled messages of a <code>MessageCatalog</code> for one locale.
+ * Instances are immutable, and looking a message up is a single hash probe.
+ * 
+ * @author jalara
+ * 
+ * @see MessageCatalog#getMessages(Locale)
+ */
+public final class LocaleMessages {
+  private static final String FORMAT_TIMER = "jalutils.message.format";
+
+  private final String bundleName;
+  private final Locale locale;
+  private final Map<String, CompiledMessage> messages;
+
+  LocaleMessages(final String bundleName, final Locale locale, final Map<String, CompiledMessage> messages) {
+    this.bundleName = bundleName;
+    this.locale = locale;
+    this.messages = messages;
+  }
+
+  /**
+   * @return the locale of these messages.
+   */
+  public Locale getLocale() {
+    return locale;
+  }
+
+  /**
+   * @return the keys of every message.
+   */
+  public Set<String> getKeys() {
+    return Collections.unmodifiableSet(messages.keySet());
+  }
+
+  /**
+   * Evaluates if a message exists.
+   * 
+   * @param key the message key.
+   * 
+   * @return <code>true</code> if there is a message for <code>key</code>.
+   */
+  public boolean containsKey(final String key) {
+    return messages.containsKey(key);
+  }
+
+  public String getMessage(final String key) {
+    return getMessage(key, MessageManager.EMPTY_ARGS);
+  }
+
+  /**
+   * Formats a message, the same way <code>MessageFormat</code> would.
+   * 
+   * @param key  the message key.
+   * @param args the message arguments.
+   * 
+   * @return the formatted message.
+   * 
+   * @throws MissingResourceException if there is no message for
+   *                                  <code>key</code>.
+   */
+  public String getMessage(final String key, final Object... args) {
+    long start = Metrics.startNanos();
+
+    try {
+      return getCompiled(key).format(args == null ? MessageManager.EMPTY_ARGS : args);
+    } finally {
+      Metrics.recordSince(FORMAT_TIMER, start);
+    }
+  }
+
+  Map<String, CompiledMessage> getCompiledMessages() {
+    return messages;
+  }
+
+  private CompiledMessage getCompiled(final String key) {
+    CompiledMessage message = messages.get(key);
+
+    if (message == null) {
+      throw new MissingResourceException("Can't find resource for bundle " + bundleName + "_" + locale + ", key "
+          + key, bundleName, key);
+    }
+
+    return message;
+  }
+}
@@ -0,0 +1,138 @@
+package io.github.cainlara.jalutils.message;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.github.cainlara.jalutils.text.StringPool;
+
+/**
+ * Bounded cache of compiled messages keyed by bundle key.
+ * <p>
+ * Hits only read a <code>ConcurrentHashMap</code> and stamp the entry with the
+ * current tick, so they never lock. The tick only advances on misses, so hot
+ * entries are not written again until the next miss and hits do not contend on
+ * a shared counter. When a miss makes the cache grow past its maximum size the
+ * entry with the oldest tick is evicted by scanning them; misses already pay for
+ * a bundle lookup and a pattern parse, so the scan is not on the hot path.
+ * 
+ * @author jalara
+ */
+final class MessageCache {
+  private final int maximumSize;
+  private final Locale locale;
+  private final StringPool keyPool;
+  private final Map<String, Entry> entries;
+  private final AtomicLong clock = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder compiles = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  MessageCache(final int maximumSize, final Locale locale) {
+    this(maximumSize, locale, null);
+  }
+
+  /**
+   * Creates a cache whose retained keys are interned in <code>keyPool</code>,
+   * when not <code>null</code>, so keys built at each call are not retained
+   * once per manager.
+   */
+  MessageCache(final int maximumSize, final Locale locale, final StringPool keyPool) {
+    this.maximumSize = maximumSize;
+    this.locale = locale;
+    this.keyPool = keyPool;
+    this.entries = new ConcurrentHashMap<>(Math.max(16, maximumSize));
+  }
+
+  /**
+   * Retrieves the compiled message for a key, compiling the pattern returned by
+   * <code>patternLoader</code> on a miss.
+   */
+  CompiledMessage get(final String key, final Function<String, String> patternLoader) {
+    Entry entry = entries.get(key);
+
+    if (entry != null) {
+      long tick = clock.get();
+
+      hits.increment();
+
+      if (entry.lastAccess != tick) {
+        entry.lastAccess = tick;
+      }
+
+      return entry.message;
+    }
+
+    misses.increment();
+
+    CompiledMessage message = compile(patternLoader.apply(key));
+
+    if (maximumSize > 0) {
+      entry = new Entry(message, clock.getAndIncrement());
+
+      if (entries.putIfAbsent(keyPool == null ? key : keyPool.intern(key), entry) == null
+          && entries.size() > maximumSize) {
+        evictLeastRecentlyUsed();
+      }
+    }
+
+    return message;
+  }
+
+  MessageCacheStats getStats() {
+    return new MessageCacheStats(hits.sum(), misses.sum(), compiles.sum(), evictions.sum(), entries.size());
+  }
+
+  void clear() {
+    entries.clear();
+  }
+
+  private CompiledMessage compile(final String pattern) {
+    CompiledMessage message = CompiledMessage.compile(pattern, locale);
+
+    if (!CompiledMessage.isLiteral(pattern)) {
+      compiles.increment();
+    }
+
+    return message;
+  }
+
+  private void evictLeastRecentlyUsed() {
+    while (entries.size() > maximumSize) {
+      String eldestKey = null;
+      Entry eldest = null;
+
+      for (Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator(); it.hasNext();) {
+        Map.Entry<String, Entry> candidate = it.next();
+
+        if (eldest == null || candidate.getValue().lastAccess < eldest.lastAccess) {
+          eldestKey = candidate.getKey();
+          eldest = candidate.getValue();
+        }
+      }
+
+      if (eldest == null) {
+        return;
+      }
+
+      if (entries.remove(eldestKey, eldest)) {
+        evictions.increment();
+      }
+    }
+  }
+
+  private static final class Entry {
+    private final CompiledMessage message;
+    private volatile long lastAccess;
+
+    private Entry(final CompiledMessage message, final long lastAccess) {
+      this.message = message;
+      this.lastAccess = lastAccess;
+    }
+  }
+}
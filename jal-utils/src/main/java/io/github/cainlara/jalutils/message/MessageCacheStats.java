@@ -0,0 +1,78 @@
+package io.github.cainlara.jalutils.message;
+
+/**
+ * Immutable snapshot of the compiled message cache counters of a
+ * <code>MessageManager</code>.
+ * 
+ * @author jalara
+ * 
+ * @see MessageManager#getCacheStats()
+ */
+public final class MessageCacheStats {
+  private final long hits;
+  private final long misses;
+  private final long compiles;
+  private final long evictions;
+  private final int size;
+
+  MessageCacheStats(final long hits, final long misses, final long compiles, final long evictions, final int size) {
+    this.hits = hits;
+    this.misses = misses;
+    this.compiles = compiles;
+    this.evictions = evictions;
+    this.size = size;
+  }
+
+  /**
+   * @return number of lookups served from the cache.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * @return number of lookups that had to read the bundle.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return number of patterns parsed into a <code>MessageFormat</code>.
+   *         Patterns without placeholders are not counted since they are never
+   *         parsed.
+   */
+  public long getCompiles() {
+    return compiles;
+  }
+
+  /**
+   * @return number of entries removed to keep the cache within its size.
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * @return number of entries currently cached.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return ratio of hits over total lookups, or <code>0</code> if there has
+   *         not been any lookup.
+   */
+  public double getHitRate() {
+    long total = hits + misses;
+
+    return total == 0 ? 0D : (double) hits / total;
+  }
+
+  @Override
+  public String toString() {
+    return "MessageCacheStats [hits=" + hits + ", misses=" + misses + ", compiles=" + compiles + ", evictions="
+        + evictions + ", size=" + size + "]";
+  }
+}
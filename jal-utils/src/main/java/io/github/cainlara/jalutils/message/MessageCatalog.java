@@ -0,0 +1,360 @@
+package io.github.cainlara.jalutils.message;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+import io.github.cainlara.jalutils.file.XxHash64;
+import io.github.cainlara.jalutils.metrics.Metrics;
+
+/**
+ * Messages of a bundle for a set of locales, compiled ahead of time.
+ * <p>
+ * Every key of every locale is compiled when the catalog is built, so no
+ * bundle lookup nor pattern parsing happens while serving messages. Bundles are
+ * looked up without falling back to the default locale, so a catalog does not
+ * depend on the locale of the machine building it.
+ * <p>
+ * A catalog can be written to a compact binary snapshot, which is memory
+ * mapped and read back on the next start instead of loading and parsing the
+ * bundles again. Snapshots carry a fingerprint of the bundle resources they
+ * were compiled from, so changed bundles are compiled again.
+ * 
+ * @author jalara
+ */
+public final class MessageCatalog {
+  private static final ResourceBundle.Control NO_FALLBACK = ResourceBundle.Control
+      .getNoFallbackControl(ResourceBundle.Control.FORMAT_DEFAULT);
+
+  private static final String SNAPSHOT_ERRORS_COUNTER = "jalutils.message.snapshot.errors";
+
+  private final String bundleName;
+  private final Map<Locale, LocaleMessages> messages;
+  private final long fingerprint;
+  private IOException snapshotError;
+
+  MessageCatalog(final String bundleName, final Map<Locale, LocaleMessages> messages, final long fingerprint) {
+    this.bundleName = bundleName;
+    this.messages = messages;
+    this.fingerprint = fingerprint;
+  }
+
+  /**
+   * Loads a catalog from a snapshot.
+   * 
+   * @param snapshot the snapshot file.
+   * 
+   * @return the catalog stored in the snapshot.
+   * 
+   * @throws IOException if the file can not be read or is not a valid
+   *                     snapshot.
+   * 
+   * @see #writeSnapshot(Path)
+   */
+  public static MessageCatalog loadSnapshot(final Path snapshot) throws IOException {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot file can not be null.");
+    }
+
+    return MessageSnapshot.read(snapshot);
+  }
+
+  /**
+   * Writes this catalog to a snapshot file. The file is replaced atomically
+   * when the file system allows it.
+   * 
+   * @param snapshot the snapshot file.
+   * 
+   * @throws IOException if the file can not be written.
+   */
+  public void writeSnapshot(final Path snapshot) throws IOException {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot file can not be null.");
+    }
+
+    MessageSnapshot.write(this, snapshot);
+  }
+
+  /**
+   * @return the name of the bundle the messages come from.
+   */
+  public String getBundleName() {
+    return bundleName;
+  }
+
+  /**
+   * @return the locales of the catalog.
+   */
+  public Set<Locale> getLocales() {
+    return Collections.unmodifiableSet(messages.keySet());
+  }
+
+  /**
+   * Retrieves the messages of a locale. When the catalog does not hold the
+   * locale, the messages of its language are used.
+   * 
+   * @param locale the locale.
+   * 
+   * @return the messages of the locale.
+   * 
+   * @throws MissingResourceException if the catalog has no messages for the
+   *                                  locale nor for its language.
+   */
+  public LocaleMessages getMessages(final Locale locale) {
+    LocaleMessages localeMessages = messages.get(locale);
+
+    if (localeMessages == null && locale != null) {
+      localeMessages = messages.get(new Locale(locale.getLanguage()));
+    }
+
+    if (localeMessages == null) {
+      throw new MissingResourceException("No messages for locale " + locale, bundleName, "");
+    }
+
+    return localeMessages;
+  }
+
+  public String getMessage(final Locale locale, final String key) {
+    return getMessages(locale).getMessage(key);
+  }
+
+  public String getMessage(final Locale locale, final String key, final Object... args) {
+    return getMessages(locale).getMessage(key, args);
+  }
+
+  /**
+   * @return the error that prevented the builder from using its snapshot
+   *         file, either reading the bundle resources to fingerprint them or
+   *         writing the file, or <code>null</code> if there was none. Such
+   *         errors are also counted as
+   *         <code>jalutils.message.snapshot.errors</code>.
+   */
+  public IOException getSnapshotError() {
+    return snapshotError;
+  }
+
+  Map<Locale, LocaleMessages> getAllMessages() {
+    return messages;
+  }
+
+  long getFingerprint() {
+    return fingerprint;
+  }
+
+  private static LocaleMessages compile(final String bundleName, final Locale locale, final ClassLoader loader) {
+    ResourceBundle bundle = ResourceBundle.getBundle(bundleName, locale, loader, NO_FALLBACK);
+    Set<String> keys = bundle.keySet();
+    Map<String, CompiledMessage> compiled = new HashMap<>(keys.size() * 4 / 3 + 1);
+
+    for (String key : keys) {
+      Object pattern = bundle.getObject(key);
+
+      if (pattern instanceof String) {
+        compiled.put(key, CompiledMessage.compile((String) pattern, locale));
+      }
+    }
+
+    return new LocaleMessages(bundleName, locale, compiled);
+  }
+
+  /**
+   * Hashes the version and every resource a bundle of the locales may be
+   * loaded from, <code>.properties</code> files and classes, including the
+   * missing ones, so adding a resource changes the fingerprint too.
+   */
+  private static long fingerprint(final String bundleName, final Set<Locale> locales, final ClassLoader loader,
+      final String version) throws IOException {
+    Set<String> resources = new LinkedHashSet<>();
+    XxHash64 hash = new XxHash64();
+    byte[] buffer = new byte[8192];
+
+    for (Locale locale : locales) {
+      for (Locale candidate : NO_FALLBACK.getCandidateLocales(bundleName, locale)) {
+        String candidateName = NO_FALLBACK.toBundleName(bundleName, candidate);
+
+        resources.add(NO_FALLBACK.toResourceName(candidateName, "properties"));
+        resources.add(NO_FALLBACK.toResourceName(candidateName, "class"));
+      }
+    }
+
+    hash.update(String.valueOf(version).getBytes(StandardCharsets.UTF_8));
+
+    for (String resource : resources) {
+      URL url = loader.getResource(resource);
+
+      hash.update(resource.getBytes(StandardCharsets.UTF_8));
+      hash.update((byte) (url == null ? 0 : 1));
+
+      if (url != null) {
+        URLConnection connection = url.openConnection();
+
+        // jar connections are cached by default and would miss redeploys
+        connection.setUseCaches(false);
+
+        try (InputStream in = connection.getInputStream()) {
+          for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            hash.update(buffer, 0, read);
+          }
+        }
+      }
+    }
+
+    return hash.digestValue();
+  }
+
+  private static void snapshotFailed(final MessageCatalog catalog, final IOException error) {
+    catalog.snapshotError = error;
+    Metrics.count(SNAPSHOT_ERRORS_COUNTER, 1);
+  }
+
+  public static class Builder {
+    private String bundleName;
+    private Set<Locale> locales = new LinkedHashSet<>();
+    private Path snapshot;
+    private String version;
+    private ClassLoader classLoader = MessageCatalog.class.getClassLoader();
+
+    public Builder(final String bundleName) {
+      this.bundleName = bundleName;
+    }
+
+    /**
+     * Adds locales to the catalog. Defaults to the default locale alone.
+     * 
+     * @param locales the locales.
+     * 
+     * @return this builder.
+     */
+    public Builder locales(final Locale... locales) {
+      if (locales == null) {
+        throw new IllegalArgumentException("Locales can not be null.");
+      }
+
+      this.locales.addAll(Arrays.asList(locales));
+      return this;
+    }
+
+    /**
+     * Uses a snapshot file to skip compilation. If the file holds a snapshot of
+     * the same bundle with every requested locale, compiled from the same
+     * bundle resources and version, the catalog is loaded from it; otherwise
+     * the catalog is compiled and written to the file. Checking the
+     * resources reads them, but does not parse nor compile them.
+     * <p>
+     * Writing is best effort: a catalog is returned even if the file can not
+     * be written, and the failure is reported by
+     * {@link MessageCatalog#getSnapshotError()}.
+     * 
+     * @param snapshot the snapshot file.
+     * 
+     * @return this builder.
+     */
+    public Builder snapshot(final Path snapshot) {
+      this.snapshot = snapshot;
+      return this;
+    }
+
+    /**
+     * Sets a version compared along with the bundle resources when reusing a
+     * snapshot, such as the application version, so snapshots are compiled
+     * again on upgrades even if resources are not found where expected.
+     * 
+     * @param version the version, or <code>null</code> to compare resources
+     *                alone.
+     * 
+     * @return this builder.
+     */
+    public Builder version(final String version) {
+      this.version = version;
+      return this;
+    }
+
+    /**
+     * Sets the class loader bundles are loaded from. Defaults to the loader of
+     * this library.
+     * 
+     * @param classLoader the class loader.
+     * 
+     * @return this builder.
+     */
+    public Builder classLoader(final ClassLoader classLoader) {
+      if (classLoader == null) {
+        throw new IllegalArgumentException("Class loader can not be null.");
+      }
+
+      this.classLoader = classLoader;
+      return this;
+    }
+
+    /**
+     * @throws MissingResourceException if the bundle can not be found for one
+     *                                  of the locales.
+     */
+    public MessageCatalog build() {
+      if (bundleName == null) {
+        throw new IllegalArgumentException("Bundle name can not be null.");
+      }
+
+      Set<Locale> requested = locales.isEmpty() ? Collections.singleton(Locale.getDefault()) : locales;
+
+      long fingerprint = 0L;
+      IOException fingerprintError = null;
+
+      if (snapshot != null) {
+        try {
+          fingerprint = fingerprint(bundleName, requested, classLoader, version);
+        } catch (IOException e) {
+          fingerprintError = e;
+        }
+      }
+
+      if (snapshot != null && fingerprintError == null && Files.isRegularFile(snapshot)) {
+        try {
+          MessageCatalog loaded = MessageSnapshot.read(snapshot);
+
+          if (bundleName.equals(loaded.getBundleName()) && loaded.getFingerprint() == fingerprint
+              && loaded.getLocales().containsAll(requested)) {
+            return loaded;
+          }
+        } catch (IOException e) {
+          // compile the catalog again
+        }
+      }
+
+      Map<Locale, LocaleMessages> messages = new LinkedHashMap<>();
+
+      for (Locale locale : requested) {
+        messages.put(locale, compile(bundleName, locale, classLoader));
+      }
+
+      MessageCatalog catalog = new MessageCatalog(bundleName, messages, fingerprint);
+
+      if (fingerprintError != null) {
+        // a snapshot that can not be checked must not be reused either
+        snapshotFailed(catalog, fingerprintError);
+      } else if (snapshot != null) {
+        try {
+          MessageSnapshot.write(catalog, snapshot);
+        } catch (IOException e) {
+          snapshotFailed(catalog, e);
+        }
+      }
+
+      return catalog;
+    }
+  }
+}
@@ -0,0 +1,458 @@
+package io.github.cainlara.jalutils.message;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import io.github.cainlara.jalutils.metrics.Metrics;
+import io.github.cainlara.jalutils.text.StringPool;
+
+public final class MessageManager {
+  /**
+   * Default maximum number of compiled messages kept per manager.
+   */
+  public static final int DEFAULT_CACHE_SIZE = 512;
+
+  /**
+   * Shared argument array for messages without arguments.
+   */
+  public static final Object[] EMPTY_ARGS = new Object[0];
+
+  private static final String FORMAT_TIMER = "jalutils.message.format";
+  private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+  private static final ThreadLocal<RenderBuffer> RENDER_BUFFERS = ThreadLocal.withInitial(RenderBuffer::new);
+
+  private volatile ResourceBundle bundle;
+  private String bundleName;
+  private Locale locale;
+  private ResourceBundle.Control control;
+  private MessageCache cache;
+
+  private MessageManager(final Builder builder) {
+    this.bundleName = builder.bundleName;
+    this.locale = builder.locale;
+    this.control = builder.control;
+    this.cache = new MessageCache(builder.cacheSize,
+        builder.locale == null ? Locale.getDefault(Locale.Category.FORMAT) : builder.locale, builder.keyPool);
+  }
+
+  public String getMessage(final String key) {
+    return getMessage(key, EMPTY_ARGS);
+  }
+
+  public String getMessage(final String key, final Object... args) {
+    long start = Metrics.startNanos();
+
+    try {
+      CompiledMessage message = cache.get(key, this::getPattern);
+      return message.format(args == null ? EMPTY_ARGS : args);
+    } finally {
+      Metrics.recordSince(FORMAT_TIMER, start);
+    }
+  }
+
+  /**
+   * Appends a message to a builder instead of returning a new
+   * <code>String</code>.
+   * 
+   * @param out the builder to append to.
+   * @param key the message key.
+   * 
+   * @return <code>out</code>.
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key) {
+    return appendMessage(out, key, 0, null, null, null, null);
+  }
+
+  /**
+   * Appends a message with one argument to a builder, without an argument
+   * array. Messages whose placeholders are all plain, such as
+   * <code>{0}</code>, are appended without intermediate copies.
+   * 
+   * @param out  the builder to append to.
+   * @param key  the message key.
+   * @param arg0 the first argument.
+   * 
+   * @return <code>out</code>.
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object arg0) {
+    return appendMessage(out, key, 1, arg0, null, null, null);
+  }
+
+  /**
+   * @see #appendMessage(StringBuilder, String, Object)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object arg0,
+      final Object arg1) {
+    return appendMessage(out, key, 2, arg0, arg1, null, null);
+  }
+
+  /**
+   * @see #appendMessage(StringBuilder, String, Object)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object arg0,
+      final Object arg1, final Object arg2) {
+    return appendMessage(out, key, 3, arg0, arg1, arg2, null);
+  }
+
+  /**
+   * @see #appendMessage(StringBuilder, String, Object)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object arg0,
+      final Object arg1, final Object arg2, final Object arg3) {
+    return appendMessage(out, key, 4, arg0, arg1, arg2, arg3);
+  }
+
+  /**
+   * Appends a message with a single numeric argument to a builder, without
+   * boxing the argument.
+   * 
+   * @param out  the builder to append to.
+   * @param key  the message key.
+   * @param arg0 the only argument.
+   * 
+   * @return <code>out</code>.
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final int arg0) {
+    return appendMessage(out, key, (long) arg0);
+  }
+
+  /**
+   * @see #appendMessage(StringBuilder, String, int)
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final long arg0) {
+    validateOutput(out);
+
+    long start = Metrics.startNanos();
+
+    try {
+      cache.get(key, this::getPattern).formatTo(out, arg0);
+      return out;
+    } finally {
+      Metrics.recordSince(FORMAT_TIMER, start);
+    }
+  }
+
+  /**
+   * Appends a message to a builder.
+   * 
+   * @param out  the builder to append to.
+   * @param key  the message key.
+   * @param args the message arguments.
+   * 
+   * @return <code>out</code>.
+   */
+  public StringBuilder appendMessage(final StringBuilder out, final String key, final Object... args) {
+    validateOutput(out);
+
+    long start = Metrics.startNanos();
+
+    try {
+      cache.get(key, this::getPattern).formatTo(out, args == null ? EMPTY_ARGS : args);
+      return out;
+    } finally {
+      Metrics.recordSince(FORMAT_TIMER, start);
+    }
+  }
+
+  /**
+   * Appends a message without arguments to any <code>Appendable</code>, such
+   * as a <code>Writer</code>. The message is rendered into a builder reused by
+   * the calling thread, then appended at once.
+   * 
+   * @param out the destination.
+   * @param key the message key.
+   * 
+   * @throws IOException if appending to <code>out</code> fails.
+   */
+  public void appendMessage(final Appendable out, final String key) throws IOException {
+    appendMessage(out, key, 0, null, null, null, null);
+  }
+
+  /**
+   * Appends a message with one argument to any <code>Appendable</code>,
+   * without an argument array.
+   * 
+   * @param out  the destination.
+   * @param key  the message key.
+   * @param arg0 the first argument.
+   * 
+   * @throws IOException if appending to <code>out</code> fails.
+   * 
+   * @see #appendMessage(Appendable, String)
+   */
+  public void appendMessage(final Appendable out, final String key, final Object arg0) throws IOException {
+    appendMessage(out, key, 1, arg0, null, null, null);
+  }
+
+  /**
+   * @see #appendMessage(Appendable, String, Object)
+   */
+  public void appendMessage(final Appendable out, final String key, final Object arg0, final Object arg1)
+      throws IOException {
+    appendMessage(out, key, 2, arg0, arg1, null, null);
+  }
+
+  /**
+   * @see #appendMessage(Appendable, String, Object)
+   */
+  public void appendMessage(final Appendable out, final String key, final Object arg0, final Object arg1,
+      final Object arg2) throws IOException {
+    appendMessage(out, key, 3, arg0, arg1, arg2, null);
+  }
+
+  /**
+   * @see #appendMessage(Appendable, String, Object)
+   */
+  public void appendMessage(final Appendable out, final String key, final Object arg0, final Object arg1,
+      final Object arg2, final Object arg3) throws IOException {
+    appendMessage(out, key, 4, arg0, arg1, arg2, arg3);
+  }
+
+  /**
+   * Appends a message with a single numeric argument to any
+   * <code>Appendable</code>, without boxing the argument.
+   * 
+   * @param out  the destination.
+   * @param key  the message key.
+   * @param arg0 the only argument.
+   * 
+   * @throws IOException if appending to <code>out</code> fails.
+   * 
+   * @see #appendMessage(Appendable, String)
+   */
+  public void appendMessage(final Appendable out, final String key, final int arg0) throws IOException {
+    appendMessage(out, key, (long) arg0);
+  }
+
+  /**
+   * @see #appendMessage(Appendable, String, int)
+   */
+  public void appendMessage(final Appendable out, final String key, final long arg0) throws IOException {
+    validateOutput(out);
+
+    RenderBuffer buffer = RENDER_BUFFERS.get();
+    StringBuilder builder = buffer.acquire();
+
+    try {
+      out.append(appendMessage(builder, key, arg0));
+    } finally {
+      buffer.release(builder);
+    }
+  }
+
+  /**
+   * Appends a message to any <code>Appendable</code>.
+   * 
+   * @param out  the destination.
+   * @param key  the message key.
+   * @param args the message arguments.
+   * 
+   * @throws IOException if appending to <code>out</code> fails.
+   * 
+   * @see #appendMessage(Appendable, String)
+   */
+  public void appendMessage(final Appendable out, final String key, final Object... args) throws IOException {
+    validateOutput(out);
+
+    RenderBuffer buffer = RENDER_BUFFERS.get();
+    StringBuilder builder = buffer.acquire();
+
+    try {
+      out.append(appendMessage(builder, key, args));
+    } finally {
+      buffer.release(builder);
+    }
+  }
+
+  private void appendMessage(final Appendable out, final String key, final int count, final Object arg0,
+      final Object arg1, final Object arg2, final Object arg3) throws IOException {
+    validateOutput(out);
+
+    RenderBuffer buffer = RENDER_BUFFERS.get();
+    StringBuilder builder = buffer.acquire();
+
+    try {
+      out.append(appendMessage(builder, key, count, arg0, arg1, arg2, arg3));
+    } finally {
+      buffer.release(builder);
+    }
+  }
+
+  private StringBuilder appendMessage(final StringBuilder out, final String key, final int count,
+      final Object arg0, final Object arg1, final Object arg2, final Object arg3) {
+    validateOutput(out);
+
+    long start = Metrics.startNanos();
+
+    try {
+      cache.get(key, this::getPattern).formatTo(out, count, arg0, arg1, arg2, arg3);
+      return out;
+    } finally {
+      Metrics.recordSince(FORMAT_TIMER, start);
+    }
+  }
+
+  private static void validateOutput(final Appendable out) {
+    if (out == null) {
+      throw new IllegalArgumentException("Output can not be null.");
+    }
+  }
+
+  /**
+   * Retrieves a snapshot of the compiled message cache counters.
+   * 
+   * @return the current cache statistics.
+   */
+  public MessageCacheStats getCacheStats() {
+    return cache.getStats();
+  }
+
+  /**
+   * Discards every compiled message. Counters are kept.
+   */
+  public void clearCache() {
+    cache.clear();
+  }
+
+  private String getPattern(final String key) {
+    return getBundle().getString(key);
+  }
+
+  private ResourceBundle getBundle() {
+    ResourceBundle loaded = bundle;
+
+    if (loaded == null) {
+      synchronized (this) {
+        loaded = bundle;
+
+        if (loaded == null) {
+          if (control != null) {
+            loaded = ResourceBundle.getBundle(bundleName, locale == null ? Locale.getDefault() : locale, control);
+          } else {
+            loaded = locale == null ? ResourceBundle.getBundle(bundleName)
+                : ResourceBundle.getBundle(bundleName, locale);
+          }
+
+          bundle = loaded;
+        }
+      }
+    }
+
+    return loaded;
+  }
+
+  /**
+   * Builder a thread renders messages into before appending them to an
+   * <code>Appendable</code>.
+   */
+  private static final class RenderBuffer {
+    private StringBuilder builder = new StringBuilder(256);
+    private boolean busy;
+
+    /**
+     * Borrows the builder, or a fresh one when it is already in use because
+     * rendering an argument renders another message on this thread.
+     */
+    private StringBuilder acquire() {
+      if (busy) {
+        return new StringBuilder();
+      }
+
+      busy = true;
+      builder.setLength(0);
+
+      return builder;
+    }
+
+    private void release(final StringBuilder borrowed) {
+      if (borrowed != builder) {
+        return;
+      }
+
+      busy = false;
+
+      if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+        builder = new StringBuilder(256);
+      }
+    }
+  }
+
+  public static class Builder {
+    private String bundleName;
+    private Locale locale;
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+    private StringPool keyPool;
+    private ResourceBundle.Control control;
+
+    public Builder(final String bundleName) {
+      this.bundleName = bundleName;
+    }
+
+    /**
+     * Sets the locale of the messages, used both to pick the bundle and to
+     * format number and date arguments. Defaults to the default locale.
+     * 
+     * @param locale the messages locale.
+     * 
+     * @return this builder.
+     * 
+     * @see MessageCatalog
+     */
+    public Builder locale(final Locale locale) {
+      this.locale = locale;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of compiled messages to keep. When the limit is
+     * reached the least recently used message is evicted.
+     * 
+     * @param cacheSize the maximum number of cached messages; <code>0</code>
+     *                  disables caching.
+     * 
+     * @return this builder.
+     */
+    public Builder cacheSize(final int cacheSize) {
+      if (cacheSize < 0) {
+        throw new IllegalArgumentException("Cache size can not be negative.");
+      }
+
+      this.cacheSize = cacheSize;
+      return this;
+    }
+
+    /**
+     * Sets a pool in which the keys of cached messages are interned, so
+     * managers sharing the pool retain a single instance of each key, even
+     * when callers build keys dynamically. Disabled by default.
+     * 
+     * @param keyPool the pool of keys, or <code>null</code> to retain keys as
+     *                given.
+     * 
+     * @return this builder.
+     */
+    public Builder keyPool(final StringPool keyPool) {
+      this.keyPool = keyPool;
+      return this;
+    }
+
+    /**
+     * Sets the control used to load the bundle, so tests can observe how
+     * often it is loaded. Defaults to the standard lookup.
+     * 
+     * @param control the bundle loading control, or <code>null</code> for the
+     *                standard lookup.
+     * 
+     * @return this builder.
+     */
+    Builder control(final ResourceBundle.Control control) {
+      this.control = control;
+      return this;
+    }
+
+    public MessageManager build() {
+      return new MessageManager(this);
+    }
+  }
+}
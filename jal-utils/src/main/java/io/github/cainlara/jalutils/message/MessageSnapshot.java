@@ -0,0 +1,216 @@
+package io.github.cainlara.jalutils.message;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Binary format of <code>MessageCatalog</code> snapshots.
+ * <p>
+ * Snapshots hold compiled messages rather than patterns, so loading them does
+ * not parse anything. The layout is a magic number and a version, followed by
+ * the bundle name, the fingerprint of the bundle resources and, for every
+ * locale, its language tag and its messages.
+ * Each message is its key, a kind byte and the data of the kind: the text of
+ * literals, the literals and argument indexes of segmented messages, or the
+ * pattern of messages formatted by <code>MessageFormat</code>. Numbers are big
+ * endian and strings are UTF-8 prefixed by their length in bytes.
+ * 
+ * @author jalara
+ */
+final class MessageSnapshot {
+  private static final int MAGIC = 0x4A4D4353;
+  private static final int VERSION = 2;
+  private static final byte LITERAL = 0;
+  private static final byte SEGMENTED = 1;
+  private static final byte FORMATTED = 2;
+
+  private MessageSnapshot() {
+    // hide constructor
+  }
+
+  static void write(final MessageCatalog catalog, final Path file) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      writeString(out, catalog.getBundleName());
+      out.writeLong(catalog.getFingerprint());
+      out.writeInt(catalog.getAllMessages().size());
+
+      for (LocaleMessages localeMessages : catalog.getAllMessages().values()) {
+        Map<String, CompiledMessage> messages = localeMessages.getCompiledMessages();
+
+        writeString(out, localeMessages.getLocale().toLanguageTag());
+        out.writeInt(messages.size());
+
+        for (Map.Entry<String, CompiledMessage> entry : messages.entrySet()) {
+          writeString(out, entry.getKey());
+          writeMessage(out, entry.getValue());
+        }
+      }
+    }
+
+    Path folder = file.toAbsolutePath().getParent();
+    Path temporary = Files.createTempFile(folder, file.getFileName().toString(), ".tmp");
+
+    try {
+      Files.write(temporary, bytes.toByteArray());
+
+      try {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  static MessageCatalog read(final Path file) throws IOException {
+    ByteBuffer buffer;
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    try {
+      return new Reader(buffer).read();
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException(file.toAbsolutePath() + " is not a valid message snapshot.", e);
+    }
+  }
+
+  private static void writeMessage(final DataOutputStream out, final CompiledMessage message) throws IOException {
+    if (message instanceof CompiledMessage.Literal) {
+      out.writeByte(LITERAL);
+      writeString(out, ((CompiledMessage.Literal) message).getText());
+    } else if (message instanceof CompiledMessage.Segmented) {
+      CompiledMessage.Segmented segmented = (CompiledMessage.Segmented) message;
+      String[] literals = segmented.getLiterals();
+      int[] arguments = segmented.getArguments();
+
+      out.writeByte(SEGMENTED);
+      out.writeInt(arguments.length);
+      writeString(out, literals[0]);
+
+      for (int index = 0; index < arguments.length; index++) {
+        out.writeInt(arguments[index]);
+        writeString(out, literals[index + 1]);
+      }
+    } else {
+      out.writeByte(FORMATTED);
+      writeString(out, ((CompiledMessage.Formatted) message).getPattern());
+    }
+  }
+
+  private static void writeString(final DataOutputStream out, final String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static final class Reader {
+    private final ByteBuffer buffer;
+    private byte[] bytes = new byte[256];
+
+    private Reader(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private MessageCatalog read() throws IOException {
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a message snapshot.");
+      }
+
+      int version = buffer.getInt();
+
+      if (version != VERSION) {
+        throw new IOException("Unsupported message snapshot version " + version + ".");
+      }
+
+      String bundleName = readString();
+      long fingerprint = buffer.getLong();
+      int localeCount = readCount();
+      Map<Locale, LocaleMessages> catalog = new LinkedHashMap<>();
+
+      for (int localeIndex = 0; localeIndex < localeCount; localeIndex++) {
+        Locale locale = Locale.forLanguageTag(readString());
+        int messageCount = readCount();
+        Map<String, CompiledMessage> messages = new HashMap<>(messageCount * 4 / 3 + 1);
+
+        for (int messageIndex = 0; messageIndex < messageCount; messageIndex++) {
+          String key = readString();
+
+          messages.put(key, readMessage(locale));
+        }
+
+        catalog.put(locale, new LocaleMessages(bundleName, locale, messages));
+      }
+
+      return new MessageCatalog(bundleName, catalog, fingerprint);
+    }
+
+    private CompiledMessage readMessage(final Locale locale) throws IOException {
+      byte kind = buffer.get();
+
+      switch (kind) {
+      case LITERAL:
+        return new CompiledMessage.Literal(readString());
+      case SEGMENTED:
+        int argumentCount = readCount();
+        String[] literals = new String[argumentCount + 1];
+        int[] arguments = new int[argumentCount];
+
+        literals[0] = readString();
+
+        for (int index = 0; index < argumentCount; index++) {
+          arguments[index] = readCount();
+          literals[index + 1] = readString();
+        }
+
+        return new CompiledMessage.Segmented(literals, arguments, locale);
+      case FORMATTED:
+        return new CompiledMessage.Formatted(readString(), locale);
+      default:
+        throw new IOException("Unknown message kind " + kind + ".");
+      }
+    }
+
+    private int readCount() throws IOException {
+      int count = buffer.getInt();
+
+      if (count < 0 || count > buffer.capacity()) {
+        throw new IOException("Invalid count " + count + ".");
+      }
+
+      return count;
+    }
+
+    private String readString() throws IOException {
+      int length = readCount();
+
+      if (bytes.length < length) {
+        bytes = new byte[Math.max(length, bytes.length * 2)];
+      }
+
+      buffer.get(bytes, 0, length);
+      return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package io.github.cainlara.jalutils.metrics;
+
+/**
+ * Immutable copy of a <code>LongHistogram</code>.
+ * 
+ * @author jalara
+ */
+public final class HistogramSnapshot {
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long min;
+  private final long max;
+
+  HistogramSnapshot(final long[] counts, final long count, final long sum, final long min, final long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.min = min;
+    this.max = max;
+  }
+
+  /**
+   * @return number of recorded values.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return sum of the recorded values.
+   */
+  public long getSum() {
+    return sum;
+  }
+
+  /**
+   * @return lowest recorded value, or <code>0</code> if there is none.
+   */
+  public long getMin() {
+    return min;
+  }
+
+  /**
+   * @return highest recorded value, or <code>0</code> if there is none.
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * @return mean of the recorded values, or <code>0</code> if there is none.
+   */
+  public double getMean() {
+    return count == 0 ? 0D : (double) sum / count;
+  }
+
+  /**
+   * Retrieves the value below which a percentage of the recorded values fall.
+   * 
+   * @param percentile the percentile, between <code>0</code> and
+   *                   <code>100</code>.
+   * 
+   * @return the upper bound of the bucket holding the percentile, capped to
+   *         the highest recorded value.
+   */
+  public long getPercentile(final double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+    }
+
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+
+    for (int bucket = 0; bucket < counts.length; bucket++) {
+      seen += counts[bucket];
+
+      if (seen >= rank) {
+        return Math.min(max, LongHistogram.highestValueOf(bucket));
+      }
+    }
+
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "HistogramSnapshot [count=" + count + ", min=" + min + ", mean=" + getMean() + ", p50="
+        + getPercentile(50) + ", p99=" + getPercentile(99) + ", max=" + max + "]";
+  }
+}
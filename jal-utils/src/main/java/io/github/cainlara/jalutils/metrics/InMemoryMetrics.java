@@ -0,0 +1,93 @@
+package io.github.cainlara.jalutils.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <code>JalMetrics</code> implementation keeping every metric in memory until
+ * it is read through {@link #snapshot()}.
+ * <p>
+ * Counters are <code>LongAdder</code> instances and timers and histograms are
+ * <code>LongHistogram</code> instances, so concurrent recording never locks.
+ * 
+ * @author jalara
+ */
+public final class InMemoryMetrics implements JalMetrics {
+  private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongHistogram> timers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongHistogram> histograms = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public void count(final String name, final long delta) {
+    LongAdder counter = counters.get(name);
+
+    if (counter == null) {
+      counter = counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    counter.add(delta);
+  }
+
+  @Override
+  public void recordNanos(final String name, final long nanos) {
+    histogram(timers, name).record(nanos);
+  }
+
+  @Override
+  public void recordValue(final String name, final long value) {
+    histogram(histograms, name).record(value);
+  }
+
+  /**
+   * Copies every metric collected so far.
+   * 
+   * @return the snapshot, with metrics sorted by name.
+   */
+  public MetricsSnapshot snapshot() {
+    Map<String, Long> counterValues = new TreeMap<>();
+
+    for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+      counterValues.put(counter.getKey(), counter.getValue().sum());
+    }
+
+    return new MetricsSnapshot(counterValues, snapshot(timers), snapshot(histograms));
+  }
+
+  /**
+   * Discards every metric collected so far.
+   */
+  public void reset() {
+    counters.clear();
+    timers.clear();
+    histograms.clear();
+  }
+
+  private static LongHistogram histogram(final ConcurrentMap<String, LongHistogram> histograms,
+      final String name) {
+    LongHistogram histogram = histograms.get(name);
+
+    if (histogram == null) {
+      histogram = histograms.computeIfAbsent(name, key -> new LongHistogram());
+    }
+
+    return histogram;
+  }
+
+  private static Map<String, HistogramSnapshot> snapshot(final Map<String, LongHistogram> histograms) {
+    Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+
+    for (Map.Entry<String, LongHistogram> histogram : histograms.entrySet()) {
+      snapshots.put(histogram.getKey(), histogram.getValue().snapshot());
+    }
+
+    return snapshots;
+  }
+}
@@ -0,0 +1,82 @@
+package io.github.cainlara.jalutils.metrics;
+
+/**
+ * Receives counters, timings and value distributions from the utilities of
+ * this library.
+ * <p>
+ * Instrumented code checks {@link #isEnabled()} before reading the clock, so
+ * a disabled implementation costs a field read and a predictable branch.
+ * Implementations must be thread-safe and must not block.
+ * <p>
+ * Metric names used by the library:
+ * <ul>
+ * <li><code>jalutils.file.copy</code>: timer of <code>FileUtils</code>
+ * copies.</li>
+ * <li><code>jalutils.file.copy.bytes</code>: counter of bytes copied by
+ * <code>FileUtils</code>.</li>
+ * <li><code>jalutils.file.delete</code>: timer of <code>FileUtils</code> file
+ * deletions.</li>
+ * <li><code>jalutils.file.delete.folder</code>: timer of
+ * <code>FileUtils</code> folder deletions.</li>
+ * <li><code>jalutils.fileops.queue.depth</code>: histogram of the number of
+ * operations queued in <code>AsyncFileOps</code>, recorded on
+ * submission.</li>
+ * <li><code>jalutils.fileops.latency</code>: timer of
+ * <code>AsyncFileOps</code> operations, from submission to completion.</li>
+ * <li><code>jalutils.fileops.coalesced</code>: counter of
+ * <code>AsyncFileOps</code> operations merged with queued ones.</li>
+ * <li><code>jalutils.watch.latency</code>: timer of <code>FileWatcher</code>
+ * notifications, from detecting the first change of a batch to running its
+ * listener.</li>
+ * <li><code>jalutils.watch.overflow</code>: counter of <code>FileWatcher</code>
+ * events lost by the watch service or rejected by the executor.</li>
+ * <li><code>jalutils.watch.errors</code>: counter of unexpected failures of
+ * the <code>FileWatcher</code> thread.</li>
+ * <li><code>jalutils.message.format</code>: timer of
+ * <code>MessageManager.getMessage</code>.</li>
+ * <li><code>jalutils.message.snapshot.errors</code>: counter of
+ * <code>MessageCatalog</code> snapshots that could not be checked or
+ * written.</li>
+ * <li><code>jalutils.image.load</code>: timer of
+ * <code>ImageManager.getImageIcon</code>.</li>
+ * <li><code>jalutils.image.decode</code>: timer of image decodes, that is
+ * cache misses.</li>
+ * </ul>
+ * 
+ * @author jalara
+ * 
+ * @see Metrics#install(JalMetrics)
+ */
+public interface JalMetrics {
+
+  /**
+   * @return <code>false</code> if every other method is a no-op, allowing
+   *         callers to skip measuring.
+   */
+  boolean isEnabled();
+
+  /**
+   * Adds a delta to a counter.
+   * 
+   * @param name  the counter name.
+   * @param delta the amount to add.
+   */
+  void count(String name, long delta);
+
+  /**
+   * Records the duration of an operation.
+   * 
+   * @param name  the timer name.
+   * @param nanos the duration in nanoseconds.
+   */
+  void recordNanos(String name, long nanos);
+
+  /**
+   * Records a value in a distribution.
+   * 
+   * @param name  the histogram name.
+   * @param value the value to record; negative values are recorded as
+   *              <code>0</code>.
+   */
+  void recordValue(String name, long value);
+}
@@ -0,0 +1,95 @@
+package io.github.cainlara.jalutils.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative <code>long</code> values.
+ * <p>
+ * Values are counted in log-linear buckets, in the spirit of HdrHistogram:
+ * every power of two is split into 32 sub-buckets, so any recorded value is
+ * reported with a relative error below 3.2% while the whole range of
+ * <code>long</code> fits in 1920 counters. Recording is a handful of atomic
+ * increments and never allocates.
+ * 
+ * @author jalara
+ */
+public final class LongHistogram {
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+  /**
+   * Records a value.
+   * 
+   * @param value the value; negative values are recorded as <code>0</code>.
+   */
+  public void record(final long value) {
+    long fixedValue = Math.max(0L, value);
+
+    counts.incrementAndGet(bucketOf(fixedValue));
+    sum.add(fixedValue);
+
+    long currentMin = min.get();
+
+    while (fixedValue < currentMin && !min.compareAndSet(currentMin, fixedValue)) {
+      currentMin = min.get();
+    }
+
+    long currentMax = max.get();
+
+    while (fixedValue > currentMax && !max.compareAndSet(currentMax, fixedValue)) {
+      currentMax = max.get();
+    }
+  }
+
+  /**
+   * Takes a consistent enough copy of the histogram. Values recorded while the
+   * snapshot is taken may or may not be included.
+   * 
+   * @return the snapshot.
+   */
+  public HistogramSnapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+    long total = 0;
+
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      copy[bucket] = counts.get(bucket);
+      total += copy[bucket];
+    }
+
+    return new HistogramSnapshot(copy, total, sum.sum(), total == 0 ? 0 : min.get(), total == 0 ? 0 : max.get());
+  }
+
+  static int bucketOf(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int shift = magnitude - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Retrieves the highest value that falls into a bucket.
+   */
+  static long highestValueOf(final int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,73 @@
+package io.github.cainlara.jalutils.metrics;
+
+/**
+ * Holds the <code>JalMetrics</code> implementation used by the whole library.
+ * <p>
+ * Until another implementation is installed, <code>NoopMetrics</code> is used,
+ * so instrumentation costs a volatile read and a branch per operation.
+ * 
+ * @author jalara
+ */
+public final class Metrics {
+  private static volatile JalMetrics current = NoopMetrics.INSTANCE;
+
+  private Metrics() {
+    // hide constructor
+  }
+
+  /**
+   * Retrieves the installed implementation.
+   * 
+   * @return the installed implementation, never <code>null</code>.
+   */
+  public static JalMetrics get() {
+    return current;
+  }
+
+  /**
+   * Installs the implementation receiving the library metrics.
+   * 
+   * @param metrics the implementation to install, or <code>null</code> to go
+   *                back to <code>NoopMetrics</code>.
+   */
+  public static void install(final JalMetrics metrics) {
+    current = metrics == null ? NoopMetrics.INSTANCE : metrics;
+  }
+
+  /**
+   * Starts timing an operation, reading the clock only if the installed
+   * implementation is enabled.
+   * 
+   * @return the start time to pass to {@link #recordSince(String, long)}, or
+   *         <code>0</code> if metrics are disabled.
+   */
+  public static long startNanos() {
+    return current.isEnabled() ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * Records the time elapsed since {@link #startNanos()}.
+   * 
+   * @param name       the timer name.
+   * @param startNanos the value returned by {@link #startNanos()}.
+   */
+  public static void recordSince(final String name, final long startNanos) {
+    if (startNanos != 0L) {
+      current.recordNanos(name, System.nanoTime() - startNanos);
+    }
+  }
+
+  /**
+   * Adds a delta to a counter of the installed implementation.
+   * 
+   * @param name  the counter name.
+   * @param delta the amount to add.
+   */
+  public static void count(final String name, final long delta) {
+    JalMetrics metrics = current;
+
+    if (metrics.isEnabled()) {
+      metrics.count(name, delta);
+    }
+  }
+}
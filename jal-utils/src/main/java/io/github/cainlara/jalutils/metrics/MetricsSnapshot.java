@@ -0,0 +1,81 @@
+package io.github.cainlara.jalutils.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable copy of the metrics collected by an <code>InMemoryMetrics</code>.
+ * 
+ * @author jalara
+ * 
+ * @see InMemoryMetrics#snapshot()
+ */
+public final class MetricsSnapshot {
+  private final Map<String, Long> counters;
+  private final Map<String, HistogramSnapshot> timers;
+  private final Map<String, HistogramSnapshot> histograms;
+
+  MetricsSnapshot(final Map<String, Long> counters, final Map<String, HistogramSnapshot> timers,
+      final Map<String, HistogramSnapshot> histograms) {
+    this.counters = Collections.unmodifiableMap(counters);
+    this.timers = Collections.unmodifiableMap(timers);
+    this.histograms = Collections.unmodifiableMap(histograms);
+  }
+
+  /**
+   * @param name the counter name.
+   * 
+   * @return the counter value, or <code>0</code> if it was never updated.
+   */
+  public long getCounter(final String name) {
+    Long value = counters.get(name);
+
+    return value == null ? 0L : value;
+  }
+
+  /**
+   * @param name the timer name.
+   * 
+   * @return the distribution of durations in nanoseconds, or
+   *         <code>null</code> if nothing was recorded.
+   */
+  public HistogramSnapshot getTimer(final String name) {
+    return timers.get(name);
+  }
+
+  /**
+   * @param name the histogram name.
+   * 
+   * @return the distribution of values, or <code>null</code> if nothing was
+   *         recorded.
+   */
+  public HistogramSnapshot getHistogram(final String name) {
+    return histograms.get(name);
+  }
+
+  /**
+   * @return every counter by name.
+   */
+  public Map<String, Long> getCounters() {
+    return counters;
+  }
+
+  /**
+   * @return every timer by name.
+   */
+  public Map<String, HistogramSnapshot> getTimers() {
+    return timers;
+  }
+
+  /**
+   * @return every histogram by name.
+   */
+  public Map<String, HistogramSnapshot> getHistograms() {
+    return histograms;
+  }
+
+  @Override
+  public String toString() {
+    return "MetricsSnapshot [counters=" + counters + ", timers=" + timers + ", histograms=" + histograms + "]";
+  }
+}
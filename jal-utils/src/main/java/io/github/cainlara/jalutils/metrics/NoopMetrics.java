@@ -0,0 +1,38 @@
+package io.github.cainlara.jalutils.metrics;
+
+/**
+ * <code>JalMetrics</code> implementation that discards everything. This is the
+ * default implementation.
+ * 
+ * @author jalara
+ */
+public final class NoopMetrics implements JalMetrics {
+  /**
+   * The only instance of this class.
+   */
+  public static final NoopMetrics INSTANCE = new NoopMetrics();
+
+  private NoopMetrics() {
+    // hide constructor
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+
+  @Override
+  public void count(final String name, final long delta) {
+    // discarded
+  }
+
+  @Override
+  public void recordNanos(final String name, final long nanos) {
+    // discarded
+  }
+
+  @Override
+  public void recordValue(final String name, final long value) {
+    // discarded
+  }
+}
@@ -0,0 +1,109 @@
+package io.github.cainlara.jalutils.text;
+
+/**
+ * Read-only view over a range of another <code>CharSequence</code>.
+ * <p>
+ * Creating a slice never copies characters; only {@link #toString()} does.
+ * Slices are only as immutable as the sequence they view: slicing a
+ * <code>StringBuilder</code> that is later modified changes the slice too.
+ * 
+ * @author jalara
+ */
+public final class CharSlice implements CharSequence {
+  private final CharSequence source;
+  private final int start;
+  private final int end;
+
+  /**
+   * Creates a view over <code>source</code> from <code>start</code>,
+   * inclusive, to <code>end</code>, exclusive.
+   * 
+   * @param source the viewed sequence.
+   * @param start  the first index of the view.
+   * @param end    the index following the last character of the view.
+   */
+  public CharSlice(final CharSequence source, final int start, final int end) {
+    if (source == null) {
+      throw new IllegalArgumentException("Source can not be null.");
+    }
+
+    if (start < 0 || end > source.length() || start > end) {
+      throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") for length " + source.length());
+    }
+
+    this.source = source;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  public int length() {
+    return end - start;
+  }
+
+  @Override
+  public char charAt(final int index) {
+    if (index < 0 || index >= end - start) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of length " + (end - start));
+    }
+
+    return source.charAt(start + index);
+  }
+
+  @Override
+  public CharSequence subSequence(final int from, final int to) {
+    if (from < 0 || to > end - start || from > to) {
+      throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ") for length " + (end - start));
+    }
+
+    return new CharSlice(source, start + from, start + to);
+  }
+
+  /**
+   * Compares the characters of this slice with another sequence, without
+   * allocating.
+   * 
+   * @param other the sequence to compare with.
+   * 
+   * @return <code>true</code> if and only if both have the same characters.
+   */
+  public boolean contentEquals(final CharSequence other) {
+    if (other == null || other.length() != end - start) {
+      return false;
+    }
+
+    for (int index = 0; index < end - start; index++) {
+      if (source.charAt(start + index) != other.charAt(index)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return obj instanceof CharSlice && contentEquals((CharSlice) obj);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 0;
+
+    for (int index = start; index < end; index++) {
+      hash = 31 * hash + source.charAt(index);
+    }
+
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    if (source instanceof String) {
+      return ((String) source).substring(start, end);
+    }
+
+    // sources may return slices from subSequence, so copy the characters here
+    return new StringBuilder(end - start).append(source, start, end).toString();
+  }
+}
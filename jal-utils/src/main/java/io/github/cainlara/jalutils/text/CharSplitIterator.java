@@ -0,0 +1,57 @@
+package io.github.cainlara.jalutils.text;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the tokens of a text separated by a single character, as
+ * <code>CharSlice</code> views.
+ * <p>
+ * Empty tokens are kept, so <code>"a,,b,"</code> yields <code>a</code>, an
+ * empty token, <code>b</code> and a final empty token.
+ * 
+ * @author jalara
+ */
+public final class CharSplitIterator implements Iterator<CharSequence> {
+  private final CharSequence text;
+  private final char delimiter;
+  private int position;
+
+  /**
+   * Creates an iterator over the tokens of <code>text</code>.
+   * 
+   * @param text      the text to split.
+   * @param delimiter the character separating tokens.
+   */
+  public CharSplitIterator(final CharSequence text, final char delimiter) {
+    if (text == null) {
+      throw new IllegalArgumentException("Text can not be null.");
+    }
+
+    this.text = text;
+    this.delimiter = delimiter;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return position <= text.length();
+  }
+
+  @Override
+  public CharSequence next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    int start = position;
+    int end = start;
+
+    while (end < text.length() && text.charAt(end) != delimiter) {
+      end++;
+    }
+
+    position = end + 1;
+
+    return new CharSlice(text, start, end);
+  }
+}
@@ -0,0 +1,212 @@
+package io.github.cainlara.jalutils.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Replaces several literal patterns in a single pass over the text, using an
+ * Aho-Corasick automaton.
+ * <p>
+ * The automaton is compiled once into a transition table, so scanning a text
+ * costs one table lookup per character no matter how many patterns there are.
+ * Overlapping matches are resolved leftmost first and, among matches starting
+ * at the same index, longest first. Instances are immutable and thread-safe.
+ * 
+ * @author jalara
+ */
+public final class LiteralReplacer {
+  private final String[] patterns;
+  private final String[] replacements;
+  private final int[] asciiClasses = new int[128];
+  private final char[] otherChars;
+  private final int[] otherClasses;
+  private final int alphabetSize;
+  private final int[] transitions;
+  private final int[] outputs;
+  private final int[] outputLinks;
+
+  /**
+   * Compiles a replacer.
+   * 
+   * @param replacements the patterns to look for, mapped to their
+   *                     replacements. Patterns can not be empty.
+   */
+  public LiteralReplacer(final Map<String, String> replacements) {
+    if (replacements == null || replacements.isEmpty()) {
+      throw new IllegalArgumentException("Replacements can not be null nor empty.");
+    }
+
+    Map<String, String> ordered = new LinkedHashMap<>(replacements);
+    this.patterns = ordered.keySet().toArray(new String[0]);
+    this.replacements = ordered.values().toArray(new String[0]);
+
+    int classes = 1;
+    SortedSet<Character> others = new TreeSet<>();
+
+    for (int index = 0; index < patterns.length; index++) {
+      if (patterns[index] == null || patterns[index].isEmpty() || this.replacements[index] == null) {
+        throw new IllegalArgumentException("Patterns and replacements can not be null, patterns can not be empty.");
+      }
+
+      for (char c : patterns[index].toCharArray()) {
+        if (c >= asciiClasses.length) {
+          others.add(c);
+        } else if (asciiClasses[c] == 0) {
+          asciiClasses[c] = classes++;
+        }
+      }
+    }
+
+    this.otherChars = new char[others.size()];
+    this.otherClasses = new int[others.size()];
+
+    int other = 0;
+
+    for (char c : others) {
+      otherChars[other] = c;
+      otherClasses[other++] = classes++;
+    }
+
+    this.alphabetSize = classes;
+
+    List<int[]> trie = new ArrayList<>();
+    List<Integer> terminal = new ArrayList<>();
+
+    trie.add(new int[alphabetSize]);
+    terminal.add(-1);
+
+    for (int index = 0; index < patterns.length; index++) {
+      int state = 0;
+
+      for (char c : patterns[index].toCharArray()) {
+        int cls = classOf(c);
+
+        if (trie.get(state)[cls] == 0) {
+          trie.get(state)[cls] = trie.size();
+          trie.add(new int[alphabetSize]);
+          terminal.add(-1);
+        }
+
+        state = trie.get(state)[cls];
+      }
+
+      terminal.set(state, index);
+    }
+
+    int states = trie.size();
+    this.transitions = new int[states * alphabetSize];
+    this.outputs = new int[states];
+    this.outputLinks = new int[states];
+
+    int[] failures = new int[states];
+    Queue<Integer> queue = new ArrayDeque<>();
+
+    for (int state = 0; state < states; state++) {
+      outputs[state] = terminal.get(state);
+    }
+
+    Arrays.fill(outputLinks, -1);
+
+    for (int cls = 1; cls < alphabetSize; cls++) {
+      int next = trie.get(0)[cls];
+
+      transitions[cls] = next;
+
+      if (next != 0) {
+        queue.add(next);
+      }
+    }
+
+    while (!queue.isEmpty()) {
+      int state = queue.remove();
+      int failure = failures[state];
+
+      outputLinks[state] = outputs[failure] >= 0 ? failure : outputLinks[failure];
+
+      for (int cls = 1; cls < alphabetSize; cls++) {
+        int next = trie.get(state)[cls];
+
+        if (next == 0) {
+          transitions[state * alphabetSize + cls] = transitions[failure * alphabetSize + cls];
+        } else {
+          transitions[state * alphabetSize + cls] = next;
+          failures[next] = transitions[failure * alphabetSize + cls];
+          queue.add(next);
+        }
+      }
+    }
+  }
+
+  /**
+   * Replaces every match of the patterns in <code>text</code>.
+   * 
+   * @param text the text to process.
+   * 
+   * @return the text with every match replaced, or the text itself if it is a
+   *         <code>String</code> without matches.
+   */
+  public String replace(final CharSequence text) {
+    if (text == null) {
+      return null;
+    }
+
+    int length = text.length();
+    int[] matchAtStart = null;
+    int state = 0;
+
+    for (int index = 0; index < length; index++) {
+      state = transitions[state * alphabetSize + classOf(text.charAt(index))];
+
+      for (int match = outputs[state] >= 0 ? state : outputLinks[state]; match > 0; match = outputLinks[match]) {
+        int pattern = outputs[match];
+        int start = index - patterns[pattern].length() + 1;
+
+        if (matchAtStart == null) {
+          matchAtStart = new int[length];
+        }
+
+        int current = matchAtStart[start] - 1;
+
+        if (current < 0 || patterns[current].length() < patterns[pattern].length()) {
+          matchAtStart[start] = pattern + 1;
+        }
+      }
+    }
+
+    if (matchAtStart == null) {
+      return text.toString();
+    }
+
+    StringBuilder result = new StringBuilder(length + 16);
+
+    for (int index = 0; index < length;) {
+      int pattern = matchAtStart[index] - 1;
+
+      if (pattern >= 0) {
+        result.append(replacements[pattern]);
+        index += patterns[pattern].length();
+      } else {
+        result.append(text.charAt(index++));
+      }
+    }
+
+    return result.toString();
+  }
+
+  private int classOf(final char c) {
+    if (c < asciiClasses.length) {
+      return asciiClasses[c];
+    }
+
+    int index = Arrays.binarySearch(otherChars, c);
+
+    return index < 0 ? 0 : otherClasses[index];
+  }
+}
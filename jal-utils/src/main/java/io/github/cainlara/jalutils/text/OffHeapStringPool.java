@@ -0,0 +1,348 @@
+package io.github.cainlara.jalutils.text;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pool of strings stored as UTF-8 bytes outside the heap, referenced by
+ * compact <code>int</code> handles.
+ * <p>
+ * Where a {@link StringPool} keeps one <code>String</code> per distinct value,
+ * this pool keeps none: values are appended to a direct
+ * <code>ByteBuffer</code> arena and callers hold an <code>int</code> handle
+ * instead, so millions of repeated keys cost four bytes each on the heap and
+ * nothing for the garbage collector to trace. The same characters always get
+ * the same handle, so handles can be compared and hashed directly; the value
+ * is only decoded on demand through {@link #get(int)} or
+ * {@link #appendTo(StringBuilder, int)}.
+ * <p>
+ * Handles stay valid for the lifetime of the pool, so nothing is ever evicted:
+ * once the arena or the handle table is full, new values are rejected with
+ * {@link #NO_HANDLE} and callers keep the plain <code>String</code>. Assigning
+ * handles is serialized by a single lock; reading the value of a handle never
+ * locks.
+ *
+ * @author jalara
+ */
+public final class OffHeapStringPool {
+  /**
+   * Handle returned when a value can not be pooled because the pool is full.
+   */
+  public static final int NO_HANDLE = -1;
+
+  /**
+   * Default capacity of the byte arena (4 MiB).
+   */
+  public static final int DEFAULT_ARENA_CAPACITY = 4 * 1024 * 1024;
+
+  /**
+   * Default maximum number of handles.
+   */
+  public static final int DEFAULT_MAX_SIZE = 64 * 1024;
+
+  private final ByteBuffer arena;
+  private final ByteBuffer writer;
+  private final int[] offsets;
+  private final int[] hashes;
+  private final int[] table;
+  private final int mask;
+  private final int maxSize;
+  private volatile int size;
+  private byte[] scratch = new byte[64];
+  private long hits;
+  private long misses;
+  private long rejections;
+
+  private OffHeapStringPool(final Builder builder) {
+    int capacity = Integer.highestOneBit(builder.maxSize * 2 - 1) << 1;
+
+    this.arena = ByteBuffer.allocateDirect(builder.arenaCapacity);
+    this.writer = arena.duplicate();
+    this.offsets = new int[builder.maxSize + 1];
+    this.hashes = new int[builder.maxSize];
+    this.table = new int[capacity];
+    this.mask = capacity - 1;
+    this.maxSize = builder.maxSize;
+  }
+
+  /**
+   * Retrieves the handle of a value, pooling it if absent.
+   *
+   * @param value the value.
+   *
+   * @return the handle of the value, or {@link #NO_HANDLE} if it is absent and
+   *         the pool is full.
+   */
+  public int handle(final String value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Value can not be null.");
+    }
+
+    return handle(value, 0, value.length(), value.hashCode());
+  }
+
+  /**
+   * Retrieves the handle of a range of characters, pooling it if absent. No
+   * <code>String</code> is created either way.
+   *
+   * @param sequence the sequence holding the value.
+   * @param start    the first index of the value.
+   * @param end      the index following the last character of the value.
+   *
+   * @return the handle of the value, or {@link #NO_HANDLE} if it is absent and
+   *         the pool is full.
+   */
+  public int handle(final CharSequence sequence, final int start, final int end) {
+    if (sequence == null) {
+      throw new IllegalArgumentException("Sequence can not be null.");
+    }
+
+    if (start < 0 || end > sequence.length() || start > end) {
+      throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") for length " + sequence.length());
+    }
+
+    return handle(sequence, start, end, StringPool.hash(sequence, start, end));
+  }
+
+  /**
+   * Decodes the value of a handle.
+   *
+   * @param handle a handle returned by this pool.
+   *
+   * @return a new <code>String</code> with the value.
+   */
+  public String get(final int handle) {
+    ByteBuffer bytes = getBytes(handle);
+    byte[] copy = new byte[bytes.remaining()];
+
+    bytes.get(copy);
+
+    return new String(copy, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Appends the value of a handle to a builder. ASCII values are appended
+   * without creating a <code>String</code>.
+   *
+   * @param out    the builder to append to.
+   * @param handle a handle returned by this pool.
+   *
+   * @return <code>out</code>.
+   */
+  public StringBuilder appendTo(final StringBuilder out, final int handle) {
+    if (out == null) {
+      throw new IllegalArgumentException("Output can not be null.");
+    }
+
+    validateHandle(handle);
+
+    int start = offsets[handle];
+    int end = offsets[handle + 1];
+
+    for (int index = start; index < end; index++) {
+      if (arena.get(index) < 0) {
+        return out.append(get(handle));
+      }
+    }
+
+    out.ensureCapacity(out.length() + end - start);
+
+    for (int index = start; index < end; index++) {
+      out.append((char) arena.get(index));
+    }
+
+    return out;
+  }
+
+  /**
+   * Retrieves the UTF-8 bytes of a handle without copying them.
+   *
+   * @param handle a handle returned by this pool.
+   *
+   * @return a read-only buffer over the bytes of the value.
+   */
+  public ByteBuffer getBytes(final int handle) {
+    validateHandle(handle);
+
+    ByteBuffer bytes = arena.duplicate();
+
+    ((Buffer) bytes).limit(offsets[handle + 1]).position(offsets[handle]);
+
+    return bytes.slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Retrieves the number of pooled values, which is also the next handle.
+   *
+   * @return the number of handles given out.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Retrieves a snapshot of the pool counters. The footprint counts the whole
+   * arena, which is reserved up front, and the handle tables.
+   *
+   * @return the current pool statistics.
+   */
+  public synchronized StringPoolStats getStats() {
+    long footprint = arena.capacity() + 4L * (offsets.length + hashes.length + table.length);
+
+    return new StringPoolStats(hits, misses, 0, rejections, size, footprint);
+  }
+
+  /**
+   * Retrieves the number of arena bytes taken by pooled values.
+   *
+   * @return the used part of the arena.
+   */
+  public int getArenaUsed() {
+    return offsets[size];
+  }
+
+  private synchronized int handle(final CharSequence sequence, final int start, final int end, final int hash) {
+    int count = size;
+
+    // every value takes at least a byte per character and at most three
+    if (end - start > arena.capacity() || 3L * (end - start) > Integer.MAX_VALUE - 8) {
+      misses++;
+      rejections++;
+
+      return NO_HANDLE;
+    }
+
+    int length = encode(sequence, start, end);
+    int slot = StringPool.spread(hash) & mask;
+
+    for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+      if (hashes[entry - 1] == hash && bytesEqual(entry - 1, length)) {
+        hits++;
+
+        return entry - 1;
+      }
+    }
+
+    misses++;
+
+    if (count == maxSize || arena.capacity() - offsets[count] < length) {
+      rejections++;
+
+      return NO_HANDLE;
+    }
+
+    writer.put(scratch, 0, length);
+    offsets[count + 1] = offsets[count] + length;
+    hashes[count] = hash;
+    table[slot] = count + 1;
+    // publishes the bytes and offsets of the new handle to lock-free readers
+    size = count + 1;
+
+    return count;
+  }
+
+  private boolean bytesEqual(final int handle, final int length) {
+    int start = offsets[handle];
+
+    if (offsets[handle + 1] - start != length) {
+      return false;
+    }
+
+    for (int index = 0; index < length; index++) {
+      if (arena.get(start + index) != scratch[index]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Encodes a range into the scratch array as UTF-8, replacing unpaired
+   * surrogates with <code>?</code> like <code>String.getBytes</code> does.
+   */
+  private int encode(final CharSequence sequence, final int start, final int end) {
+    if (scratch.length < (end - start) * 3) {
+      scratch = new byte[(end - start) * 3];
+    }
+
+    byte[] bytes = scratch;
+    int length = 0;
+
+    for (int index = start; index < end; index++) {
+      char c = sequence.charAt(index);
+
+      if (c < 0x80) {
+        bytes[length++] = (byte) c;
+      } else if (c < 0x800) {
+        bytes[length++] = (byte) (0xC0 | c >> 6);
+        bytes[length++] = (byte) (0x80 | c & 0x3F);
+      } else if (Character.isHighSurrogate(c) && index + 1 < end
+          && Character.isLowSurrogate(sequence.charAt(index + 1))) {
+        int codePoint = Character.toCodePoint(c, sequence.charAt(++index));
+
+        bytes[length++] = (byte) (0xF0 | codePoint >> 18);
+        bytes[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+        bytes[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+        bytes[length++] = (byte) (0x80 | codePoint & 0x3F);
+      } else if (Character.isSurrogate(c)) {
+        bytes[length++] = '?';
+      } else {
+        bytes[length++] = (byte) (0xE0 | c >> 12);
+        bytes[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+        bytes[length++] = (byte) (0x80 | c & 0x3F);
+      }
+    }
+
+    return length;
+  }
+
+  private void validateHandle(final int handle) {
+    if (handle < 0 || handle >= size) {
+      throw new IllegalArgumentException("Unknown handle " + handle + ".");
+    }
+  }
+
+  public static class Builder {
+    private int arenaCapacity = DEFAULT_ARENA_CAPACITY;
+    private int maxSize = DEFAULT_MAX_SIZE;
+
+    /**
+     * Sets the capacity of the direct byte arena holding the values, which is
+     * allocated up front.
+     *
+     * @param arenaCapacity the arena capacity in bytes.
+     *
+     * @return this builder.
+     */
+    public Builder arenaCapacity(final int arenaCapacity) {
+      if (arenaCapacity < 1) {
+        throw new IllegalArgumentException("Arena capacity must be positive.");
+      }
+
+      this.arenaCapacity = arenaCapacity;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of handles.
+     *
+     * @param maxSize the maximum number of pooled values.
+     *
+     * @return this builder.
+     */
+    public Builder maxSize(final int maxSize) {
+      if (maxSize < 1 || maxSize > 1 << 29) {
+        throw new IllegalArgumentException("Max size must be between 1 and " + (1 << 29) + ".");
+      }
+
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    public OffHeapStringPool build() {
+      return new OffHeapStringPool(this);
+    }
+  }
+}
@@ -0,0 +1,373 @@
+package io.github.cainlara.jalutils.text;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe pool of canonical <code>String</code> instances.
+ * <p>
+ * Interning a value returns the instance already pooled for the same
+ * characters, so repeated keys, extensions or tokens are retained once
+ * instead of once per caller. Unlike <code>String.intern()</code> the pool is
+ * bounded: past its maximum size the least recently hit values are dropped
+ * through a CLOCK sweep, and values only stay canonical while pooled.
+ * <p>
+ * The table is split into stripes, each guarded by its own lock, so threads
+ * interning different values rarely contend; values already pooled are
+ * usually found without taking the lock at all. Every stripe is an open
+ * addressing table with linear probing that stores the hash of each value
+ * next to it, and lookups compare characters in place, so interning a range
+ * of a larger sequence through {@link #intern(CharSequence, int, int)}
+ * allocates nothing when the value is already pooled.
+ *
+ * @author jalara
+ *
+ * @see OffHeapStringPool
+ */
+public final class StringPool {
+  /**
+   * Default maximum number of pooled values.
+   */
+  public static final int DEFAULT_MAX_SIZE = 64 * 1024;
+
+  /**
+   * Default number of independently locked stripes.
+   */
+  public static final int DEFAULT_STRIPES = 16;
+
+  /**
+   * Estimated heap bytes of a <code>String</code> besides its characters: the
+   * object and the header of its array.
+   */
+  private static final int STRING_OVERHEAD = 40;
+
+  private final Stripe[] stripes;
+  private final int stripeShift;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final AtomicLong footprint = new AtomicLong();
+
+  private StringPool(final Builder builder) {
+    int stripeCount = builder.stripes == 1 ? 1 : Integer.highestOneBit(builder.stripes - 1) << 1;
+    int stripeSize = (builder.maxSize + stripeCount - 1) / stripeCount;
+    long tableBytes = 0;
+
+    this.stripes = new Stripe[stripeCount];
+    this.stripeShift = 32 - Integer.numberOfTrailingZeros(stripeCount);
+
+    for (int index = 0; index < stripeCount; index++) {
+      stripes[index] = new Stripe(stripeSize);
+      tableBytes += stripes[index].values.length * 9L;
+    }
+
+    footprint.set(tableBytes);
+  }
+
+  /**
+   * Retrieves the canonical instance of a value, pooling it if absent.
+   *
+   * @param value the value to intern.
+   *
+   * @return the pooled instance equal to <code>value</code>, which is
+   *         <code>value</code> itself the first time, or <code>null</code> if
+   *         the input is <code>null</code>.
+   */
+  public String intern(final String value) {
+    return value == null ? null : intern(value, 0, value.length(), value.hashCode());
+  }
+
+  /**
+   * Retrieves the canonical instance of a range of characters, pooling a copy
+   * of the range if absent.
+   *
+   * @param sequence the sequence holding the value.
+   * @param start    the first index of the value.
+   * @param end      the index following the last character of the value.
+   *
+   * @return the pooled instance with the characters of the range.
+   */
+  public String intern(final CharSequence sequence, final int start, final int end) {
+    if (sequence == null) {
+      throw new IllegalArgumentException("Sequence can not be null.");
+    }
+
+    if (start < 0 || end > sequence.length() || start > end) {
+      throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") for length " + sequence.length());
+    }
+
+    return intern(sequence, start, end, hash(sequence, start, end));
+  }
+
+  /**
+   * Retrieves a snapshot of the pool counters.
+   *
+   * @return the current pool statistics.
+   */
+  public StringPoolStats getStats() {
+    int size = 0;
+
+    for (Stripe stripe : stripes) {
+      size += stripe.size();
+    }
+
+    return new StringPoolStats(hits.sum(), misses.sum(), evictions.sum(), 0, size, footprint.get());
+  }
+
+  /**
+   * Drops every pooled value. Counters are kept.
+   */
+  public void clear() {
+    for (Stripe stripe : stripes) {
+      footprint.addAndGet(-stripe.clear());
+    }
+  }
+
+  private String intern(final CharSequence sequence, final int start, final int end, final int hash) {
+    int spread = spread(hash);
+
+    // the top bits pick the stripe and the low bits the slot; a single stripe
+    // shifts all 32 bits away
+    int stripe = (int) ((spread & 0xFFFFFFFFL) >>> stripeShift);
+
+    return stripes[stripe].intern(sequence, start, end, hash, spread);
+  }
+
+  /**
+   * Hashes a range like <code>String.hashCode()</code>, so pooled strings can
+   * use their cached hash.
+   */
+  static int hash(final CharSequence sequence, final int start, final int end) {
+    int hash = 0;
+
+    for (int index = start; index < end; index++) {
+      hash = 31 * hash + sequence.charAt(index);
+    }
+
+    return hash;
+  }
+
+  static int spread(final int hash) {
+    int spread = hash * 0x9E3779B9;
+
+    return spread ^ (spread >>> 16);
+  }
+
+  private static boolean contentEquals(final String value, final CharSequence sequence, final int start,
+      final int end) {
+    if (value.length() != end - start) {
+      return false;
+    }
+
+    if (start == 0 && sequence instanceof String) {
+      return value.equals(sequence);
+    }
+
+    for (int index = start; index < end; index++) {
+      if (value.charAt(index - start) != sequence.charAt(index)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static String copy(final CharSequence sequence, final int start, final int end) {
+    if (sequence instanceof String) {
+      return start == 0 && end == sequence.length() ? (String) sequence : ((String) sequence).substring(start, end);
+    }
+
+    return new StringBuilder(end - start).append(sequence, start, end).toString();
+  }
+
+  private static long sizeOf(final String value) {
+    return STRING_OVERHEAD + 2L * value.length();
+  }
+
+  private final class Stripe {
+    private final String[] values;
+    private final int[] hashes;
+    private final boolean[] referenced;
+    private final int mask;
+    private final int maxSize;
+    private int size;
+    private int hand;
+
+    private Stripe(final int maxSize) {
+      int capacity = Integer.highestOneBit(Math.max(2, maxSize) * 2 - 1) << 1;
+
+      this.values = new String[capacity];
+      this.hashes = new int[capacity];
+      this.referenced = new boolean[capacity];
+      this.mask = capacity - 1;
+      this.maxSize = maxSize;
+    }
+
+    private String intern(final CharSequence sequence, final int start, final int end, final int hash,
+        final int spread) {
+      // optimistic probe without the lock: a racing removal can only hide a
+      // value, never match a wrong one, and a hidden value is found again below
+      int slot = spread & mask;
+
+      for (int probes = 0; probes <= mask; probes++, slot = (slot + 1) & mask) {
+        String value = values[slot];
+
+        if (value == null) {
+          break;
+        }
+
+        if (hashes[slot] == hash && contentEquals(value, sequence, start, end)) {
+          referenced[slot] = true;
+          hits.increment();
+
+          return value;
+        }
+      }
+
+      return internLocked(sequence, start, end, hash, spread);
+    }
+
+    private synchronized String internLocked(final CharSequence sequence, final int start, final int end,
+        final int hash, final int spread) {
+      int slot = spread & mask;
+
+      for (String value; (value = values[slot]) != null; slot = (slot + 1) & mask) {
+        if (hashes[slot] == hash && contentEquals(value, sequence, start, end)) {
+          referenced[slot] = true;
+          hits.increment();
+
+          return value;
+        }
+      }
+
+      misses.increment();
+
+      if (size >= maxSize) {
+        evict();
+
+        // evicting shifts entries back, so the free slot may have moved
+        for (slot = spread & mask; values[slot] != null; slot = (slot + 1) & mask) {
+          // probe
+        }
+      }
+
+      String value = copy(sequence, start, end);
+
+      values[slot] = value;
+      hashes[slot] = hash;
+      referenced[slot] = false;
+      size++;
+      footprint.addAndGet(sizeOf(value));
+
+      return value;
+    }
+
+    private synchronized int size() {
+      return size;
+    }
+
+    private synchronized long clear() {
+      long released = 0;
+
+      for (int slot = 0; slot < values.length; slot++) {
+        if (values[slot] != null) {
+          released += sizeOf(values[slot]);
+          values[slot] = null;
+          referenced[slot] = false;
+        }
+      }
+
+      size = 0;
+
+      return released;
+    }
+
+    /**
+     * Drops the first value found by the clock hand that was not hit since
+     * the hand last passed it, clearing the marks of those that were.
+     */
+    private void evict() {
+      for (;;) {
+        hand = (hand + 1) & mask;
+
+        if (values[hand] == null) {
+          continue;
+        }
+
+        if (referenced[hand]) {
+          referenced[hand] = false;
+          continue;
+        }
+
+        footprint.addAndGet(-sizeOf(values[hand]));
+        evictions.increment();
+        remove(hand);
+
+        return;
+      }
+    }
+
+    private void remove(final int removed) {
+      int gap = removed;
+
+      for (int slot = (gap + 1) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+        int home = spread(hashes[slot]) & mask;
+
+        if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+          values[gap] = values[slot];
+          hashes[gap] = hashes[slot];
+          referenced[gap] = referenced[slot];
+          gap = slot;
+        }
+      }
+
+      values[gap] = null;
+      referenced[gap] = false;
+      size--;
+    }
+  }
+
+  public static class Builder {
+    private int maxSize = DEFAULT_MAX_SIZE;
+    private int stripes = DEFAULT_STRIPES;
+
+    /**
+     * Sets the maximum number of pooled values. Past it, values not hit
+     * recently are dropped to make room.
+     *
+     * @param maxSize the maximum number of pooled values.
+     *
+     * @return this builder.
+     */
+    public Builder maxSize(final int maxSize) {
+      if (maxSize < 1) {
+        throw new IllegalArgumentException("Max size must be positive.");
+      }
+
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of independently locked stripes, rounded up to a power
+     * of two. More stripes lower contention between threads; each stripe
+     * holds an equal share of the maximum size.
+     *
+     * @param stripes the number of stripes.
+     *
+     * @return this builder.
+     */
+    public Builder stripes(final int stripes) {
+      if (stripes < 1 || stripes > 1 << 16) {
+        throw new IllegalArgumentException("Stripes must be between 1 and 65536.");
+      }
+
+      this.stripes = stripes;
+      return this;
+    }
+
+    public StringPool build() {
+      return new StringPool(this);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package io.github.cainlara.jalutils.text;
+
+/**
+ * Immutable snapshot of the counters of a <code>StringPool</code> or an
+ * <code>OffHeapStringPool</code>.
+ *
+ * @author jalara
+ *
+ * @see StringPool#getStats()
+ * @see OffHeapStringPool#getStats()
+ */
+public final class StringPoolStats {
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+  private final long rejections;
+  private final int size;
+  private final long footprintBytes;
+
+  StringPoolStats(final long hits, final long misses, final long evictions, final long rejections, final int size,
+      final long footprintBytes) {
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.rejections = rejections;
+    this.size = size;
+    this.footprintBytes = footprintBytes;
+  }
+
+  /**
+   * @return number of lookups that found the value already pooled.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * @return number of lookups that did not find the value pooled.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return number of values dropped to keep the pool within its maximum size.
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * @return number of values that could not be pooled because the pool was
+   *         full and can not evict.
+   */
+  public long getRejections() {
+    return rejections;
+  }
+
+  /**
+   * @return number of values currently pooled.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return estimated bytes taken by the pool, its tables included.
+   */
+  public long getFootprintBytes() {
+    return footprintBytes;
+  }
+
+  /**
+   * @return ratio of hits over total lookups, or <code>0</code> if there has
+   *         not been any lookup.
+   */
+  public double getHitRate() {
+    long total = hits + misses;
+
+    return total == 0 ? 0D : (double) hits / total;
+  }
+
+  @Override
+  public String toString() {
+    return "StringPoolStats [hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", rejections="
+        + rejections + ", size=" + size + ", footprintBytes=" + footprintBytes + "]";
+  }
+}
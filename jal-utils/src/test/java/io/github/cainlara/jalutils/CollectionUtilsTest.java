@@ -0,0 +1,235 @@
+package io.github.cainlara.jalutils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class CollectionUtilsTest {
+  
+  @Test
+  public void nullListsAreEqualsTest() {
+    List<String> l1 = null;
+    List<String> l2 = null;
+
+    assertTrue("Null lists must be equal", CollectionUtils.getInstance().sortedListsAreEqual(l1, l2));
+  }
+  
+  @Test
+  public void emptyListsAreEqualsTest() {
+    List<String> l1 = new ArrayList<>();
+    List<String> l2 = new ArrayList<>();
+
+    assertTrue("Empty lists must be equal", CollectionUtils.getInstance().sortedListsAreEqual(l1, l2));
+  }
+
+  @Test
+  public void notNullNotEmptySortedListsAreEqualsTest() {
+    List<String> l1 = Arrays.asList("Larry", "Curly", "Moe");
+    List<String> l2 = new ArrayList<>(l1);
+
+    assertTrue("Not null, not empty lists must be equal", CollectionUtils.getInstance().sortedListsAreEqual(l1, l2));
+  }
+  
+  @Test
+  public void notNullNotEmptySortedListsAreNotEqualsTest() {
+    List<String> l1 = Arrays.asList("Larry", "Curly", "Moe");
+    List<String> l2 = Arrays.asList("Car", "Boat", "Plane");
+
+    assertFalse("Not null, not empty list must not be equal", CollectionUtils.getInstance().sortedListsAreEqual(l1, l2));
+  }
+  
+  @Test
+  public void notNullNotEmptyListsAreEqualsTest() {
+    List<String> l1 = Arrays.asList("Larry", "Curly", "Moe");
+    List<String> l2 = Arrays.asList("Moe", "Larry", "Curly");
+
+    assertTrue("Not null, not empty lists must be equal", CollectionUtils.getInstance().listsAreEqual(l1, l2));
+  }
+  
+  @Test
+  public void notNullNotEmptyListsAreNotEqualsTest() {
+    List<String> l1 = Arrays.asList("Larry", "Curly", "Moe");
+    List<String> l2 = Arrays.asList("Moe", "Larry", "Curly", "Larry");
+
+    assertFalse("Not null, not empty lists must be equal", CollectionUtils.getInstance().listsAreEqual(l1, l2));
+  }
+  
+  @Test
+  public void nullStringNullListEqualsTest() {
+    assertTrue("Null string and null list must be equal", CollectionUtils.getInstance().toList(null) == null);
+  }
+  
+  @Test
+  public void notNullStringNotNullListEqualsTest() {
+    List<String> l1 = Arrays.asList("A", "B", "C", "D", "E");
+    List<String> l2 = CollectionUtils.getInstance().toList("ABCDE");
+    
+    assertTrue("Not null string and not null list must be equal", CollectionUtils.getInstance().listsAreEqual(l1, l2));
+  }
+
+  @Test
+  public void listsWithDifferentDuplicatesAreNotEqualsTest() {
+    List<String> l1 = Arrays.asList("a", "a", "b");
+    List<String> l2 = Arrays.asList("a", "b", "b");
+
+    assertFalse("Duplicates must be counted", CollectionUtils.getInstance().listsAreEqual(l1, l2));
+  }
+
+  @Test
+  public void numericListsAreEqualsTest() {
+    List<Long> l1 = Arrays.asList(3L, 1L, 2L, 1L);
+    List<Long> l2 = Arrays.asList(1L, 2L, 1L, 3L);
+    List<Long> l3 = Arrays.asList(1L, 2L, 2L, 3L);
+
+    assertTrue(CollectionUtils.getInstance().listsAreEqual(l1, l2));
+    assertFalse(CollectionUtils.getInstance().listsAreEqual(l1, l3));
+  }
+
+  @Test
+  public void mixedTypeListsAreNotEqualsTest() {
+    List<Number> l1 = Arrays.<Number>asList(1, 2L);
+    List<Number> l2 = Arrays.<Number>asList(1L, 2);
+
+    assertFalse("Elements must be compared with equals", CollectionUtils.getInstance().listsAreEqual(l1, l2));
+  }
+
+  @Test
+  public void listsWithNullsAreEqualsTest() {
+    List<Object> l1 = Arrays.<Object>asList(null, "Moe", new StringBuilder("Larry").length(), null);
+    List<Object> l2 = Arrays.<Object>asList(5, null, null, "Moe");
+
+    assertTrue(CollectionUtils.getInstance().listsAreEqual(l1, l2));
+  }
+
+  @Test
+  public void toListWithoutBlanksTest() {
+    assertEquals(Arrays.asList("A", "B", "C"), CollectionUtils.getInstance().toList("A B C", false));
+  }
+
+  @Test
+  public void toListByCodePointTest() {
+    String text = "a\uD83D\uDE00 b";
+
+    assertEquals("Surrogate pairs must be split by default", 5, CollectionUtils.getInstance().toList(text).size());
+    assertEquals(Arrays.asList("a", "\uD83D\uDE00", "b"), CollectionUtils.getInstance().toList(text, false, true));
+    assertArrayEquals(new int[] { 'a', 0x1F600, ' ', 'b' }, CollectionUtils.getInstance().toCodePoints(text));
+  }
+
+  @Test
+  public void toCharViewTest() {
+    List<String> view = CollectionUtils.getInstance().toCharView("Moe Larry");
+
+    assertEquals("View must match the copied list", CollectionUtils.getInstance().toList("Moe Larry"), view);
+    assertTrue("Latin-1 characters must be shared", view.get(0) == view.get(0));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void toCharViewIsReadOnlyTest() {
+    CollectionUtils.getInstance().toCharView("Curly").add("!");
+  }
+
+  @Test
+  public void partitionTest() {
+    List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+    List<List<Integer>> parts = CollectionUtils.getInstance().partition(list, 3);
+
+    assertEquals(3, parts.size());
+    assertEquals(Arrays.asList(1, 2, 3), parts.get(0));
+    assertEquals(Arrays.asList(7), parts.get(2));
+
+    parts.get(1).set(0, 40);
+
+    assertEquals("Partitions must be views", Integer.valueOf(40), list.get(3));
+    assertTrue(CollectionUtils.getInstance().partition(new ArrayList<Integer>(), 3).isEmpty());
+  }
+
+  @Test
+  public void parallelBulkTest() {
+    List<Integer> numbers = new ArrayList<>();
+
+    for (int number = 0; number < 10_000; number++) {
+      numbers.add(number);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    try {
+      Map<Integer, List<Integer>> groups = CollectionUtils.getInstance().groupBy(numbers, number -> number % 7, 100,
+          pool);
+      Map<Boolean, Long> counts = CollectionUtils.getInstance().countBy(new LinkedList<>(numbers),
+          number -> number % 2 == 0, 64, pool);
+      List<String> mapped = CollectionUtils.getInstance().map(numbers, String::valueOf, 50, pool);
+
+      assertEquals(7, groups.size());
+      assertEquals(1429, groups.get(0).size());
+
+      for (List<Integer> group : groups.values()) {
+        for (int index = 1; index < group.size(); index++) {
+          assertTrue("Groups must keep the list order", group.get(index - 1) < group.get(index));
+        }
+      }
+
+      // odd numbers in the upper half get keys of their own, so right maps are larger
+      Map<Integer, List<Integer>> skewed = CollectionUtils.getInstance().groupBy(numbers,
+          number -> number % 2 == 0 || number < 5000 ? number % 2 : number, 100, pool);
+
+      assertEquals(2 + 2500, skewed.size());
+      assertEquals(5000, skewed.get(0).size());
+
+      for (int index = 1; index < skewed.get(0).size(); index++) {
+        assertTrue("Groups must keep the list order", skewed.get(0).get(index - 1) < skewed.get(0).get(index));
+      }
+
+      assertEquals(Long.valueOf(5000), counts.get(true));
+      assertEquals(Long.valueOf(5000), counts.get(false));
+      assertEquals(10_000, mapped.size());
+      assertEquals("9999", mapped.get(9999));
+    } finally {
+      pool.shutdown();
+    }
+
+    assertEquals(Long.valueOf(1), CollectionUtils.getInstance().countBy(Arrays.asList("a", "b", "a"), s -> s).get("b"));
+  }
+
+  @Test
+  public void linkedSortedListsAreEqualsTest() {
+    List<Integer> l1 = new LinkedList<>();
+    List<Integer> l2 = new LinkedList<>();
+
+    for (int number = 0; number < 100_000; number++) {
+      l1.add(number);
+      l2.add(number);
+    }
+
+    assertTrue(CollectionUtils.getInstance().sortedListsAreEqual(l1, l2));
+
+    l2.set(99_999, null);
+    assertFalse(CollectionUtils.getInstance().sortedListsAreEqual(l1, l2));
+  }
+
+  @Test
+  public void streamingDiffTest() {
+    List<Integer> l1 = Arrays.asList(1, 3, 5, 7);
+    List<Integer> l2 = Arrays.asList(3, 4, 5);
+
+    assertEquals("[-1,  3, +4,  5, -7]", CollectionUtils.getInstance()
+        .diffSorted(l1, l2, Comparator.<Integer>naturalOrder()).collect(Collectors.toList()).toString());
+    assertEquals(Arrays.asList(1, 3, 3, 4, 5, 5, 7), CollectionUtils.getInstance()
+        .mergeSorted(Arrays.asList(l1, l2), Comparator.<Integer>naturalOrder()).collect(Collectors.toList()));
+    assertEquals("[-1,  3, +4,  5, -7]",
+        CollectionUtils.getInstance().editScript(l1, l2).collect(Collectors.toList()).toString());
+  }
+
+}
@@ -0,0 +1,53 @@
+package io.github.cainlara.jalutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import io.github.cainlara.jalutils.text.StringPool;
+
+public class FileUtilsTest {
+
+  @Test
+  public void addExtension() {
+    String fileName = "GenericName";
+    String extension = "docx";
+    
+    assertEquals("Generated file name must be equals", fileName + '.' + extension, FileUtils.getInstance().addExtension(fileName, extension));
+  }
+
+  @Test
+  public void addExistingExtension() {
+    assertEquals("Existing extension must not be appended", "Report.docx",
+        FileUtils.getInstance().addExtension("Report.docx", "docx"));
+    assertEquals("Existing dotted extension must not be appended", "Report.docx",
+        FileUtils.getInstance().addExtension("Report.docx", ".docx"));
+    assertEquals("Partial extension match must be appended", "Reportdocx.docx",
+        FileUtils.getInstance().addExtension("Reportdocx", "docx"));
+  }
+
+  @Test
+  public void getFileExtension() {
+    assertEquals("gz", FileUtils.getInstance().getFileExtension("/tmp/archive.tar.gz"));
+    assertEquals("txt", FileUtils.getInstance().getFileExtension(new File("build.output", "notes.txt")));
+  }
+
+  @Test
+  public void getPooledFileExtension() {
+    StringPool pool = new StringPool.Builder().build();
+    String extension = FileUtils.getInstance().getFileExtension("/tmp/notes.txt", pool);
+
+    assertEquals("txt", extension);
+    assertSame("Pooled extensions must be shared", extension,
+        FileUtils.getInstance().getFileExtension(new File("build.output", "report.txt"), pool));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getFileExtensionIgnoresFolderDots() {
+    FileUtils.getInstance().getFileExtension("/tmp/build.output/README");
+  }
+
+}
@@ -0,0 +1,82 @@
+package io.github.cainlara.jalutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class StringUtilsTest {
+
+  @Test
+  public void testEmptyStringIsBlank() {
+    assertTrue("[] is a blank string", StringUtils.getInstance().isBlank(""));
+  }
+  
+  @Test
+  public void testStringIsBlank() {
+    assertFalse("[ABCD] is not a blank string", StringUtils.getInstance().isBlank("ABCD"));
+  }
+
+  @Test
+  public void testWhitespaceStringIsBlank() {
+    assertTrue("[ \\t\\n] is a blank string", StringUtils.getInstance().isBlank(" \t\n"));
+    assertTrue("null is a blank string", StringUtils.getInstance().isBlank((String) null));
+    assertFalse("[ A ] is not a blank string", StringUtils.getInstance().isBlank(new StringBuilder(" A ")));
+  }
+
+  @Test
+  public void testUnicodeStringIsBlank() {
+    String emSpaces = "\u2003\u3000 ";
+
+    assertFalse("Unicode spaces are not trimmed", StringUtils.getInstance().isBlank(emSpaces));
+    assertTrue("Unicode spaces are blank in unicode mode", StringUtils.getInstance().isBlank(emSpaces, true));
+    assertFalse("No-break space is not a white space", StringUtils.getInstance().isBlank("\u00A0", true));
+  }
+
+  @Test
+  public void testCountBlanks() {
+    List<String> cells = Arrays.asList("Moe", "", null, "  ", "Larry");
+
+    assertEquals(3, StringUtils.getInstance().countBlanks(cells));
+    assertEquals(3, StringUtils.getInstance().countBlanks(cells, true));
+    assertEquals(3, StringUtils.getInstance().countBlanks(cells.toArray(new String[0])));
+    assertEquals(Arrays.asList("Moe", "Larry"), StringUtils.getInstance().removeBlanks(cells));
+  }
+
+  @Test
+  public void testSplit() {
+    List<String> tokens = new ArrayList<>();
+
+    for (Iterator<CharSequence> it = StringUtils.getInstance().split("a,,b,", ','); it.hasNext();) {
+      tokens.add(it.next().toString());
+    }
+
+    assertEquals(Arrays.asList("a", "", "b", ""), tokens);
+    assertEquals(Arrays.asList("Moe", "Larry", "Curly"), StringUtils.getInstance().splitStream("Moe Larry Curly", ' ')
+        .map(CharSequence::toString).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testJoin() {
+    List<String> names = Arrays.asList("Moe", "Larry", "Curly");
+
+    assertEquals("Moe, Larry, Curly", StringUtils.getInstance().join(", ", names));
+    assertEquals("Moe, Larry, Curly", StringUtils.getInstance().join(", ", names));
+    assertEquals("[Moe|Larry|Curly",
+        StringUtils.getInstance().join(new StringBuilder("["), "|", names).toString());
+  }
+
+  @Test
+  public void testPad() {
+    assertEquals("00042", StringUtils.getInstance().padLeft("42", 5, '0'));
+    assertEquals("42...", StringUtils.getInstance().padRight("42", 5, '.'));
+    assertEquals("123456", StringUtils.getInstance().padLeft("123456", 5, '0'));
+  }
+}
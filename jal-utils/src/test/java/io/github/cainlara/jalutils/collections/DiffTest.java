@@ -0,0 +1,214 @@
+package io.github.cainlara.jalutils.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class DiffTest {
+
+  @Test
+  public void sortedDiffTest() {
+    List<Integer> left = Arrays.asList(1, 2, 2, 4, 7);
+    List<Integer> right = Arrays.asList(2, 3, 4, 4, 8);
+
+    assertEquals("[-1,  2, -2, +3,  4, +4, -7, +8]",
+        collect(new SortedDiff<Integer>(left.iterator(), right.iterator(), Comparator.naturalOrder())).toString());
+
+    Diff<Integer> added = new SortedDiff<Integer>(Collections.<Integer>emptyIterator(), right.iterator(),
+        Comparator.naturalOrder()).next();
+
+    assertEquals(Diff.Kind.ADDED, added.getKind());
+    assertNull(added.getLeft());
+    assertEquals(-1, added.getLeftIndex());
+    assertEquals(0, added.getRightIndex());
+  }
+
+  @Test
+  public void sortedDiffByKeyTest() {
+    List<String> left = Arrays.asList("a=1", "b=2", "c=3");
+    List<String> right = Arrays.asList("a=1", "b=5", "d=4");
+    Comparator<String> byKey = Comparator.comparing(entry -> entry.charAt(0));
+    List<Diff<String>> diffs = collect(new SortedDiff<String>(left.iterator(), right.iterator(), byKey));
+
+    assertEquals(4, diffs.size());
+    assertEquals(Diff.Kind.COMMON, diffs.get(1).getKind());
+    assertEquals("b=2", diffs.get(1).getLeft());
+    assertEquals("b=5", diffs.get(1).getRight());
+    assertEquals(1, diffs.get(1).getLeftIndex());
+    assertEquals(1, diffs.get(1).getRightIndex());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void sortedDiffUnsortedTest() {
+    collect(new SortedDiff<Integer>(Arrays.asList(1, 3, 2).iterator(), Arrays.asList(1, 2, 3).iterator(),
+        Comparator.naturalOrder()));
+  }
+
+  @Test
+  public void sortedMergeTest() {
+    List<Iterator<Integer>> sources = new ArrayList<>();
+
+    sources.add(Arrays.asList(1, 4, 9).iterator());
+    sources.add(Collections.<Integer>emptyIterator());
+    sources.add(Arrays.asList(2, 3, 10, 11).iterator());
+    sources.add(Arrays.asList(0, 4, 5).iterator());
+
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4, 4, 5, 9, 10, 11),
+        collect(new SortedMerge<Integer>(sources, Comparator.naturalOrder())));
+  }
+
+  @Test
+  public void sortedMergeStableTest() {
+    List<Iterator<String>> sources = new ArrayList<>();
+    Comparator<String> byKey = Comparator.comparing(entry -> entry.charAt(0));
+
+    sources.add(Arrays.asList("a0", "b0", "c0").iterator());
+    sources.add(Arrays.asList("a1", "c1").iterator());
+    sources.add(Arrays.asList("a2", "b2").iterator());
+
+    assertEquals(Arrays.asList("a0", "a1", "a2", "b0", "b2", "c0", "c1"),
+        collect(new SortedMerge<String>(sources, byKey)));
+  }
+
+  @Test
+  public void sortedMergeRandomTest() {
+    Random random = new Random(42);
+    List<Iterator<Integer>> sources = new ArrayList<>();
+    List<Integer> expected = new ArrayList<>();
+
+    for (int source = 0; source < 37; source++) {
+      List<Integer> values = new ArrayList<>();
+
+      for (int count = random.nextInt(200); count > 0; count--) {
+        values.add(random.nextInt(1_000));
+      }
+
+      Collections.sort(values);
+      expected.addAll(values);
+      sources.add(values.iterator());
+    }
+
+    Collections.sort(expected);
+    assertEquals(expected, collect(new SortedMerge<Integer>(sources, Comparator.naturalOrder())));
+  }
+
+  @Test
+  public void editScriptTest() {
+    List<Character> left = chars("ABCABBA");
+    List<Character> right = chars("CBABAC");
+    List<Diff<Character>> script = collect(new EditScript<Character>(left, right));
+
+    assertEquals(4, count(script, Diff.Kind.COMMON));
+    assertEquals(right, apply(left, script));
+    assertFalse(new EditScript<Character>(chars(""), chars("")).hasNext());
+    assertEquals("[+x, +y]", collect(new EditScript<Character>(chars(""), chars("xy"))).toString());
+    assertEquals("[-x, -y, +z]", collect(new EditScript<Character>(chars("xy"), chars("z"))).toString());
+  }
+
+  @Test
+  public void editScriptRandomTest() {
+    Random random = new Random(42);
+
+    for (int round = 0; round < 500; round++) {
+      List<Character> left = randomChars(random, random.nextInt(40));
+      List<Character> right = randomChars(random, random.nextInt(40));
+      List<Diff<Character>> script = collect(new EditScript<Character>(left, new LinkedList<>(right)));
+
+      assertEquals(left + " -> " + right, lcs(left, right), count(script, Diff.Kind.COMMON));
+      assertEquals(right, apply(left, script));
+    }
+  }
+
+  private static <T> List<T> collect(final Iterator<T> iterator) {
+    List<T> result = new ArrayList<>();
+
+    while (iterator.hasNext()) {
+      result.add(iterator.next());
+    }
+
+    return result;
+  }
+
+  private static <T> int count(final List<Diff<T>> script, final Diff.Kind kind) {
+    int count = 0;
+
+    for (Diff<T> diff : script) {
+      if (diff.getKind() == kind) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  private static <T> List<T> apply(final List<T> left, final List<Diff<T>> script) {
+    List<T> result = new ArrayList<>();
+    int leftIndex = 0;
+    int rightIndex = 0;
+
+    for (Diff<T> diff : script) {
+      switch (diff.getKind()) {
+      case ADDED:
+        assertEquals(rightIndex++, diff.getRightIndex());
+        result.add(diff.getRight());
+        break;
+      case REMOVED:
+        assertEquals(leftIndex++, diff.getLeftIndex());
+        break;
+      default:
+        assertEquals(leftIndex++, diff.getLeftIndex());
+        assertEquals(rightIndex++, diff.getRightIndex());
+        assertEquals(diff.getLeft(), diff.getRight());
+        result.add(diff.getRight());
+      }
+    }
+
+    assertEquals(left.size(), leftIndex);
+
+    return result;
+  }
+
+  private static int lcs(final List<Character> left, final List<Character> right) {
+    int[][] lengths = new int[left.size() + 1][right.size() + 1];
+
+    for (int x = 1; x <= left.size(); x++) {
+      for (int y = 1; y <= right.size(); y++) {
+        lengths[x][y] = left.get(x - 1).equals(right.get(y - 1)) ? lengths[x - 1][y - 1] + 1
+            : Math.max(lengths[x - 1][y], lengths[x][y - 1]);
+      }
+    }
+
+    return lengths[left.size()][right.size()];
+  }
+
+  private static List<Character> chars(final String value) {
+    List<Character> chars = new ArrayList<>();
+
+    for (char c : value.toCharArray()) {
+      chars.add(c);
+    }
+
+    return chars;
+  }
+
+  private static List<Character> randomChars(final Random random, final int length) {
+    List<Character> chars = new ArrayList<>();
+
+    for (int index = 0; index < length; index++) {
+      chars.add((char) ('a' + random.nextInt(4)));
+    }
+
+    return chars;
+  }
+}
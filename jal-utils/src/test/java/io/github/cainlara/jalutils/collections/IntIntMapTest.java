@@ -0,0 +1,122 @@
+package io.github.cainlara.jalutils.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IntIntMapTest {
+
+  @Test
+  public void putGetRemoveTest() {
+    IntIntMap map = new IntIntMap();
+
+    assertEquals(0, map.put(1, 10));
+    assertEquals(10, map.put(1, 11));
+    assertEquals(0, map.put(0, 5));
+    map.put(-7, 70);
+
+    assertEquals(3, map.size());
+    assertEquals(11, map.get(1));
+    assertEquals(5, map.get(0));
+    assertEquals(70, map.get(-7));
+    assertEquals(0, map.get(2));
+    assertEquals(-1, map.getOrDefault(2, -1));
+    assertTrue(map.containsKey(0));
+    assertFalse(map.containsKey(2));
+
+    assertEquals(5, map.remove(0));
+    assertEquals(11, map.remove(1));
+    assertEquals(0, map.remove(1));
+    assertFalse(map.containsKey(0));
+    assertEquals(1, map.size());
+
+    map.clear();
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void countingTest() {
+    IntIntMap map = new IntIntMap(4, 0.5f);
+
+    map.addAll(new int[] { 3, 1, 3, 0, 3, 0 });
+    map.putAll(new int[] { 8, 9 }, new int[] { 80, 90 });
+
+    assertEquals(3, map.get(3));
+    assertEquals(1, map.get(1));
+    assertEquals(2, map.get(0));
+    assertEquals(80, map.get(8));
+    assertEquals(4, map.addTo(3, 1));
+    assertEquals("Cursor must see every entry once", 4 + 1 + 2 + 80 + 90, sum(map));
+  }
+
+  @Test
+  public void cursorTest() {
+    IntIntMap map = new IntIntMap();
+
+    map.put(0, 1);
+    map.put(4, 2);
+
+    IntIntMap.Cursor cursor = map.cursor();
+
+    while (cursor.advance()) {
+      cursor.setValue(cursor.value() * 10);
+    }
+
+    assertEquals(10, map.get(0));
+    assertEquals(20, map.get(4));
+    assertFalse(new IntIntMap().cursor().advance());
+  }
+
+  @Test
+  public void randomOperationsTest() {
+    Random random = new Random(42);
+    IntIntMap map = new IntIntMap(0);
+    LongIntMap longMap = new LongIntMap(0, 0.9f);
+    Map<Integer, Integer> expected = new HashMap<>();
+
+    for (int step = 0; step < 200_000; step++) {
+      int key = random.nextInt(2_000) - 1_000;
+
+      if (random.nextInt(3) == 0) {
+        Integer removed = expected.remove(key);
+
+        assertEquals(removed == null ? 0 : removed, map.remove(key));
+        assertEquals(removed == null ? 0 : removed, longMap.remove(key * 0x100000000L));
+      } else {
+        expected.merge(key, step, Integer::sum);
+        map.addTo(key, step);
+        longMap.addTo(key * 0x100000000L, step);
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    assertEquals(expected.size(), longMap.size());
+
+    for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+      assertEquals(entry.getValue().intValue(), map.get(entry.getKey()));
+      assertEquals(entry.getValue().intValue(), longMap.get(entry.getKey() * 0x100000000L));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidLoadFactorTest() {
+    new IntIntMap(16, 1f);
+  }
+
+  private static int sum(final IntIntMap map) {
+    IntIntMap.Cursor cursor = map.cursor();
+    int sum = 0;
+
+    while (cursor.advance()) {
+      sum += cursor.value();
+    }
+
+    return sum;
+  }
+}
@@ -0,0 +1,66 @@
+package io.github.cainlara.jalutils.collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class IntSetTest {
+
+  @Test
+  public void addContainsRemoveTest() {
+    IntSet set = new IntSet();
+
+    assertTrue(set.addAll(new int[] { 5, 0, -3, 5 }));
+    assertFalse(set.add(0));
+    assertEquals(3, set.size());
+    assertTrue(set.contains(-3));
+    assertFalse(set.contains(4));
+
+    int[] values = set.toArray();
+
+    Arrays.sort(values);
+    assertArrayEquals(new int[] { -3, 0, 5 }, values);
+
+    assertTrue(set.remove(0));
+    assertFalse(set.remove(0));
+    assertFalse(set.contains(0));
+    assertEquals(2, set.size());
+  }
+
+  @Test
+  public void randomOperationsTest() {
+    Random random = new Random(42);
+    IntSet set = new IntSet(0);
+    Set<Integer> expected = new HashSet<>();
+
+    for (int step = 0; step < 200_000; step++) {
+      int value = random.nextInt(4_096) * 1_024;
+
+      if (random.nextBoolean()) {
+        assertEquals(expected.add(value), set.add(value));
+      } else {
+        assertEquals(expected.remove(value), set.remove(value));
+      }
+    }
+
+    assertEquals(expected.size(), set.size());
+
+    IntSet.Cursor cursor = set.cursor();
+    int visited = 0;
+
+    while (cursor.advance()) {
+      assertTrue(expected.contains(cursor.value()));
+      visited++;
+    }
+
+    assertEquals(expected.size(), visited);
+  }
+}
@@ -0,0 +1,135 @@
+package io.github.cainlara.jalutils.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class LongIntMapTest {
+
+  @Test
+  public void putGetRemoveTest() {
+    LongIntMap map = new LongIntMap();
+
+    assertEquals(0, map.put(Long.MAX_VALUE, 10));
+    assertEquals(10, map.put(Long.MAX_VALUE, 11));
+    assertEquals(0, map.put(Long.MIN_VALUE, 20));
+    map.put(-1L, 30);
+    map.put(1L << 32, 40);
+
+    assertEquals(4, map.size());
+    assertEquals(11, map.get(Long.MAX_VALUE));
+    assertEquals(20, map.get(Long.MIN_VALUE));
+    assertEquals(30, map.get(-1L));
+    assertEquals(40, map.get(1L << 32));
+    assertEquals("Keys must not collide on their low bits", 0, map.get(1L));
+    assertEquals(-1, map.getOrDefault(1L, -1));
+    assertFalse(map.containsKey(1L));
+
+    assertEquals(11, map.remove(Long.MAX_VALUE));
+    assertEquals(0, map.remove(Long.MAX_VALUE));
+    assertFalse(map.containsKey(Long.MAX_VALUE));
+    assertEquals(3, map.size());
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertEquals(0, map.get(-1L));
+  }
+
+  @Test
+  public void freeKeyTest() {
+    LongIntMap map = new LongIntMap();
+
+    assertFalse(map.containsKey(0L));
+    assertEquals(0, map.put(0L, 5));
+    assertTrue(map.containsKey(0L));
+    assertEquals(5, map.get(0L));
+    assertEquals(7, map.addTo(0L, 2));
+    assertEquals(1, map.size());
+
+    map.put(3L, 1);
+    assertEquals(7, map.remove(0L));
+    assertEquals(0, map.remove(0L));
+    assertFalse(map.containsKey(0L));
+    assertEquals(1, map.get(3L));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void backShiftAcrossWraparoundTest() {
+    int capacity = Hashing.capacity(16, 0.5f);
+    LongIntMap map = new LongIntMap(16, 0.5f);
+    long[] lastSlot = keysWithHome(capacity - 1, capacity, 3);
+    long firstSlot = keysWithHome(0, capacity, 1)[0];
+
+    // the run starts in the last slot and wraps around to the first ones
+    for (int index = 0; index < lastSlot.length; index++) {
+      map.put(lastSlot[index], index + 1);
+    }
+
+    map.put(firstSlot, 100);
+
+    assertEquals(1, map.remove(lastSlot[0]));
+
+    assertEquals(2, map.get(lastSlot[1]));
+    assertEquals(3, map.get(lastSlot[2]));
+    assertEquals(100, map.get(firstSlot));
+
+    assertEquals(100, map.remove(firstSlot));
+    assertEquals(2, map.remove(lastSlot[1]));
+    assertEquals(3, map.get(lastSlot[2]));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void cursorTest() {
+    LongIntMap map = new LongIntMap(0);
+    Map<Long, Integer> expected = new HashMap<>();
+
+    for (long key = -50; key < 50; key++) {
+      map.put(key * 0x100000000L, (int) key + 50);
+      expected.put(key * 0x100000000L, (int) key + 50);
+    }
+
+    LongIntMap.Cursor cursor = map.cursor();
+    int visited = 0;
+
+    while (cursor.advance()) {
+      assertEquals("Cursor must see every entry once", expected.remove(cursor.key()).intValue(), cursor.value());
+      cursor.setValue(cursor.value() * 10);
+      visited++;
+    }
+
+    assertEquals(100, visited);
+    assertTrue(expected.isEmpty());
+    assertEquals("The free key must be visited too", 500, map.get(0L));
+    assertEquals(990, map.get(49 * 0x100000000L));
+    assertFalse(new LongIntMap().cursor().advance());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidLoadFactorTest() {
+    new LongIntMap(16, 0f);
+  }
+
+  /**
+   * Finds keys whose probe run starts at <code>home</code> in a table of
+   * <code>capacity</code> slots.
+   */
+  private static long[] keysWithHome(final int home, final int capacity, final int count) {
+    long[] keys = new long[count];
+    int found = 0;
+
+    for (long key = 1L << 40; found < count; key++) {
+      if ((Hashing.mix(key) & (capacity - 1)) == home) {
+        keys[found++] = key;
+      }
+    }
+
+    return keys;
+  }
+}
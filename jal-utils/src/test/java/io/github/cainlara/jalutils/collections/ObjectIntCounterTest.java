@@ -0,0 +1,60 @@
+package io.github.cainlara.jalutils.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ObjectIntCounterTest {
+
+  @Test
+  public void countTest() {
+    ObjectIntCounter<String> counter = new ObjectIntCounter<>();
+
+    counter.addAll(new String[] { "Moe", "Larry", "Moe", null });
+    counter.addAll(Arrays.asList("Curly", null, "Moe"));
+
+    assertEquals(4, counter.size());
+    assertEquals(3, counter.get("Moe"));
+    assertEquals(1, counter.get("Larry"));
+    assertEquals(2, counter.get(null));
+    assertEquals(0, counter.get("Shemp"));
+    assertEquals(2, counter.add("Moe", -1));
+    assertTrue(counter.contains(null));
+
+    assertEquals(2, counter.remove(null));
+    assertEquals(1, counter.remove("Curly"));
+    assertFalse(counter.contains("Curly"));
+    assertEquals(2, counter.size());
+  }
+
+  @Test
+  public void mergeTest() {
+    ObjectIntCounter<Integer> left = new ObjectIntCounter<>(2);
+    ObjectIntCounter<Integer> right = new ObjectIntCounter<>(2);
+    Map<Integer, Integer> expected = new HashMap<>();
+
+    for (int index = 0; index < 10_000; index++) {
+      Integer key = index % 1_000;
+
+      (index % 3 == 0 ? left : right).add(key);
+      expected.merge(key, 1, Integer::sum);
+    }
+
+    left.addAll(right);
+
+    Map<Integer, Integer> actual = new HashMap<>();
+    ObjectIntCounter<Integer>.Cursor cursor = left.cursor();
+
+    while (cursor.advance()) {
+      actual.put(cursor.key(), cursor.count());
+    }
+
+    assertEquals(expected, actual);
+  }
+}
@@ -0,0 +1,109 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AsyncFileOpsTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void coalesceTest() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    Path source = temporaryFolder.newFile("source.txt").toPath();
+    Path target = source.resolveSibling("target.txt");
+
+    Files.write(source, new byte[] { 1, 2, 3 });
+
+    try (AsyncFileOps ops = new AsyncFileOps.Builder().executor(tasks::add).build()) {
+      CompletableFuture<Boolean> firstExists = ops.exists(target);
+      CompletableFuture<Boolean> secondExists = ops.exists(target);
+      CompletableFuture<Path> copy = ops.copy(source, target);
+      CompletableFuture<Path> sameCopy = ops.copy(source, target);
+      CompletableFuture<Boolean> delete = ops.delete(target);
+      CompletableFuture<Boolean> existsAfterDelete = ops.exists(target);
+
+      assertSame("Repeated checks must be shared", firstExists, secondExists);
+      assertSame("Identical copies must be shared", copy, sameCopy);
+      assertTrue("A deletion must cancel the copy", copy.isCancelled());
+      assertEquals("The same folder must use a single lane", 1, tasks.size());
+      assertEquals(4, ops.getQueueDepth());
+
+      tasks.remove(0).run();
+
+      assertFalse(firstExists.get());
+      assertFalse("Nothing was copied so nothing is deleted", delete.get());
+      assertFalse(existsAfterDelete.get());
+      assertFalse(Files.exists(target));
+      assertEquals(0, ops.getQueueDepth());
+      assertTrue(tasks.isEmpty());
+    }
+  }
+
+  @Test
+  public void orderAndBatchTest() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    Path source = temporaryFolder.newFile("source.txt").toPath();
+    Path other = temporaryFolder.newFolder("other").toPath();
+
+    Files.write(source, new byte[] { 4, 5 });
+
+    try (AsyncFileOps ops = new AsyncFileOps.Builder().executor(tasks::add).batchSize(2).build()) {
+      List<CompletableFuture<Path>> copies = new ArrayList<>();
+
+      for (int file = 0; file < 5; file++) {
+        copies.add(ops.copy(source, source.resolveSibling("copy" + file + ".txt")));
+      }
+
+      CompletableFuture<Boolean> exists = ops.exists(source.resolveSibling("copy4.txt"));
+      CompletableFuture<Path> otherCopy = ops.copy(source, other.resolve("copy.txt"));
+
+      assertEquals("Each folder must use its own lane", 2, tasks.size());
+
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+
+      for (CompletableFuture<Path> copy : copies) {
+        assertArrayEquals(new byte[] { 4, 5 }, Files.readAllBytes(copy.get()));
+      }
+
+      assertTrue("Checks must run after earlier copies", exists.get());
+      assertTrue(Files.exists(otherCopy.get()));
+    }
+  }
+
+  @Test
+  public void poolTest() throws Exception {
+    Path folder = temporaryFolder.newFolder("pool").toPath();
+    List<CompletableFuture<Boolean>> checks = new ArrayList<>();
+
+    try (AsyncFileOps ops = new AsyncFileOps.Builder().threads(2).build()) {
+      for (int file = 0; file < 200; file++) {
+        Path path = folder.resolve("sub" + (file % 10)).resolve("file" + file);
+
+        checks.add(ops.exists(path));
+      }
+
+      CompletableFuture.allOf(checks.toArray(new CompletableFuture<?>[0])).get();
+
+      for (CompletableFuture<Boolean> check : checks) {
+        assertFalse(check.get());
+      }
+    }
+  }
+}
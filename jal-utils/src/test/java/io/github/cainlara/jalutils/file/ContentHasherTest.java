@@ -0,0 +1,82 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ContentHasherTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void xxHash64VectorsTest() {
+    assertEquals(0xEF46DB3751D8E999L, XxHash64.hash(new byte[0]));
+    assertEquals(0x44BC2CF5AD770999L, XxHash64.hash("abc".getBytes(StandardCharsets.US_ASCII)));
+    assertEquals(0xFBCEA83C8A378BF1L,
+        XxHash64.hash("Nobody inspects the spammish repetition".getBytes(StandardCharsets.US_ASCII)));
+  }
+
+  @Test
+  public void xxHash64StreamingTest() {
+    byte[] data = new byte[10_000];
+    new Random(7).nextBytes(data);
+
+    long expected = XxHash64.hash(data);
+    XxHash64 hash = new XxHash64();
+
+    for (int offset = 0; offset < data.length; offset += 7) {
+      hash.update(data, offset, Math.min(7, data.length - offset));
+    }
+
+    assertEquals("Chunked updates must match", expected, hash.digestValue());
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+    direct.put(data).flip();
+    hash.update((byte) 0);
+    hash.reset();
+    hash.update(direct);
+
+    assertEquals("Direct buffers must match", expected, hash.digestValue());
+    assertEquals("Digest must be reset", XxHash64.hash(new byte[0]), hash.digestValue());
+  }
+
+  @Test
+  public void hashFileTest() throws IOException, NoSuchAlgorithmException {
+    byte[] data = new byte[3 * 1024 * 1024 + 17];
+    new Random(11).nextBytes(data);
+
+    Path file = temporaryFolder.newFile("data.bin").toPath();
+    Files.write(file, data);
+
+    ContentHasher read = new ContentHasher.Builder().bufferSize(64 * 1024).build();
+    ContentHasher mapped = new ContentHasher.Builder().mappingThreshold(1024).build();
+
+    assertArrayEquals(new XxHash64().digest(data), read.hash(file));
+    assertArrayEquals("Mapped files must hash the same", read.hash(file), mapped.hash(file));
+    assertArrayEquals("Regions must hash their bytes only",
+        new XxHash64().digest(Arrays.copyOfRange(data, 100, 5000)), read.hash(file, 100, 4900));
+
+    String sha = CopyEngine.toHex(MessageDigest.getInstance("SHA-256").digest(data));
+
+    assertEquals(sha, new ContentHasher.Builder().algorithm("SHA-256").build().hashHex(file));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void unknownAlgorithmTest() {
+    new ContentHasher.Builder().algorithm("NOPE-1").build();
+  }
+}
@@ -0,0 +1,112 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CopyEngineTest {
+  private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void zeroCopyTest() throws IOException {
+    Path source = write("source.bin", new byte[3 * 1024 * 1024 + 7]);
+    Path target = temporaryFolder.getRoot().toPath().resolve("target.bin");
+
+    CopyResult result = new CopyEngine.Builder().build().copy(source, target);
+
+    assertTrue("Same file store copies must be zero-copy", result.isZeroCopy());
+    assertEquals(Files.size(source), result.getBytesCopied());
+    assertNull(result.getChecksum());
+    assertArrayEquals(Files.readAllBytes(source), Files.readAllBytes(target));
+  }
+
+  @Test
+  public void chunkedCopyWithChecksumTest() throws IOException {
+    Path source = write("abc.txt", "abc".getBytes(StandardCharsets.US_ASCII));
+    Path target = temporaryFolder.getRoot().toPath().resolve("abc-copy.txt");
+    final AtomicLong progress = new AtomicLong();
+
+    CopyResult result = new CopyEngine.Builder().bufferSize(2).checksumAlgorithm("SHA-256")
+        .progressListener((file, copied, total) -> progress.set(copied)).build().copy(source, target, ABC_SHA256);
+
+    assertFalse("Checksum copies must go through the buffer", result.isZeroCopy());
+    assertEquals(ABC_SHA256, result.getChecksum());
+    assertEquals("Progress must reach the file size", 3, progress.get());
+    assertEquals("abc", new String(Files.readAllBytes(target), StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void atomicCopyKeepsTargetOnChecksumMismatchTest() throws IOException {
+    Path source = write("new.txt", "new".getBytes(StandardCharsets.US_ASCII));
+    Path target = write("old.txt", "old".getBytes(StandardCharsets.US_ASCII));
+
+    try {
+      new CopyEngine.Builder().atomic(true).checksumAlgorithm("SHA-256").build().copy(source, target, ABC_SHA256);
+      fail("Checksum mismatch must be reported");
+    } catch (IOException e) {
+      assertEquals("Target must be left untouched", "old",
+          new String(Files.readAllBytes(target), StandardCharsets.US_ASCII));
+    }
+
+    assertEquals("Temporary file must be removed", 2, temporaryFolder.getRoot().list().length);
+  }
+
+  @Test
+  public void sameFileCopyTest() throws IOException {
+    Path source = write("same.txt", "abc".getBytes(StandardCharsets.US_ASCII));
+    Path link = temporaryFolder.getRoot().toPath().resolve("link.txt");
+
+    Files.createLink(link, source);
+
+    for (boolean atomic : new boolean[] { false, true }) {
+      CopyEngine engine = new CopyEngine.Builder().atomic(atomic).checksumAlgorithm("SHA-256").build();
+
+      assertEquals(ABC_SHA256, engine.copy(source, source, ABC_SHA256).getChecksum());
+      assertEquals(0, engine.copy(source, link).getBytesCopied());
+      assertEquals("Copying a file onto itself must not truncate it", "abc",
+          new String(Files.readAllBytes(source), StandardCharsets.US_ASCII));
+    }
+  }
+
+  @Test
+  public void atomicCopyKeepsPermissionsTest() throws IOException {
+    Path source = write("source.txt", "new".getBytes(StandardCharsets.US_ASCII));
+    Path target = temporaryFolder.getRoot().toPath().resolve("target.txt");
+
+    Assume.assumeNotNull(Files.getFileAttributeView(source, PosixFileAttributeView.class));
+    Files.setPosixFilePermissions(source, PosixFilePermissions.fromString("rw-r--r--"));
+
+    CopyEngine engine = new CopyEngine.Builder().atomic(true).build();
+
+    engine.copy(source, target);
+    assertEquals("rw-r--r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(target)));
+
+    Files.setPosixFilePermissions(target, PosixFilePermissions.fromString("rwxr-x---"));
+    engine.copy(source, target);
+    assertEquals("Replaced targets must keep their mode", "rwxr-x---",
+        PosixFilePermissions.toString(Files.getPosixFilePermissions(target)));
+  }
+
+  private Path write(final String name, final byte[] content) throws IOException {
+    return Files.write(temporaryFolder.getRoot().toPath().resolve(name), content);
+  }
+}
@@ -0,0 +1,82 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DuplicateFinderTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void findDuplicatesTest() throws IOException {
+    Path root = temporaryFolder.newFolder("assets").toPath();
+    Path nested = Files.createDirectory(root.resolve("nested"));
+    Random random = new Random(3);
+    byte[] large = new byte[256 * 1024];
+    byte[] small = new byte[100];
+
+    random.nextBytes(large);
+    random.nextBytes(small);
+
+    Files.write(root.resolve("large1.bin"), large);
+    Files.write(nested.resolve("large2.bin"), large);
+    Files.write(root.resolve("small1.bin"), small);
+    Files.write(nested.resolve("small2.bin"), small);
+
+    byte[] middleChanged = large.clone();
+    middleChanged[large.length / 2]++;
+    Files.write(root.resolve("middle.bin"), middleChanged);
+
+    byte[] headChanged = large.clone();
+    headChanged[0]++;
+    Files.write(root.resolve("head.bin"), headChanged);
+
+    for (int file = 0; file < 20; file++) {
+      byte[] unique = new byte[1000 + file];
+      random.nextBytes(unique);
+      Files.write(root.resolve("unique" + file + ".bin"), unique);
+    }
+
+    Files.write(root.resolve("empty1.bin"), new byte[0]);
+    Files.write(root.resolve("empty2.bin"), new byte[0]);
+
+    DuplicateReport report = new DuplicateFinder.Builder().parallelism(3).maxOpenFiles(2).build().find(root);
+    List<List<Path>> duplicates = report.getDuplicates();
+
+    assertEquals(2, duplicates.size());
+    assertEquals(Arrays.asList(root.resolve("large1.bin"), nested.resolve("large2.bin")), duplicates.get(0));
+    assertEquals(Arrays.asList(nested.resolve("small2.bin"), root.resolve("small1.bin")), duplicates.get(1));
+    assertEquals(28, report.getFilesScanned());
+    assertTrue("Failures: " + report.getFailures(), report.getFailures().isEmpty());
+    assertTrue("Unique sizes must not be read", report.getBytesRead() < 4L * large.length);
+  }
+
+  @Test
+  public void findAmongFilesTest() throws IOException {
+    Path first = temporaryFolder.newFile("first.txt").toPath();
+    Path second = temporaryFolder.newFile("second.txt").toPath();
+    Path missing = first.resolveSibling("missing.txt");
+
+    Files.write(first, new byte[] { 1, 2, 3 });
+    Files.write(second, new byte[] { 1, 2, 3 });
+
+    DuplicateReport report = new DuplicateFinder.Builder()
+        .hasher(new ContentHasher.Builder().algorithm("SHA-256").build()).build()
+        .find(Arrays.asList(first, second, missing));
+
+    assertEquals(Arrays.asList(Arrays.asList(first, second)), report.getDuplicates());
+    assertTrue(report.getFailures().containsKey(missing));
+  }
+}
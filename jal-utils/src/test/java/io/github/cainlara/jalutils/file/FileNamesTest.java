@@ -0,0 +1,51 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FileNamesTest {
+  private final FileNames fileNames = FileNames.getInstance();
+
+  @Test
+  public void offsetsTest() {
+    String path = "/var/build.d/report.final.PDF";
+
+    assertEquals("report.final.PDF", path.substring(fileNames.nameStart(path)));
+    assertEquals("PDF", path.substring(fileNames.extensionStart(path)));
+    assertEquals("report.final",
+        path.substring(fileNames.nameStart(path), fileNames.baseNameEnd(path)));
+  }
+
+  @Test
+  public void noExtensionTest() {
+    String path = "/var/build.d/Makefile";
+
+    assertEquals("Folder dots are not extensions", -1, fileNames.extensionStart(path));
+    assertEquals(path.length(), fileNames.baseNameEnd(path));
+    assertEquals(0, fileNames.nameStart("Makefile"));
+  }
+
+  @Test
+  public void hasExtensionTest() {
+    assertTrue(fileNames.hasExtension(new StringBuilder("photo.JPG"), "jpg"));
+    assertTrue(fileNames.hasExtension("photo.jpg", ".jpg"));
+    assertFalse(fileNames.hasExtension("photo.jpeg", "jpg"));
+    assertFalse(fileNames.hasExtension("jpg", "jpg"));
+  }
+
+  @Test
+  public void extensionMatcherTest() {
+    ExtensionMatcher matcher = fileNames.extensionMatcher("java", ".class", "JAR", "xml", "properties");
+
+    assertEquals(0, matcher.indexOf("src/Main.java"));
+    assertEquals(1, matcher.indexOf("target/Main.CLASS"));
+    assertEquals(2, matcher.indexOf("lib/junit.jar"));
+    assertEquals(4, matcher.indexOf("messages.properties"));
+    assertFalse(matcher.matches("README.md"));
+    assertFalse(matcher.matches("java"));
+    assertFalse(matcher.matches("folder.java/file"));
+  }
+}
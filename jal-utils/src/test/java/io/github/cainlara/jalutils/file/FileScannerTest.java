@@ -0,0 +1,111 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileScannerTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path root;
+
+  @Before
+  public void setUp() throws IOException {
+    root = temporaryFolder.newFolder("scan").toPath();
+
+    for (int folder = 0; folder < 10; folder++) {
+      Path sub = Files.createDirectories(root.resolve("folder" + folder).resolve("nested"));
+
+      for (int file = 0; file < 10; file++) {
+        Files.write(sub.getParent().resolve("file" + file + ".txt"), new byte[file]);
+        Files.write(sub.resolve("file" + file + ".JAVA"), new byte[] { 1 });
+      }
+    }
+  }
+
+  @Test
+  public void scanAllTest() throws IOException {
+    try (Stream<Path> files = new FileScanner.Builder().build().scan(root)) {
+      assertEquals(200, files.count());
+    }
+
+    try (Stream<Path> files = new FileScanner.Builder().includeDirectories(true).build().scan(root)) {
+      assertEquals(220, files.count());
+    }
+  }
+
+  @Test
+  public void filtersTest() throws IOException {
+    try (Stream<Path> files = new FileScanner.Builder().extensions("java").build().scan(root)) {
+      assertEquals(100, files.count());
+    }
+
+    try (Stream<Path> files = new FileScanner.Builder().maxDepth(2).build().scan(root)) {
+      assertEquals(100, files.filter(path -> path.toString().endsWith(".txt")).count());
+    }
+
+    try (Stream<Path> files = new FileScanner.Builder().glob("folder3/**").build().scan(root)) {
+      assertEquals(20, files.count());
+    }
+
+    try (Stream<ScannedFile> files = new FileScanner.Builder()
+        .filter((path, attributes) -> attributes.size() > 5).build().scanFiles(root)) {
+      List<ScannedFile> large = files.collect(Collectors.toList());
+
+      assertEquals(40, large.size());
+      assertTrue(large.stream().allMatch(file -> file.getDepth() == 2));
+    }
+  }
+
+  @Test
+  public void parallelScanTest() throws IOException {
+    Set<Path> sequential;
+
+    try (Stream<Path> files = new FileScanner.Builder().build().scan(root)) {
+      sequential = files.collect(Collectors.toSet());
+    }
+
+    try (Stream<Path> files = new FileScanner.Builder().build().scan(root).parallel()) {
+      List<Path> parallel = files.collect(Collectors.toList());
+
+      assertEquals("Splits must not overlap", sequential.size(), parallel.size());
+      assertEquals(sequential, parallel.stream().collect(Collectors.toSet()));
+    }
+  }
+
+  @Test
+  public void symbolicLinkCycleTest() throws IOException {
+    try {
+      Files.createSymbolicLink(root.resolve("folder0").resolve("loop"), root);
+    } catch (UnsupportedOperationException | IOException e) {
+      return;
+    }
+
+    try (Stream<Path> files = new FileScanner.Builder().followLinks(true).build().scan(root)) {
+      assertEquals("Linked folders must be listed only once", 200, files.count());
+    }
+
+    try (Stream<Path> files = new FileScanner.Builder().build().scan(root)) {
+      assertEquals("Links must be reported without being followed", 201, files.count());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void scanFileTest() throws IOException {
+    new FileScanner.Builder().build().scan(temporaryFolder.newFile("plain.txt").toPath());
+  }
+}
@@ -0,0 +1,208 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.cainlara.jalutils.metrics.InMemoryMetrics;
+import io.github.cainlara.jalutils.metrics.Metrics;
+
+public class FileWatcherTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final BlockingQueue<List<FileChange>> batches = new LinkedBlockingQueue<>();
+
+  @After
+  public void uninstall() {
+    Metrics.install(null);
+  }
+
+  @Test
+  public void recursiveWatchTest() throws Exception {
+    Path root = temporaryFolder.getRoot().toPath().toRealPath();
+    InMemoryMetrics metrics = new InMemoryMetrics();
+
+    Metrics.install(metrics);
+
+    try (FileWatcher watcher = new FileWatcher.Builder().debounce(200).build()) {
+      FileWatcher.Subscription subscription = watcher.watch(root, batches::add);
+
+      assertEquals(root, subscription.getRoot());
+      assertEquals(!watcher.isNative(), subscription.isPolling());
+
+      Path folder = Files.createDirectories(root.resolve("a/b"));
+      Path file = folder.resolve("data.txt");
+
+      for (int write = 0; write < 20; write++) {
+        Files.write(file, new byte[write + 1]);
+      }
+
+      Map<Path, FileChange.Kind> changes = awaitChanges(file);
+
+      assertEquals(FileChange.Kind.CREATED, changes.get(file));
+      assertEquals(FileChange.Kind.CREATED, changes.get(folder));
+      assertEquals(FileChange.Kind.CREATED, changes.get(root.resolve("a")));
+
+      Files.delete(file);
+      assertEquals(FileChange.Kind.DELETED, awaitChanges(file).get(file));
+    }
+
+    assertTrue(metrics.snapshot().getTimer("jalutils.watch.latency").getCount() >= 2);
+  }
+
+  @Test
+  public void pollingTest() throws Exception {
+    Path root = temporaryFolder.getRoot().toPath();
+    Path existing = Files.write(root.resolve("existing.txt"), new byte[] { 1 });
+
+    try (FileWatcher watcher = new FileWatcher.Builder().polling(true).pollInterval(20).debounce(0).build()) {
+      FileWatcher.Subscription subscription = watcher.watch(root, batches::add);
+
+      assertFalse(watcher.isNative());
+      assertTrue(subscription.isPolling());
+
+      Path created = Files.write(root.resolve("created.txt"), new byte[] { 1 });
+      Map<Path, FileChange.Kind> changes = awaitChanges(created);
+
+      assertEquals(FileChange.Kind.CREATED, changes.get(created));
+      assertNull("Unchanged files must not be reported", changes.get(existing));
+
+      Files.setLastModifiedTime(existing, FileTime.fromMillis(Files.getLastModifiedTime(existing).toMillis() - 5000));
+      assertEquals(FileChange.Kind.MODIFIED, awaitChanges(existing).get(existing));
+
+      Files.delete(created);
+      assertEquals(FileChange.Kind.DELETED, awaitChanges(created).get(created));
+
+      subscription.close();
+      Files.write(root.resolve("ignored.txt"), new byte[] { 1 });
+      assertNull("Closed subscriptions must not be notified", batches.poll(200, TimeUnit.MILLISECONDS));
+    }
+  }
+
+  @Test
+  public void flatWatchTest() throws Exception {
+    Path root = temporaryFolder.getRoot().toPath().toRealPath();
+    Path folder = Files.createDirectory(root.resolve("nested"));
+
+    try (FileWatcher watcher = new FileWatcher.Builder().recursive(false).pollInterval(20).debounce(50).build()) {
+      watcher.watch(root, batches::add);
+
+      Files.write(folder.resolve("hidden.txt"), new byte[] { 1 });
+      Path file = Files.write(root.resolve("visible.txt"), new byte[] { 1 });
+      Map<Path, FileChange.Kind> changes = awaitChanges(file);
+
+      assertEquals(FileChange.Kind.CREATED, changes.get(file));
+      assertNull("Subfolders must not be watched", changes.get(folder.resolve("hidden.txt")));
+    }
+  }
+
+  @Test
+  public void busyListenerTest() throws Exception {
+    for (boolean polling : new boolean[] { true, false }) {
+      Path root = temporaryFolder.newFolder().toPath().toRealPath();
+      CountDownLatch release = new CountDownLatch(1);
+
+      try (FileWatcher watcher = new FileWatcher.Builder().polling(polling).pollInterval(20).debounce(0).build()) {
+        watcher.watch(root, changes -> {
+          batches.add(changes);
+          awaitQuietly(release);
+        });
+
+        Path first = Files.write(root.resolve("first.txt"), new byte[] { 1 });
+
+        awaitChanges(first);
+
+        Path second = Files.write(root.resolve("second.txt"), new byte[] { 1 });
+        long cpuTime = watcherCpuTime();
+
+        Thread.sleep(500);
+
+        long spent = TimeUnit.NANOSECONDS.toMillis(watcherCpuTime() - cpuTime);
+
+        assertTrue("The watcher must not spin while a listener is busy: " + spent + " ms", spent < 100);
+
+        release.countDown();
+        assertEquals(FileChange.Kind.CREATED, awaitChanges(second).get(second));
+      }
+
+      batches.clear();
+    }
+  }
+
+  @Test(expected = java.io.IOException.class)
+  public void missingFolderTest() throws Exception {
+    try (FileWatcher watcher = new FileWatcher.Builder().build()) {
+      watcher.watch(temporaryFolder.getRoot().toPath().resolve("missing"), batches::add);
+    }
+  }
+
+  private static long watcherCpuTime() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    long cpuTime = 0;
+
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().equals("jalutils-watcher")) {
+        cpuTime += Math.max(threads.getThreadCpuTime(thread.getId()), 0);
+      }
+    }
+
+    return cpuTime;
+  }
+
+  private static void awaitQuietly(final CountDownLatch latch) {
+    try {
+      latch.await(20, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Collects notified changes until <code>path</code> is among them, checking
+   * that every batch reports each path once.
+   */
+  private Map<Path, FileChange.Kind> awaitChanges(final Path path) throws InterruptedException {
+    Map<Path, FileChange.Kind> changes = new HashMap<>();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+
+    while (!changes.containsKey(path)) {
+      List<FileChange> batch = batches.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+      if (batch == null) {
+        throw new AssertionError("No change notified for " + path + ", got " + changes);
+      }
+
+      Set<Path> paths = new HashSet<>();
+
+      for (FileChange change : batch) {
+        assertTrue("Changes must be coalesced per path: " + batch, paths.add(change.getPath()));
+        changes.put(change.getPath(), change.getKind());
+      }
+    }
+
+    return changes;
+  }
+}
@@ -0,0 +1,48 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FolderDeleterTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void deleteTreeTest() throws IOException {
+    Path root = temporaryFolder.newFolder("tree").toPath();
+    Path deep = root;
+
+    for (int depth = 0; depth < 20; depth++) {
+      deep = Files.createDirectory(deep.resolve("level" + depth));
+
+      for (int file = 0; file < 30; file++) {
+        Files.write(deep.resolve("file" + file + ".txt"), new byte[] { 1, 2, 3 });
+      }
+    }
+
+    DeleteResult result = new FolderDeleter.Builder().parallelism(4).build().delete(root);
+
+    assertTrue("Deletion must succeed", result.isSuccessful());
+    assertEquals(20 * 30, result.getFilesDeleted());
+    assertEquals("Root folder must be counted", 21, result.getFoldersDeleted());
+    assertEquals(20 * 30 * 3, result.getBytesFreed());
+    assertFalse("Root folder must be deleted", Files.exists(root));
+  }
+
+  @Test(expected = IOException.class)
+  public void deleteFileTest() throws IOException {
+    Path file = temporaryFolder.newFile("plain.txt").toPath();
+
+    new FolderDeleter.Builder().build().delete(file);
+  }
+}
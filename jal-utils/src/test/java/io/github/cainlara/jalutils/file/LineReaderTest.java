@@ -0,0 +1,120 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LineReaderTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void readLinesTest() throws IOException {
+    Path file = write("first\r\nsegundo paso ñandú\n\nlast");
+
+    for (LineReader reader : readers()) {
+      try (Stream<FileLine> lines = reader.lines(file)) {
+        List<String> read = lines.map(FileLine::toString).collect(Collectors.toList());
+
+        assertEquals(4, read.size());
+        assertEquals("first", read.get(0));
+        assertEquals("segundo paso ñandú", read.get(1));
+        assertEquals("", read.get(2));
+        assertEquals("last", read.get(3));
+      }
+    }
+  }
+
+  @Test
+  public void lineViewTest() throws IOException {
+    Path file = write("plain,ascii\nniño\n");
+
+    try (Stream<FileLine> lines = new LineReader.Builder().build().lines(file)) {
+      List<FileLine> checked = new ArrayList<>();
+
+      lines.forEach(line -> {
+        if (line.getPosition() == 0) {
+          assertTrue(line.isAscii());
+          assertEquals(11, line.length());
+          assertEquals(',', line.charAt(5));
+          assertEquals("ascii", line.subSequence(6, 11).toString());
+        } else {
+          assertFalse(line.isAscii());
+          assertEquals(12, line.getPosition());
+          assertEquals(5, line.getByteLength());
+          assertEquals(4, line.length());
+          assertEquals('ñ', line.charAt(2));
+          assertEquals(5, line.getBytes().remaining());
+        }
+
+        checked.add(line);
+      });
+
+      assertEquals(2, checked.size());
+    }
+  }
+
+  @Test
+  public void parallelLinesTest() throws IOException {
+    StringBuilder content = new StringBuilder();
+    long expectedSum = 0;
+
+    for (int line = 0; line < 20_000; line++) {
+      content.append(line).append(",value").append(line % 7 == 0 ? "é" : "").append('\n');
+      expectedSum += line;
+    }
+
+    Path file = write(content.toString());
+
+    for (LineReader reader : readers()) {
+      try (Stream<FileLine> lines = reader.lines(file).parallel()) {
+        long sum = lines.mapToLong(line -> {
+          long value = 0;
+
+          for (int index = 0; line.charAt(index) != ','; index++) {
+            value = value * 10 + line.charAt(index) - '0';
+          }
+
+          return value;
+        }).sum();
+
+        assertEquals(expectedSum, sum);
+      }
+
+      try (Stream<FileLine> lines = reader.lines(file)) {
+        assertEquals(20_000, lines.count());
+      }
+    }
+  }
+
+  private List<LineReader> readers() {
+    List<LineReader> readers = new ArrayList<>();
+
+    readers.add(new LineReader.Builder().build());
+    readers.add(new LineReader.Builder().windowSize(7).minSplitSize(64).build());
+    readers.add(new LineReader.Builder().mappingLimit(0).windowSize(13).minSplitSize(64).build());
+
+    return readers;
+  }
+
+  private Path write(final String content) throws IOException {
+    Path file = temporaryFolder.newFile().toPath();
+
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+}
@@ -0,0 +1,100 @@
+package io.github.cainlara.jalutils.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TreeCopierTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path source;
+  private Path target;
+
+  @Before
+  public void createSourceTree() throws IOException {
+    source = temporaryFolder.newFolder("source").toPath();
+    target = temporaryFolder.getRoot().toPath().resolve("target");
+
+    for (int folder = 0; folder < 5; folder++) {
+      Path dir = Files.createDirectories(source.resolve("dir" + folder).resolve("nested"));
+
+      for (int file = 0; file < 10; file++) {
+        Files.write(dir.resolve("file" + file + ".txt"), ("content " + folder + file).getBytes(StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  public void copyTreeTest() throws IOException {
+    TreeCopyResult result = new TreeCopier.Builder().parallelism(3).build().copy(source, target);
+
+    assertTrue(result.isSuccessful());
+    assertEquals(50, result.getFilesCopied());
+    assertEquals(0, result.getFilesSkipped());
+
+    Path copied = target.resolve("dir4").resolve("nested").resolve("file9.txt");
+    assertArrayEquals(Files.readAllBytes(source.resolve("dir4").resolve("nested").resolve("file9.txt")),
+        Files.readAllBytes(copied));
+  }
+
+  @Test
+  public void incrementalCopyTest() throws IOException {
+    TreeCopier copier = new TreeCopier.Builder().incremental(true).build();
+
+    copier.copy(source, target);
+
+    Path changed = source.resolve("dir0").resolve("nested").resolve("file0.txt");
+    Files.write(changed, "changed content".getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(changed, FileTime.fromMillis(System.currentTimeMillis() + 10000));
+
+    TreeCopyResult result = copier.copy(source, target);
+
+    assertEquals("Only the changed file must be copied", 1, result.getFilesCopied());
+    assertEquals(49, result.getFilesSkipped());
+  }
+
+  @Test
+  public void incrementalContentCopyTest() throws IOException {
+    TreeCopier copier = new TreeCopier.Builder().incremental(true).compareContent(true).build();
+
+    copier.copy(source, target);
+
+    Path changed = target.resolve("dir1").resolve("nested").resolve("file1.txt");
+    Files.write(changed, "tampered!!".getBytes(StandardCharsets.UTF_8));
+
+    TreeCopyResult result = copier.copy(source, target);
+
+    assertEquals("Only the tampered file must be copied", 1, result.getFilesCopied());
+    assertEquals("content 11", new String(Files.readAllBytes(changed), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void runtimeFailureTest() throws IOException {
+    CopyEngine copyEngine = new CopyEngine.Builder().checksumAlgorithm("MISSING-ALGORITHM").build();
+    TreeCopyResult result = new TreeCopier.Builder().parallelism(2).copyEngine(copyEngine).build().copy(source,
+        target);
+
+    assertFalse(result.isSuccessful());
+    assertEquals(0, result.getFilesCopied());
+    assertEquals("Every runtime failure must be reported", 50, result.getFailures().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void targetInsideSourceTest() throws IOException {
+    new TreeCopier.Builder().build().copy(source, source.resolve("dir0").resolve("..").resolve("copy"));
+  }
+}
@@ -0,0 +1,190 @@
+package io.github.cainlara.jalutils.image;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.swing.ImageIcon;
+
+import org.junit.Test;
+
+public class ImageManagerTest {
+  private static final String BUNDLE_NAME = "jalutils_images";
+
+  private static final class TestImageProvider extends AbstractImageProvider {
+    private final ImageManager imageManager;
+
+    private TestImageProvider(final ImageManager.Builder builder) {
+      this.imageManager = builder.build();
+    }
+
+    @Override
+    protected ImageManager getImageManager() {
+      return imageManager;
+    }
+  }
+
+  private static ImageManager.Builder builder() {
+    return new ImageManager.Builder(BUNDLE_NAME, TestImageProvider.class);
+  }
+
+  @Test
+  public void cachedImageTest() {
+    TestImageProvider provider = new TestImageProvider(builder());
+
+    ImageIcon first = provider.getImageIcon("small");
+    ImageIcon second = provider.getImageIcon("small");
+
+    assertEquals("Image must be decoded", 16, first.getIconWidth());
+    assertSame("Cached image must be reused", first, second);
+    assertEquals(1, provider.getCacheStats().getMisses());
+    assertEquals(1, provider.getCacheStats().getHits());
+    assertEquals("Used bytes must be width x height x 4", 16 * 16 * 4, provider.getCacheStats().getUsedBytes());
+  }
+
+  @Test
+  public void missingImageTest() {
+    TestImageProvider provider = new TestImageProvider(builder());
+
+    assertNull("Missing image must not be found", provider.getImageIcon("missing"));
+    assertEquals("Missing image must not be cached", 0, provider.getCacheStats().getSize());
+  }
+
+  @Test
+  public void budgetEvictionTest() {
+    TestImageProvider provider = new TestImageProvider(builder().cacheBudget(16 * 16 * 4 + 8 * 8 * 4));
+
+    provider.getImageIcon("small");
+    provider.getImageIcon("tiny");
+    provider.getImageIcon("small");
+    provider.getImageIcon("large");
+
+    ImageCacheStats stats = provider.getCacheStats();
+
+    assertEquals("Image larger than the budget must not be kept", 2, stats.getSize());
+    assertEquals(0, stats.getEvictions());
+
+    provider.getImageIcon("large");
+
+    assertEquals("Image larger than the budget must be decoded again", 3 + 1, provider.getCacheStats().getMisses());
+  }
+
+  @Test
+  public void leastRecentlyUsedEvictionTest() {
+    TestImageProvider provider = new TestImageProvider(builder().cacheBudget(16 * 16 * 4 + 8 * 8 * 4));
+
+    ImageIcon tiny = provider.getImageIcon("tiny");
+    provider.getImageIcon("small");
+    provider.getImageIcon("tiny");
+    provider.getImageIcon("large");
+    provider.getImageIcon("small");
+    provider.getImageIcon("tiny");
+
+    assertSame("Recently used image must survive", tiny, provider.getImageIcon("tiny"));
+
+    TestImageProvider bounded = new TestImageProvider(builder().cacheBudget(16 * 16 * 4));
+
+    bounded.getImageIcon("tiny");
+    bounded.getImageIcon("small");
+
+    assertEquals("Least recently used image must be evicted", 1, bounded.getCacheStats().getEvictions());
+    assertEquals(16 * 16 * 4, bounded.getCacheStats().getUsedBytes());
+  }
+
+  @Test
+  public void softReferenceTierTest() {
+    TestImageProvider provider = new TestImageProvider(builder().cacheBudget(16 * 16 * 4).softReferences(true));
+
+    ImageIcon tiny = provider.getImageIcon("tiny");
+    provider.getImageIcon("small");
+
+    assertSame("Evicted image must be retained softly", tiny, provider.getImageIcon("tiny"));
+    assertEquals(1, provider.getCacheStats().getSoftHits());
+  }
+
+  @Test
+  public void preloadTest() throws Exception {
+    TestImageProvider provider = new TestImageProvider(builder());
+    Map<String, CompletableFuture<ImageIcon>> futures = provider.getImageManager()
+        .preload(Arrays.asList("small", "tiny", "small"));
+
+    assertEquals("Duplicated keys must be decoded once", 2, futures.size());
+    assertEquals(16, futures.get("small").get().getIconWidth());
+    assertSame("Preloaded image must be cached", futures.get("tiny").get(), provider.getImageIcon("tiny"));
+  }
+
+  @Test
+  public void preloadAllTest() throws Exception {
+    TestImageProvider provider = new TestImageProvider(builder());
+
+    provider.getImageManager().preloadAll().get();
+
+    assertEquals("Every existing image must be cached", 3, provider.getCacheStats().getSize());
+  }
+
+  @Test
+  public void cancelledPreloadTest() {
+    final List<Runnable> queued = new ArrayList<>();
+    Executor manualExecutor = new Executor() {
+      @Override
+      public void execute(final Runnable command) {
+        queued.add(command);
+      }
+    };
+    TestImageProvider provider = new TestImageProvider(builder().decodeExecutor(manualExecutor));
+
+    CompletableFuture<ImageIcon> future = provider.getImageIconAsync("small");
+
+    assertTrue(future.cancel(false));
+
+    for (Runnable command : queued) {
+      command.run();
+    }
+
+    assertEquals("Cancelled decode must not run", 0, provider.getCacheStats().getMisses());
+  }
+
+  @Test
+  public void fullDecodeQueueTest() throws Exception {
+    final List<Runnable> queued = new ArrayList<>();
+    TestImageProvider provider = new TestImageProvider(builder().decodeExecutor(queued::add).maxPendingDecodes(1));
+
+    Map<String, CompletableFuture<ImageIcon>> futures = provider.getImageManager()
+        .preload(Arrays.asList("small", "tiny", "large"));
+
+    assertEquals("Requests beyond the queue capacity must wait without blocking", 1, queued.size());
+
+    while (!queued.isEmpty()) {
+      queued.remove(0).run();
+    }
+
+    assertEquals(8, futures.get("tiny").get().getIconWidth());
+    assertEquals(3, provider.getCacheStats().getMisses());
+  }
+
+  @Test
+  public void sharedDecodeCancelTest() throws Exception {
+    final List<Runnable> queued = new ArrayList<>();
+    TestImageProvider provider = new TestImageProvider(builder().decodeExecutor(queued::add));
+
+    CompletableFuture<ImageIcon> first = provider.getImageIconAsync("small");
+    CompletableFuture<ImageIcon> second = provider.getImageIconAsync("small");
+
+    assertTrue(first.cancel(false));
+
+    for (Runnable command : queued) {
+      command.run();
+    }
+
+    assertEquals("Other callers must keep their decode", 16, second.get().getIconWidth());
+    assertEquals("Shared decode must run once", 1, queued.size());
+  }
+}
@@ -0,0 +1,172 @@
+package io.github.cainlara.jalutils.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.MissingResourceException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MessageCatalogTest {
+  private static final String BUNDLE_NAME = "jalutils_messages";
+  private static final Locale SPANISH = new Locale("es");
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void multiLocaleTest() {
+    MessageCatalog catalog = new MessageCatalog.Builder(BUNDLE_NAME).locales(Locale.ENGLISH, SPANISH).build();
+
+    assertEquals("Hello world", catalog.getMessage(Locale.ENGLISH, "greeting"));
+    assertEquals("Hola mundo", catalog.getMessage(SPANISH, "greeting"));
+    assertEquals("Welcome Moe, you have 1,234 new messages", catalog.getMessage(Locale.ENGLISH, "welcome", "Moe", 1234));
+    assertEquals("Bienvenido Moe, tienes 1.234 mensajes nuevos", catalog.getMessage(SPANISH, "welcome", "Moe", 1234));
+    assertEquals("Missing keys must come from the parent bundle", "Bye Larry",
+        catalog.getMessage(SPANISH, "farewell", "Larry"));
+    assertEquals("Countries must fall back to their language", "Es Curly, el 'jefe'",
+        catalog.getMessage(new Locale("es", "AR"), "quoted", "Curly"));
+  }
+
+  @Test(expected = MissingResourceException.class)
+  public void missingKeyTest() {
+    new MessageCatalog.Builder(BUNDLE_NAME).locales(Locale.ENGLISH).build().getMessage(Locale.ENGLISH, "nothing");
+  }
+
+  @Test(expected = MissingResourceException.class)
+  public void missingLocaleTest() {
+    new MessageCatalog.Builder(BUNDLE_NAME).locales(Locale.ENGLISH).build().getMessage(Locale.FRENCH, "greeting");
+  }
+
+  @Test
+  public void snapshotTest() throws IOException {
+    Path snapshot = temporaryFolder.getRoot().toPath().resolve("messages.snapshot");
+    MessageCatalog compiled = new MessageCatalog.Builder(BUNDLE_NAME).locales(Locale.ENGLISH, SPANISH)
+        .snapshot(snapshot).build();
+
+    assertTrue("Snapshot must be written on build", Files.isRegularFile(snapshot));
+
+    MessageCatalog loaded = MessageCatalog.loadSnapshot(snapshot);
+
+    assertEquals(compiled.getLocales(), loaded.getLocales());
+
+    for (Locale locale : compiled.getLocales()) {
+      for (String key : compiled.getMessages(locale).getKeys()) {
+        assertEquals(compiled.getMessage(locale, key, 12.5, "Moe"), loaded.getMessage(locale, key, 12.5, "Moe"));
+      }
+    }
+
+    Files.write(snapshot, new byte[] { 1, 2, 3 });
+
+    assertEquals("Corrupted snapshots must be compiled again", "Hola mundo",
+        new MessageCatalog.Builder(BUNDLE_NAME).locales(SPANISH).snapshot(snapshot).build()
+            .getMessage(SPANISH, "greeting"));
+    assertEquals("Hola mundo", MessageCatalog.loadSnapshot(snapshot).getMessage(SPANISH, "greeting"));
+  }
+
+  @Test
+  public void staleSnapshotTest() throws IOException {
+    Path bundles = temporaryFolder.newFolder("bundles").toPath();
+    Path snapshot = temporaryFolder.getRoot().toPath().resolve("deployed.snapshot");
+    Path properties = bundles.resolve("deployed.properties");
+
+    Files.write(properties, "greeting=Hello\n".getBytes(StandardCharsets.ISO_8859_1));
+    assertEquals("Hello", deployedCatalog(bundles, snapshot, "1").getMessage(Locale.ROOT, "greeting"));
+
+    Files.write(properties, "greeting=Hi there\n".getBytes(StandardCharsets.ISO_8859_1));
+    assertEquals("Changed bundles must be compiled again", "Hi there",
+        deployedCatalog(bundles, snapshot, "1").getMessage(Locale.ROOT, "greeting"));
+
+    FileTime written = FileTime.fromMillis(0L);
+
+    Files.setLastModifiedTime(snapshot, written);
+    deployedCatalog(bundles, snapshot, "1");
+    assertEquals("Unchanged bundles must be loaded from the snapshot", written,
+        Files.getLastModifiedTime(snapshot));
+
+    deployedCatalog(bundles, snapshot, "2");
+    assertTrue("New versions must be compiled again", !written.equals(Files.getLastModifiedTime(snapshot)));
+  }
+
+  @Test
+  public void snapshotErrorTest() throws IOException {
+    Path folder = temporaryFolder.newFile("not-a-folder").toPath();
+    MessageCatalog catalog = new MessageCatalog.Builder(BUNDLE_NAME).locales(SPANISH)
+        .snapshot(folder.resolve("messages.snapshot")).build();
+
+    assertEquals("Hola mundo", catalog.getMessage(SPANISH, "greeting"));
+    assertNotNull("Write failures must be reported", catalog.getSnapshotError());
+    assertNull(new MessageCatalog.Builder(BUNDLE_NAME).locales(SPANISH).build().getSnapshotError());
+  }
+
+  private static MessageCatalog deployedCatalog(final Path bundles, final Path snapshot, final String version)
+      throws IOException {
+    // a new class loader per start, as after a deploy
+    try (URLClassLoader loader = new URLClassLoader(new URL[] { bundles.toUri().toURL() }, null)) {
+      MessageCatalog catalog = new MessageCatalog.Builder("deployed").locales(Locale.ROOT).classLoader(loader)
+          .version(version).snapshot(snapshot).build();
+
+      assertNull(catalog.getSnapshotError());
+      return catalog;
+    }
+  }
+
+  @Test
+  public void messageFormatCompatibilityTest() {
+    String[] patterns = { "It''s {0}", "'{0}' is {0}", "{1}{0}", "{0} and {3}", "a}b {0}", "'quoted {0}",
+        "{0,number,#.##} of {1}", "{0}{0}{0}", "nothing ''here''" };
+    Object[][] arguments = { {}, { "text" }, { 3.14159, new Date(0L) }, { null, 7 }, { 1234567, "x", 'c', -2L } };
+
+    for (Locale locale : new Locale[] { Locale.US, Locale.GERMANY }) {
+      for (String pattern : patterns) {
+        CompiledMessage message = CompiledMessage.compile(pattern, locale);
+
+        for (Object[] args : arguments) {
+          String expected;
+
+          try {
+            expected = new MessageFormat(pattern, locale).format(args);
+          } catch (IllegalArgumentException e) {
+            continue;
+          }
+
+          assertEquals(pattern, expected, message.format(args));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void integerFormatCompatibilityTest() {
+    long[] values = { 0, 7, -7, 1234, -1234567, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+
+    for (Locale locale : Locale.getAvailableLocales()) {
+      CompiledMessage message = CompiledMessage.compile("[{0}]", locale);
+      MessageFormat format = new MessageFormat("[{0}]", locale);
+
+      for (long value : values) {
+        String expected = format.format(new Object[] { value });
+        StringBuilder out = new StringBuilder();
+
+        message.formatTo(out, value);
+
+        assertEquals(locale + " " + value, expected, out.toString());
+        assertEquals(locale + " " + value, expected, message.format(new Object[] { value }));
+      }
+    }
+  }
+}
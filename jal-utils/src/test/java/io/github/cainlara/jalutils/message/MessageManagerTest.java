@@ -0,0 +1,216 @@
+package io.github.cainlara.jalutils.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.github.cainlara.jalutils.text.StringPool;
+
+public class MessageManagerTest {
+  private static final String BUNDLE_NAME = "jalutils_messages";
+
+  @Test
+  public void literalMessageTest() {
+    MessageManager manager = new MessageManager.Builder(BUNDLE_NAME).build();
+
+    assertEquals("Literal message must be returned as is", "Hello world", manager.getMessage("greeting"));
+    assertEquals("Literal messages must not be compiled", 0, manager.getCacheStats().getCompiles());
+  }
+
+  @Test
+  public void formattedMessageTest() {
+    MessageManager manager = new MessageManager.Builder(BUNDLE_NAME).build();
+
+    assertEquals("Welcome Moe, you have five new messages", manager.getMessage("welcome", "Moe", "five"));
+    assertEquals("It's Larry", manager.getMessage("quoted", "Larry"));
+  }
+
+  @Test
+  public void cacheStatsTest() {
+    MessageManager manager = new MessageManager.Builder(BUNDLE_NAME).build();
+
+    for (int index = 0; index < 10; index++) {
+      manager.getMessage("welcome", "Curly", index);
+    }
+
+    MessageCacheStats stats = manager.getCacheStats();
+
+    assertEquals("Only the first lookup is a miss", 1, stats.getMisses());
+    assertEquals("Every other lookup is a hit", 9, stats.getHits());
+    assertEquals("Pattern must be compiled once", 1, stats.getCompiles());
+  }
+
+  @Test
+  public void cacheEvictionTest() {
+    MessageManager manager = new MessageManager.Builder(BUNDLE_NAME).cacheSize(2).build();
+
+    manager.getMessage("greeting");
+    manager.getMessage("welcome", "Moe", 1);
+    manager.getMessage("greeting");
+    manager.getMessage("farewell", "Moe");
+
+    MessageCacheStats stats = manager.getCacheStats();
+
+    assertEquals("Cache must not grow past its size", 2, stats.getSize());
+    assertEquals("One entry must be evicted", 1, stats.getEvictions());
+
+    manager.getMessage("greeting");
+
+    assertEquals("Most recently used entry must survive eviction", 2, manager.getCacheStats().getHits());
+  }
+
+  @Test
+  public void keyPoolTest() {
+    StringPool pool = new StringPool.Builder().build();
+    MessageManager english = new MessageManager.Builder(BUNDLE_NAME).keyPool(pool).build();
+    MessageManager spanish = new MessageManager.Builder(BUNDLE_NAME).locale(new Locale("es")).keyPool(pool)
+        .build();
+
+    english.getMessage(new StringBuilder("greet").append("ing").toString());
+    spanish.getMessage(new StringBuilder("greet").append("ing").toString());
+
+    assertEquals("Keys must be retained once across managers", 1, pool.getStats().getSize());
+    assertEquals(1, pool.getStats().getHits());
+  }
+
+  @Test
+  public void concurrentFormattingTest() throws Exception {
+    final MessageManager manager = new MessageManager.Builder(BUNDLE_NAME).build();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+
+      for (int task = 0; task < 8; task++) {
+        final String name = "user" + task;
+
+        results.add(executor.submit(new Callable<Boolean>() {
+          @Override
+          public Boolean call() {
+            for (int index = 0; index < 2000; index++) {
+              if (!("Bye " + name).equals(manager.getMessage("farewell", name))) {
+                return Boolean.FALSE;
+              }
+            }
+
+            return Boolean.TRUE;
+          }
+        }));
+      }
+
+      for (Future<Boolean> result : results) {
+        assertEquals("Concurrent formatting must not mix arguments", Boolean.TRUE, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void concurrentFirstUseTest() throws Exception {
+    final AtomicInteger loads = new AtomicInteger();
+    ResourceBundle.Control countingControl = new ResourceBundle.Control() {
+      @Override
+      public ResourceBundle newBundle(final String baseName, final Locale locale, final String format,
+          final ClassLoader loader, final boolean reload)
+          throws IllegalAccessException, InstantiationException, IOException {
+        if (Locale.ROOT.equals(locale) && "java.properties".equals(format)) {
+          loads.incrementAndGet();
+        }
+
+        return super.newBundle(baseName, locale, format, loader, reload);
+      }
+
+      @Override
+      public Locale getFallbackLocale(final String baseName, final Locale locale) {
+        return null;
+      }
+
+      @Override
+      public long getTimeToLive(final String baseName, final Locale locale) {
+        // every lookup reaches newBundle, so repeated loads are counted
+        return TTL_DONT_CACHE;
+      }
+    };
+
+    ResourceBundle.clearCache();
+
+    // without a message cache every call needs the bundle
+    final MessageManager manager = new MessageManager.Builder(BUNDLE_NAME).locale(Locale.ENGLISH).cacheSize(0)
+        .control(countingControl).build();
+    final CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    try {
+      List<Future<String>> results = new ArrayList<>();
+
+      for (int task = 0; task < 16; task++) {
+        results.add(executor.submit(new Callable<String>() {
+          @Override
+          public String call() throws InterruptedException {
+            start.await();
+            return manager.getMessage("greeting");
+          }
+        }));
+      }
+
+      start.countDown();
+
+      for (Future<String> result : results) {
+        assertEquals("Every thread must see the loaded bundle", "Hello world", result.get());
+      }
+
+      assertEquals("The bundle must be loaded exactly once", 1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void appendMessageTest() throws IOException {
+    MessageManager manager = new MessageManager.Builder(BUNDLE_NAME).locale(Locale.US).build();
+    StringBuilder out = new StringBuilder("> ");
+
+    assertSame(out, manager.appendMessage(out, "greeting"));
+    manager.appendMessage(out.append('|'), "farewell", "Moe");
+    manager.appendMessage(out.append('|'), "welcome", "Moe", 12345);
+    manager.appendMessage(out.append('|'), "welcome", 1234567L);
+    manager.appendMessage(out.append('|'), "welcome", "Moe", 2, "extra", null);
+    manager.appendMessage(out.append('|'), "total", 3.25, "Curly");
+    manager.appendMessage(out.append('|'), "total", 7);
+
+    assertEquals("> Hello world|Bye Moe|Welcome Moe, you have 12,345 new messages"
+        + "|Welcome 1,234,567, you have {1} new messages|Welcome Moe, you have 2 new messages"
+        + "|Total: 3.2 of Curly|Total: 7 of {1}", out.toString());
+
+    StringWriter writer = new StringWriter();
+
+    manager.appendMessage(writer, "welcome", "Larry", 3);
+    assertEquals(manager.getMessage("welcome", "Larry", 3), writer.toString());
+
+    writer = new StringWriter();
+    manager.appendMessage(writer, "greeting");
+    manager.appendMessage(writer.append('|'), "farewell", "Moe");
+    manager.appendMessage(writer.append('|'), "welcome", 1234567L);
+    manager.appendMessage(writer.append('|'), "total", 7);
+    manager.appendMessage(writer.append('|'), "welcome", "Moe", 2, "extra", null);
+    manager.appendMessage(writer.append('|'), "total", new Object[] { 3.25, "Curly" });
+
+    assertEquals("Hello world|Bye Moe|Welcome 1,234,567, you have {1} new messages|Total: 7 of {1}"
+        + "|Welcome Moe, you have 2 new messages|Total: 3.2 of Curly", writer.toString());
+  }
+}
@@ -0,0 +1,91 @@
+package io.github.cainlara.jalutils.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.cainlara.jalutils.FileUtils;
+
+public class InMemoryMetricsTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @After
+  public void uninstall() {
+    Metrics.install(null);
+  }
+
+  @Test
+  public void countersTest() {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+
+    metrics.count("requests", 2);
+    metrics.count("requests", 3);
+
+    assertEquals(5, metrics.snapshot().getCounter("requests"));
+    assertEquals(0, metrics.snapshot().getCounter("unknown"));
+  }
+
+  @Test
+  public void histogramTest() {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+
+    for (long value = 1; value <= 1000; value++) {
+      metrics.recordValue("sizes", value);
+    }
+
+    HistogramSnapshot sizes = metrics.snapshot().getHistogram("sizes");
+
+    assertEquals(1000, sizes.getCount());
+    assertEquals(1, sizes.getMin());
+    assertEquals(1000, sizes.getMax());
+    assertEquals(500.5, sizes.getMean(), 0.001);
+    assertTrue("p50 must be within the bucket precision", Math.abs(sizes.getPercentile(50) - 500) <= 16);
+    assertTrue("p99 must be within the bucket precision", Math.abs(sizes.getPercentile(99) - 990) <= 32);
+    assertEquals(1000, sizes.getPercentile(100));
+  }
+
+  @Test
+  public void bucketBoundariesTest() {
+    for (long value : new long[] { 0, 31, 32, 33, 1000, 123456789L, Long.MAX_VALUE }) {
+      int bucket = LongHistogram.bucketOf(value);
+
+      assertTrue("Value must not exceed its bucket", value <= LongHistogram.highestValueOf(bucket));
+      assertTrue("Value must exceed the previous bucket",
+          bucket == 0 || value > LongHistogram.highestValueOf(bucket - 1));
+    }
+  }
+
+  @Test
+  public void defaultIsNoopTest() {
+    assertSame(NoopMetrics.INSTANCE, Metrics.get());
+    assertEquals(0, Metrics.startNanos());
+  }
+
+  @Test
+  public void fileUtilsInstrumentationTest() throws IOException {
+    InMemoryMetrics metrics = new InMemoryMetrics();
+    Metrics.install(metrics);
+
+    File source = temporaryFolder.newFile("source.txt");
+    File target = new File(temporaryFolder.getRoot(), "target.txt");
+
+    FileUtils.getInstance().copyFile(source, target);
+    FileUtils.getInstance().deleteFile(target);
+
+    MetricsSnapshot snapshot = metrics.snapshot();
+
+    assertNotNull(snapshot.getTimer("jalutils.file.copy"));
+    assertEquals(1, snapshot.getTimer("jalutils.file.delete").getCount());
+  }
+}
@@ -0,0 +1,52 @@
+package io.github.cainlara.jalutils.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class LiteralReplacerTest {
+
+  @Test
+  public void replaceTest() {
+    Map<String, String> replacements = new LinkedHashMap<>();
+    replacements.put("&", "&amp;");
+    replacements.put("<", "&lt;");
+    replacements.put(">", "&gt;");
+
+    assertEquals("&lt;b&gt;Moe &amp; Larry&lt;/b&gt;",
+        new LiteralReplacer(replacements).replace("<b>Moe & Larry</b>"));
+  }
+
+  @Test
+  public void leftmostLongestTest() {
+    Map<String, String> replacements = new LinkedHashMap<>();
+    replacements.put("he", "1");
+    replacements.put("she", "2");
+    replacements.put("hers", "3");
+    replacements.put("his", "4");
+
+    assertEquals("u2rs 4 13", new LiteralReplacer(replacements).replace("ushers his hehers"));
+  }
+
+  @Test
+  public void unicodeTest() {
+    Map<String, String> replacements = new LinkedHashMap<>();
+    replacements.put("ñ", "n");
+    replacements.put("á", "a");
+
+    assertEquals("manana", new LiteralReplacer(replacements).replace("mañána"));
+  }
+
+  @Test
+  public void noMatchTest() {
+    Map<String, String> replacements = new LinkedHashMap<>();
+    replacements.put("Curly", "Shemp");
+    String text = "Moe and Larry";
+
+    assertSame("Text without matches must be returned as is", text, new LiteralReplacer(replacements).replace(text));
+  }
+}
@@ -0,0 +1,123 @@
+package io.github.cainlara.jalutils.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class StringPoolTest {
+
+  @Test
+  public void internTest() {
+    StringPool pool = new StringPool.Builder().build();
+    String first = new String("message.key");
+    String second = new String("message.key");
+
+    assertSame(first, pool.intern(first));
+    assertSame(first, pool.intern(second));
+    assertSame("Ranges must resolve to the pooled instance", first,
+        pool.intern(new StringBuilder("a message.key!"), 2, 13));
+    assertEquals("", pool.intern("abc", 1, 1));
+
+    StringPoolStats stats = pool.getStats();
+
+    assertEquals(2, stats.getHits());
+    assertEquals(2, stats.getMisses());
+    assertEquals(2, stats.getSize());
+    assertTrue(stats.getFootprintBytes() > 0);
+  }
+
+  @Test
+  public void boundedTest() {
+    StringPool pool = new StringPool.Builder().maxSize(8).stripes(1).build();
+    String hot = pool.intern(new String("hot"));
+
+    for (int index = 0; index < 100; index++) {
+      assertSame("Values hit between sweeps must stay pooled", hot, pool.intern(new String("hot")));
+      pool.intern("cold" + index);
+    }
+
+    StringPoolStats stats = pool.getStats();
+
+    assertEquals(8, stats.getSize());
+    assertEquals(101 - 8, stats.getEvictions());
+
+    String evicted = new String("cold0");
+
+    assertSame("Evicted values must be pooled again", evicted, pool.intern(evicted));
+  }
+
+  @Test
+  public void concurrentInternTest() throws Exception {
+    final StringPool pool = new StringPool.Builder().stripes(4).build();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<String[]>> futures = new ArrayList<>();
+
+    try {
+      for (int thread = 0; thread < 4; thread++) {
+        futures.add(executor.submit(() -> {
+          String[] interned = new String[1_000];
+
+          for (int index = 0; index < interned.length; index++) {
+            interned[index] = pool.intern(new String("key" + index));
+          }
+
+          return interned;
+        }));
+      }
+
+      String[] expected = futures.get(0).get();
+
+      for (Future<String[]> future : futures) {
+        String[] interned = future.get();
+
+        for (int index = 0; index < interned.length; index++) {
+          assertSame(expected[index], interned[index]);
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(1_000, pool.getStats().getSize());
+  }
+
+  @Test
+  public void offHeapTest() {
+    OffHeapStringPool pool = new OffHeapStringPool.Builder().arenaCapacity(64).maxSize(4).build();
+    int key = pool.handle("message.key");
+    String unicode = "añ€😀";
+    int other = pool.handle(unicode);
+
+    assertEquals(0, key);
+    assertEquals(1, other);
+    assertEquals(key, pool.handle(new StringBuilder("[message.key]"), 1, 12));
+    assertEquals("message.key", pool.get(key));
+    assertEquals(unicode, pool.get(other));
+    assertEquals("x" + unicode, pool.appendTo(new StringBuilder("x"), other).toString());
+    assertEquals(unicode.getBytes(StandardCharsets.UTF_8).length, pool.getBytes(other).remaining());
+    assertEquals(11 + 10, pool.getArenaUsed());
+
+    assertEquals("Values beyond the arena must be rejected", OffHeapStringPool.NO_HANDLE,
+        pool.handle(new String(new char[64]).replace('\0', 'x')));
+    pool.handle("c");
+    pool.handle("d");
+    assertEquals("Values beyond the maximum size must be rejected", OffHeapStringPool.NO_HANDLE, pool.handle("e"));
+
+    StringPoolStats stats = pool.getStats();
+
+    assertEquals(1, stats.getHits());
+    assertEquals(2, stats.getRejections());
+    assertEquals(4, stats.getSize());
+    assertNotSame(pool.get(key), pool.get(key));
+  }
+}